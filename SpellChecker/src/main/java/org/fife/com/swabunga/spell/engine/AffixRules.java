@@ -0,0 +1,510 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * The prefix and suffix rules of a Hunspell/MySpell affix (<code>.aff</code>)
+ * file, used by {@link SpellDictionaryAffix}.  Only the directives needed
+ * to check words are understood: <code>FLAG</code>, <code>PFX</code>,
+ * <code>SFX</code> and <code>NEEDAFFIX</code>.  Others, such as compounding
+ * and replacement tables, are ignored.<p>
+ *
+ * Flags are mapped to <code>char</code> ids, whatever their format in the
+ * file, so a word's flags are always a <code>char[]</code>.
+ *
+ * @see SpellDictionaryAffix
+ */
+final class AffixRules {
+
+    /** The id of no flag at all. */
+    static final char NO_FLAG = 0;
+
+    private final Map<String, Character> flagIds;
+    private FlagFormat flagFormat;
+    private char needAffixFlag;
+
+    /** Rules keyed by the prefix/suffix they add, for stripping affixes. */
+    private final Map<String, List<Rule>> prefixes;
+    private final Map<String, List<Rule>> suffixes;
+
+    /** Rules keyed by flag, for generating a stem's forms. */
+    private final Map<Character, List<Rule>> rulesByFlag;
+
+    /** Suffix flags, and negated prefix flags, that combine with each other. */
+    private final Set<Integer> crossProductFlags;
+
+    private int maxPrefixLength;
+    private int maxSuffixLength;
+    private int ruleCount;
+
+    /**
+     * Reads an affix file.
+     *
+     * @param affixFile The affix file.  This is closed when this method
+     *        returns.
+     * @throws IOException If an IO error occurs, or the file is malformed.
+     */
+    AffixRules(Reader affixFile) throws IOException {
+
+        flagIds = new HashMap<>();
+        flagFormat = FlagFormat.SINGLE;
+        prefixes = new HashMap<>();
+        suffixes = new HashMap<>();
+        rulesByFlag = new HashMap<>();
+        crossProductFlags = new HashSet<>();
+
+        try (BufferedReader in = new BufferedReader(affixFile)) {
+            String line;
+            int lineNumber = 0;
+            int remaining = 0; // Rules left in the current PFX/SFX block
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                String[] fields = line.trim().split("\\s+");
+                if (fields[0].isEmpty() || fields[0].startsWith("#")) {
+                    continue;
+                }
+                switch (fields[0]) {
+                    case "FLAG":
+                        flagFormat = FlagFormat.forName(field(fields, 1, lineNumber));
+                        break;
+                    case "NEEDAFFIX":
+                        needAffixFlag = getFlagId(field(fields, 1, lineNumber));
+                        break;
+                    case "PFX":
+                    case "SFX":
+                        if (remaining == 0) {
+                            remaining = parseInt(field(fields, 3, lineNumber), lineNumber);
+                            if ("Y".equals(fields[2])) {
+                                char flag = getFlagId(fields[1]);
+                                crossProductFlags.add("PFX".equals(fields[0]) ? -flag : (int)flag);
+                            }
+                        }
+                        else {
+                            addRule(fields, lineNumber);
+                            remaining--;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+    }
+
+    private void addRule(String[] fields, int lineNumber) throws IOException {
+
+        boolean prefix = "PFX".equals(fields[0]);
+        char flag = getFlagId(field(fields, 1, lineNumber));
+        String strip = field(fields, 2, lineNumber);
+        String affix = field(fields, 3, lineNumber);
+        String condition = fields.length > 4 ? fields[4] : ".";
+
+        // Continuation flags for two-level affixes are not supported
+        int slash = affix.indexOf('/');
+        if (slash > -1) {
+            affix = affix.substring(0, slash);
+        }
+
+        // The cross product flag is on the block's header line, so look it up
+        boolean crossProduct = isCrossProduct(flag, prefix);
+        Rule rule = new Rule(flag, prefix, crossProduct, "0".equals(strip) ? "" : strip,
+                "0".equals(affix) ? "" : affix, Condition.parse(condition, prefix, lineNumber));
+
+        Map<String, List<Rule>> byAffix = prefix ? prefixes : suffixes;
+        byAffix.computeIfAbsent(rule.affix, k -> new ArrayList<>()).add(rule);
+        rulesByFlag.computeIfAbsent(flag, k -> new ArrayList<>()).add(rule);
+        if (prefix) {
+            maxPrefixLength = Math.max(maxPrefixLength, rule.affix.length());
+        }
+        else {
+            maxSuffixLength = Math.max(maxSuffixLength, rule.affix.length());
+        }
+        ruleCount++;
+    }
+
+    /**
+     * Returns the forms of a stem: the stem itself unless it needs an
+     * affix, each form its prefixes and suffixes create, and each form a
+     * prefix and suffix create together.  There are no duplicates.
+     *
+     * @param stem The stem.
+     * @param flags The stem's flags.
+     * @return The forms.
+     */
+    List<String> expand(String stem, char[] flags) {
+
+        Set<String> forms = new LinkedHashSet<>();
+        if (!hasFlag(flags, needAffixFlag)) {
+            forms.add(stem);
+        }
+
+        for (char flag : flags) {
+            for (Rule rule : getRules(flag)) {
+                if (!rule.prefix && rule.appliesTo(stem)) {
+                    forms.add(rule.apply(stem));
+                }
+            }
+        }
+
+        for (char flag : flags) {
+            for (Rule prefix : getRules(flag)) {
+                if (prefix.prefix && prefix.appliesTo(stem)) {
+                    forms.add(prefix.apply(stem));
+                    if (prefix.crossProduct) {
+                        for (char flag2 : flags) {
+                            for (Rule suffix : getRules(flag2)) {
+                                if (!suffix.prefix && suffix.crossProduct && suffix.appliesTo(stem)) {
+                                    forms.add(prefix.apply(suffix.apply(stem)));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        return new ArrayList<>(forms);
+    }
+
+    private static String field(String[] fields, int index, int lineNumber) throws IOException {
+        if (index >= fields.length) {
+            throw new IOException("Line " + lineNumber + ": missing field for " + fields[0]);
+        }
+        return fields[index];
+    }
+
+    /**
+     * Returns the id for a flag, assigning one if it is new.
+     */
+    private char getFlagId(String flag) throws IOException {
+        Character id = flagIds.get(flag);
+        if (id == null) {
+            if (flagIds.size() == Character.MAX_VALUE - 1) {
+                throw new IOException("Too many distinct flags");
+            }
+            id = (char)(flagIds.size() + 1);
+            flagIds.put(flag, id);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the flag that marks stems that are only words with an affix.
+     *
+     * @return The flag, or {@link #NO_FLAG} if there is none.
+     */
+    char getNeedAffixFlag() {
+        return needAffixFlag;
+    }
+
+    /**
+     * Returns the rules that add a prefix.
+     *
+     * @param prefix The prefix.
+     * @return The rules.  This may be empty.
+     */
+    List<Rule> getPrefixRules(String prefix) {
+        return prefixes.getOrDefault(prefix, Collections.emptyList());
+    }
+
+    /**
+     * Returns the number of prefix and suffix rules.
+     *
+     * @return The number of rules.
+     */
+    int getRuleCount() {
+        return ruleCount;
+    }
+
+    private List<Rule> getRules(char flag) {
+        return rulesByFlag.getOrDefault(flag, Collections.emptyList());
+    }
+
+    /**
+     * Returns the rules that add a suffix.
+     *
+     * @param suffix The suffix.
+     * @return The rules.  This may be empty.
+     */
+    List<Rule> getSuffixRules(String suffix) {
+        return suffixes.getOrDefault(suffix, Collections.emptyList());
+    }
+
+    /**
+     * Returns the length of the longest prefix a rule adds.
+     *
+     * @return The length.
+     */
+    int getMaxPrefixLength() {
+        return maxPrefixLength;
+    }
+
+    /**
+     * Returns the length of the longest suffix a rule adds.
+     *
+     * @return The length.
+     */
+    int getMaxSuffixLength() {
+        return maxSuffixLength;
+    }
+
+    /**
+     * Returns whether a list of flag ids contains a flag.
+     *
+     * @param flags The flag ids, or <code>null</code>.
+     * @param flag The flag to look for.
+     * @return Whether it was found.  This is always <code>false</code> for
+     *         {@link #NO_FLAG}.
+     */
+    static boolean hasFlag(char[] flags, char flag) {
+        if (flags != null && flag != NO_FLAG) {
+            for (char f : flags) {
+                if (f == flag) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isCrossProduct(char flag, boolean prefix) {
+        return crossProductFlags.contains(prefix ? -flag : flag);
+    }
+
+    /**
+     * Parses the flags of a word in a <code>.dic</code> file.
+     *
+     * @param flags The flags, in the format declared by <code>FLAG</code>.
+     * @return The flag ids.
+     * @throws IOException If the flags are malformed.
+     */
+    char[] parseFlags(String flags) throws IOException {
+        List<String> names = flagFormat.split(flags);
+        char[] ids = new char[names.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = getFlagId(names.get(i));
+        }
+        return ids;
+    }
+
+    private static int parseInt(String value, int lineNumber) throws IOException {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IOException("Line " + lineNumber + ": invalid number: " + value, e);
+        }
+    }
+
+
+    /**
+     * How flags are written.
+     */
+    private enum FlagFormat {
+
+        /** Each character is a flag; the default. */
+        SINGLE,
+
+        /** Each pair of characters is a flag. */
+        LONG,
+
+        /** Flags are comma-separated numbers. */
+        NUM;
+
+        static FlagFormat forName(String name) {
+            switch (name) {
+                case "long":
+                    return LONG;
+                case "num":
+                    return NUM;
+                default: // "UTF-8" is a single character as well
+                    return SINGLE;
+            }
+        }
+
+        List<String> split(String flags) {
+            List<String> result = new ArrayList<>();
+            switch (this) {
+                case LONG:
+                    for (int i = 0; i + 1 < flags.length(); i += 2) {
+                        result.add(flags.substring(i, i + 2));
+                    }
+                    break;
+                case NUM:
+                    for (String flag : flags.split(",")) {
+                        if (!flag.isEmpty()) {
+                            result.add(flag);
+                        }
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < flags.length(); i++) {
+                        result.add(flags.substring(i, i + 1));
+                    }
+                    break;
+            }
+            return result;
+        }
+    }
+
+
+    /**
+     * A rule that adds a prefix or suffix to a stem.
+     */
+    static final class Rule {
+
+        final char flag;
+        final boolean prefix;
+        final boolean crossProduct;
+        final String strip;
+        final String affix;
+        private final Condition condition;
+
+        Rule(char flag, boolean prefix, boolean crossProduct, String strip, String affix, Condition condition) {
+            this.flag = flag;
+            this.prefix = prefix;
+            this.crossProduct = crossProduct;
+            this.strip = strip;
+            this.affix = affix;
+            this.condition = condition;
+        }
+
+        /**
+         * Returns the form this rule creates from a stem it applies to.
+         */
+        String apply(String stem) {
+            if (prefix) {
+                return affix + stem.substring(strip.length());
+            }
+            return stem.substring(0, stem.length() - strip.length()) + affix;
+        }
+
+        /**
+         * Returns whether this rule applies to a stem.
+         */
+        boolean appliesTo(String stem) {
+            if (stem.length() <= strip.length() ||
+                    !(prefix ? stem.startsWith(strip) : stem.endsWith(strip))) {
+                return false;
+            }
+            return condition.matches(stem);
+        }
+
+        /**
+         * Returns the stem a form created by this rule came from, if it
+         * could have been.  The stem may not be in the dictionary.
+         *
+         * @param word The word, which must start or end with this rule's
+         *        affix.
+         * @return The stem, or <code>null</code> if this rule could not
+         *         have created the word.
+         */
+        String unapply(String word) {
+            if (word.length() <= affix.length()) {
+                return null;
+            }
+            String stem = prefix ? strip + word.substring(affix.length()) :
+                    word.substring(0, word.length() - affix.length()) + strip;
+            return condition.matches(stem) ? stem : null;
+        }
+    }
+
+
+    /**
+     * The condition a stem must meet for a rule to apply: a sequence of
+     * characters, character classes (<code>[abc]</code>, <code>[^abc]</code>)
+     * and wildcards (<code>.</code>) that the stem must start with, for a
+     * prefix, or end with, for a suffix.
+     */
+    private static final class Condition {
+
+        private static final Condition ANY = new Condition(new String[0], new boolean[0], false);
+
+        /** The characters allowed at each position; null means any. */
+        private final String[] chars;
+        private final boolean[] negated;
+        private final boolean prefix;
+
+        private Condition(String[] chars, boolean[] negated, boolean prefix) {
+            this.chars = chars;
+            this.negated = negated;
+            this.prefix = prefix;
+        }
+
+        static Condition parse(String condition, boolean prefix, int lineNumber) throws IOException {
+
+            if (".".equals(condition)) {
+                return ANY;
+            }
+
+            List<String> chars = new ArrayList<>();
+            List<Boolean> negated = new ArrayList<>();
+            for (int i = 0; i < condition.length(); i++) {
+                char ch = condition.charAt(i);
+                if (ch == '[') {
+                    int end = condition.indexOf(']', i);
+                    if (end == -1) {
+                        throw new IOException("Line " + lineNumber + ": invalid condition: " + condition);
+                    }
+                    boolean not = end > i + 1 && condition.charAt(i + 1) == '^';
+                    chars.add(condition.substring(not ? i + 2 : i + 1, end));
+                    negated.add(not);
+                    i = end;
+                }
+                else {
+                    chars.add(ch == '.' ? null : String.valueOf(ch));
+                    negated.add(false);
+                }
+            }
+
+            boolean[] negatedArray = new boolean[negated.size()];
+            for (int i = 0; i < negatedArray.length; i++) {
+                negatedArray[i] = negated.get(i);
+            }
+            return new Condition(chars.toArray(new String[0]), negatedArray, prefix);
+        }
+
+        boolean matches(String stem) {
+            int length = chars.length;
+            if (stem.length() < length) {
+                return false;
+            }
+            int offset = prefix ? 0 : stem.length() - length;
+            for (int i = 0; i < length; i++) {
+                if (chars[i] != null && (chars[i].indexOf(stem.charAt(offset + i)) > -1) == negated[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * A compact, probabilistic set of strings. It can answer "definitely not
+ * present" or "possibly present"; the latter is wrong for roughly 1% of
+ * strings that were never added.<p>
+ *
+ * Disk-based dictionaries use this to remember which phonetic codes have
+ * words without keeping the codes themselves in memory, so lookups of codes
+ * with no words can skip the disk entirely.
+ */
+final class BloomFilter {
+
+    /**
+     * Bits per expected entry; with {@link #HASH_COUNT} hashes this gives
+     * a false positive rate of about 1%.
+     */
+    private static final int BITS_PER_ENTRY = 10;
+
+    private static final int HASH_COUNT = 7;
+
+    private final long[] bits;
+    private final int bitCount;
+
+    /**
+     * Constructor.
+     *
+     * @param expectedEntries The expected number of strings to be added.
+     */
+    BloomFilter(int expectedEntries) {
+        long size = Math.max(64L, (long)Math.max(expectedEntries, 1) * BITS_PER_ENTRY);
+        size = Math.min(size, Integer.MAX_VALUE - 63);
+        bits = new long[(int)((size + 63) / 64)];
+        bitCount = bits.length * 64;
+    }
+
+    /**
+     * Adds a string to this filter.
+     *
+     * @param s The string to add.
+     * @see #mightContain(String)
+     */
+    void add(String s) {
+        int h1 = s.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = index(h1 + i * h2);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Returns whether a string might have been added to this filter.
+     *
+     * @param s The string to check.
+     * @return <code>false</code> if the string was definitely never added;
+     *         otherwise, <code>true</code>.
+     * @see #add(String)
+     */
+    boolean mightContain(String s) {
+        int h1 = s.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = index(h1 + i * h2);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates a filter containing the phonetic codes in a dictionary file
+     * made of <code>code&lt;separator&gt;word</code> lines.
+     *
+     * @param in The dictionary file. This is not closed.
+     * @param separator The character separating the code from the word.
+     * @param expectedEntries The expected number of distinct codes. This
+     *        can be a rough overestimate.
+     * @return The filter, or <code>null</code> if a line is not in the
+     *         expected format, in which case no lookup should be skipped.
+     * @throws IOException If an IO error occurs.
+     */
+    static BloomFilter readCodes(BufferedReader in, char separator, int expectedEntries) throws IOException {
+        BloomFilter filter = new BloomFilter(expectedEntries);
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (!line.isEmpty()) {
+                int end = line.indexOf(separator);
+                if (end == -1) {
+                    return null;
+                }
+                filter.add(line.substring(0, end));
+            }
+        }
+        return filter;
+    }
+
+    private int index(int hash) {
+        return (hash & Integer.MAX_VALUE) % bitCount;
+    }
+
+    /**
+     * Derives a second, independent-enough hash from the first
+     * (the MurmurHash3 finalizer). It is forced odd so that successive
+     * probes never collapse onto the same bit.
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h | 1;
+    }
+}
@@ -0,0 +1,251 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * A {@link Transformator} that remembers the phonetic codes computed by
+ * another transformator.<p>
+ *
+ * Spell checking transforms the same words, and the same near-miss variants
+ * of misspelled words, over and over. Wrapping a transformator in one of
+ * these means each distinct word is only transformed once, as long as it
+ * stays in the cache. The cache is bounded; when it fills up, arbitrary
+ * entries are evicted to make room for new ones.<p>
+ *
+ * Instances are thread safe if the wrapped transformator is. Dictionaries
+ * using the same phonetic rules should share a single instance, obtained via
+ * {@link #getShared()} or {@link #getShared(File, String)}, so that a code is
+ * computed once per process rather than once per dictionary.
+ *
+ * @see SpellDictionaryHashMap#SpellDictionaryHashMap(Transformator, java.io.Reader)
+ */
+public class CachingTransformator implements Transformator {
+
+    /**
+     * The default maximum number of codes cached.
+     */
+    public static final int DEFAULT_MAX_SIZE = 16 * 1024;
+
+    private static final Map<String, CachingTransformator> SHARED = new ConcurrentHashMap<>();
+
+    private static final String DOUBLE_META_KEY = "";
+
+    private final Transformator delegate;
+    private final int maxSize;
+    private final Map<String, String> cache;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate The transformator whose codes to cache.
+     * @see #CachingTransformator(Transformator, int)
+     */
+    public CachingTransformator(Transformator delegate) {
+        this(delegate, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param delegate The transformator whose codes to cache.
+     * @param maxSize The maximum number of codes to cache.
+     * @see #CachingTransformator(Transformator)
+     */
+    public CachingTransformator(Transformator delegate, int maxSize) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate cannot be null");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        cache = new ConcurrentHashMap<>(Math.min(maxSize, DEFAULT_MAX_SIZE));
+        hits = new LongAdder();
+        misses = new LongAdder();
+    }
+
+    /**
+     * Removes all cached codes and resets the hit and miss counts.
+     */
+    public void clear() {
+        cache.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Returns the transformator whose codes are cached.
+     *
+     * @return The wrapped transformator.
+     */
+    public Transformator getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Returns the number of calls to {@link #transform(String)} answered
+     * from the cache.
+     *
+     * @return The hit count.
+     * @see #getMissCount()
+     * @see #getHitRate()
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the fraction of calls to {@link #transform(String)} answered
+     * from the cache.
+     *
+     * @return The hit rate, between {@code 0} and {@code 1}. If nothing
+     *         has been transformed yet, {@code 0} is returned.
+     * @see #getHitCount()
+     * @see #getMissCount()
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double)hitCount / total;
+    }
+
+    /**
+     * Returns the maximum number of codes cached.
+     *
+     * @return The maximum size of the cache.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of calls to {@link #transform(String)} that had to
+     * be passed to the wrapped transformator.
+     *
+     * @return The miss count.
+     * @see #getHitCount()
+     * @see #getHitRate()
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public char[] getReplaceList() {
+        return delegate.getReplaceList();
+    }
+
+    /**
+     * Returns a shared, caching {@link DoubleMeta} transformator.
+     *
+     * @return The shared transformator.
+     * @see #getShared(File, String)
+     */
+    public static CachingTransformator getShared() {
+        return SHARED.computeIfAbsent(DOUBLE_META_KEY, key -> new CachingTransformator(new DoubleMeta()));
+    }
+
+    /**
+     * Returns a shared, caching transformator for a phonetic file. All
+     * callers passing the same file and encoding get the same instance.
+     *
+     * @param phonetic The phonetic file. If this is {@code null}, the
+     *        shared {@link DoubleMeta} transformator is returned.
+     * @param encoding The encoding of the phonetic file. This may be
+     *        {@code null} for the platform default.
+     * @return The shared transformator.
+     * @throws IOException If an error occurs reading the phonetic file.
+     * @see #getShared()
+     */
+    public static CachingTransformator getShared(File phonetic, String encoding) throws IOException {
+
+        if (phonetic == null) {
+            return getShared();
+        }
+
+        String key = phonetic.getCanonicalPath() + File.pathSeparator + encoding;
+        CachingTransformator shared = SHARED.get(key);
+        if (shared == null) {
+            Transformator tf = encoding == null ? new GenericTransformator(phonetic) :
+                new GenericTransformator(phonetic, encoding);
+            CachingTransformator created = new CachingTransformator(tf);
+            shared = SHARED.putIfAbsent(key, created);
+            if (shared == null) {
+                shared = created;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Returns the number of codes currently cached.
+     *
+     * @return The size of the cache.
+     */
+    public int getSize() {
+        return cache.size();
+    }
+
+    @Override
+    public String transform(String word) {
+
+        if (word == null) {
+            return delegate.transform(null);
+        }
+
+        String code = cache.get(word);
+        if (code != null) {
+            hits.increment();
+            SpellCheckMetrics.get().increment(SpellCheckMetrics.Counter.CODE_CACHE_HITS, 1);
+            return code;
+        }
+
+        misses.increment();
+        SpellCheckMetrics.get().increment(SpellCheckMetrics.Counter.CODE_CACHE_MISSES, 1);
+        code = delegate.transform(word);
+        if (cache.size() >= maxSize) {
+            evict();
+        }
+        cache.put(word, code);
+        return code;
+    }
+
+    /**
+     * Evicts arbitrary entries until there is room for one more code.
+     */
+    private void evict() {
+        Iterator<String> it = cache.keySet().iterator();
+        while (cache.size() >= maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
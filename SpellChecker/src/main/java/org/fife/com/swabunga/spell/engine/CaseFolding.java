@@ -0,0 +1,165 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.engine;
+
+import java.util.List;
+import java.util.Locale;
+
+
+/**
+ * Case-insensitive word lookups that do not allocate.  A dictionary accepts
+ * a word if it contains either the word or its lower case form; rather than
+ * creating the lower case form with <code>String.toLowerCase()</code>, the
+ * hash of the lower case form is computed while scanning the word, and
+ * compared to the (cached) hashes of the candidate words before their
+ * characters are.<p>
+ *
+ * Words may be any <code>CharSequence</code>, so part of a larger text can
+ * be looked up without copying it.  Only ASCII words are folded this way.
+ * Other words, and words whose lower case form depends on the default
+ * locale, fall back to <code>toLowerCase()</code>, so the results are
+ * always the same.
+ */
+final class CaseFolding {
+
+    /**
+     * Language codes whose default-locale casing of ASCII letters differs
+     * from the plain {@code 'a'-'z'} to {@code 'A'-'Z'} mapping
+     * (dotted/dotless I).
+     */
+    private static final String[] SPECIAL_CASING_LANGUAGES = {"tr", "az"};
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private CaseFolding() {
+    }
+
+    /**
+     * Returns whether a list contains a word's lower case form.  This is
+     * equivalent to <code>words.contains(word.toLowerCase())</code>.
+     *
+     * @param words The words to search.
+     * @param word The word to look for.
+     * @return Whether the lower case form of the word was found.
+     */
+    static boolean containsLowerCase(List<String> words, CharSequence word) {
+        return contains(words, word, false);
+    }
+
+    /**
+     * Returns whether a list contains a word or its lower case form.  This
+     * is equivalent to <code>words.contains(word) ||
+     * words.contains(word.toLowerCase())</code>, but scans the list once.
+     *
+     * @param words The words to search.
+     * @param word The word to look for.
+     * @return Whether the word or its lower case form was found.
+     */
+    static boolean containsWordOrLowerCase(List<String> words, String word) {
+        return contains(words, word, true);
+    }
+
+    private static boolean contains(List<String> words, CharSequence word, boolean matchExactly) {
+
+        if (words.isEmpty()) {
+            return false;
+        }
+
+        // Compute the hash of word.toLowerCase(), or give up if it isn't
+        // plain ASCII folding
+        int length = word.length();
+        int foldedHash = 0;
+        boolean hasUpperCase = false;
+        boolean checkLocale = true;
+        for (int i = 0; i < length; i++) {
+            char ch = word.charAt(i);
+            if (ch >= 'A' && ch <= 'Z') {
+                if (ch == 'I' && checkLocale) {
+                    if (hasSpecialCasing(Locale.getDefault())) {
+                        return containsSlow(words, word, matchExactly);
+                    }
+                    checkLocale = false;
+                }
+                ch += 'a' - 'A';
+                hasUpperCase = true;
+            }
+            else if (ch > 127) {
+                return containsSlow(words, word, matchExactly);
+            }
+            foldedHash = 31 * foldedHash + ch;
+        }
+
+        // A lower case word is its own lower case form
+        matchExactly |= !hasUpperCase;
+
+        for (String candidate : words) {
+            if (matchExactly && candidate.contentEquals(word)) {
+                return true;
+            }
+            if (hasUpperCase && candidate.hashCode() == foldedHash && equalsLowerCase(candidate, word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsSlow(List<String> words, CharSequence word, boolean matchExactly) {
+        String str = word.toString();
+        return (matchExactly && words.contains(str)) || words.contains(str.toLowerCase());
+    }
+
+    /**
+     * Returns whether a string is an ASCII word's lower case form.
+     */
+    private static boolean equalsLowerCase(String lowerCase, CharSequence word) {
+        int length = word.length();
+        if (lowerCase.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char ch = word.charAt(i);
+            if (ch >= 'A' && ch <= 'Z') {
+                ch += 'a' - 'A';
+            }
+            if (lowerCase.charAt(i) != ch) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether a locale cases the ASCII letter <code>I</code>
+     * differently than the root locale does.
+     *
+     * @param locale The locale.
+     * @return Whether the locale has special casing.
+     */
+    static boolean hasSpecialCasing(Locale locale) {
+        String language = locale.getLanguage();
+        for (String special : SPECIAL_CASING_LANGUAGES) {
+            if (special.equals(language)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
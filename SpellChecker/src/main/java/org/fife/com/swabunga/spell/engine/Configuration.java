@@ -28,6 +28,9 @@ import java.lang.reflect.InvocationTargetException;
  * <p/>
  * Also includes SPELL_* constants that control how misspellings are detected, for example, how to handle
  * mixed-case words, etc.
+ * <p/>
+ * The settings used while checking are read once per check, from a {@link ConfigurationSnapshot}.
+ * Subclasses must call {@link #invalidateSnapshot()} whenever a setting changes.
  *
  * @author aim4min
  * @see EditDistance
@@ -90,6 +93,8 @@ public abstract class Configuration {
   /** Whether to inspect {@code camelCase} words (common in programming). */
   public static final String SPELL_ANALYZECAMELCASEWORDS = "SPELL_ANALYZECAMELCASEWORDS";
 
+  private volatile ConfigurationSnapshot snapshot;
+
   /**
    * Gets one of the integer constants.
    *
@@ -106,6 +111,36 @@ public abstract class Configuration {
    */
   public abstract boolean getBoolean(String key);
 
+  /**
+   * Returns an immutable copy of the settings of this configuration. The
+   * copy is made once and reused until a setting is changed.
+   *
+   * @return The settings.
+   * @see #invalidateSnapshot()
+   * @see #getDefaultSnapshot()
+   */
+  public ConfigurationSnapshot getSnapshot() {
+    ConfigurationSnapshot result = snapshot;
+    if (result == null) {
+      synchronized (this) {
+        result = snapshot;
+        if (result == null) {
+          result = new ConfigurationSnapshot(this);
+          snapshot = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Discards the copy of the settings returned by {@link #getSnapshot()}.
+   * Subclasses must call this after a setting is changed.
+   */
+  protected synchronized void invalidateSnapshot() {
+    snapshot = null;
+  }
+
   /**
    * Sets one of the integer constants. Does not persist the change.
    *
@@ -134,6 +169,18 @@ public abstract class Configuration {
     return getConfiguration(null);
   }
 
+  /**
+   * Returns the settings of the default Configuration, as returned by
+   * {@link #getConfiguration()}. The default configuration is only loaded
+   * the first time this method is called.
+   *
+   * @return The default settings.
+   * @see #getSnapshot()
+   */
+  public static ConfigurationSnapshot getDefaultSnapshot() {
+    return DefaultSnapshotHolder.SNAPSHOT;
+  }
+
   /**
    * Returns a new instance of a Configuration class.
    *
@@ -156,4 +203,12 @@ public abstract class Configuration {
     }
     return result;
   }
+
+  /**
+   * Lazily loads the default settings.
+   */
+  private static final class DefaultSnapshotHolder {
+
+    private static final ConfigurationSnapshot SNAPSHOT = getConfiguration().getSnapshot();
+  }
 }
@@ -0,0 +1,135 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.engine;
+
+
+/**
+ * An immutable copy of the settings of a {@link Configuration} that the
+ * spell checker consults while checking.  Looking a setting up in a
+ * <code>Configuration</code> may be expensive (for a
+ * {@link PropertyConfiguration}, it is a synchronized property lookup and a
+ * parse), so checkers resolve a snapshot once per check and read its fields
+ * for every word instead.<p>
+ *
+ * Snapshots are obtained from {@link Configuration#getSnapshot()}, which
+ * returns a new one after a setting is changed.
+ *
+ * @see Configuration#getSnapshot()
+ * @see Configuration#getDefaultSnapshot()
+ */
+public final class ConfigurationSnapshot {
+
+    private final boolean ignoreUpperCase;
+    private final boolean ignoreMixedCase;
+    private final boolean ignoreInternetAddresses;
+    private final boolean ignoreDigitWords;
+    private final boolean ignoreSentenceCapitalization;
+    private final boolean ignoreSingleLetters;
+    private final boolean analyzeCamelCaseWords;
+    private final int threshold;
+
+    /**
+     * Constructor.
+     *
+     * @param config The configuration to copy.
+     */
+    ConfigurationSnapshot(Configuration config) {
+        ignoreUpperCase = config.getBoolean(Configuration.SPELL_IGNOREUPPERCASE);
+        ignoreMixedCase = config.getBoolean(Configuration.SPELL_IGNOREMIXEDCASE);
+        ignoreInternetAddresses = config.getBoolean(Configuration.SPELL_IGNOREINTERNETADDRESSES);
+        ignoreDigitWords = config.getBoolean(Configuration.SPELL_IGNOREDIGITWORDS);
+        ignoreSentenceCapitalization = config.getBoolean(Configuration.SPELL_IGNORESENTENCECAPITALIZATION);
+        ignoreSingleLetters = config.getBoolean(Configuration.SPELL_IGNORESINGLELETTERS);
+        analyzeCamelCaseWords = config.getBoolean(Configuration.SPELL_ANALYZECAMELCASEWORDS);
+        threshold = config.getInteger(Configuration.SPELL_THRESHOLD);
+    }
+
+    /**
+     * Returns the maximum cost of suggested spellings.
+     *
+     * @return The value of {@link Configuration#SPELL_THRESHOLD}.
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Returns whether the parts of <code>camelCase</code> words are checked.
+     *
+     * @return The value of {@link Configuration#SPELL_ANALYZECAMELCASEWORDS}.
+     */
+    public boolean isAnalyzeCamelCaseWords() {
+        return analyzeCamelCaseWords;
+    }
+
+    /**
+     * Returns whether words containing digits are ignored.
+     *
+     * @return The value of {@link Configuration#SPELL_IGNOREDIGITWORDS}.
+     */
+    public boolean isIgnoreDigitWords() {
+        return ignoreDigitWords;
+    }
+
+    /**
+     * Returns whether words that look like Internet addresses are ignored.
+     *
+     * @return The value of {@link Configuration#SPELL_IGNOREINTERNETADDRESSES}.
+     */
+    public boolean isIgnoreInternetAddresses() {
+        return ignoreInternetAddresses;
+    }
+
+    /**
+     * Returns whether mixed case words are ignored.
+     *
+     * @return The value of {@link Configuration#SPELL_IGNOREMIXEDCASE}.
+     */
+    public boolean isIgnoreMixedCase() {
+        return ignoreMixedCase;
+    }
+
+    /**
+     * Returns whether lower case words starting a sentence are accepted.
+     *
+     * @return The value of {@link Configuration#SPELL_IGNORESENTENCECAPITALIZATION}.
+     */
+    public boolean isIgnoreSentenceCapitalization() {
+        return ignoreSentenceCapitalization;
+    }
+
+    /**
+     * Returns whether single letter words are ignored.
+     *
+     * @return The value of {@link Configuration#SPELL_IGNORESINGLELETTERS}.
+     */
+    public boolean isIgnoreSingleLetters() {
+        return ignoreSingleLetters;
+    }
+
+    /**
+     * Returns whether upper case words are ignored.
+     *
+     * @return The value of {@link Configuration#SPELL_IGNOREUPPERCASE}.
+     */
+    public boolean isIgnoreUpperCase() {
+        return ignoreUpperCase;
+    }
+}
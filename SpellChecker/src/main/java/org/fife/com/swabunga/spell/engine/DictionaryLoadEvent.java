@@ -0,0 +1,102 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.engine;
+
+import java.util.EventObject;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Describes a dictionary loaded by a {@link ParallelDictionaryLoader}.
+ *
+ * @see DictionaryLoadListener
+ */
+public class DictionaryLoadEvent extends EventObject {
+
+    private final SpellDictionaryHashMap dictionary;
+    private final int wordListCount;
+    private final int wordCount;
+    private final long elapsedNanos;
+
+    /**
+     * Constructor.
+     *
+     * @param source The loader that loaded the dictionary.
+     * @param dictionary The loaded dictionary.
+     * @param wordListCount The number of word lists read.
+     * @param wordCount The number of words in the dictionary.
+     * @param elapsedNanos How long loading took, in nanoseconds.
+     */
+    public DictionaryLoadEvent(ParallelDictionaryLoader source, SpellDictionaryHashMap dictionary,
+                               int wordListCount, int wordCount, long elapsedNanos) {
+        super(source);
+        this.dictionary = dictionary;
+        this.wordListCount = wordListCount;
+        this.wordCount = wordCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the loaded dictionary.
+     *
+     * @return The dictionary.
+     */
+    public SpellDictionaryHashMap getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Returns how long loading took.
+     *
+     * @return The load time, in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /**
+     * Returns the loader that loaded the dictionary.  This is a wrapper for
+     * <code>(ParallelDictionaryLoader)getSource()</code>.
+     *
+     * @return The loader.
+     */
+    public ParallelDictionaryLoader getLoader() {
+        return (ParallelDictionaryLoader)getSource();
+    }
+
+    /**
+     * Returns the number of words in the dictionary.  Words in later word
+     * lists that were already in the dictionary are not counted.
+     *
+     * @return The word count.
+     */
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * Returns the number of word lists the dictionary was loaded from.
+     *
+     * @return The word list count.
+     */
+    public int getWordListCount() {
+        return wordListCount;
+    }
+}
@@ -139,6 +139,153 @@ public final class EditDistance {
     return matrix[aSize - 1][bSize - 1];
   }
 
+  /**
+   * Evaluates the distance between two words, giving up as soon as it is
+   * known to be larger than a limit. This is cheaper than
+   * {@link #getDistance(String, String, int[][])} when most words compared
+   * are not close.
+   *
+   * @param word One word to evaluates
+   * @param similar The other word to evaluates
+   * @param matrix The matrix.
+   * @param maxDistance The largest distance of interest.
+   * @return The distance between the two words if it is no larger than
+   *         <code>maxDistance</code>, otherwise some value larger than
+   *         <code>maxDistance</code>.
+   */
+  public static int getDistance(String word, String similar, int[][] matrix, int maxDistance) {
+
+    char sourceChar;
+    char otherChar;
+
+    int aSize = word.length() + 1;
+    int bSize = similar.length() + 1;
+
+    // The cost of inserting or deleting the extra characters is a lower bound
+    int lengthDiff = aSize - bSize;
+    int minCost = lengthDiff > 0 ? lengthDiff * COST_OF_INSERTING_SOURCE_CHARACTER :
+      -lengthDiff * COST_OF_DELETING_SOURCE_CHARACTER;
+    if (minCost > maxDistance)
+      return minCost;
+
+    if (matrix == null || matrix.length < aSize || matrix[0].length < bSize)
+      matrix = new int[aSize][bSize];
+
+    matrix[0][0] = 0;
+
+    for (int i = 1; i != aSize; ++i)
+      matrix[i][0] = matrix[i - 1][0] + COST_OF_INSERTING_SOURCE_CHARACTER;
+
+    for (int j = 1; j != bSize; ++j)
+      matrix[0][j] = matrix[0][j - 1] + COST_OF_DELETING_SOURCE_CHARACTER;
+
+    int prevRowMin = 0;
+    for (int i = 1; i != aSize; ++i) {
+      sourceChar = word.charAt(i - 1);
+      int rowMin = matrix[i][0];
+      for (int j = 1; j != bSize; ++j) {
+
+        otherChar = similar.charAt(j - 1);
+        int cost;
+        if (sourceChar == otherChar) {
+          cost = matrix[i - 1][j - 1];
+        }
+        else {
+          int costOfSubst = COST_OF_SUBSTITUTING_LETTERS + matrix[i - 1][j - 1];
+
+          int costOfSwap = Integer.MAX_VALUE;
+          boolean isSwap = (i != 1) && (j != 1) && sourceChar == similar.charAt(j - 2) &&
+            word.charAt(i - 2) == otherChar;
+          if (isSwap)
+            costOfSwap = COST_OF_SWAPPING_LETTERS + matrix[i - 2][j - 2];
+
+          int costOfDelete = COST_OF_DELETING_SOURCE_CHARACTER + matrix[i][j - 1];
+          int costOfInsertion = COST_OF_INSERTING_SOURCE_CHARACTER + matrix[i - 1][j];
+
+          int costOfCaseChange = Integer.MAX_VALUE;
+          if (equalIgnoreCase(sourceChar, otherChar))
+            costOfCaseChange = COST_OF_CHANGING_CASE + matrix[i - 1][j - 1];
+
+          cost = minimum(costOfSubst, costOfSwap, costOfDelete, costOfInsertion, costOfCaseChange);
+        }
+        matrix[i][j] = cost;
+        if (cost < rowMin)
+          rowMin = cost;
+      }
+
+      // Every cell is derived from this row or the one before it (swaps),
+      // so once both are over the limit, so is the final distance.
+      if (rowMin > maxDistance && prevRowMin > maxDistance)
+        return rowMin;
+      prevRowMin = rowMin;
+    }
+
+    return matrix[aSize - 1][bSize - 1];
+  }
+
+  /**
+   * Computes one column of the matrix used by
+   * {@link #getDistance(String, String, int[][], int)}, for a similar word
+   * built one character at a time, e.g. while walking the arcs of a
+   * {@link SpellDictionaryDawg}. Column <code>j</code> holds the cost of
+   * turning each prefix of <code>word</code> into the first <code>j</code>
+   * characters of the similar word; column 0 holds <code>i</code> times
+   * the cost of inserting a character.
+   *
+   * @param word The word being compared.
+   * @param prev2 Column <code>j - 2</code>, or <code>null</code> if
+   *        <code>j</code> is 1.
+   * @param prev Column <code>j - 1</code>.
+   * @param column Receives column <code>j</code>.
+   * @param otherChar Character <code>j</code> of the similar word.
+   * @param prevOtherChar Character <code>j - 1</code> of the similar word.
+   *        This is ignored if <code>prev2</code> is <code>null</code>.
+   * @return The smallest value in the column. Once this and the smallest
+   *         value in the previous column exceed a limit, so do all
+   *         distances to words starting with the similar word.
+   */
+  static int getDistanceColumn(String word, int[] prev2, int[] prev, int[] column, char otherChar,
+                               char prevOtherChar) {
+
+    column[0] = prev[0] + COST_OF_DELETING_SOURCE_CHARACTER;
+    int min = column[0];
+
+    for (int i = 1; i <= word.length(); ++i) {
+      char sourceChar = word.charAt(i - 1);
+      int cost;
+      if (sourceChar == otherChar) {
+        cost = prev[i - 1];
+      }
+      else {
+        cost = COST_OF_SUBSTITUTING_LETTERS + prev[i - 1];
+        if (prev2 != null && i != 1 && sourceChar == prevOtherChar && word.charAt(i - 2) == otherChar)
+          cost = Math.min(cost, COST_OF_SWAPPING_LETTERS + prev2[i - 2]);
+        cost = Math.min(cost, COST_OF_DELETING_SOURCE_CHARACTER + prev[i]);
+        cost = Math.min(cost, COST_OF_INSERTING_SOURCE_CHARACTER + column[i - 1]);
+        if (equalIgnoreCase(sourceChar, otherChar))
+          cost = Math.min(cost, COST_OF_CHANGING_CASE + prev[i - 1]);
+      }
+      column[i] = cost;
+      if (cost < min)
+        min = cost;
+    }
+
+    return min;
+  }
+
+  /**
+   * Fills column 0 of the matrix used by
+   * {@link #getDistanceColumn(String, int[], int[], int[], char, char)}.
+   *
+   * @param column The column, whose length is one more than the length of
+   *        the word being compared.
+   */
+  static void getFirstDistanceColumn(int[] column) {
+    column[0] = 0;
+    for (int i = 1; i < column.length; ++i)
+      column[i] = column[i - 1] + COST_OF_INSERTING_SOURCE_CHARACTER;
+  }
+
   /**
    * Checks to see if the two characters are equal ignoring case.
    *
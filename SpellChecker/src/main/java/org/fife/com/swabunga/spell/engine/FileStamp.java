@@ -0,0 +1,94 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+
+/**
+ * The size and modification time a dictionary file had when a dictionary
+ * last read or wrote it, so the dictionary can tell whether anything else
+ * has changed the file since.<p>
+ *
+ * A write by the dictionary should hold this object's lock from before it
+ * calls {@link #isCurrent()} until after it calls {@link #update(boolean)},
+ * so that a file being written is never reported as changed.
+ *
+ * @see SpellDictionaryHashMap#isDictionaryFileCurrent()
+ */
+final class FileStamp {
+
+    private final Path path;
+    private long size; // Guarded by this
+    private FileTime modified; // Guarded by this; null if unknown
+
+    /**
+     * Constructor.  The file's current state is recorded.
+     *
+     * @param file The dictionary file.
+     */
+    FileStamp(File file) {
+        path = file.toPath();
+        update(true);
+    }
+
+    /**
+     * Returns whether the file is as it was when last recorded.
+     *
+     * @return Whether the file is unchanged.  This is <code>false</code>
+     *         if the file's state is unknown.
+     */
+    synchronized boolean isCurrent() {
+        if (modified == null) {
+            return false;
+        }
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            return attrs.size() == size && modified.equals(attrs.lastModifiedTime());
+        } catch (IOException ioe) {
+            return false;
+        }
+    }
+
+    /**
+     * Records the file's state after the dictionary wrote to it.
+     *
+     * @param wasCurrent Whether the file was current before the write.  If
+     *        it was not, something else changed it, so its state is
+     *        forgotten rather than recorded.
+     */
+    synchronized void update(boolean wasCurrent) {
+        modified = null;
+        if (wasCurrent) {
+            try {
+                BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                size = attrs.size();
+                modified = attrs.lastModifiedTime();
+            } catch (IOException ioe) {
+                // Leave the state unknown
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.engine;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Keeps {@link SpellCheckMetrics} in memory, for display in an application's
+ * diagnostics or for tests:
+ * <pre>
+ * InMemorySpellCheckMetrics metrics = new InMemorySpellCheckMetrics();
+ * SpellCheckMetrics.set(metrics);
+ * ...
+ * logger.info(metrics.toString());
+ * </pre>
+ * Instances are thread safe.
+ */
+public class InMemorySpellCheckMetrics extends SpellCheckMetrics {
+
+    private final LongAdder[] counts;
+    private final LongAdder[] timerCounts;
+    private final LongAdder[] timerTotals;
+    private final LongAccumulator[] timerMaximums;
+
+    /**
+     * Constructor.
+     */
+    public InMemorySpellCheckMetrics() {
+        counts = new LongAdder[Counter.values().length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+        int timerCount = Timer.values().length;
+        timerCounts = new LongAdder[timerCount];
+        timerTotals = new LongAdder[timerCount];
+        timerMaximums = new LongAccumulator[timerCount];
+        for (int i = 0; i < timerCount; i++) {
+            timerCounts[i] = new LongAdder();
+            timerTotals[i] = new LongAdder();
+            timerMaximums[i] = new LongAccumulator(Math::max, 0);
+        }
+    }
+
+    /**
+     * Returns the value of a counter.
+     *
+     * @param counter The counter.
+     * @return Its value.
+     */
+    public long getCount(Counter counter) {
+        return counts[counter.ordinal()].sum();
+    }
+
+    /**
+     * Returns the fraction of lookups in a cache that were hits.
+     *
+     * @param hits The counter of the cache's hits, for example
+     *        {@link Counter#SUGGESTION_CACHE_HITS}.
+     * @param misses The counter of the cache's misses, for example
+     *        {@link Counter#SUGGESTION_CACHE_MISSES}.
+     * @return The hit ratio, between <code>0</code> and <code>1</code>.
+     *         If there have been no lookups, <code>0</code> is returned.
+     */
+    public double getHitRatio(Counter hits, Counter misses) {
+        long hitCount = getCount(hits);
+        long total = hitCount + getCount(misses);
+        return total == 0 ? 0 : (double)hitCount / total;
+    }
+
+    /**
+     * Returns the longest time recorded by a timer.
+     *
+     * @param timer The timer.
+     * @return The longest time, in nanoseconds.
+     */
+    public long getMaxNanos(Timer timer) {
+        return timerMaximums[timer.ordinal()].get();
+    }
+
+    /**
+     * Returns the average time recorded by a timer.
+     *
+     * @param timer The timer.
+     * @return The average time, in nanoseconds, or <code>0</code> if
+     *         nothing has been recorded.
+     */
+    public double getMeanNanos(Timer timer) {
+        long count = getTimerCount(timer);
+        return count == 0 ? 0 : (double)getTotalNanos(timer) / count;
+    }
+
+    /**
+     * Returns the number of times recorded by a timer.
+     *
+     * @param timer The timer.
+     * @return The number of times.
+     */
+    public long getTimerCount(Timer timer) {
+        return timerCounts[timer.ordinal()].sum();
+    }
+
+    /**
+     * Returns the sum of the times recorded by a timer.
+     *
+     * @param timer The timer.
+     * @return The total time, in nanoseconds.
+     */
+    public long getTotalNanos(Timer timer) {
+        return timerTotals[timer.ordinal()].sum();
+    }
+
+    /**
+     * Returns the number of words checked per second spent parsing.
+     * Only meaningful when words are checked by parsers, as opposed to by
+     * calling a <code>SpellChecker</code> directly.
+     *
+     * @return The words checked per second, or <code>0</code> if no
+     *         parse has been timed.
+     */
+    public double getWordsPerSecond() {
+        long nanos = getTotalNanos(Timer.PARSE);
+        return nanos == 0 ? 0 : getCount(Counter.WORDS_CHECKED) * 1e9 / nanos;
+    }
+
+    @Override
+    public void increment(Counter counter, long amount) {
+        counts[counter.ordinal()].add(amount);
+    }
+
+    @Override
+    public void record(Timer timer, long nanos) {
+        int index = timer.ordinal();
+        timerCounts[index].increment();
+        timerTotals[index].add(nanos);
+        timerMaximums[index].accumulate(nanos);
+    }
+
+    /**
+     * Resets all counters and timers to zero.
+     */
+    public void reset() {
+        for (LongAdder count : counts) {
+            count.reset();
+        }
+        for (int i = 0; i < timerCounts.length; i++) {
+            timerCounts[i].reset();
+            timerTotals[i].reset();
+            timerMaximums[i].reset();
+        }
+    }
+
+    /**
+     * Returns a summary of the metrics, one per line.
+     *
+     * @return The summary.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Timer timer : Timer.values()) {
+            sb.append(String.format(Locale.ROOT, "%s: count=%d, mean=%.3f ms, max=%.3f ms%n", timer,
+                getTimerCount(timer), getMeanNanos(timer) / 1e6, getMaxNanos(timer) / 1e6));
+        }
+        for (Counter counter : Counter.values()) {
+            sb.append(String.format(Locale.ROOT, "%s: %d%n", counter, getCount(counter)));
+        }
+        sb.append(String.format(Locale.ROOT, "Words/s: %.0f%n", getWordsPerSecond()));
+        sb.append(String.format(Locale.ROOT, "Suggestion cache hit ratio: %.3f%n",
+            getHitRatio(Counter.SUGGESTION_CACHE_HITS, Counter.SUGGESTION_CACHE_MISSES)));
+        sb.append(String.format(Locale.ROOT, "Code cache hit ratio: %.3f%n",
+            getHitRatio(Counter.CODE_CACHE_HITS, Counter.CODE_CACHE_MISSES)));
+        sb.append(String.format(Locale.ROOT, "Word cache hit ratio: %.3f%n",
+            getHitRatio(Counter.WORD_CACHE_HITS, Counter.WORD_CACHE_MISSES)));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,267 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.engine;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+
+/**
+ * Loads a {@link SpellDictionaryHashMap} from several word lists in a zip
+ * file, using all available cores.  The word lists are read concurrently,
+ * and the phonetic codes of their words are computed in parallel batches.
+ * The words are then added to the dictionary on the calling thread, in a
+ * single pass.<p>
+ *
+ * The result is the same as that of creating a dictionary from the first
+ * word list and adding the others with
+ * {@link SpellDictionaryHashMap#addDictionary(java.io.Reader)}; in
+ * particular, words in later word lists that are already in the dictionary
+ * are skipped, ignoring case.<p>
+ *
+ * The transformator must be thread safe.  If it is a
+ * {@link CachingTransformator}, codes are computed with the transformator it
+ * wraps, so that loading does not flush the cache.
+ */
+public class ParallelDictionaryLoader {
+
+    /**
+     * The number of words whose codes are computed by a single task.
+     */
+    static final int BATCH_SIZE = 4096;
+
+    private final Transformator transformator;
+    private final List<DictionaryLoadListener> listeners;
+    private Executor executor;
+
+    /**
+     * Constructor.
+     *
+     * @param transformator The transformator the loaded dictionaries use.
+     *        If this is <code>null</code>, {@link DoubleMeta} transformation
+     *        is used.
+     */
+    public ParallelDictionaryLoader(Transformator transformator) {
+        this.transformator = transformator != null ? transformator : new DoubleMeta();
+        listeners = new CopyOnWriteArrayList<>();
+        executor = ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Adds a listener notified when a dictionary is loaded.
+     *
+     * @param l The listener to add.
+     * @see #removeDictionaryLoadListener(DictionaryLoadListener)
+     */
+    public void addDictionaryLoadListener(DictionaryLoadListener l) {
+        listeners.add(l);
+    }
+
+    /**
+     * Computes the phonetic codes of a list of words, in batches of
+     * {@link #BATCH_SIZE} words.
+     */
+    private CompletableFuture<WordList> computeCodes(List<String> words, Transformator tf) {
+
+        String[] codes = new String[words.size()];
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+
+        for (int start = 0; start < codes.length; start += BATCH_SIZE) {
+            int from = start;
+            int to = Math.min(start + BATCH_SIZE, codes.length);
+            batches.add(CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    codes[i] = tf.transform(words.get(i));
+                }
+            }, executor));
+        }
+
+        return CompletableFuture.allOf(batches.toArray(new CompletableFuture[0]))
+            .thenApply(v -> new WordList(words, codes));
+    }
+
+    private void fireDictionaryLoaded(DictionaryLoadEvent e) {
+        for (DictionaryLoadListener l : listeners) {
+            l.dictionaryLoaded(e);
+        }
+    }
+
+    /**
+     * Returns the executor the word lists are read and transformed on.
+     *
+     * @return The executor.
+     * @see #setExecutor(Executor)
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Returns the transformator the loaded dictionaries use.
+     *
+     * @return The transformator.
+     */
+    public Transformator getTransformator() {
+        return transformator;
+    }
+
+    /**
+     * Waits for a word list to be read and transformed, rethrowing any
+     * error reading it.
+     */
+    private static WordList join(CompletableFuture<WordList> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException ce) {
+            Throwable cause = ce.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException)cause).getCause();
+            }
+            else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw ce;
+        }
+    }
+
+    /**
+     * Loads a dictionary from word lists in a zip file.  Each word list
+     * has one word per line.
+     *
+     * @param zip The zip file.
+     * @param entryNames The names of the word lists in the zip file.  The
+     *        first is loaded as is; words in later ones are only added if
+     *        they are not already in the dictionary.
+     * @param charset The encoding of the word lists.
+     * @return The dictionary.
+     * @throws IOException If a word list is not found or cannot be read.
+     */
+    public SpellDictionaryHashMap load(ZipFile zip, List<String> entryNames, Charset charset)
+            throws IOException {
+
+        long start = System.nanoTime();
+        Transformator tf = transformator instanceof CachingTransformator ?
+            ((CachingTransformator)transformator).getDelegate() : transformator;
+
+        List<CompletableFuture<WordList>> wordLists = new ArrayList<>();
+        for (String name : entryNames) {
+            ZipEntry entry = zip.getEntry(name);
+            if (entry == null) {
+                throw new FileNotFoundException(name + " not found in " + zip.getName());
+            }
+            wordLists.add(CompletableFuture.supplyAsync(() -> readWords(zip, entry, charset), executor)
+                .thenCompose(words -> computeCodes(words, tf)));
+        }
+
+        SpellDictionaryHashMap dict = new SpellDictionaryHashMap(transformator);
+        int wordCount = 0;
+        for (int i = 0; i < wordLists.size(); i++) {
+            WordList wordList = join(wordLists.get(i));
+            for (int j = 0; j < wordList.codes.length; j++) {
+                if (i == 0) {
+                    dict.putWord(wordList.words.get(j), wordList.codes[j]);
+                    wordCount++;
+                }
+                else if (dict.putWordUnique(wordList.words.get(j), wordList.codes[j])) {
+                    wordCount++;
+                }
+            }
+        }
+
+        long nanos = System.nanoTime() - start;
+        SpellCheckMetrics.get().record(SpellCheckMetrics.Timer.DICTIONARY_LOAD, nanos);
+        if (!listeners.isEmpty()) {
+            fireDictionaryLoaded(new DictionaryLoadEvent(this, dict, entryNames.size(), wordCount, nanos));
+        }
+        return dict;
+    }
+
+    /**
+     * Reads the non-empty lines of a word list.
+     */
+    private static List<String> readWords(ZipFile zip, ZipEntry entry, Charset charset) {
+        List<String> words = new ArrayList<>();
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(zip.getInputStream(entry), charset))) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    words.add(line);
+                }
+            }
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+        return words;
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param l The listener to remove.
+     * @see #addDictionaryLoadListener(DictionaryLoadListener)
+     */
+    public void removeDictionaryLoadListener(DictionaryLoadListener l) {
+        listeners.remove(l);
+    }
+
+    /**
+     * Sets the executor the word lists are read and transformed on.  The
+     * default is the common fork/join pool.
+     *
+     * @param executor The executor.  This cannot be <code>null</code>.
+     * @see #getExecutor()
+     */
+    public void setExecutor(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor cannot be null");
+        }
+        this.executor = executor;
+    }
+
+    /**
+     * The words of a word list and their phonetic codes.
+     */
+    private static final class WordList {
+
+        private final List<String> words;
+        private final String[] codes;
+
+        WordList(List<String> words, String[] codes) {
+            this.words = words;
+            this.codes = codes;
+        }
+    }
+}
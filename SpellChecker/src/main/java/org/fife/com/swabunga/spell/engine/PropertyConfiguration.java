@@ -74,10 +74,12 @@ public class PropertyConfiguration extends Configuration {
   @Override
   public void setBoolean(String key, boolean value) {
     prop.setProperty(key, String.valueOf(value));
+    invalidateSnapshot();
   }
 
   @Override
   public void setInteger(String key, int value) {
     prop.setProperty(key, Integer.toString(value));
+    invalidateSnapshot();
   }
 }
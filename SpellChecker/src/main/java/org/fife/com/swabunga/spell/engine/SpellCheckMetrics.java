@@ -0,0 +1,355 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.engine;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+
+
+/**
+ * Receives timings and counts from the spell checker's hot paths, such as
+ * how long parses and dictionary lookups take and how effective the caches
+ * are.<p>
+ *
+ * Metrics are recorded into a single, process-wide instance returned by
+ * {@link #get()}.  By default this is {@link #NONE}, which discards
+ * everything without reading the clock, so the cost when metrics are off is
+ * a field read and a few empty method calls.
+ * Install {@link InMemorySpellCheckMetrics}, or any other implementation,
+ * with {@link #set(SpellCheckMetrics)}, or name its class in the
+ * {@value #PROPERTY_METRICS} system property.<p>
+ *
+ * Implementations may also trace individual parse passes, suggestion
+ * lookups and dictionary reads, by returning a trace from
+ * {@link #startParseTrace()} and its siblings.  These return
+ * <code>null</code> by default, in which case the details are never
+ * gathered.<p>
+ *
+ * Implementations must be thread safe, and should be cheap: they are called
+ * for every word checked.
+ *
+ * @see InMemorySpellCheckMetrics
+ */
+public abstract class SpellCheckMetrics {
+
+    /**
+     * The system property naming the class of the metrics installed at
+     * startup.  The class needs a public no-argument constructor.
+     */
+    public static final String PROPERTY_METRICS = "jazzy.metrics";
+
+    /**
+     * Metrics that discard everything.  This is the default.
+     */
+    public static final SpellCheckMetrics NONE = new NoMetrics();
+
+    private static volatile SpellCheckMetrics metrics = create(System.getProperty(PROPERTY_METRICS));
+
+    /**
+     * The timers recorded.  All times are in nanoseconds.
+     */
+    public enum Timer {
+
+        /**
+         * A <code>SpellingParser</code> parsing a document.
+         */
+        PARSE,
+
+        /**
+         * Checking whether a single word is spelled correctly, across all
+         * of a spell checker's dictionaries.
+         */
+        IS_CORRECT,
+
+        /**
+         * Gathering the suggestions for a word from all of a spell checker's
+         * dictionaries.
+         */
+        SUGGESTIONS,
+
+        /**
+         * Reading the words for a phonetic code from a disk-based dictionary.
+         */
+        DICTIONARY_IO,
+
+        /**
+         * Loading a dictionary.
+         */
+        DICTIONARY_LOAD
+    }
+
+    /**
+     * The counters recorded.
+     */
+    public enum Counter {
+
+        /**
+         * Words whose spelling was checked.
+         */
+        WORDS_CHECKED,
+
+        /**
+         * Spelling errors found.
+         */
+        MISSPELLINGS,
+
+        /**
+         * Near-miss phonetic codes generated while looking for suggestions.
+         */
+        NEAR_MISS_CODES,
+
+        /**
+         * Bytes read from disk-based dictionaries.
+         */
+        DICTIONARY_BYTES_READ,
+
+        /**
+         * Suggestion lists found in a spell checker's suggestion cache.
+         */
+        SUGGESTION_CACHE_HITS,
+
+        /**
+         * Suggestion lists not found in a spell checker's suggestion cache.
+         */
+        SUGGESTION_CACHE_MISSES,
+
+        /**
+         * Phonetic codes found in a {@link CachingTransformator}.
+         */
+        CODE_CACHE_HITS,
+
+        /**
+         * Phonetic codes not found in a {@link CachingTransformator}.
+         */
+        CODE_CACHE_MISSES,
+
+        /**
+         * Word lists found in a {@link SpellDictionaryCachedDichoDisk}'s
+         * cache.
+         */
+        WORD_CACHE_HITS,
+
+        /**
+         * Word lists not found in a {@link SpellDictionaryCachedDichoDisk}'s
+         * cache.
+         */
+        WORD_CACHE_MISSES
+    }
+
+    /**
+     * The details of a parse pass.
+     *
+     * @see #startParseTrace()
+     */
+    public interface ParseTrace {
+
+        /**
+         * Called when the parse pass is done.
+         *
+         * @param documentLength The length of the document parsed.
+         * @param style The syntax style of the document.
+         * @param tokensChecked The number of tokens spell checked.  Plain
+         *        text is checked as a single token.
+         * @param errors The number of spelling errors found.
+         */
+        void finish(int documentLength, String style, int tokensChecked, int errors);
+    }
+
+    /**
+     * The details of a spell checker gathering suggestions for a word.
+     *
+     * @see #startSuggestionTrace()
+     */
+    public interface SuggestionTrace {
+
+        /**
+         * Called when the suggestions have been gathered.
+         *
+         * @param word The misspelled word.
+         * @param dictionarySuggestions The suggestions from each dictionary
+         *        consulted, before duplicates are removed.
+         */
+        void finish(String word, List<? extends List<Word>> dictionarySuggestions);
+    }
+
+    /**
+     * The details of a disk-based dictionary reading the words for a
+     * phonetic code.
+     *
+     * @see #startDictionaryReadTrace()
+     */
+    public interface DictionaryReadTrace {
+
+        /**
+         * Called when the words have been read.
+         *
+         * @param code The phonetic code.
+         * @param bytesRead The number of bytes read.
+         * @param seekCount The number of seeks made.
+         */
+        void finish(String code, long bytesRead, int seekCount);
+    }
+
+    /**
+     * Creates the metrics named by the {@value #PROPERTY_METRICS} system
+     * property.
+     */
+    private static SpellCheckMetrics create(String className) {
+        if (className != null && !className.isEmpty()) {
+            try {
+                return (SpellCheckMetrics)Class.forName(className).getDeclaredConstructor().newInstance();
+            } catch (InstantiationException | InvocationTargetException | IllegalAccessException |
+                     ClassNotFoundException | NoSuchMethodException | ClassCastException e) {
+                e.printStackTrace();
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Returns the metrics currently recorded into.
+     *
+     * @return The metrics.  This is never <code>null</code>.
+     * @see #set(SpellCheckMetrics)
+     */
+    public static SpellCheckMetrics get() {
+        return metrics;
+    }
+
+    /**
+     * Adds to a counter.
+     *
+     * @param counter The counter.
+     * @param amount The amount to add.
+     */
+    public abstract void increment(Counter counter, long amount);
+
+    /**
+     * Returns whether these metrics record anything.  Code gathering
+     * expensive details for them should check this first.
+     *
+     * @return Whether these metrics are enabled.  The default
+     *         implementation returns <code>true</code>.
+     */
+    public boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Records a timing.
+     *
+     * @param timer The timer.
+     * @param nanos The time taken, in nanoseconds.
+     */
+    public abstract void record(Timer timer, long nanos);
+
+    /**
+     * Sets the metrics to record into.
+     *
+     * @param metrics The metrics.  If this is <code>null</code>,
+     *        {@link #NONE} is used.
+     * @see #get()
+     */
+    public static void set(SpellCheckMetrics metrics) {
+        SpellCheckMetrics.metrics = metrics != null ? metrics : NONE;
+    }
+
+    /**
+     * Starts tracing a disk-based dictionary reading the words for a
+     * phonetic code.
+     *
+     * @return The trace, or <code>null</code> if dictionary reads are not
+     *         traced.  This default implementation returns
+     *         <code>null</code>.
+     */
+    public DictionaryReadTrace startDictionaryReadTrace() {
+        return null;
+    }
+
+    /**
+     * Starts tracing a parse pass.
+     *
+     * @return The trace, or <code>null</code> if parse passes are not
+     *         traced.  This default implementation returns
+     *         <code>null</code>.
+     */
+    public ParseTrace startParseTrace() {
+        return null;
+    }
+
+    /**
+     * Starts tracing a spell checker gathering suggestions for a word.
+     *
+     * @return The trace, or <code>null</code> if suggestions are not
+     *         traced.  This default implementation returns
+     *         <code>null</code>.
+     */
+    public SuggestionTrace startSuggestionTrace() {
+        return null;
+    }
+
+    /**
+     * Starts timing an operation.
+     *
+     * @return The start time, to pass to {@link #stopTimer(Timer, long)}.
+     */
+    public long startTimer() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time taken by an operation.
+     *
+     * @param timer The timer.
+     * @param start The value returned by {@link #startTimer()} when the
+     *        operation started.
+     */
+    public void stopTimer(Timer timer, long start) {
+        record(timer, System.nanoTime() - start);
+    }
+
+    /**
+     * Metrics that discard everything.
+     */
+    private static final class NoMetrics extends SpellCheckMetrics {
+
+        @Override
+        public void increment(Counter counter, long amount) {
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void record(Timer timer, long nanos) {
+        }
+
+        @Override
+        public long startTimer() {
+            return 0;
+        }
+
+        @Override
+        public void stopTimer(Timer timer, long start) {
+        }
+    }
+}
@@ -19,6 +19,7 @@ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
 */
 package org.fife.com.swabunga.spell.engine;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -44,6 +45,23 @@ public interface SpellDictionary {
    */
   boolean isCorrect(String word);
 
+  /**
+   * Evaluates if the lower case form of a word is correctly spelled against
+   * the dictionary.  This is the same as
+   * <code>isCorrect(word.toString().toLowerCase())</code>, which is what the
+   * default implementation does; implementations may avoid creating the
+   * lower case form, or any <code>String</code> at all.  This lets callers
+   * check part of a larger text without copying it.
+   *
+   * @param word The word to verify if its lower case form's spelling is OK.
+   * @return Indicates if the lower case form of the word is present in the
+   *         dictionary.
+   * @see #isCorrect(String)
+   */
+  default boolean isCorrectLowerCase(CharSequence word) {
+    return isCorrect(word.toString().toLowerCase());
+  }
+
   /**
    * Returns a list of Word objects that are the suggestions to any word.
    * If the word is correctly spelled, then this method
@@ -90,4 +108,25 @@ public interface SpellDictionary {
    */
   List<Word> getSuggestions(String sourceWord, int scoreThreshold , int[][] matrix);
 
+  /**
+   * Returns at most <code>maxResults</code> suggestions for a word. The
+   * result is the same as the first <code>maxResults</code> entries of
+   * {@link #getSuggestions(String, int)}, but implementations may compute
+   * it more cheaply by discarding candidates that cannot make the cut.
+   * The default implementation simply truncates the full list.
+   *
+   * @param sourceWord the string that we want to get a list of spelling suggestions for
+   * @param scoreThreshold Any words that have score less than this number are returned.
+   * @param maxResults The maximum number of suggestions to return.
+   * @return List a List of suggested words
+   * @see #getSuggestions(String, int)
+   */
+  default List<Word> getSuggestions(String sourceWord, int scoreThreshold, int maxResults) {
+    List<Word> suggestions = getSuggestions(sourceWord, scoreThreshold);
+    if (suggestions.size() <= maxResults) {
+      return suggestions;
+    }
+    return new ArrayList<>(suggestions.subList(0, Math.max(0, maxResults)));
+  }
+
 }
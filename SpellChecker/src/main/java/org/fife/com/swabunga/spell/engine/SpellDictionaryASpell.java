@@ -25,6 +25,7 @@ import java.io.IOException;
 import java.io.Reader;
 import java.security.InvalidParameterException;
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Container for various methods that any <code>SpellDictionary</code> will use.
@@ -59,6 +60,17 @@ import java.util.*;
  */
 public abstract class SpellDictionaryASpell implements SpellDictionary {
 
+  /** Orders suggestions by cost; shared since it is stateless. */
+  private static final Comparator<Word> COST_ORDER = new Word();
+
+  /** The number of phonetic codes looked up while building suggestions. */
+  private final LongAdder generatedCodes = new LongAdder();
+
+  /** The number of those codes skipped because {@link #mightHaveWords(String)} said so. */
+  private final LongAdder skippedCodes = new LongAdder();
+
+  /** The number of those codes that actually had words. */
+  private final LongAdder hitCodes = new LongAdder();
 
   /** The reference to a Transformator, used to transform a word into it's phonetic code. */
   private Transformator tf;
@@ -111,6 +123,28 @@ public abstract class SpellDictionaryASpell implements SpellDictionary {
       tf = new GenericTransformator(phonetic);
   }
 
+  /**
+   * Constructs a new SpellDictionaryASpell that uses an existing
+   * transformator. This allows several dictionaries to share a single
+   * {@link CachingTransformator}.
+   *
+   * @param transformator The transformator to use for phonetic
+   *        transformation of the words list. If this is <code>null</code>,
+   *        {@link DoubleMeta} transformation is used.
+   */
+  protected SpellDictionaryASpell(Transformator transformator) {
+    tf = transformator != null ? transformator : new DoubleMeta();
+  }
+
+  /**
+   * Returns the transformator used to compute phonetic codes.
+   *
+   * @return The transformator.
+   */
+  public Transformator getTransformator() {
+    return tf;
+  }
+
   /**
    * Returns a list of Word objects that are the suggestions to an
    * incorrect word.
@@ -144,24 +178,98 @@ public abstract class SpellDictionaryASpell implements SpellDictionary {
         matrix = new int[0][0];
     }
 
-    Map<String, String> nearmisscodes = new HashMap<>();
     String code = getCode(word);
 
     // add all words that have the same phonetics
-    nearmisscodes.put(code, code);
-    List<Word> phoneticList = getWordsFromCode(word, nearmisscodes);
+    List<Word> phoneticList = getWordsFromCode(word, Collections.singleton(code));
 
     // do some transformations to pick up more results
-    //interchange
-    nearmisscodes = new HashMap<>();
+    Set<String> nearmisscodes = getNearMissCodes(word);
+    nearmisscodes.remove(code); //already accounted for in phoneticList
+
+    word = word.trim();
+    List<Word> wordlist = getWordsFromCode(word, nearmisscodes);
+
+    if (wordlist.isEmpty() && phoneticList.isEmpty())
+      addBestGuess(word, phoneticList, matrix);
+
+
+    // We sort a List at the end instead of maintaining a
+    // continuously sorted TreeSet because every time you add a collection
+    // to a tree set it has to be resorted. It's better to do this operation
+    // once at the end.
+
+    phoneticList.sort(COST_ORDER); //always sort phonetic matches along the top
+    wordlist.sort(COST_ORDER); //the non-phonetic matches can be listed below
+
+    phoneticList.addAll(wordlist);
+    return phoneticList;
+  }
+
+  /**
+   * Returns the first <code>maxResults</code> suggestions that
+   * {@link #getSuggestions(String, int)} would return, without collecting
+   * and sorting all the others. Phonetic matches still come first. If there
+   * are enough of them, no near-miss codes are generated at all.
+   *
+   * @param word Suggestions for given misspelled word
+   * @param threshold The lower boundary of similarity to misspelled word
+   * @param maxResults The maximum number of suggestions to return.
+   * @return a List of suggestions
+   */
+  @Override
+  public List<Word> getSuggestions(String word, int threshold, int maxResults) {
+
+    List<Word> result = new ArrayList<>();
+    if (maxResults <= 0) {
+      return result;
+    }
+
+    final int configDistance = Configuration.getDefaultSnapshot().getThreshold();
+
+    // add all words that have the same phonetics
+    String code = getCode(word);
+    TopSuggestions phonetic = new TopSuggestions(maxResults, configDistance);
+    phonetic.addAll(word, getSuggestionWords(code));
+    phonetic.drainTo(result);
+    if (result.size() == maxResults) {
+      return result;
+    }
+
+    // Match the trimming done by getSuggestions(String, int, int[][])
+    String trimmed = word.trim();
+    Set<String> codes = getNearMissCodes(word);
+    codes.remove(code); //already accounted for above
+    TopSuggestions nearMisses = new TopSuggestions(maxResults - result.size(), configDistance);
+    for (String nearMissCode : codes) {
+      nearMisses.addAll(trimmed, getSuggestionWords(nearMissCode));
+    }
+    nearMisses.drainTo(result);
+
+    if (result.isEmpty()) {
+      addBestGuess(trimmed, result, null);
+      if (result.size() > maxResults) {
+        result.subList(maxResults, result.size()).clear();
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the phonetic codes of the words one edit away from a word, in
+   * the order {@link #getSuggestions(String, int, int[][])} considers them.
+   */
+  private Set<String> getNearMissCodes(String word) {
+
+    Set<String> nearmisscodes = new HashSet<>();
     char[] charArray = word.toCharArray();
 
+    //interchange
     for (int i = 0; i < word.length() - 1; i++) {
       char temp = charArray[i];
       charArray[i] = charArray[i + 1];
       charArray[i + 1] = temp;
-      String s = getCode(new String(charArray));
-      nearmisscodes.put(s, s);
+      nearmisscodes.add(getCode(new String(charArray)));
       charArray[i + 1] = charArray[i];
       charArray[i] = temp;
     }
@@ -169,26 +277,22 @@ public abstract class SpellDictionaryASpell implements SpellDictionary {
     char[] replacelist = tf.getReplaceList();
 
     //change
-    charArray = word.toCharArray();
-    char original;
     for (int i = 0; i < word.length(); i++) {
-      original = charArray[i];
-      for (int j = 0; j < replacelist.length; j++) {
-        charArray[i] = replacelist[j];
-        String s = getCode(new String(charArray));
-        nearmisscodes.put(s, s);
+      char original = charArray[i];
+      for (char replacement : replacelist) {
+        charArray[i] = replacement;
+        nearmisscodes.add(getCode(new String(charArray)));
       }
       charArray[i] = original;
     }
 
     //add
-    charArray = (word += " ").toCharArray();
+    charArray = (word + " ").toCharArray();
     int iy = charArray.length - 1;
     while (true) {
-      for (int j = 0; j < replacelist.length; j++) {
-        charArray[iy] = replacelist[j];
-        String s = getCode(new String(charArray));
-        nearmisscodes.put(s, s);
+      for (char replacement : replacelist) {
+        charArray[iy] = replacement;
+        nearmisscodes.add(getCode(new String(charArray)));
       }
       if (iy == 0)
         break;
@@ -196,43 +300,15 @@ public abstract class SpellDictionaryASpell implements SpellDictionary {
       --iy;
     }
 
-    //delete
-    word = word.trim();
-    charArray = word.toCharArray();
-    char[] charArray2 = new char[charArray.length - 1];
-    System.arraycopy(charArray, 0, charArray2, 0, charArray2.length);
-
-    char a = charArray[charArray.length - 1];
-    int ii = charArray2.length;
-    while (true) {
-      String s = getCode(new String(charArray));
-      nearmisscodes.put(s, s);
-      if (ii == 0)
-        break;
-      char b = a;
-      a = charArray2[ii - 1];
-      charArray2[ii - 1] = b;
-      --ii;
+    //delete - Jazzy's deletion loop only ever added the code of the
+    //trimmed word itself, so that is all that is kept here
+    String trimmed = word.trim();
+    if (!trimmed.isEmpty()) {
+      nearmisscodes.add(getCode(trimmed));
     }
 
-    nearmisscodes.remove(code); //already accounted for in phoneticList
-
-    List<Word> wordlist = getWordsFromCode(word, nearmisscodes);
-
-    if (wordlist.isEmpty() && phoneticList.isEmpty())
-      addBestGuess(word, phoneticList, matrix);
-
-
-    // We sort a List at the end instead of maintaining a
-    // continuously sorted TreeSet because every time you add a collection
-    // to a tree set it has to be resorted. It's better to do this operation
-    // once at the end.
-
-    phoneticList.sort(new Word()); //always sort phonetic matches along the top
-    wordlist.sort(new Word()); //the non-phonetic matches can be listed below
-
-    phoneticList.addAll(wordlist);
-    return phoneticList;
+    SpellCheckMetrics.get().increment(SpellCheckMetrics.Counter.NEAR_MISS_CODES, nearmisscodes.size());
+    return nearmisscodes;
   }
 
   /**
@@ -255,7 +331,7 @@ public abstract class SpellDictionaryASpell implements SpellDictionary {
     int bestScore = Integer.MAX_VALUE;
 
     String code = getCode(word);
-    List<String> simwordlist = getWords(code);
+    List<String> simwordlist = getSuggestionWords(code);
 
     LinkedList<Word> candidates = new LinkedList<>();
 
@@ -275,14 +351,95 @@ public abstract class SpellDictionaryASpell implements SpellDictionary {
 
   }
 
-  private List<Word> getWordsFromCode(String word, Map<String, String> codes) {
-    Configuration config = Configuration.getConfiguration();
+  /**
+   * Keeps the cheapest suggestions offered to it, ties going to those
+   * offered first. Candidates that cannot make the cut are rejected
+   * without computing their full edit distance.
+   */
+  private static final class TopSuggestions {
+
+    private final int maxSize;
+    private final int threshold;
+    private final PriorityQueue<Candidate> heap;
+    private int[][] matrix;
+    private int sequence;
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize The maximum number of suggestions to keep.
+     * @param threshold Suggestions must have a cost less than this value.
+     */
+    TopSuggestions(int maxSize, int threshold) {
+      this.maxSize = maxSize;
+      this.threshold = threshold;
+      heap = new PriorityQueue<>(maxSize, Candidate.WORST_FIRST);
+      matrix = new int[0][0];
+    }
+
+    void addAll(String word, List<String> similarWords) {
+      for (String similar : similarWords) {
+        // A candidate must beat the worst one kept so far
+        int limit = heap.size() < maxSize ? threshold - 1 : heap.peek().cost - 1;
+        if (limit < 0) {
+          return;
+        }
+        if (matrix.length <= word.length() || matrix[0].length <= similar.length()) {
+          int size = Math.max(word.length(), similar.length()) + 1;
+          matrix = new int[size][size];
+        }
+        int distance = EditDistance.getDistance(word, similar, matrix, limit);
+        if (distance <= limit) {
+          if (heap.size() == maxSize) {
+            heap.poll();
+          }
+          heap.add(new Candidate(similar, distance, sequence));
+        }
+        sequence++;
+      }
+    }
+
+    /**
+     * Adds the kept suggestions to a list, cheapest first, and forgets them.
+     */
+    void drainTo(List<Word> result) {
+      Candidate[] candidates = heap.toArray(new Candidate[0]);
+      heap.clear();
+      Arrays.sort(candidates, Candidate.WORST_FIRST.reversed());
+      for (Candidate candidate : candidates) {
+        result.add(new Word(candidate.word, candidate.cost));
+      }
+    }
+  }
+
+  /**
+   * A suggestion and its position in the order it was offered.
+   */
+  private static final class Candidate {
+
+    static final Comparator<Candidate> WORST_FIRST = (c1, c2) -> {
+      int diff = Integer.compare(c2.cost, c1.cost);
+      return diff != 0 ? diff : Integer.compare(c2.sequence, c1.sequence);
+    };
+
+    private final String word;
+    private final int cost;
+    private final int sequence;
+
+    Candidate(String word, int cost, int sequence) {
+      this.word = word;
+      this.cost = cost;
+      this.sequence = sequence;
+    }
+  }
+
+  private List<Word> getWordsFromCode(String word, Collection<String> codes) {
     List<Word> result = new ArrayList<>();
     int[][] matrix = new int[0][0];
-    final int configDistance = config.getInteger(Configuration.SPELL_THRESHOLD);
+    final int configDistance = Configuration.getDefaultSnapshot().getThreshold();
 
-    for (String code : codes.keySet()) {
-      List<String> simwordlist = getWords(code);
+    for (String code : codes) {
+      List<String> simwordlist = getSuggestionWords(code);
       for (String similar : simwordlist) {
         int distance = EditDistance.getDistance(word, similar, matrix);
         if (distance < configDistance) {
@@ -293,6 +450,96 @@ public abstract class SpellDictionaryASpell implements SpellDictionary {
     return result;
   }
 
+  /**
+   * Returns the words for a phonetic code considered while building
+   * suggestions, skipping the lookup entirely if
+   * {@link #mightHaveWords(String)} says there are none.
+   */
+  private List<String> getSuggestionWords(String code) {
+    generatedCodes.increment();
+    if (!mightHaveWords(code)) {
+      skippedCodes.increment();
+      return Collections.emptyList();
+    }
+    List<String> words = getWords(code);
+    if (!words.isEmpty()) {
+      hitCodes.increment();
+    }
+    return words;
+  }
+
+  /**
+   * Returns the number of phonetic codes looked up while building
+   * suggestions since this dictionary was created, or since
+   * {@link #resetCodeCounts()} was last called. Most near-miss codes
+   * have no words, so this is typically far larger than
+   * {@link #getHitCodeCount()}.
+   *
+   * @return The number of codes looked up.
+   * @see #getSkippedCodeCount()
+   * @see #getHitCodeCount()
+   */
+  public long getGeneratedCodeCount() {
+    return generatedCodes.sum();
+  }
+
+  /**
+   * Returns the number of phonetic codes looked up while building
+   * suggestions that actually had words.
+   *
+   * @return The number of codes with words.
+   * @see #getGeneratedCodeCount()
+   * @see #resetCodeCounts()
+   */
+  public long getHitCodeCount() {
+    return hitCodes.sum();
+  }
+
+  /**
+   * Returns the number of phonetic codes looked up while building
+   * suggestions that were skipped without calling
+   * {@link #getWords(String)}, because {@link #mightHaveWords(String)}
+   * returned <code>false</code>.
+   *
+   * @return The number of codes skipped.
+   * @see #getGeneratedCodeCount()
+   * @see #resetCodeCounts()
+   */
+  public long getSkippedCodeCount() {
+    return skippedCodes.sum();
+  }
+
+  /**
+   * Resets the code counts to zero.
+   *
+   * @see #getGeneratedCodeCount()
+   * @see #getHitCodeCount()
+   * @see #getSkippedCodeCount()
+   */
+  public void resetCodeCounts() {
+    generatedCodes.reset();
+    skippedCodes.reset();
+    hitCodes.reset();
+  }
+
+  /**
+   * Returns whether there might be words with a phonetic code. This is a
+   * cheap check, made before {@link #getWords(String)} is called for the
+   * many candidate codes generated while looking for suggestions. A
+   * <code>false</code> return value must mean there are definitely no
+   * words; <code>true</code> may be wrong.<p>
+   *
+   * The default implementation always returns <code>true</code>.
+   * Dictionaries whose <code>getWords()</code> is expensive should
+   * override it.
+   *
+   * @param code The phonetic code.
+   * @return Whether there might be words with that code.
+   */
+  public boolean mightHaveWords(String code) {
+    return true;
+  }
+
   /**
    * Returns the phonetic code representing the word.
    *
@@ -303,6 +550,18 @@ public abstract class SpellDictionaryASpell implements SpellDictionary {
     return tf.transform(word);
   }
 
+  /**
+   * Returns the phonetic code representing a word, without creating a
+   * <code>String</code> for the word if the transformator supports it.
+   *
+   * @param word The word we want the phonetic code.
+   * @return The value of the phonetic code for the word.
+   * @see #getCode(String)
+   */
+  public String getCode(CharSequence word) {
+    return tf.transform(word);
+  }
+
   /**
    * Returns a list of words that have the same phonetic code.
    *
@@ -316,11 +575,23 @@ public abstract class SpellDictionaryASpell implements SpellDictionary {
    */
   @Override
 public boolean isCorrect(String word) {
-    List<String> possible = getWords(getCode(word));
-    if (possible.contains(word))
-      return true;
+    String code = getCode(word);
+    if (!mightHaveWords(code))
+      return false;
     //JMH should we always try the lowercase version. If I don't then
     // capitalized words are always returned as incorrect.
-    return possible.contains(word.toLowerCase());
+    return CaseFolding.containsWordOrLowerCase(getWords(code), word);
+  }
+
+  /**
+   * Returns whether the lower case form of a word is correctly spelled,
+   * without creating the lower case form.
+   */
+  @Override
+  public boolean isCorrectLowerCase(CharSequence word) {
+    String code = getCode(word);
+    if (!mightHaveWords(code))
+      return false;
+    return CaseFolding.containsLowerCase(getWords(code), word);
   }
 }
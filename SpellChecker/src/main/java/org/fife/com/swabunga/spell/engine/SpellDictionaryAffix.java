@@ -0,0 +1,433 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.engine;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * A dictionary read from a Hunspell/MySpell word list (<code>.dic</code>)
+ * and affix (<code>.aff</code>) file pair, as distributed with LibreOffice,
+ * Firefox and most Linux distributions.  Rather than every form of every
+ * word, the word list holds stems, each with flags naming the prefix and
+ * suffix rules that apply to it; for example, <code>walk/DGS</code> might
+ * stand for "walk", "walked", "walking" and "walks".  Only the stems are
+ * kept in memory, and words are checked by stripping affixes from them
+ * until a stem with the right flag is found, so both memory use and load
+ * time are roughly proportional to the number of stems rather than the
+ * number of words.<p>
+ *
+ * Phonetic codes are only needed for suggestions.  They are computed for
+ * every form of every stem the first time suggestions are asked for, and
+ * only the codes and the positions of the forms are kept, not the forms
+ * themselves.<p>
+ *
+ * Only the parts of the affix file format needed to check words are
+ * supported; see {@link AffixRules}.  In particular, compound words and
+ * two-level affixes are not recognized.
+ *
+ * @see SpellDictionaryHashMap
+ */
+public class SpellDictionaryAffix extends SpellDictionaryASpell {
+
+    /** The stems and their flags. */
+    private final Map<String, char[]> stems;
+
+    private final AffixRules rules;
+
+    /** The forms of the stems by phonetic code, created when first needed. */
+    private SuggestionIndex suggestionIndex;
+
+    private static final char[] NO_FLAGS = new char[0];
+
+    /**
+     * Creates a dictionary from a word list and affix file, using the
+     * character set named by the affix file's <code>SET</code> directive
+     * for both, or ISO-8859-1 if there is none.
+     *
+     * @param affixFile The affix file.
+     * @param wordList The word list.
+     * @throws IOException If an IO error occurs, or the files are malformed.
+     */
+    public SpellDictionaryAffix(File affixFile, File wordList) throws IOException {
+        this(null, affixFile, wordList);
+    }
+
+    /**
+     * Creates a dictionary from a word list and affix file, using the
+     * character set named by the affix file's <code>SET</code> directive
+     * for both, or ISO-8859-1 if there is none.
+     *
+     * @param transformator The transformator to use for phonetic
+     *        transformation.  If this is <code>null</code>, {@link DoubleMeta}
+     *        transformation is used.
+     * @param affixFile The affix file.
+     * @param wordList The word list.
+     * @throws IOException If an IO error occurs, or the files are malformed.
+     * @see CachingTransformator#getShared()
+     */
+    public SpellDictionaryAffix(Transformator transformator, File affixFile, File wordList) throws IOException {
+        super(transformator);
+        byte[] affixBytes = Files.readAllBytes(affixFile.toPath());
+        Charset charset = getCharset(affixBytes);
+        rules = new AffixRules(new StringReader(new String(affixBytes, charset)));
+        stems = readStems(new InputStreamReader(Files.newInputStream(wordList.toPath()), charset));
+    }
+
+    /**
+     * Creates a dictionary from a word list and affix file.
+     *
+     * @param affixFile The affix file.  This is closed when this
+     *        constructor returns.
+     * @param wordList The word list.  This is closed when this constructor
+     *        returns.
+     * @throws IOException If an IO error occurs, or the files are malformed.
+     */
+    public SpellDictionaryAffix(Reader affixFile, Reader wordList) throws IOException {
+        this(null, affixFile, wordList);
+    }
+
+    /**
+     * Creates a dictionary from a word list and affix file.
+     *
+     * @param transformator The transformator to use for phonetic
+     *        transformation.  If this is <code>null</code>, {@link DoubleMeta}
+     *        transformation is used.
+     * @param affixFile The affix file.  This is closed when this
+     *        constructor returns.
+     * @param wordList The word list.  This is closed when this constructor
+     *        returns.
+     * @throws IOException If an IO error occurs, or the files are malformed.
+     * @see CachingTransformator#getShared()
+     */
+    public SpellDictionaryAffix(Transformator transformator, Reader affixFile, Reader wordList)
+            throws IOException {
+        super(transformator);
+        rules = new AffixRules(affixFile);
+        stems = readStems(wordList);
+    }
+
+    /**
+     * Adds a word to this dictionary, as a stem without affixes.  Since
+     * there is no file to save it to, it does not persist beyond the
+     * application's lifecycle.
+     *
+     * @param word The word to add.
+     * @return <code>false</code> always, since the word is not saved.
+     */
+    @Override
+    public synchronized boolean addWord(String word) {
+        char[] flags = stems.get(word);
+        if (flags == null) {
+            stems.put(word, NO_FLAGS);
+            if (suggestionIndex != null) {
+                suggestionIndex.add(word, NO_FLAGS);
+            }
+        }
+        else if (AffixRules.hasFlag(flags, rules.getNeedAffixFlag()) && !isCorrect(word)) {
+            // Keep the stem's flags, but make it a word on its own as well
+            char[] newFlags = new char[flags.length - 1];
+            int i = 0;
+            for (char flag : flags) {
+                if (flag != rules.getNeedAffixFlag()) {
+                    newFlags[i++] = flag;
+                }
+            }
+            stems.put(word, newFlags);
+            // The stem's forms have moved, so index them all again later
+            suggestionIndex = null;
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether a word is in this dictionary exactly as given.
+     */
+    private boolean contains(String word) {
+
+        char[] flags = stems.get(word);
+        if (flags != null && !AffixRules.hasFlag(flags, rules.getNeedAffixFlag())) {
+            return true;
+        }
+
+        if (hasSuffixedStem(word, null, null)) {
+            return true;
+        }
+
+        int maxLength = Math.min(rules.getMaxPrefixLength(), word.length() - 1);
+        for (int i = 0; i <= maxLength; i++) {
+            for (AffixRules.Rule rule : rules.getPrefixRules(word.substring(0, i))) {
+                String stem = rule.unapply(word);
+                if (stem != null) {
+                    if (AffixRules.hasFlag(stems.get(stem), rule.flag) ||
+                            (rule.crossProduct && hasSuffixedStem(stem, word, rule))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the character set named by an affix file's <code>SET</code>
+     * directive.
+     */
+    private static Charset getCharset(byte[] affixFile) throws IOException {
+        // The directive itself is ASCII, so any single-byte encoding finds it
+        BufferedReader in = new BufferedReader(new StringReader(
+                new String(affixFile, StandardCharsets.ISO_8859_1)));
+        String line;
+        while ((line = in.readLine()) != null) {
+            String[] fields = line.trim().split("\\s+");
+            if ("SET".equals(fields[0]) && fields.length > 1) {
+                try {
+                    return Charset.forName(fields[1]);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Unsupported character set: " + fields[1], e);
+                }
+            }
+        }
+        return StandardCharsets.ISO_8859_1;
+    }
+
+    /**
+     * Returns the number of prefix and suffix rules in the affix file.
+     *
+     * @return The number of rules.
+     */
+    public int getRuleCount() {
+        return rules.getRuleCount();
+    }
+
+    /**
+     * Returns the number of stems in this dictionary.  This is typically a
+     * fraction of the number of words it accepts.
+     *
+     * @return The number of stems.
+     */
+    public synchronized int getStemCount() {
+        return stems.size();
+    }
+
+    private synchronized SuggestionIndex getSuggestionIndex() {
+        if (suggestionIndex == null) {
+            suggestionIndex = new SuggestionIndex();
+        }
+        return suggestionIndex;
+    }
+
+    /**
+     * Returns the words with a phonetic code.  The first call computes the
+     * codes of all words in this dictionary.
+     */
+    @Override
+    public synchronized List<String> getWords(String code) {
+        return getSuggestionIndex().getWords(code);
+    }
+
+    /**
+     * Returns whether any words have a phonetic code.  For this dictionary
+     * the answer is always exact.
+     */
+    @Override
+    public synchronized boolean mightHaveWords(String code) {
+        return getSuggestionIndex().hasWords(code);
+    }
+
+    /**
+     * Returns whether a word, with a suffix and possibly a prefix, comes
+     * from a stem in this dictionary.
+     *
+     * @param word The word, with its prefix already stripped if there was
+     *        one.
+     * @param original The word before its prefix was stripped, or
+     *        <code>null</code> if it has no prefix.
+     * @param prefix The rule that added the prefix, or <code>null</code>.
+     * @return Whether the word comes from a stem.
+     */
+    private boolean hasSuffixedStem(String word, String original, AffixRules.Rule prefix) {
+
+        int maxLength = Math.min(rules.getMaxSuffixLength(), word.length() - 1);
+        for (int i = 0; i <= maxLength; i++) {
+            for (AffixRules.Rule rule : rules.getSuffixRules(word.substring(word.length() - i))) {
+                if (prefix != null && !rule.crossProduct) {
+                    continue;
+                }
+                String stem = rule.unapply(word);
+                if (stem != null) {
+                    char[] flags = stems.get(stem);
+                    if (AffixRules.hasFlag(flags, rule.flag) && (prefix == null ||
+                            (AffixRules.hasFlag(flags, prefix.flag) && prefix.appliesTo(stem) &&
+                            prefix.apply(rule.apply(stem)).equals(original)))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether a word, or its lower case form, is in this dictionary.
+     */
+    @Override
+    public boolean isCorrect(String word) {
+        if (contains(word)) {
+            return true;
+        }
+        String lowerCase = word.toLowerCase();
+        return !lowerCase.equals(word) && contains(lowerCase);
+    }
+
+    /**
+     * Returns whether the lower case form of a word is in this dictionary.
+     */
+    @Override
+    public boolean isCorrectLowerCase(CharSequence word) {
+        return contains(word.toString().toLowerCase());
+    }
+
+    private Map<String, char[]> readStems(Reader wordList) throws IOException {
+
+        Map<String, char[]> result = new HashMap<>();
+        try (BufferedReader in = new BufferedReader(wordList)) {
+
+            String line = in.readLine();
+            // The first line is the approximate number of words
+            if (line != null && line.trim().matches("\\d+")) {
+                int count = Integer.parseInt(line.trim());
+                result = new HashMap<>(Math.max(16, count * 4 / 3 + 1));
+                line = in.readLine();
+            }
+
+            for (; line != null; line = in.readLine()) {
+
+                // Drop morphological fields
+                line = line.trim();
+                int end = 0;
+                while (end < line.length() && !Character.isWhitespace(line.charAt(end))) {
+                    end++;
+                }
+                line = line.substring(0, end);
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                // A slash separates the flags, unless it's escaped
+                int slash = line.indexOf('/');
+                while (slash > 0 && line.charAt(slash - 1) == '\\') {
+                    slash = line.indexOf('/', slash + 1);
+                }
+                String word = slash == -1 ? line : line.substring(0, slash);
+                word = word.replace("\\/", "/");
+                char[] flags = slash == -1 ? NO_FLAGS : rules.parseFlags(line.substring(slash + 1));
+
+                // Homonyms are listed separately, with their own flags
+                char[] existing = result.get(word);
+                if (existing != null && existing.length > 0) {
+                    char[] merged = Arrays.copyOf(existing, existing.length + flags.length);
+                    System.arraycopy(flags, 0, merged, existing.length, flags.length);
+                    flags = merged;
+                }
+                result.put(word, flags);
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * The forms of all stems, by phonetic code.  Each form is stored as the
+     * position of its stem and its position in
+     * {@link AffixRules#expand(String, char[])}, so the forms are created
+     * again when needed instead of being kept in memory.
+     */
+    private final class SuggestionIndex {
+
+        private final List<String> stemList;
+        private final Map<String, int[]> forms;
+
+        SuggestionIndex() {
+            stemList = new ArrayList<>(stems.size());
+            forms = new HashMap<>(stems.size() * 2);
+            for (Map.Entry<String, char[]> entry : stems.entrySet()) {
+                add(entry.getKey(), entry.getValue());
+            }
+        }
+
+        /**
+         * Adds the forms of a stem that is not in this index yet.
+         */
+        void add(String stem, char[] flags) {
+            int stemIndex = stemList.size();
+            stemList.add(stem);
+            List<String> expanded = rules.expand(stem, flags);
+            for (int i = 0; i < expanded.size(); i++) {
+                forms.merge(getCode(expanded.get(i)), new int[] { stemIndex, i }, (old, form) -> {
+                    int[] merged = Arrays.copyOf(old, old.length + 2);
+                    merged[old.length] = form[0];
+                    merged[old.length + 1] = form[1];
+                    return merged;
+                });
+            }
+        }
+
+        List<String> getWords(String code) {
+
+            int[] refs = forms.get(code);
+            if (refs == null) {
+                return new ArrayList<>();
+            }
+
+            List<String> result = new ArrayList<>(refs.length / 2);
+            String stem = null;
+            List<String> expanded = null;
+            for (int i = 0; i < refs.length; i += 2) {
+                String refStem = stemList.get(refs[i]);
+                if (!refStem.equals(stem)) {
+                    stem = refStem;
+                    expanded = rules.expand(stem, stems.get(stem));
+                }
+                if (refs[i + 1] < expanded.size()) {
+                    result.add(expanded.get(refs[i + 1]));
+                }
+            }
+            return result;
+        }
+
+        boolean hasWords(String code) {
+            return forms.containsKey(code);
+        }
+    }
+}
@@ -0,0 +1,523 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.engine;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+
+/**
+ * A dictionary compiled into a minimal acyclic automaton, or DAWG (directed
+ * acyclic word graph).  Words sharing prefixes share the arcs for them, and
+ * words sharing suffixes share the states after them, so a large word list
+ * takes a fraction of the memory {@link SpellDictionaryHashMap} needs: the
+ * whole automaton is a single <code>int</code> array.<p>
+ *
+ * Looking up a word follows one arc per character.  Suggestions are found
+ * by walking the automaton while computing the edit distance to the word
+ * being corrected, abandoning each branch as soon as all words down it are
+ * known to be too different.  Unlike {@link SpellDictionaryASpell}, no
+ * phonetic codes are involved: every word within the threshold configured
+ * by {@link Configuration#SPELL_THRESHOLD} is suggested, cheapest first.<p>
+ *
+ * The automaton cannot change once built, so words cannot be added, and a
+ * dictionary can be shared by any number of threads.
+ *
+ * @see SpellDictionaryHashMap
+ */
+public class SpellDictionaryDawg implements SpellDictionary {
+
+    /** Orders suggestions by cost; shared since it is stateless. */
+    private static final Comparator<Word> COST_ORDER = new Word();
+
+    // Each arc is an int: the index of its character in the alphabet, flags
+    // for whether it is the last arc of its state and whether it ends a
+    // word, and the index of the first arc of the state it leads to, or 0
+    // if that state has no arcs.  The arcs of the start state come first.
+    private static final int LABEL_SHIFT = 24;
+    private static final int LAST_ARC = 1 << 23;
+    private static final int FINAL_ARC = 1 << 22;
+    private static final int TARGET_MASK = FINAL_ARC - 1;
+
+    /** The most distinct characters a dictionary can have. */
+    private static final int MAX_ALPHABET_SIZE = 1 << (32 - LABEL_SHIFT);
+
+    private final int[] arcs;
+    private final char[] alphabet;
+    private final byte[] asciiSymbols;
+    private final int wordCount;
+    private final int maxWordLength;
+
+    /**
+     * Constructor.
+     *
+     * @param wordList The words, one per line.  Empty lines are ignored.
+     * @throws IOException If an IO error occurs.
+     * @throws IllegalArgumentException If the words use more than 256
+     *         distinct characters, or are too many.
+     */
+    public SpellDictionaryDawg(Reader wordList) throws IOException {
+        this(readWords(wordList));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param wordList The file with the words, one per line.  Empty lines
+     *        are ignored.
+     * @throws IOException If an IO error occurs.
+     * @throws IllegalArgumentException If the words use more than 256
+     *         distinct characters, or are too many.
+     */
+    public SpellDictionaryDawg(File wordList) throws IOException {
+        this(readWords(new FileReader(wordList)));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param words The words, in any order.  Duplicates and empty strings
+     *        are ignored.
+     * @throws IllegalArgumentException If the words use more than 256
+     *         distinct characters, or are too many.
+     */
+    public SpellDictionaryDawg(Collection<String> words) {
+
+        SortedSet<String> sorted = new TreeSet<>(words);
+        sorted.remove("");
+        wordCount = sorted.size();
+
+        SortedSet<Character> chars = new TreeSet<>();
+        int maxLength = 0;
+        for (String word : sorted) {
+            for (int i = 0; i < word.length(); i++) {
+                chars.add(word.charAt(i));
+            }
+            maxLength = Math.max(maxLength, word.length());
+        }
+        if (chars.size() > MAX_ALPHABET_SIZE) {
+            throw new IllegalArgumentException("Too many distinct characters: " + chars.size());
+        }
+        maxWordLength = maxLength;
+
+        alphabet = new char[chars.size()];
+        asciiSymbols = new byte[128];
+        Arrays.fill(asciiSymbols, (byte)-1);
+        int symbol = 0;
+        for (char ch : chars) {
+            if (ch < 128) {
+                asciiSymbols[ch] = (byte)symbol;
+            }
+            alphabet[symbol++] = ch;
+        }
+
+        arcs = pack(build(sorted));
+    }
+
+    /**
+     * Not supported, since the automaton cannot be changed once built.
+     *
+     * @param word Ignored.
+     * @return Never returns.
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public boolean addWord(String word) {
+        throw new UnsupportedOperationException("Words cannot be added to a DAWG");
+    }
+
+    /**
+     * Builds the minimal automaton for sorted words, minimizing the states
+     * of each word once no later word can extend them.
+     */
+    private static State build(Iterable<String> sortedWords) {
+
+        State root = new State();
+        Map<State, State> register = new HashMap<>();
+        List<State> path = new ArrayList<>();
+        path.add(root);
+        String previous = "";
+
+        for (String word : sortedWords) {
+            int prefix = 0;
+            int max = Math.min(previous.length(), word.length());
+            while (prefix < max && previous.charAt(prefix) == word.charAt(prefix)) {
+                prefix++;
+            }
+            minimize(path, prefix, register);
+            for (int i = prefix; i < word.length(); i++) {
+                State state = new State();
+                path.get(i).addArc(word.charAt(i), state);
+                path.add(state);
+            }
+            path.get(word.length()).isFinal = true;
+            previous = word;
+        }
+
+        minimize(path, 0, register);
+        return root;
+    }
+
+    /**
+     * Replaces the states on the path to the last word added, below a
+     * depth, with equivalent states already registered, or registers them.
+     */
+    private static void minimize(List<State> path, int depth, Map<State, State> register) {
+        for (int i = path.size() - 1; i > depth; i--) {
+            State state = path.remove(i);
+            State existing = register.putIfAbsent(state, state);
+            if (existing != null) {
+                path.get(i - 1).replaceLastTarget(existing);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the arc of a state with a character.
+     *
+     * @return The arc, or <code>-1</code> if there is none.
+     */
+    private int findArc(int state, char ch) {
+        int symbol = ch < 128 ? asciiSymbols[ch] : Arrays.binarySearch(alphabet, ch);
+        if (symbol < 0) {
+            return -1;
+        }
+        for (int i = state; ; i++) {
+            int arc = arcs[i];
+            int label = arc >>> LABEL_SHIFT;
+            if (label == symbol) {
+                return i;
+            }
+            if (label > symbol || (arc & LAST_ARC) != 0) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of arcs in the automaton.
+     *
+     * @return The arc count.
+     * @see #getSizeInBytes()
+     */
+    public int getArcCount() {
+        return arcs.length;
+    }
+
+    /**
+     * Returns roughly how much memory the automaton uses.
+     *
+     * @return The size of the automaton, in bytes.
+     * @see #getArcCount()
+     */
+    public long getSizeInBytes() {
+        return 4L * arcs.length + 2L * alphabet.length + asciiSymbols.length;
+    }
+
+    /**
+     * Returns the words within the configured threshold of a word, cheapest
+     * first.  Words with the same cost are in <code>String</code> order.
+     *
+     * @param sourceWord The word to get suggestions for.
+     * @param scoreThreshold Ignored; as with {@link SpellDictionaryASpell},
+     *        the threshold configured by
+     *        {@link Configuration#SPELL_THRESHOLD} is used.
+     * @return The suggestions.
+     */
+    @Override
+    public List<Word> getSuggestions(String sourceWord, int scoreThreshold) {
+
+        List<Word> result = new ArrayList<>();
+        int maxDistance = Configuration.getDefaultSnapshot().getThreshold() - 1;
+        if (arcs.length == 0 || maxDistance < 0) {
+            return result;
+        }
+
+        int[][] columns = new int[maxWordLength + 1][sourceWord.length() + 1];
+        EditDistance.getFirstDistanceColumn(columns[0]);
+        int[] columnMins = new int[maxWordLength + 1];
+        char[] chars = new char[maxWordLength];
+        suggest(sourceWord, 0, 0, chars, columns, columnMins, maxDistance, result);
+
+        result.sort(COST_ORDER);
+        return result;
+    }
+
+    /**
+     * Returns the words within the configured threshold of a word, cheapest
+     * first.
+     *
+     * @param sourceWord The word to get suggestions for.
+     * @param scoreThreshold Ignored.
+     * @param matrix Ignored; the edit distances are computed while walking
+     *        the automaton.
+     * @return The suggestions.
+     * @see #getSuggestions(String, int)
+     */
+    @Override
+    public List<Word> getSuggestions(String sourceWord, int scoreThreshold, int[][] matrix) {
+        return getSuggestions(sourceWord, scoreThreshold);
+    }
+
+    /**
+     * Returns the number of words in this dictionary.
+     *
+     * @return The word count.
+     */
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    @Override
+    public boolean isCorrect(String word) {
+        return isWord(word, false) || isCorrectLowerCase(word);
+    }
+
+    @Override
+    public boolean isCorrectLowerCase(CharSequence word) {
+        for (int i = 0; i < word.length(); i++) {
+            char ch = word.charAt(i);
+            if (ch > 127 || (ch == 'I' && CaseFolding.hasSpecialCasing(Locale.getDefault()))) {
+                return isWord(word.toString().toLowerCase(), false);
+            }
+        }
+        return isWord(word, true);
+    }
+
+    /**
+     * Returns whether a word is in the automaton.
+     *
+     * @param word The word.
+     * @param foldAscii Whether to look up the word with ASCII upper case
+     *        letters lower cased.
+     * @return Whether the word was found.
+     */
+    private boolean isWord(CharSequence word, boolean foldAscii) {
+
+        int length = word.length();
+        if (length == 0 || arcs.length == 0) {
+            return false;
+        }
+
+        int state = 0;
+        int arc = 0;
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                state = arc & TARGET_MASK;
+                if (state == 0) {
+                    return false;
+                }
+            }
+            char ch = word.charAt(i);
+            if (foldAscii && ch >= 'A' && ch <= 'Z') {
+                ch += 'a' - 'A';
+            }
+            int index = findArc(state, ch);
+            if (index == -1) {
+                return false;
+            }
+            arc = arcs[index];
+        }
+        return (arc & FINAL_ARC) != 0;
+    }
+
+    /**
+     * Lays out the states of an automaton in a single array, breadth first
+     * from its start state.
+     */
+    private int[] pack(State root) {
+
+        // Assign each state with arcs the index of its first arc
+        Map<State, Integer> firstArcs = new IdentityHashMap<>();
+        List<State> states = new ArrayList<>();
+        Deque<State> queue = new ArrayDeque<>();
+        queue.add(root);
+        firstArcs.put(root, 0);
+        int arcCount = 0;
+        while (!queue.isEmpty()) {
+            State state = queue.remove();
+            states.add(state);
+            arcCount += state.arcCount;
+            for (int i = 0; i < state.arcCount; i++) {
+                State target = state.targets[i];
+                if (target.arcCount > 0 && !firstArcs.containsKey(target)) {
+                    firstArcs.put(target, -1);
+                    queue.add(target);
+                }
+            }
+        }
+        if (arcCount > TARGET_MASK) {
+            throw new IllegalArgumentException("Too many words; the automaton has " + arcCount + " arcs");
+        }
+
+        int[] result = new int[arcCount];
+        int next = 0;
+        for (State state : states) {
+            firstArcs.put(state, next);
+            next += state.arcCount;
+        }
+        next = 0;
+        for (State state : states) {
+            for (int i = 0; i < state.arcCount; i++) {
+                State target = state.targets[i];
+                int arc = Arrays.binarySearch(alphabet, state.labels[i]) << LABEL_SHIFT;
+                if (target.arcCount > 0) {
+                    arc |= firstArcs.get(target);
+                }
+                if (target.isFinal) {
+                    arc |= FINAL_ARC;
+                }
+                if (i == state.arcCount - 1) {
+                    arc |= LAST_ARC;
+                }
+                result[next++] = arc;
+            }
+        }
+        return result;
+    }
+
+    private static List<String> readWords(Reader wordList) throws IOException {
+        List<String> words = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(wordList)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                words.add(line);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Adds the words under a state within a distance of a word to a list.
+     *
+     * @param word The word being corrected.
+     * @param state The first arc of the state.
+     * @param depth The length of the words' common prefix, which is in
+     *        <code>chars</code>.
+     * @param chars The characters of the arcs followed to the state.
+     * @param columns Column <code>j</code> of the edit distance matrix
+     *        for each prefix length <code>j</code>.
+     * @param columnMins The smallest value in each column.
+     * @param maxDistance The largest distance of a suggestion.
+     * @param result Receives the suggestions.
+     */
+    private void suggest(String word, int state, int depth, char[] chars, int[][] columns, int[] columnMins,
+                         int maxDistance, List<Word> result) {
+
+        int[] prev2 = depth > 0 ? columns[depth - 1] : null;
+        char prevChar = depth > 0 ? chars[depth - 1] : 0;
+
+        for (int i = state; ; i++) {
+
+            int arc = arcs[i];
+            char ch = alphabet[arc >>> LABEL_SHIFT];
+            chars[depth] = ch;
+            int[] column = columns[depth + 1];
+            int min = EditDistance.getDistanceColumn(word, prev2, columns[depth], column, ch, prevChar);
+            columnMins[depth + 1] = min;
+
+            int distance = column[word.length()];
+            if ((arc & FINAL_ARC) != 0 && distance <= maxDistance) {
+                result.add(new Word(new String(chars, 0, depth + 1), distance));
+            }
+
+            int target = arc & TARGET_MASK;
+            if (target != 0 && (min <= maxDistance || columnMins[depth] <= maxDistance)) {
+                suggest(word, target, depth + 1, chars, columns, columnMins, maxDistance, result);
+            }
+
+            if ((arc & LAST_ARC) != 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * A state of the automaton while it is being built.  Once registered,
+     * states are not modified, so they can be compared by their arcs.
+     */
+    private static final class State {
+
+        private char[] labels = new char[2];
+        private State[] targets = new State[2];
+        private int arcCount;
+        private boolean isFinal;
+        private int hashCode;
+
+        void addArc(char label, State target) {
+            if (arcCount == labels.length) {
+                labels = Arrays.copyOf(labels, arcCount * 2);
+                targets = Arrays.copyOf(targets, arcCount * 2);
+            }
+            labels[arcCount] = label;
+            targets[arcCount++] = target;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof State)) {
+                return false;
+            }
+            State other = (State)o;
+            if (isFinal != other.isFinal || arcCount != other.arcCount) {
+                return false;
+            }
+            for (int i = 0; i < arcCount; i++) {
+                // Targets are registered, so equivalent targets are the same
+                if (labels[i] != other.labels[i] || targets[i] != other.targets[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            if (hashCode == 0) {
+                int hash = isFinal ? 1 : 2;
+                for (int i = 0; i < arcCount; i++) {
+                    hash = 31 * (31 * hash + labels[i]) + System.identityHashCode(targets[i]);
+                }
+                hashCode = hash;
+            }
+            return hashCode;
+        }
+
+        void replaceLastTarget(State target) {
+            targets[arcCount - 1] = target;
+        }
+    }
+}
@@ -19,10 +19,15 @@ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
 */
 package org.fife.com.swabunga.spell.engine;
 
+import java.io.BufferedReader;
 import java.io.EOFException;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -46,6 +51,19 @@ public class SpellDictionaryDichoDisk extends SpellDictionaryASpell {
   /** dictionary and phonetic file encoding. */
   private String encoding;
 
+  /**
+   * The codes in the dictionary file, so codes without words can be
+   * rejected without searching it.
+   */
+  private BloomFilter codeFilter;
+
+  /** The bytes read and seeks made by the current {@link #getWords(String)} call. */
+  private long bytesRead;
+  private int seekCount;
+
+  /** Where the last seek went to. */
+  private long seekPos;
+
   /**
    * Dictionary convenience Constructor.
    *
@@ -55,6 +73,7 @@ public class SpellDictionaryDichoDisk extends SpellDictionaryASpell {
   public SpellDictionaryDichoDisk(File wordList) throws IOException {
     super((File) null);
     dictFile = new RandomAccessFile(wordList, "r");
+    loadCodeFilter(wordList);
   }
 
   /**
@@ -68,6 +87,7 @@ public class SpellDictionaryDichoDisk extends SpellDictionaryASpell {
     super((File) null);
     this.encoding = encoding;
     dictFile = new RandomAccessFile(wordList, "r");
+    loadCodeFilter(wordList);
   }
 
   /**
@@ -82,6 +102,7 @@ public class SpellDictionaryDichoDisk extends SpellDictionaryASpell {
   public SpellDictionaryDichoDisk(File wordList, File phonetic) throws IOException {
     super(phonetic);
     dictFile = new RandomAccessFile(wordList, "r");
+    loadCodeFilter(wordList);
   }
 
   /**
@@ -99,6 +120,7 @@ public class SpellDictionaryDichoDisk extends SpellDictionaryASpell {
     super(phonetic, encoding);
     this.encoding = encoding;
     dictFile = new RandomAccessFile(wordList, "r");
+    loadCodeFilter(wordList);
   }
 
   /**
@@ -113,6 +135,29 @@ public class SpellDictionaryDichoDisk extends SpellDictionaryASpell {
     return false;
   }
 
+  /**
+   * Reads the codes in the dictionary file into a filter. The file is read
+   * once, sequentially, which is much cheaper than the binary searches the
+   * filter saves.
+   */
+  private void loadCodeFilter(File wordList) throws IOException {
+    // RandomAccessFile.readLine() maps each byte to a char, like ISO-8859-1
+    Charset charset = encoding == null ? StandardCharsets.ISO_8859_1 : Charset.forName(encoding);
+    try (BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(wordList), charset))) {
+      // Each line is at least "c*w\n", and codes are shared by many words
+      codeFilter = BloomFilter.readCodes(in, '*', (int)Math.min(Integer.MAX_VALUE, wordList.length() / 4));
+    }
+  }
+
+  /**
+   * Returns whether there might be words with a phonetic code, without
+   * searching the dictionary file.
+   */
+  @Override
+  public boolean mightHaveWords(String code) {
+    return codeFilter == null || codeFilter.mightContain(code);
+  }
+
   /**
    * Search the dictionary file for the words corresponding to the code
    * within positions p1 - p2.
@@ -120,7 +165,7 @@ public class SpellDictionaryDichoDisk extends SpellDictionaryASpell {
   private LinkedList<String> dichoFind(String code, long p1, long p2) throws IOException {
      //System.out.println("dichoFind("+code+","+p1+","+p2+")");
      long pm = (p1 + p2) / 2;
-    dictFile.seek(pm);
+    seek(pm);
     String l;
     if (encoding == null)
       l = dictFile.readLine();
@@ -156,7 +201,7 @@ public class SpellDictionaryDichoDisk extends SpellDictionaryASpell {
    private LinkedList<String> seqFind(String code, long p1, long p2) throws IOException {
      //System.out.println("seqFind("+code+","+p1+","+p2+")");
      LinkedList<String> list = new LinkedList<>();
-    dictFile.seek(p1);
+    seek(p1);
     while (dictFile.getFilePointer() < p2) {
       String l;
       if (encoding == null)
@@ -175,6 +220,17 @@ public class SpellDictionaryDichoDisk extends SpellDictionaryASpell {
     return(list);
    }
 
+  /**
+   * Seeks in the dictionary file, counting the bytes read since the
+   * previous seek.
+   */
+  private void seek(long pos) throws IOException {
+    bytesRead += dictFile.getFilePointer() - seekPos;
+    dictFile.seek(pos);
+    seekPos = pos;
+    seekCount++;
+  }
+
    /**
     * Read a line of dictFile with a specific encoding.
     */
@@ -204,14 +260,26 @@ public class SpellDictionaryDichoDisk extends SpellDictionaryASpell {
   @Override
   public List<String> getWords(String code) {
     //System.out.println("getWords("+code+")");
+    SpellCheckMetrics metrics = SpellCheckMetrics.get();
+    long start = metrics.startTimer();
+    SpellCheckMetrics.DictionaryReadTrace trace = metrics.startDictionaryReadTrace();
     LinkedList<String> list;
     try {
+      bytesRead = 0;
+      seekCount = 0;
+      seekPos = dictFile.getFilePointer();
       list = dichoFind(code, 0, dictFile.length()-1);
+      bytesRead += dictFile.getFilePointer() - seekPos;
       //System.out.println(list);
     } catch (IOException ex) {
       ex.printStackTrace();
       list = new LinkedList<>();
     }
+    metrics.stopTimer(SpellCheckMetrics.Timer.DICTIONARY_IO, start);
+    metrics.increment(SpellCheckMetrics.Counter.DICTIONARY_BYTES_READ, bytesRead);
+    if (trace != null) {
+      trace.finish(code, bytesRead, seekCount);
+    }
     return list;
   }
 
@@ -88,6 +88,12 @@ public class SpellDictionaryDisk extends SpellDictionaryASpell {
   private File words;
   private File db;
   private Map<String, int[]> index;
+
+  /**
+   * The full codes in the db file, so codes without words can be rejected
+   * without reading it. <code>null</code> until the index is loaded.
+   */
+  private volatile BloomFilter codeFilter;
   /**
    * The flag indicating if the initial preparation or loading of the on
    * disk dictionary is complete.
@@ -210,6 +216,9 @@ public List<String> getWords(String code) {
 
     int[] posLen = getStartPosAndLen(code);
     if (posLen != null) {
+      SpellCheckMetrics metrics = SpellCheckMetrics.get();
+      long start = metrics.startTimer();
+      SpellCheckMetrics.DictionaryReadTrace trace = metrics.startDictionaryReadTrace();
       try {
         InputStream input = new FileInputStream(new File(db, FILE_DB));
         input.skip(posLen[0]);
@@ -226,6 +235,11 @@ public List<String> getWords(String code) {
       } catch (Exception e) {
         e.printStackTrace();
       }
+      metrics.stopTimer(SpellCheckMetrics.Timer.DICTIONARY_IO, start);
+      metrics.increment(SpellCheckMetrics.Counter.DICTIONARY_BYTES_READ, posLen[1]);
+      if (trace != null) {
+        trace.finish(code, posLen[1], 1);
+      }
     }
 
     return words;
@@ -457,6 +471,24 @@ public List<String> getWords(String code) {
       index.put(fields[0], new int[]{Integer.parseInt(fields[1]), Integer.parseInt(fields[2])});
     }
     reader.close();
+
+    File dbFile = new File(db, FILE_DB);
+    if (dbFile.isFile()) {
+      try (BufferedReader dbReader = new BufferedReader(new FileReader(dbFile))) {
+        // Each line is at least "c,w\n", and codes are shared by many words
+        codeFilter = BloomFilter.readCodes(dbReader, ',', (int)Math.min(Integer.MAX_VALUE, dbFile.length() / 4));
+      }
+    }
+  }
+
+  /**
+   * Returns whether there might be words with a phonetic code, without
+   * reading the db file.
+   */
+  @Override
+  public boolean mightHaveWords(String code) {
+    BloomFilter filter = codeFilter;
+    return filter == null || filter.mightContain(code);
   }
 
   private int[] getStartPosAndLen(String code) {
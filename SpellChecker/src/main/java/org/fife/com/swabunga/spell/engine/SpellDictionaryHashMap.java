@@ -25,10 +25,8 @@ Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
 package org.fife.com.swabunga.spell.engine;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.*;
@@ -63,6 +61,12 @@ public class SpellDictionaryHashMap extends SpellDictionaryASpell {
   /** Holds the dictionary file for appending. */
   private File dictFile;
 
+  /** Appends added words on a background thread, if enabled. */
+  private UserDictionaryWriter writer;
+
+  /** The state of the dictionary file when this dictionary last read or wrote it. */
+  private FileStamp fileStamp;
+
   /**
    * Creates an empty dictionary.
    *
@@ -73,6 +77,18 @@ public class SpellDictionaryHashMap extends SpellDictionaryASpell {
     super((File) null);
   }
 
+  /**
+   * Creates an empty dictionary that uses an existing transformator.
+   *
+   * @param transformator The transformator to use for phonetic
+   *        transformation. If this is <code>null</code>, {@link DoubleMeta}
+   *        transformation is used.
+   * @see ParallelDictionaryLoader
+   */
+  SpellDictionaryHashMap(Transformator transformator) {
+    super(transformator);
+  }
+
   /**
    * Constructor.<p>
    * Note that since there's no actual file for the word list, words added
@@ -95,7 +111,7 @@ public class SpellDictionaryHashMap extends SpellDictionaryASpell {
    */
   public SpellDictionaryHashMap(File wordList) throws IOException {
     this(new FileReader(wordList));
-    dictFile = wordList;
+    setDictFile(wordList);
   }
 
   /**
@@ -108,7 +124,7 @@ public class SpellDictionaryHashMap extends SpellDictionaryASpell {
    */
   public SpellDictionaryHashMap(File wordList, File phonetic) throws IOException {
     super(phonetic);
-    dictFile = wordList;
+    setDictFile(wordList);
     createDictionary(new BufferedReader(new FileReader(wordList)));
   }
 
@@ -124,7 +140,7 @@ public class SpellDictionaryHashMap extends SpellDictionaryASpell {
    */
   public SpellDictionaryHashMap(File wordList, File phonetic, String phoneticEncoding) throws IOException {
     super(phonetic, phoneticEncoding);
-    dictFile = wordList;
+    setDictFile(wordList);
     createDictionary(new BufferedReader(new FileReader(wordList)));
   }
 
@@ -146,6 +162,43 @@ public class SpellDictionaryHashMap extends SpellDictionaryASpell {
     createDictionary(new BufferedReader(wordList));
   }
 
+  /**
+   * Dictionary constructor that uses an existing transformator, such as
+   * a {@link CachingTransformator} shared with other dictionaries.<p>
+   * Note that since there's no actual file for the word list, words added
+   * via {@link #addWord(String)} will not persist beyond the application's
+   * lifecycle.
+   *
+   * @param transformator The transformator to use for phonetic
+   *        transformation of the wordlist. If this is <code>null</code>,
+   *        {@link DoubleMeta} transformation is used.
+   * @param wordList The words list for the dictionary.
+   * @throws IOException If an IO error occurs.
+   * @see CachingTransformator#getShared()
+   */
+  public SpellDictionaryHashMap(Transformator transformator, Reader wordList) throws IOException {
+    super(transformator);
+    createDictionary(new BufferedReader(wordList));
+  }
+
+  /**
+   * Dictionary constructor that uses an existing transformator, such as
+   * a {@link CachingTransformator} shared with other dictionaries.
+   *
+   * @param transformator The transformator to use for phonetic
+   *        transformation of the wordlist. If this is <code>null</code>,
+   *        {@link DoubleMeta} transformation is used.
+   * @param wordList The file containing the words list for the dictionary.
+   * @throws IOException If an IO error occurs.
+   * @see CachingTransformator#getShared()
+   */
+  public SpellDictionaryHashMap(Transformator transformator, File wordList) throws IOException {
+    this(transformator);
+    // Stamped before reading, so a change made while reading is not missed
+    setDictFile(wordList);
+    createDictionary(new BufferedReader(new FileReader(wordList)));
+  }
+
   /**
    * Add words from a Reader to existing dictionary hashmap.
    * This function can be called as many times as needed to
@@ -164,18 +217,22 @@ public class SpellDictionaryHashMap extends SpellDictionaryASpell {
 
   /**
    * Add a word permanently to the dictionary (and the dictionary file).
-   * <p>This needs to be made thread safe (synchronized)</p>
+   * If asynchronous writes are enabled, the word is only queued to be
+   * written to the dictionary file, and this method returns immediately.
+   *
+   * @see #setAsynchronousWrites(boolean)
    */
   @Override
-public boolean addWord(String word) {
+  public synchronized boolean addWord(String word) {
     putWord(word);
+    if (writer != null) {
+      writer.add(word);
+      return true;
+    }
     if (dictFile!=null) {
 	    try {
 	    	// Append new word to user's word file
-	    	BufferedWriter w = new BufferedWriter(new FileWriter(dictFile, true));
-	    	w.write(word);
-	    	w.write("\n");
-	    	w.close();
+	    	UserDictionaryWriter.append(dictFile, word, fileStamp);
 	    	return true;
 	    } catch (IOException ex) {
 	      ex.printStackTrace();
@@ -185,6 +242,115 @@ public boolean addWord(String word) {
     return false;
   }
 
+  /**
+   * Removes duplicate words from the dictionary file, if there are any.
+   * Words added to a user dictionary from several editors can otherwise
+   * accumulate in the file. The file is never rewritten unless this
+   * method is called.<p>
+   *
+   * Any words queued by asynchronous writes are written first. The file
+   * is locked while it is compacted, so words appended at the same time
+   * by this or another dictionary are not lost.
+   *
+   * @return The number of lines removed. This is <code>0</code> if this
+   *         dictionary has no dictionary file.
+   * @throws IOException If an IO error occurs.
+   * @see UserDictionaryWriter#compact(File)
+   */
+  public int compactDictionaryFile() throws IOException {
+    if (dictFile == null) {
+      return 0;
+    }
+    flush();
+    synchronized (fileStamp) {
+      boolean current = fileStamp.isCurrent();
+      try {
+        return UserDictionaryWriter.compact(dictFile);
+      } finally {
+        fileStamp.update(current);
+      }
+    }
+  }
+
+  /**
+   * Waits for any words queued by {@link #addWord(String)} to be written
+   * to the dictionary file. If asynchronous writes are not enabled, this
+   * method does nothing.
+   *
+   * @throws IOException If an error occurred writing a word.
+   * @see #setAsynchronousWrites(boolean)
+   */
+  public void flush() throws IOException {
+    UserDictionaryWriter w;
+    synchronized (this) {
+      w = writer;
+    }
+    if (w != null) {
+      w.flush();
+    }
+  }
+
+  /**
+   * Returns whether words added to this dictionary are written to the
+   * dictionary file on a background thread.
+   *
+   * @return Whether writes are asynchronous.
+   * @see #setAsynchronousWrites(boolean)
+   */
+  public synchronized boolean getAsynchronousWrites() {
+    return writer != null;
+  }
+
+  /**
+   * Returns whether nothing but this dictionary has changed the dictionary
+   * file since this dictionary read it, i.e. whether the file only differs
+   * from when it was read by words this dictionary appended to it.  If
+   * a word is being written, this waits for it.<p>
+   *
+   * This lets a {@link org.fife.com.swabunga.spell.event.DictionaryFileWatcher}
+   * skip reloading a dictionary because of its own writes.
+   *
+   * @return Whether the file is unchanged.  This is <code>false</code> if
+   *         this dictionary was not created from a file.
+   */
+  public boolean isDictionaryFileCurrent() {
+    FileStamp stamp;
+    synchronized (this) {
+      stamp = fileStamp;
+    }
+    return stamp != null && stamp.isCurrent();
+  }
+
+  /**
+   * Sets whether words added to this dictionary are written to the
+   * dictionary file on a background thread, so {@link #addWord(String)}
+   * does not block on IO.  Disabling asynchronous writes writes any
+   * queued words and forces them to disk.<p>
+   *
+   * This has no effect if this dictionary was not created from a file.
+   *
+   * @param async Whether writes should be asynchronous.
+   * @throws IOException If disabling asynchronous writes and an error
+   *         occurred writing a queued word.
+   * @see #getAsynchronousWrites()
+   * @see #flush()
+   */
+  public void setAsynchronousWrites(boolean async) throws IOException {
+    UserDictionaryWriter toClose = null;
+    synchronized (this) {
+      if (async && writer == null && dictFile != null) {
+        writer = new UserDictionaryWriter(dictFile, fileStamp);
+      }
+      else if (!async && writer != null) {
+        toClose = writer;
+        writer = null;
+      }
+    }
+    if (toClose != null) {
+      toClose.close();
+    }
+  }
+
   /**
    * Constructs the dictionary from a word list file.
    * <p>
@@ -203,6 +369,14 @@ public boolean addWord(String word) {
     }
   }
 
+  /**
+   * Sets the file added words are appended to, and records its state.
+   */
+  private void setDictFile(File wordList) {
+    dictFile = wordList;
+    fileStamp = new FileStamp(wordList);
+  }
+
   /**
    * Adds to the existing dictionary from a word list file. If the word
    * already exists in the dictionary, a new entry is not added.
@@ -234,7 +408,17 @@ public boolean addWord(String word) {
    * @see #putWordUnique(String)
    */
   protected void putWord(String word) {
-    String code = getCode(word);
+    putWord(word, getCode(word));
+  }
+
+  /**
+   * Allocates a word whose phonetic code has already been computed.
+   *
+   * @param word The word to add.
+   * @param code The phonetic code of the word.
+   * @see #putWord(String)
+   */
+  void putWord(String word, String code) {
     List<String> list = mainDictionary.computeIfAbsent(code, k -> new ArrayList<>());
     list.add(word);
   }
@@ -247,8 +431,20 @@ public boolean addWord(String word) {
    * @see #putWord(String)
    */
   protected void putWordUnique(String word) {
+    putWordUnique(word, getCode(word));
+  }
+
+  /**
+   * Allocates a word whose phonetic code has already been computed, if it
+   * is not already present in the dictionary.
+   *
+   * @param word The word to add.
+   * @param code The phonetic code of the word.
+   * @return Whether the word was added.
+   * @see #putWordUnique(String)
+   */
+  boolean putWordUnique(String word, String code) {
 
-    String code = getCode(word);
     List<String> list = mainDictionary.get(code);
 
     if (list != null) {
@@ -262,8 +458,9 @@ public boolean addWord(String word) {
             }
         }
 
-      if (!isAlready)
-        list.add(word);
+      if (isAlready)
+        return false;
+      list.add(word);
 
     } else {
 
@@ -272,6 +469,16 @@ public boolean addWord(String word) {
       mainDictionary.put(code, list);
 
     }
+    return true;
+  }
+
+  /**
+   * Returns whether any words have a phonetic code. For this dictionary
+   * the answer is always exact.
+   */
+  @Override
+  public boolean mightHaveWords(String code) {
+    return mainDictionary.containsKey(code);
   }
 
   /**
@@ -291,12 +498,38 @@ public boolean addWord(String word) {
    */
   @Override
   public boolean isCorrect(String word) {
-    List<String> possible = getWords(getCode(word));
-    if (possible.contains(word)) {
-      return true;
-    }
     //JMH should we always try the lowercase version. If I dont then capitalized
     //words are always returned as incorrect.
-    return possible.contains(word.toLowerCase());
+    return CaseFolding.containsWordOrLowerCase(getWords(getCode(word)), word);
+  }
+
+  /**
+   * Returns whether the lower case form of a word is correctly spelled
+   * against the current word list.
+   */
+  @Override
+  public boolean isCorrectLowerCase(CharSequence word) {
+    return CaseFolding.containsLowerCase(getWords(getCode(word)), word);
+  }
+
+  /**
+   * Returns whether every word in another dictionary is correct according
+   * to this one. This is useful to tell whether a reloaded dictionary only
+   * has words added to it.
+   *
+   * @param dictionary The other dictionary.
+   * @return Whether all of its words are correct in this dictionary.
+   */
+  public boolean containsAllWords(SpellDictionaryHashMap dictionary) {
+    synchronized (dictionary) {
+      for (List<String> words : dictionary.mainDictionary.values()) {
+        for (String word : words) {
+          if (!isCorrect(word)) {
+            return false;
+          }
+        }
+      }
+    }
+    return true;
   }
 }
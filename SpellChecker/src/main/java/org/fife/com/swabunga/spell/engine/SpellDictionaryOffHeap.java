@@ -0,0 +1,386 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.engine;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * A dictionary whose words and phonetic code index live outside the Java
+ * heap, in direct buffers.  A {@link SpellDictionaryHashMap} holds a
+ * <code>String</code>, a list and a map entry for every word, all of which
+ * the garbage collector must trace on every full collection; a server
+ * with many large dictionaries loaded pays for that in pause times.  This
+ * dictionary holds a handful of objects however many words it has.<p>
+ *
+ * Words are stored in UTF-8, grouped by phonetic code, and compared with
+ * the word being checked byte by byte where they are, so checking a word
+ * creates no objects other than its phonetic code.  Only suggestions
+ * decode words into <code>String</code>s.<p>
+ *
+ * Words cannot be added once the dictionary is created, so it can be
+ * shared by any number of threads.  Its memory is freed when it is
+ * garbage collected.
+ *
+ * @see SpellDictionaryHashMap
+ */
+public class SpellDictionaryOffHeap extends SpellDictionaryASpell {
+
+    // Each code has an entry of ENTRY_SIZE ints: the code's hash, the
+    // offset and length of its UTF-8 bytes in the code arena, and the index
+    // and number of its words in the word index.  Each word has two ints:
+    // the offset and length of its UTF-8 bytes in the word arena.
+    private static final int ENTRY_SIZE = 5;
+    private static final int HASH = 0;
+    private static final int CODE_OFFSET = 1;
+    private static final int CODE_LENGTH = 2;
+    private static final int FIRST_WORD = 3;
+    private static final int WORD_COUNT = 4;
+
+    private final ByteBuffer words;
+    private final ByteBuffer codes;
+    private final IntBuffer wordIndex;
+    private final IntBuffer entries;
+
+    /** Open addressing hash table of entry index + 1, or 0 for none. */
+    private final IntBuffer slots;
+    private final int slotMask;
+
+    private final int wordCount;
+    private final int codeCount;
+
+    /**
+     * Constructor.
+     *
+     * @param wordList The words, one per line.  Empty lines are ignored.
+     *        This is closed when this constructor returns.
+     * @throws IOException If an IO error occurs.
+     */
+    public SpellDictionaryOffHeap(Reader wordList) throws IOException {
+        this(null, wordList);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param wordList The file with the words, one per line.  Empty lines
+     *        are ignored.
+     * @throws IOException If an IO error occurs.
+     */
+    public SpellDictionaryOffHeap(File wordList) throws IOException {
+        this(null, new FileReader(wordList));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param transformator The transformator to use for phonetic
+     *        transformation.  If this is <code>null</code>, {@link DoubleMeta}
+     *        transformation is used.
+     * @param wordList The words, one per line.  Empty lines are ignored.
+     *        This is closed when this constructor returns.
+     * @throws IOException If an IO error occurs.
+     * @see CachingTransformator#getShared()
+     */
+    public SpellDictionaryOffHeap(Transformator transformator, Reader wordList) throws IOException {
+
+        super(transformator);
+
+        // Group the words by code on the heap first; it's only temporary
+        Map<String, Set<String>> byCode = new LinkedHashMap<>();
+        long wordBytes = 0;
+        long codeBytes = 0;
+        int count = 0;
+        try (BufferedReader in = new BufferedReader(wordList)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    String code = getCode(line);
+                    Set<String> codeWords = byCode.get(code);
+                    if (codeWords == null) {
+                        codeWords = new LinkedHashSet<>();
+                        byCode.put(code, codeWords);
+                        codeBytes += code.getBytes(StandardCharsets.UTF_8).length;
+                    }
+                    if (codeWords.add(line)) {
+                        wordBytes += line.getBytes(StandardCharsets.UTF_8).length;
+                        count++;
+                    }
+                }
+            }
+        }
+        if (wordBytes > Integer.MAX_VALUE || codeBytes > Integer.MAX_VALUE) {
+            throw new IOException("Word list too large");
+        }
+
+        wordCount = count;
+        codeCount = byCode.size();
+        words = ByteBuffer.allocateDirect((int)wordBytes);
+        codes = ByteBuffer.allocateDirect((int)codeBytes);
+        wordIndex = allocateInts(2 * wordCount);
+        entries = allocateInts(ENTRY_SIZE * codeCount);
+        int slotCount = Integer.highestOneBit(Math.max(1, codeCount) * 2 - 1) << 1;
+        slots = allocateInts(slotCount);
+        slotMask = slotCount - 1;
+
+        int entry = 0;
+        int word = 0;
+        for (Map.Entry<String, Set<String>> e : byCode.entrySet()) {
+
+            int base = entry * ENTRY_SIZE;
+            byte[] code = e.getKey().getBytes(StandardCharsets.UTF_8);
+            entries.put(base + HASH, e.getKey().hashCode());
+            entries.put(base + CODE_OFFSET, codes.position());
+            entries.put(base + CODE_LENGTH, code.length);
+            entries.put(base + FIRST_WORD, word);
+            entries.put(base + WORD_COUNT, e.getValue().size());
+            codes.put(code);
+
+            for (String w : e.getValue()) {
+                byte[] bytes = w.getBytes(StandardCharsets.UTF_8);
+                wordIndex.put(2 * word, words.position());
+                wordIndex.put(2 * word + 1, bytes.length);
+                words.put(bytes);
+                word++;
+            }
+
+            int slot = e.getKey().hashCode() & slotMask;
+            while (slots.get(slot) != 0) {
+                slot = (slot + 1) & slotMask;
+            }
+            slots.put(slot, ++entry);
+        }
+    }
+
+    /**
+     * Not supported, since the dictionary cannot be changed once created.
+     *
+     * @param word Ignored.
+     * @return Never returns.
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public boolean addWord(String word) {
+        throw new UnsupportedOperationException("Words cannot be added to an off-heap dictionary");
+    }
+
+    private static IntBuffer allocateInts(int count) {
+        return ByteBuffer.allocateDirect(4 * count).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    /**
+     * Returns whether a code in the code arena equals a code, without
+     * decoding it.  Codes are ASCII, so they are compared a byte per char;
+     * any other code is decoded and compared.
+     */
+    private boolean equalsCode(int offset, int length, String code) {
+        if (length != code.length()) {
+            // Only a code with non-ASCII chars can differ in length
+            return length > code.length() && getString(codes, offset, length).equals(code);
+        }
+        for (int i = 0; i < length; i++) {
+            byte b = codes.get(offset + i);
+            char ch = code.charAt(i);
+            if (b < 0 || ch > 127) {
+                return getString(codes, offset, length).equals(code);
+            }
+            if (b != ch) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the word at an index equals a word, or its lower case
+     * form, without decoding it.
+     */
+    private boolean equalsWord(int index, CharSequence word, boolean lowerCase) {
+
+        int offset = wordIndex.get(2 * index);
+        int length = wordIndex.get(2 * index + 1);
+        int charCount = word.length();
+        if (length < charCount) { // UTF-8 takes at least a byte per char
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            byte b = words.get(offset + i);
+            if (b < 0 || i >= charCount) {
+                return b < 0 && equalsWordSlow(offset, length, word, lowerCase);
+            }
+            char ch = word.charAt(i);
+            if (lowerCase && ch >= 'A' && ch <= 'Z') {
+                if (ch == 'I' && CaseFolding.hasSpecialCasing(Locale.getDefault())) {
+                    return equalsWordSlow(offset, length, word, true);
+                }
+                ch += 'a' - 'A';
+            }
+            else if (ch > 127) {
+                return equalsWordSlow(offset, length, word, lowerCase);
+            }
+            if (b != ch) {
+                return false;
+            }
+        }
+        return length == charCount;
+    }
+
+    private boolean equalsWordSlow(int offset, int length, CharSequence word, boolean lowerCase) {
+        String str = word.toString();
+        return getString(words, offset, length).equals(lowerCase ? str.toLowerCase() : str);
+    }
+
+    /**
+     * Returns the entry for a phonetic code.
+     *
+     * @return The entry's index, or <code>-1</code> if there are no words
+     *         with the code.
+     */
+    private int findEntry(String code) {
+
+        int hash = code.hashCode();
+        int slot = hash & slotMask;
+        int entry;
+        while ((entry = slots.get(slot) - 1) != -1) {
+            int base = entry * ENTRY_SIZE;
+            if (entries.get(base + HASH) == hash &&
+                    equalsCode(entries.get(base + CODE_OFFSET), entries.get(base + CODE_LENGTH), code)) {
+                return entry;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of distinct phonetic codes of the words in this
+     * dictionary.
+     *
+     * @return The number of codes.
+     */
+    public int getCodeCount() {
+        return codeCount;
+    }
+
+    /**
+     * Returns the number of bytes this dictionary holds outside the Java
+     * heap.
+     *
+     * @return The number of bytes.
+     */
+    public long getOffHeapSize() {
+        return words.capacity() + codes.capacity() +
+                4L * (wordIndex.capacity() + entries.capacity() + slots.capacity());
+    }
+
+    private static String getString(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the number of words in this dictionary.
+     *
+     * @return The number of words.
+     */
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * Returns the words with a phonetic code, decoding them from off-heap
+     * memory.
+     */
+    @Override
+    public List<String> getWords(String code) {
+        int entry = findEntry(code);
+        if (entry == -1) {
+            return Collections.emptyList();
+        }
+        int first = entries.get(entry * ENTRY_SIZE + FIRST_WORD);
+        int count = entries.get(entry * ENTRY_SIZE + WORD_COUNT);
+        List<String> result = new ArrayList<>(count);
+        for (int i = first; i < first + count; i++) {
+            result.add(getString(words, wordIndex.get(2 * i), wordIndex.get(2 * i + 1)));
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether the word, or its lower case form, is in this
+     * dictionary.
+     */
+    @Override
+    public boolean isCorrect(String word) {
+        return contains(getCode(word), word, true);
+    }
+
+    /**
+     * Returns whether the lower case form of a word is in this dictionary.
+     */
+    @Override
+    public boolean isCorrectLowerCase(CharSequence word) {
+        return contains(getCode(word), word, false);
+    }
+
+    private boolean contains(String code, CharSequence word, boolean matchExactly) {
+        int entry = findEntry(code);
+        if (entry == -1) {
+            return false;
+        }
+        int first = entries.get(entry * ENTRY_SIZE + FIRST_WORD);
+        int count = entries.get(entry * ENTRY_SIZE + WORD_COUNT);
+        for (int i = first; i < first + count; i++) {
+            if ((matchExactly && equalsWord(i, word, false)) || equalsWord(i, word, true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether any words have a phonetic code.  For this dictionary
+     * the answer is always exact.
+     */
+    @Override
+    public boolean mightHaveWords(String code) {
+        return findEntry(code) != -1;
+    }
+}
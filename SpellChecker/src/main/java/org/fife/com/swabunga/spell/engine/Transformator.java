@@ -36,6 +36,20 @@ public interface Transformator {
    */
   String transform(String word);
 
+  /**
+   * Take the given word, and return the best phonetic hash for it.  This
+   * lets callers transform part of a larger text without creating a
+   * <code>String</code> for it.  The default implementation transforms
+   * <code>word.toString()</code>.
+   *
+   * @param word the word to transform
+   * @return the phonetic transformation of the word
+   * @see #transform(String)
+   */
+  default String transform(CharSequence word) {
+    return transform(word == null ? null : word.toString());
+  }
+
   /**
    * gets the list of characters that should be swapped in to the misspelled word
    * in order to try to find more suggestions.
@@ -0,0 +1,91 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.engine;
+
+import java.util.List;
+
+
+/**
+ * A read-only view of another dictionary, for dictionaries shared by
+ * several spell checkers.  Lookups are passed to the wrapped dictionary, and
+ * adding words throws an <code>UnsupportedOperationException</code>.
+ */
+public class UnmodifiableSpellDictionary implements SpellDictionary {
+
+    private final SpellDictionary dictionary;
+
+    /**
+     * Constructor.
+     *
+     * @param dictionary The dictionary to wrap.
+     */
+    public UnmodifiableSpellDictionary(SpellDictionary dictionary) {
+        if (dictionary == null) {
+            throw new IllegalArgumentException("dictionary cannot be null");
+        }
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Always throws an exception, since this dictionary cannot be modified.
+     *
+     * @param word Ignored.
+     * @return Never returns.
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public boolean addWord(String word) {
+        throw new UnsupportedOperationException("Shared dictionaries cannot be modified");
+    }
+
+    /**
+     * Returns the wrapped dictionary.
+     *
+     * @return The wrapped dictionary.
+     */
+    public SpellDictionary getDictionary() {
+        return dictionary;
+    }
+
+    @Override
+    public List<Word> getSuggestions(String sourceWord, int scoreThreshold) {
+        return dictionary.getSuggestions(sourceWord, scoreThreshold);
+    }
+
+    @Override
+    public List<Word> getSuggestions(String sourceWord, int scoreThreshold, int[][] matrix) {
+        return dictionary.getSuggestions(sourceWord, scoreThreshold, matrix);
+    }
+
+    @Override
+    public List<Word> getSuggestions(String sourceWord, int scoreThreshold, int maxResults) {
+        return dictionary.getSuggestions(sourceWord, scoreThreshold, maxResults);
+    }
+
+    @Override
+    public boolean isCorrect(String word) {
+        return dictionary.isCorrect(word);
+    }
+
+    @Override
+    public boolean isCorrectLowerCase(CharSequence word) {
+        return dictionary.isCorrectLowerCase(word);
+    }
+}
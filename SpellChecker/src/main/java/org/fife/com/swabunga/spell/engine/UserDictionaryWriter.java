@@ -0,0 +1,427 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.engine;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/**
+ * Appends words to a user dictionary file on a background thread.<p>
+ *
+ * {@link #add(String)} only queues a word and returns immediately, so it is
+ * safe to call from the event dispatch thread, and from any number of
+ * threads at once. Queued words are written in batches, one line each, in
+ * the order they were added. {@link #close()} writes any remaining words and
+ * forces them to disk.<p>
+ *
+ * Like {@link SpellDictionaryHashMap}, the file is read and written in the
+ * platform's default encoding. Words are appended while holding a lock on
+ * the file, so {@link #compact(File)} never loses a word appended
+ * concurrently, whether by this writer, another dictionary using the same
+ * file, or another process that also locks it.
+ *
+ * @see SpellDictionaryHashMap#setAsynchronousWrites(boolean)
+ */
+public class UserDictionaryWriter implements Closeable {
+
+    /**
+     * Guards each file within this JVM, since a {@link FileLock} only
+     * excludes other processes. Entries are removed once nothing is using
+     * their file.
+     */
+    private static final Map<String, Monitor> FILE_MONITORS = new ConcurrentHashMap<>();
+
+    private final File file;
+    private final String path;
+    private final Monitor monitor;
+    private final FileStamp stamp;
+    private final Queue<String> queue;
+    private final AtomicBoolean drainScheduled;
+    private final ExecutorService executor;
+    private FileOutputStream out;
+    private Writer writer;
+    private boolean fileClosed;
+    private volatile IOException failure;
+
+    /**
+     * Guards <code>closed</code>, so that a word is never queued, nor a
+     * drain scheduled, after {@link #close()} has started.
+     */
+    private final Object stateLock;
+    private boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param file The file to append words to. It is created if it does not
+     *        exist.
+     */
+    public UserDictionaryWriter(File file) {
+        this(file, file == null ? null : new FileStamp(file));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param file The file to append words to.
+     * @param stamp Updated after each batch of words is written.
+     */
+    UserDictionaryWriter(File file, FileStamp stamp) {
+        if (file == null) {
+            throw new IllegalArgumentException("file cannot be null");
+        }
+        this.file = file;
+        this.stamp = stamp;
+        path = getPath(file);
+        monitor = acquireMonitor(path);
+        stateLock = new Object();
+        queue = new ConcurrentLinkedQueue<>();
+        drainScheduled = new AtomicBoolean();
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "UserDictionaryWriter-" + file.getName());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static Monitor acquireMonitor(String path) {
+        return FILE_MONITORS.compute(path, (p, m) -> {
+            Monitor result = m != null ? m : new Monitor();
+            result.users++;
+            return result;
+        });
+    }
+
+    /**
+     * Queues a word to be appended to the file.
+     *
+     * @param word The word to add.
+     * @throws IllegalStateException If this writer has been closed.
+     * @see #flush()
+     */
+    public void add(String word) {
+        synchronized (stateLock) {
+            if (closed) {
+                throw new IllegalStateException("Writer is closed: " + file);
+            }
+            queue.add(word);
+            if (drainScheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+    }
+
+    /**
+     * Appends a word to a dictionary file immediately, while holding a lock
+     * on the file so a concurrent {@link #compact(File)} cannot lose it.
+     *
+     * @param file The dictionary file.
+     * @param word The word to append.
+     * @param stamp Updated after the word is written.
+     * @throws IOException If an IO error occurs.
+     */
+    static void append(File file, String word, FileStamp stamp) throws IOException {
+        String path = getPath(file);
+        synchronized (stamp) {
+            boolean current = stamp.isCurrent();
+            try {
+                synchronized (acquireMonitor(path)) {
+                    try (FileOutputStream out = new FileOutputStream(file, true);
+                         FileLock lock = out.getChannel().lock()) {
+                        Writer w = new OutputStreamWriter(out, Charset.defaultCharset());
+                        w.write(word);
+                        w.write('\n');
+                        w.flush();
+                    }
+                }
+            } finally {
+                releaseMonitor(path);
+                stamp.update(current);
+            }
+        }
+    }
+
+    private void await(Future<?> task) throws IOException {
+        try {
+            task.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted writing to " + file, ie);
+        } catch (ExecutionException ee) {
+            throw new IOException("Error writing to " + file, ee.getCause());
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        IOException ioe = failure;
+        if (ioe != null) {
+            failure = null;
+            throw ioe;
+        }
+    }
+
+    /**
+     * Writes any queued words, forces them to disk, and stops the background
+     * thread. Calling this method more than once has no effect.
+     *
+     * @throws IOException If an error occurred writing any word.
+     */
+    @Override
+    public void close() throws IOException {
+        Future<?> lastTask;
+        synchronized (stateLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            // Runs after any drain scheduled by add(), since no more can be
+            // scheduled once closed is set
+            lastTask = executor.submit(() -> {
+                drain();
+                closeFile();
+            });
+            executor.shutdown();
+        }
+        try {
+            await(lastTask);
+        } finally {
+            releaseMonitor(path);
+        }
+        checkFailure();
+    }
+
+    private void closeFile() {
+        fileClosed = true;
+        if (out != null) {
+            try {
+                writer.flush();
+                out.getFD().sync();
+            } catch (IOException ioe) {
+                fail(ioe);
+            } finally {
+                try {
+                    writer.close();
+                } catch (IOException ioe) {
+                    fail(ioe);
+                }
+                out = null;
+                writer = null;
+            }
+        }
+    }
+
+    /**
+     * Removes duplicate lines and blank lines from a dictionary file,
+     * keeping the first occurrence of each word. The file is only rewritten
+     * if it contains duplicates.<p>
+     *
+     * The file is locked while it is read and rewritten, and is rewritten
+     * in place rather than replaced, so words appended concurrently by a
+     * <code>UserDictionaryWriter</code> or a {@link SpellDictionaryHashMap}
+     * are never lost. Dictionaries never call this method themselves; see
+     * {@link SpellDictionaryHashMap#compactDictionaryFile()}.
+     *
+     * @param file The dictionary file.
+     * @return The number of lines removed.
+     * @throws IOException If an IO error occurs.
+     */
+    public static int compact(File file) throws IOException {
+        String path = getPath(file);
+        try {
+            return compact(file, acquireMonitor(path));
+        } finally {
+            releaseMonitor(path);
+        }
+    }
+
+    private static int compact(File file, Monitor monitor) throws IOException {
+
+        synchronized (monitor) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+
+                ByteArrayOutputStream contents = new ByteArrayOutputStream((int)channel.size());
+                ByteBuffer buffer = ByteBuffer.allocate(8192);
+                while (channel.read(buffer) != -1) {
+                    contents.write(buffer.array(), 0, buffer.position());
+                    buffer.clear();
+                }
+
+                Set<String> words = new LinkedHashSet<>();
+                int lineCount = 0;
+                try (BufferedReader r = new BufferedReader(new InputStreamReader(
+                        new ByteArrayInputStream(contents.toByteArray()), Charset.defaultCharset()))) {
+                    String line;
+                    while ((line = r.readLine()) != null) {
+                        lineCount++;
+                        if (!line.isEmpty()) {
+                            words.add(line);
+                        }
+                    }
+                }
+
+                int removed = lineCount - words.size();
+                if (removed == 0) {
+                    return 0;
+                }
+
+                StringBuilder sb = new StringBuilder();
+                for (String word : words) {
+                    sb.append(word).append('\n');
+                }
+                // The compacted text is never longer than the original, so
+                // writing it before truncating loses no words if we die
+                // part way through.
+                ByteBuffer compacted = Charset.defaultCharset().encode(sb.toString());
+                long size = compacted.remaining();
+                channel.position(0);
+                while (compacted.hasRemaining()) {
+                    channel.write(compacted);
+                }
+                channel.truncate(size);
+                channel.force(true);
+                return removed;
+            }
+        }
+    }
+
+    /**
+     * Writes all queued words. This is only called on the background thread.
+     */
+    private void drain() {
+
+        drainScheduled.set(false);
+        if (queue.isEmpty() || fileClosed) {
+            return;
+        }
+
+        synchronized (stamp) {
+            boolean current = stamp.isCurrent();
+            synchronized (monitor) {
+                try {
+                    if (out == null) {
+                        out = new FileOutputStream(file, true);
+                        writer = new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()));
+                    }
+                    try (FileLock lock = out.getChannel().lock()) {
+                        String word;
+                        while ((word = queue.poll()) != null) {
+                            writer.write(word);
+                            writer.write('\n');
+                        }
+                        writer.flush();
+                    }
+                } catch (IOException ioe) {
+                    fail(ioe);
+                }
+            }
+            stamp.update(current);
+        }
+    }
+
+    private void fail(IOException ioe) {
+        if (failure == null) {
+            failure = ioe;
+        }
+    }
+
+    /**
+     * Blocks until every word queued so far has been written to the file.
+     * The words are not necessarily forced to disk until {@link #close()}
+     * is called.
+     *
+     * @throws IOException If an error occurred writing any word since the
+     *         last call to this method.
+     */
+    public void flush() throws IOException {
+        Future<?> task = null;
+        synchronized (stateLock) {
+            if (!closed) {
+                task = executor.submit(this::drain);
+            }
+        }
+        if (task != null) {
+            await(task);
+        }
+        checkFailure();
+    }
+
+    /**
+     * Returns the file words are appended to.
+     *
+     * @return The file.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the number of files currently guarded within this JVM.
+     *
+     * @return The number of files.
+     */
+    static int getMonitoredFileCount() {
+        return FILE_MONITORS.size();
+    }
+
+    private static String getPath(File file) {
+        return file.getAbsoluteFile().toPath().normalize().toString();
+    }
+
+    private static void releaseMonitor(String path) {
+        FILE_MONITORS.computeIfPresent(path, (p, m) -> --m.users == 0 ? null : m);
+    }
+
+    /**
+     * The lock for a file. <code>users</code> counts the writers and
+     * operations using the file, and is only read or modified inside
+     * {@link Map#compute}.
+     */
+    private static final class Monitor {
+        private int users;
+    }
+}
@@ -47,8 +47,21 @@ public abstract class AbstractWordFinder implements WordFinder {
   protected String text;
   /**
    * An iterator to work through the sentence.
+   *
+   * @deprecated No longer used, since sentence starts are now found in a
+   *             single pass while scanning for words.  This is always
+   *             <code>null</code>.
    */
+  @Deprecated
   protected BreakIterator sentenceIterator;
+  /**
+   * Finds sentence starts in the text between words.
+   */
+  private final SentenceTracker sentenceTracker = new SentenceTracker();
+  /**
+   * The offset the sentence tracker has scanned up to.
+   */
+  private int sentenceScanPos;
 
   /**
    * Creates a new AbstractWordFinder object.
@@ -144,10 +157,9 @@ public abstract class AbstractWordFinder implements WordFinder {
       nextWord.setStart(nextWord.getStart() + diff);
     }
 
-    sentenceIterator.setText(text);
-    int start = currentWord.getStart();
-    sentenceIterator.following(start);
-    startsSentence = sentenceIterator.current() == start;
+    // The text before the word is unchanged, so whether it starts a
+    // sentence is as well
+    sentenceScanPos = currentWord.getEnd();
 
   }
 
@@ -175,23 +187,27 @@ public abstract class AbstractWordFinder implements WordFinder {
   }
 
   /**
-   * Adjusts the sentence iterator and the startSentence flag according to the
-   * currentWord.
+   * Updates the startSentence flag according to the currentWord.  This
+   * should be called each time the current word advances; the text between
+   * the previous word and the current one is scanned for sentence
+   * terminators.
    *
    * @param wd the wd parameter is not presently used.
    */
   protected void setSentenceIterator(Word wd) {
-    int current = sentenceIterator.current();
 
-    if (current == currentWord.getStart())
+    // The empty placeholder that precedes the first word
+    if (currentWord.getText().isEmpty()) {
       startsSentence = true;
-    else {
-      startsSentence = false;
+      return;
+    }
 
-      if (currentWord.getEnd() > current) {
-        sentenceIterator.next();
-      }
+    int start = currentWord.getStart();
+    if (start >= sentenceScanPos) {
+      sentenceTracker.accept(text, sentenceScanPos, start);
     }
+    startsSentence = sentenceTracker.startsSentence(text.charAt(start));
+    sentenceScanPos = currentWord.getEnd();
   }
 
   /**
@@ -210,7 +226,7 @@ public abstract class AbstractWordFinder implements WordFinder {
     char curr = text.charAt(posn);
 
     if ((posn == 0) || (posn == text.length() - 1)) {
-      return Character.isLetterOrDigit(curr);
+      return WordChars.isLetterOrDigit(curr);
     }
 
     switch (curr) {
@@ -222,10 +238,10 @@ public abstract class AbstractWordFinder implements WordFinder {
         //case '_':
         char prev = text.charAt(posn - 1);
         char next = text.charAt(posn + 1);
-        out = (Character.isLetterOrDigit(prev) && Character.isLetterOrDigit(next));
+        out = (WordChars.isLetterOrDigit(prev) && WordChars.isLetterOrDigit(next));
         break;
       default:
-        out = Character.isLetterOrDigit(curr);
+        out = WordChars.isLetterOrDigit(curr);
     }
 
     return out;
@@ -295,7 +311,7 @@ public abstract class AbstractWordFinder implements WordFinder {
             newIndex++;
             break;
           }
-          else if (endIgnore == null && !Character.isLetterOrDigit(curChar)) {
+          else if (endIgnore == null && !WordChars.isLetterOrDigit(curChar)) {
             break;
           }
           newIndex++;
@@ -307,11 +323,11 @@ public abstract class AbstractWordFinder implements WordFinder {
   }
 
   /**
-   * Initializes the sentenceIterator.
+   * Initializes sentence tracking for the start of the text.
    */
   protected void init() {
-    sentenceIterator = BreakIterator.getSentenceInstance();
-    sentenceIterator.setText(text);
+    sentenceTracker.reset();
+    sentenceScanPos = 0;
   }
 
   /**
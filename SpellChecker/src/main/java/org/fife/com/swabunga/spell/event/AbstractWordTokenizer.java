@@ -45,7 +45,11 @@ public abstract class AbstractWordTokenizer implements WordTokenizer {
     protected WordFinder finder;
     /**
      * An iterator to work through the sentence.
+     *
+     * @deprecated No longer used; sentence starts are found by the
+     *             {@link WordFinder}.  This is always <code>null</code>.
      */
+    @Deprecated
     protected BreakIterator sentenceIterator;
 
     /**
@@ -33,7 +33,7 @@ class BasicSpellCheckEvent implements SpellCheckEvent {
    */
   private String invalidWord;
 
-  private int startPosition;
+  private long startOffset;
 
 
   /**
@@ -43,18 +43,18 @@ class BasicSpellCheckEvent implements SpellCheckEvent {
    * @param tokenizer   The reference to the tokenizer that caused this event to fire.
    */
   BasicSpellCheckEvent(String invalidWord, WordTokenizer tokenizer) {
-    this(invalidWord, tokenizer.getCurrentWordPosition());
+    this(invalidWord, tokenizer.getCurrentWordOffset());
   }
 
   /**
    * Constructs the SpellCheckEvent.
    *
    * @param invalidWord   The word that is misspelled
-   * @param startPosition The position of the misspelled word.
+   * @param startOffset The position of the misspelled word.
    */
-  BasicSpellCheckEvent(String invalidWord, int startPosition) {
+  BasicSpellCheckEvent(String invalidWord, long startOffset) {
     this.invalidWord = invalidWord;
-    this.startPosition = startPosition;
+    this.startOffset = startOffset;
   }
 
   /**
@@ -80,11 +80,24 @@ class BasicSpellCheckEvent implements SpellCheckEvent {
 
   /**
    * Returns the start position of the misspelled word in the context.
+   * Positions past <code>Integer.MAX_VALUE</code> are returned as
+   * <code>Integer.MAX_VALUE</code>; use {@link #getWordContextOffset()}
+   * for those.
    *
    * @return The position of the word.
    */
   @Override
   public int getWordContextPosition() {
-    return startPosition;
+    return (int)Math.min(startOffset, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns the start position of the misspelled word in the context.
+   *
+   * @return The position of the word.
+   */
+  @Override
+  public long getWordContextOffset() {
+    return startOffset;
   }
 }
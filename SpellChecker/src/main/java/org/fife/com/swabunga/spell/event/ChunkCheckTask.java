@@ -0,0 +1,118 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+import org.fife.com.swabunga.spell.engine.ConfigurationSnapshot;
+
+
+/**
+ * Checks a range of chunks of a text for {@link SpellChecker}'s parallel
+ * spell checks, splitting the range in half until only one chunk remains.
+ * The errors are returned in offset order.
+ */
+final class ChunkCheckTask extends RecursiveTask<List<SpellCheckEvent>> {
+
+    private final SpellChecker checker;
+    private final String text;
+    private final ConfigurationSnapshot settings;
+    private final int[] chunkStarts;
+    private final int firstChunk;
+    private final int lastChunk;
+
+    /**
+     * Constructor.
+     *
+     * @param checker The spell checker.
+     * @param text The entire text.
+     * @param settings The configuration to check with.
+     * @param chunkStarts The start of each chunk, as returned by
+     *        {@link #getChunkStarts(String, int)}.
+     * @param firstChunk The first chunk to check.
+     * @param lastChunk The chunk after the last one to check.
+     */
+    ChunkCheckTask(SpellChecker checker, String text, ConfigurationSnapshot settings, int[] chunkStarts,
+                   int firstChunk, int lastChunk) {
+        this.checker = checker;
+        this.text = text;
+        this.settings = settings;
+        this.chunkStarts = chunkStarts;
+        this.firstChunk = firstChunk;
+        this.lastChunk = lastChunk;
+    }
+
+    @Override
+    protected List<SpellCheckEvent> compute() {
+
+        if (lastChunk - firstChunk > 1) {
+            int middle = (firstChunk + lastChunk) >>> 1;
+            ChunkCheckTask first = new ChunkCheckTask(checker, text, settings, chunkStarts, firstChunk, middle);
+            first.fork();
+            List<SpellCheckEvent> second = new ChunkCheckTask(checker, text, settings, chunkStarts, middle,
+                lastChunk).compute();
+            List<SpellCheckEvent> events = first.join();
+            events.addAll(second);
+            return events;
+        }
+
+        int start = chunkStarts[firstChunk];
+        int end = lastChunk < chunkStarts.length ? chunkStarts[lastChunk] : text.length();
+        List<SpellCheckEvent> events = new ArrayList<>();
+        checker.checkSpelling(new RangeWordTokenizer(text, start, end), settings, event -> {
+            events.add(event);
+            return false;
+        });
+        return events;
+    }
+
+    /**
+     * Splits a text into chunks that can be checked independently.
+     *
+     * @param text The text.
+     * @param chunkSize The approximate number of characters in each chunk.
+     * @return The start of each chunk.  Each chunk ends where the next one
+     *         starts.
+     */
+    static int[] getChunkStarts(String text, int chunkSize) {
+
+        List<Integer> starts = new ArrayList<>();
+        starts.add(0);
+
+        int start = chunkSize;
+        while (start < text.length()) {
+            if (RangeWordTokenizer.isRangeStart(text, start)) {
+                starts.add(start);
+                start += chunkSize;
+            }
+            else {
+                start++;
+            }
+        }
+
+        int[] result = new int[starts.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = starts.get(i);
+        }
+        return result;
+    }
+}
@@ -86,17 +86,17 @@ public Word next() {
     // some special handling
     //if (SpellChecker.isINETWord(text.substring(startPos))) {
     // robert: trying to be smarter avoiding email addresses (see SpellChecker changes)
-    if (SpellChecker.beginsAsINETWord(text.substring(startPos))) {
+    if (WordChars.beginsAsINETWord(text, startPos)) {
       for (int i = startPos; i < text.length(); i++) {
         char ch = text.charAt(i);
-        if (Character.isLetterOrDigit(ch))
+        if (WordChars.isLetterOrDigit(ch))
           continue;
 
         if (ch == '\r' || ch == '\n')
           return i;
         // Chop off any characters that might be enclosing the 'internet word'. eg ',",),]
         if (Character.isSpaceChar(ch))
-          if (i > 0 && Character.isLetterOrDigit(text.charAt(i - 1)))
+          if (i > 0 && WordChars.isLetterOrDigit(text.charAt(i - 1)))
             return i;
           else
             return i - 1;
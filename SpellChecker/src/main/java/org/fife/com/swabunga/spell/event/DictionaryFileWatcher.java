@@ -0,0 +1,336 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.event;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.fife.com.swabunga.spell.engine.SpellDictionary;
+import org.fife.com.swabunga.spell.engine.SpellDictionaryHashMap;
+
+
+/**
+ * Watches the files dictionaries of a {@link SpellChecker} were loaded
+ * from, and reloads a dictionary when its file changes, e.g. when a team
+ * word list is updated or a user dictionary is edited in another program.<p>
+ *
+ * Dictionaries are rebuilt on a daemon thread, and then swapped in with
+ * {@link SpellChecker#replaceDictionary(SpellDictionary, SpellDictionary)},
+ * so spell checks running meanwhile are never blocked, and keep using the
+ * old dictionary until the new one is ready.  If a dictionary cannot be
+ * reloaded, e.g. because its file is being rewritten, the old one is kept.
+ * Listeners are notified either way.<p>
+ *
+ * Editors often write a file in several steps, so a file is only reloaded
+ * once no more changes to it have been seen for a short time.  Changes a
+ * {@link SpellDictionaryHashMap} made itself, by appending added words to
+ * its file, are not reloaded, since the dictionary already has the words;
+ * see {@link SpellDictionaryHashMap#isDictionaryFileCurrent()}.
+ *
+ * @see DictionaryReloadListener
+ */
+public class DictionaryFileWatcher implements Closeable {
+
+    /**
+     * How long to wait for more changes after a file changes before it is
+     * reloaded.
+     */
+    private static final long QUIET_PERIOD_MILLIS = 200;
+
+    private final SpellChecker checker;
+    private final WatchService watchService;
+    private final Map<Path, Watched> watched; // Guarded by this
+    private final Map<Path, WatchKey> directories; // Guarded by this
+    private final List<DictionaryReloadListener> listeners;
+    private final Thread thread;
+
+    /**
+     * Constructor.
+     *
+     * @param checker The spell checker whose dictionaries are replaced when
+     *        their files change.
+     * @throws IOException If the file system cannot be watched.
+     */
+    public DictionaryFileWatcher(SpellChecker checker) throws IOException {
+        if (checker == null) {
+            throw new IllegalArgumentException("checker cannot be null");
+        }
+        this.checker = checker;
+        watchService = FileSystems.getDefault().newWatchService();
+        watched = new HashMap<>();
+        directories = new HashMap<>();
+        listeners = new CopyOnWriteArrayList<>();
+        thread = new Thread(this::run, "DictionaryFileWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Adds a listener notified when a dictionary is reloaded.
+     *
+     * @param l The listener to add.
+     * @see #removeDictionaryReloadListener(DictionaryReloadListener)
+     */
+    public void addDictionaryReloadListener(DictionaryReloadListener l) {
+        listeners.add(l);
+    }
+
+    /**
+     * Stops watching all files.
+     *
+     * @throws IOException If an IO error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            watched.clear();
+            directories.clear();
+        }
+        watchService.close();
+    }
+
+    /**
+     * Notes the watched files that changed according to a watch key.
+     */
+    private synchronized void collectChanges(WatchKey key, Set<Path> changed) {
+        Path dir = (Path)key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                for (Path file : watched.keySet()) {
+                    if (dir.equals(file.getParent())) {
+                        changed.add(file);
+                    }
+                }
+            }
+            else {
+                Path file = dir.resolve((Path)event.context());
+                if (watched.containsKey(file)) {
+                    changed.add(file);
+                }
+            }
+        }
+        key.reset();
+    }
+
+    private void fireDictionaryReloaded(DictionaryReloadEvent e) {
+        for (DictionaryReloadListener l : listeners) {
+            l.dictionaryReloaded(e);
+        }
+    }
+
+    /**
+     * Returns the dictionary currently loaded from a file.
+     *
+     * @param file The file.
+     * @return The dictionary, or <code>null</code> if the file is not
+     *         watched.
+     */
+    public synchronized SpellDictionary getDictionary(File file) {
+        Watched w = watched.get(toPath(file));
+        return w == null ? null : w.dictionary;
+    }
+
+    /**
+     * Returns whether a changed file was only changed by its dictionary
+     * appending words to it, so it need not be reloaded.
+     */
+    private boolean isChangedByDictionary(Path path) {
+        SpellDictionary dictionary;
+        synchronized (this) {
+            Watched w = watched.get(path);
+            dictionary = w == null ? null : w.dictionary;
+        }
+        return dictionary instanceof SpellDictionaryHashMap &&
+                ((SpellDictionaryHashMap)dictionary).isDictionaryFileCurrent();
+    }
+
+    /**
+     * Reloads the dictionary loaded from a file, whether or not it changed,
+     * and swaps it in.  This is done on the calling thread.
+     *
+     * @param file The file.
+     * @return Whether the dictionary was reloaded.  This is
+     *         <code>false</code> if the file is not watched or could not be
+     *         loaded.
+     */
+    public boolean reload(File file) {
+        return reload(toPath(file));
+    }
+
+    private boolean reload(Path path) {
+
+        Watched w;
+        synchronized (this) {
+            w = watched.get(path);
+        }
+        if (w == null) {
+            return false;
+        }
+
+        DictionaryReloadEvent e;
+        synchronized (w) { // Reload a file on one thread at a time
+            SpellDictionary oldDictionary = w.dictionary;
+            try {
+                SpellDictionary newDictionary = w.loader.load(w.file);
+                synchronized (this) {
+                    if (watched.get(path) != w) {
+                        return false; // No longer watched
+                    }
+                    checker.replaceDictionary(oldDictionary, newDictionary);
+                    w.dictionary = newDictionary;
+                }
+                e = new DictionaryReloadEvent(this, w.file, oldDictionary, newDictionary, null);
+            } catch (IOException ioe) {
+                e = new DictionaryReloadEvent(this, w.file, oldDictionary, null, ioe);
+            }
+        }
+
+        fireDictionaryReloaded(e);
+        return e.getException() == null;
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param l The listener to remove.
+     * @see #addDictionaryReloadListener(DictionaryReloadListener)
+     */
+    public void removeDictionaryReloadListener(DictionaryReloadListener l) {
+        listeners.remove(l);
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Set<Path> changed = new LinkedHashSet<>();
+                collectChanges(watchService.take(), changed);
+                WatchKey key;
+                while ((key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    collectChanges(key, changed);
+                }
+                for (Path file : changed) {
+                    if (!isChangedByDictionary(file)) {
+                        reload(file);
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Closed; stop watching
+        }
+    }
+
+    private static Path toPath(File file) {
+        return file.toPath().toAbsolutePath().normalize();
+    }
+
+    /**
+     * Stops watching a file.  Its dictionary is not removed from the spell
+     * checker.
+     *
+     * @param file The file.
+     * @return Whether the file was watched.
+     */
+    public synchronized boolean unwatch(File file) {
+        Path path = toPath(file);
+        if (watched.remove(path) == null) {
+            return false;
+        }
+        Path dir = path.getParent();
+        boolean dirWatched = watched.keySet().stream().anyMatch(p -> dir.equals(p.getParent()));
+        if (!dirWatched) {
+            directories.remove(dir).cancel();
+        }
+        return true;
+    }
+
+    /**
+     * Starts watching the file a dictionary was loaded from.  When the file
+     * changes, the dictionary is reloaded with <code>loader</code> and
+     * replaces the old one in the spell checker.  If the file is already
+     * watched, its dictionary and loader are replaced.
+     *
+     * @param dictionary The dictionary, which must be used by the spell
+     *        checker, either as its user dictionary or as one of its other
+     *        dictionaries.
+     * @param file The file the dictionary was loaded from.
+     * @param loader Loads the dictionary again.
+     * @throws IOException If the file's directory cannot be watched.
+     * @see #unwatch(File)
+     */
+    public synchronized void watch(SpellDictionary dictionary, File file, Loader loader) throws IOException {
+        if (dictionary == null || loader == null) {
+            throw new IllegalArgumentException("dictionary and loader cannot be null");
+        }
+        Path path = toPath(file);
+        Path dir = path.getParent();
+        if (!directories.containsKey(dir)) {
+            directories.put(dir, dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY));
+        }
+        watched.put(path, new Watched(path.toFile(), dictionary, loader));
+    }
+
+    /**
+     * Loads a dictionary from a file.
+     */
+    @FunctionalInterface
+    public interface Loader {
+
+        /**
+         * Loads a dictionary.
+         *
+         * @param file The file to load.
+         * @return The dictionary.
+         * @throws IOException If an IO error occurs.
+         */
+        SpellDictionary load(File file) throws IOException;
+    }
+
+    /**
+     * A watched file and the dictionary loaded from it.
+     */
+    private static final class Watched {
+
+        private final File file;
+        private final Loader loader;
+        private volatile SpellDictionary dictionary;
+
+        Watched(File file, SpellDictionary dictionary, Loader loader) {
+            this.file = file;
+            this.dictionary = dictionary;
+            this.loader = loader;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.event;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.EventObject;
+
+import org.fife.com.swabunga.spell.engine.SpellDictionary;
+
+
+/**
+ * Describes a dictionary reloaded by a {@link DictionaryFileWatcher}.
+ *
+ * @see DictionaryReloadListener
+ */
+public class DictionaryReloadEvent extends EventObject {
+
+    private final File file;
+    private final SpellDictionary oldDictionary;
+    private final SpellDictionary newDictionary;
+    private final IOException exception;
+
+    /**
+     * Constructor.
+     *
+     * @param source The watcher that reloaded the dictionary.
+     * @param file The dictionary file that changed.
+     * @param oldDictionary The dictionary that was replaced.
+     * @param newDictionary The reloaded dictionary, or <code>null</code> if
+     *        it could not be loaded.
+     * @param exception The error loading the dictionary, or
+     *        <code>null</code> if it was loaded.
+     */
+    public DictionaryReloadEvent(DictionaryFileWatcher source, File file, SpellDictionary oldDictionary,
+                                 SpellDictionary newDictionary, IOException exception) {
+        super(source);
+        this.file = file;
+        this.oldDictionary = oldDictionary;
+        this.newDictionary = newDictionary;
+        this.exception = exception;
+    }
+
+    /**
+     * Returns the error that occurred loading the dictionary.  In this case
+     * the old dictionary is still used.
+     *
+     * @return The error, or <code>null</code> if the dictionary was
+     *         reloaded.
+     */
+    public IOException getException() {
+        return exception;
+    }
+
+    /**
+     * Returns the dictionary file that changed.
+     *
+     * @return The file.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the reloaded dictionary.
+     *
+     * @return The dictionary now used, or <code>null</code> if it could not
+     *         be loaded.
+     * @see #getException()
+     */
+    public SpellDictionary getNewDictionary() {
+        return newDictionary;
+    }
+
+    /**
+     * Returns the dictionary that was replaced.
+     *
+     * @return The old dictionary.
+     */
+    public SpellDictionary getOldDictionary() {
+        return oldDictionary;
+    }
+
+    /**
+     * Returns the watcher that reloaded the dictionary.  This is a wrapper
+     * for <code>(DictionaryFileWatcher)getSource()</code>.
+     *
+     * @return The watcher.
+     */
+    public DictionaryFileWatcher getWatcher() {
+        return (DictionaryFileWatcher)getSource();
+    }
+}
@@ -0,0 +1,39 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.event;
+
+import java.util.EventListener;
+
+
+/**
+ * Listens for dictionaries reloaded by a {@link DictionaryFileWatcher}.
+ *
+ * @see DictionaryFileWatcher#addDictionaryReloadListener(DictionaryReloadListener)
+ */
+public interface DictionaryReloadListener extends EventListener {
+
+    /**
+     * Called on the watching thread after a dictionary file changed, and
+     * the dictionary was reloaded and swapped in, or failed to load.
+     *
+     * @param e The event.
+     */
+    void dictionaryReloaded(DictionaryReloadEvent e);
+}
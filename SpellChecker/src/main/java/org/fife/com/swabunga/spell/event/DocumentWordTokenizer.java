@@ -22,7 +22,6 @@ package org.fife.com.swabunga.spell.event;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.Document;
 import javax.swing.text.Segment;
-import java.text.BreakIterator;
 
 
 /**
@@ -65,8 +64,6 @@ public class DocumentWordTokenizer implements WordTokenizer {
    * nextWordPos have already been calculated. (see nextWord).
    */
   private boolean first = true;
-  private BreakIterator sentenceIterator;
-  private boolean startsSentence = true;
 
   /**
    * Creates a new DocumentWordTokenizer to work on a document.
@@ -77,10 +74,8 @@ public class DocumentWordTokenizer implements WordTokenizer {
     this.document = document;
     //Create a text segment over the entire document
     text = new Segment();
-    sentenceIterator = BreakIterator.getSentenceInstance();
     try {
       document.getText(0, document.getLength(), text);
-      sentenceIterator.setText(text);
       // robert: use text.getBeginIndex(), not 0, for segment's first offset
       currentWordPos = getNextWordStart(text, text.getBeginIndex());
       //If the current word pos is -1 then the string was all white space
@@ -98,34 +93,19 @@ public class DocumentWordTokenizer implements WordTokenizer {
 
   /**
    * This helper method will return the start character of the next
-   * word in the buffer from the start position.
+   * word in the buffer from the start position.  The segment's array is
+   * scanned directly rather than through its <code>CharacterIterator</code>
+   * methods, since this is done for every character in the document.
    */
   private static int getNextWordStart(Segment text, int startPos) {
-    if (startPos <= text.getEndIndex())
-      for (char ch = text.setIndex(startPos); ch != Segment.DONE; ch = text.next()) {
-        if (Character.isLetterOrDigit(ch)) {
-          return text.getIndex();
-        }
-      }
-    return -1;
+    return WordChars.getNextWordStart(text.array, startPos, text.getEndIndex());
   }
 
   /**
    * This helper method will return the end of the next word in the buffer.
    */
   private static int getNextWordEnd(Segment text, int startPos) {
-    for (char ch = text.setIndex(startPos); ch != Segment.DONE; ch = text.next()) {
-      if (!Character.isLetterOrDigit(ch)) {
-        if (ch == '-' || ch == '\'') { // handle ' and - inside words
-          char ch2 = text.next();
-          text.previous();
-          if (ch2 != Segment.DONE && Character.isLetterOrDigit(ch2))
-            continue;
-        }
-        return text.getIndex();
-      }
-    }
-    return text.getEndIndex();
+    return WordChars.getNextWordEnd(text.array, startPos, text.getEndIndex());
   }
 
   /**
@@ -205,25 +185,10 @@ public class DocumentWordTokenizer implements WordTokenizer {
       currentWordEnd = getNextWordEnd(text, currentWordPos);
       nextWordPos = getNextWordStart(text, currentWordEnd + 1);
     }
-    int current = sentenceIterator.current();
-    if (current == currentWordPos)
-      startsSentence = true;
-    else {
-      startsSentence = false;
-      if (currentWordEnd > current)
-        sentenceIterator.next();
-    }
     //The nextWordPos has already been populated
-    String word = null;
-    try {
-      // robert: bug fix - Segment's begin offset may be != 0
-      int offs = currentWordPos - text.offset;
-      word = document.getText(offs, currentWordEnd - currentWordPos);
-      //word = document.getText(currentWordPos, currentWordEnd - currentWordPos);
-    } catch (BadLocationException ex) {
-      ex.printStackTrace();
-      moreTokens = false;
-    }
+    // Copy the word straight from the segment rather than asking the
+    // document for it, which is much more expensive
+    String word = new String(text.array, currentWordPos, currentWordEnd - currentWordPos);
     wordCount++;
     first = false;
     if (nextWordPos == -1)
@@ -263,8 +228,6 @@ public class DocumentWordTokenizer implements WordTokenizer {
       if (currentWordPos != -1) {
         currentWordEnd = getNextWordEnd(text, currentWordPos);
         nextWordPos = getNextWordStart(text, currentWordEnd);
-        sentenceIterator.setText(text);
-        sentenceIterator.following(currentWordPos);
       }
       else
         moreTokens = false;
@@ -283,23 +246,22 @@ public class DocumentWordTokenizer implements WordTokenizer {
   }
 
   /**
-   * Indicates if the current word is at the start of a sentence.
+   * Indicates if the current word is at the start of a sentence.  This is
+   * the case for a word at the start of the document, or a word directly
+   * after a period and a single whitespace character.  The two characters
+   * before the word are read straight from the document's segment, so this
+   * check is cheap enough to make for every word.
    *
    * @return true if the current word is at the start of a sentence
    */
   @Override
   public boolean isNewSentence() {
-    // BreakIterator doesn't work when the first word in a sentence is not
-    // capitalized, but we need to check for capitalization
-    if (startsSentence || currentWordPos < 2)
+    // robert: segment's start offset may be != 0
+    if (currentWordPos - text.offset < 2)
       return true;
 
-    String textBefore;
-    try {
-      textBefore = document.getText(currentWordPos - 2, 2);
-    } catch (BadLocationException ex) {
-      return false;
-    }
-    return (textBefore != null && ".".equals(textBefore.trim()));
+    char c1 = text.array[currentWordPos - 2];
+    char c2 = text.array[currentWordPos - 1];
+    return (c1 == '.' && c2 <= ' ') || (c1 <= ' ' && c2 == '.');
   }
 }
@@ -0,0 +1,142 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.event;
+
+
+/**
+ * Iterates over the parts of a mixed case word, such as
+ * <code>getTextArea</code> or <code>HTMLParser</code>, exactly as
+ * {@link SpellChecker#splitMixedCaseWord(String)} splits it.  Rather than
+ * creating a <code>String</code> per part, this object is itself a view of
+ * the current part, so parts can be checked against dictionaries without
+ * copying them.  A single instance can be reused for many words.
+ */
+final class MixedCaseParts implements CharSequence {
+
+    private CharSequence word;
+    private int pos;
+    private int offs;
+    private int adjacentCaps;
+    private boolean done;
+    private int start;
+    private int end;
+
+    @Override
+    public char charAt(int index) {
+        return word.charAt(start + index);
+    }
+
+    /**
+     * Returns the end of the current part in the word.
+     *
+     * @return The end offset of the current part.
+     * @see #getStart()
+     */
+    int getEnd() {
+        return end;
+    }
+
+    /**
+     * Returns the start of the current part in the word.
+     *
+     * @return The start offset of the current part.
+     * @see #getEnd()
+     */
+    int getStart() {
+        return start;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    /**
+     * Moves to the next part of the word.  A word always has at least one
+     * part, even if it is empty.
+     *
+     * @return Whether there was another part.
+     */
+    boolean next() {
+
+        if (done) {
+            return false;
+        }
+
+        int length = word.length();
+        while (pos < length) {
+
+            int i = pos++;
+            char ch = word.charAt(i);
+
+            if (i == 0) {
+                adjacentCaps = Character.isUpperCase(ch) ? 1 : 0;
+            }
+            else if (Character.isUpperCase(ch)) {
+                boolean split = adjacentCaps == 0;
+                adjacentCaps++;
+                if (split) {
+                    return setPart(i);
+                }
+            }
+            else if (adjacentCaps > 1) {
+                adjacentCaps = 0;
+                return setPart(i - 1);
+            }
+        }
+
+        done = true;
+        start = offs;
+        end = length;
+        return true;
+    }
+
+    /**
+     * Starts iterating over the parts of a word.
+     *
+     * @param word The word to split.
+     */
+    void reset(CharSequence word) {
+        this.word = word;
+        pos = 0;
+        offs = 0;
+        adjacentCaps = 0;
+        done = false;
+        start = 0;
+        end = 0;
+    }
+
+    private boolean setPart(int partEnd) {
+        start = offs;
+        end = partEnd;
+        offs = partEnd;
+        return true;
+    }
+
+    @Override
+    public CharSequence subSequence(int beginIndex, int endIndex) {
+        return word.subSequence(start + beginIndex, start + endIndex);
+    }
+
+    @Override
+    public String toString() {
+        return word.subSequence(start, end).toString();
+    }
+}
@@ -0,0 +1,180 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.event;
+
+
+/**
+ * Tokenizes the words starting in one range of a larger text, exactly as
+ * {@link DocumentWordTokenizer} would tokenize them when walking the entire
+ * text.  Word positions are offsets into the entire text.<p>
+ *
+ * The word scanning and sentence detection mirror
+ * <code>DocumentWordTokenizer</code> step for step.  Whether a word starts a
+ * sentence only depends on the two characters before it, and a range that
+ * starts after a whitespace character finds the same words a full walk
+ * does, so no words before the range need to be walked;
+ * {@link #isRangeStart(String, int)} tells whether an offset can start a
+ * range.<p>
+ *
+ * This tokenizer does not support replacing words.
+ */
+final class RangeWordTokenizer implements WordTokenizer {
+
+    private final String str;
+    private final int end;
+    private int currentWordPos;
+    private int currentWordEnd;
+    private int nextWordPos = -1;
+    private int wordCount;
+    private boolean moreTokens = true;
+    private boolean first = true;
+
+    /**
+     * Constructor.
+     *
+     * @param str The entire text.
+     * @param start The start of the range of words to return.  This should
+     *        be <code>0</code> or an offset for which
+     *        {@link #isRangeStart(String, int)} returns <code>true</code>.
+     * @param end The end of the range of words to return, exclusive.  Words
+     *        starting before this offset may extend past it.
+     */
+    RangeWordTokenizer(String str, int start, int end) {
+
+        this.str = str;
+        this.end = end;
+
+        currentWordPos = getNextWordStart(str, start);
+        if (currentWordPos != -1 && currentWordPos < end) {
+            currentWordEnd = getNextWordEnd(str, currentWordPos);
+            nextWordPos = limit(getNextWordStart(str, currentWordEnd));
+        }
+        else {
+            moreTokens = false;
+        }
+    }
+
+    @Override
+    public String getContext() {
+        return str;
+    }
+
+    @Override
+    public int getCurrentWordCount() {
+        return wordCount;
+    }
+
+    @Override
+    public int getCurrentWordEnd() {
+        return currentWordEnd;
+    }
+
+    @Override
+    public int getCurrentWordPosition() {
+        return currentWordPos;
+    }
+
+    /**
+     * Returns the end of the word starting at an offset.
+     */
+    private static int getNextWordEnd(String str, int startPos) {
+        int length = str.length();
+        for (int i = startPos; i < length; i++) {
+            char ch = str.charAt(i);
+            if (!WordChars.isLetterOrDigit(ch)) {
+                if (ch == '-' || ch == '\'') { // handle ' and - inside words
+                    if (i + 1 < length && WordChars.isLetterOrDigit(str.charAt(i + 1))) {
+                        continue;
+                    }
+                }
+                return i;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Returns the start of the first word at or after an offset, or
+     * <code>-1</code> if there are no more words.
+     */
+    private static int getNextWordStart(String str, int startPos) {
+        int length = str.length();
+        for (int i = startPos; i < length; i++) {
+            if (WordChars.isLetterOrDigit(str.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean hasMoreWords() {
+        return moreTokens;
+    }
+
+    @Override
+    public boolean isNewSentence() {
+        if (currentWordPos < 2) {
+            return true;
+        }
+        char c1 = str.charAt(currentWordPos - 2);
+        char c2 = str.charAt(currentWordPos - 1);
+        return (c1 == '.' && c2 <= ' ') || (c1 <= ' ' && c2 == '.');
+    }
+
+    /**
+     * Returns whether a range may start at an offset.  The offset must
+     * follow a whitespace character, which no word contains, so a full walk
+     * of the text resumes scanning for words at or before it.
+     *
+     * @param str The entire text.
+     * @param offset The candidate start of the range.
+     * @return Whether a range can start at <code>offset</code>.
+     */
+    static boolean isRangeStart(String str, int offset) {
+        return offset > 0 && offset < str.length() && Character.isWhitespace(str.charAt(offset - 1));
+    }
+
+    private int limit(int wordStart) {
+        return wordStart >= end ? -1 : wordStart;
+    }
+
+    @Override
+    public String nextWord() {
+
+        if (!first) {
+            currentWordPos = nextWordPos;
+            currentWordEnd = getNextWordEnd(str, currentWordPos);
+            nextWordPos = limit(getNextWordStart(str, currentWordEnd + 1));
+        }
+
+        wordCount++;
+        first = false;
+        if (nextWordPos == -1) {
+            moreTokens = false;
+        }
+        return str.substring(currentWordPos, currentWordEnd);
+    }
+
+    @Override
+    public void replaceWord(String newWord) {
+        throw new UnsupportedOperationException("Words cannot be replaced");
+    }
+}
@@ -0,0 +1,434 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.event;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+
+/**
+ * Tokenizes text read from a {@link Reader}, in constant memory.  Text is
+ * read through a small sliding buffer as words are requested, so checking
+ * can start before the input has been fully read, and input larger than
+ * memory can be checked.  Only the longest word in the input must fit in
+ * memory.<p>
+ *
+ * Words are found as {@link DefaultWordFinder} finds them, and word
+ * positions are absolute offsets from the start of the input.  The line and
+ * column of the current word are tracked as well.<p>
+ *
+ * Sentence starts are detected from the characters between words, so they
+ * do not depend on where the buffer boundaries fall.  A word starts a
+ * sentence if it is the first word, or if it follows a <code>!</code> or
+ * <code>?</code>, or a <code>.</code> and does not start with a lower case
+ * letter; in each case, the terminator must be followed by whitespace,
+ * optionally with quotes or brackets in between.<p>
+ *
+ * Since the input is not kept, {@link #getContext()} only returns the text
+ * around the current word, and this tokenizer does not support replacing
+ * words.  Errors reading the input are thrown as
+ * {@link UncheckedIOException}s.
+ *
+ * @see StringWordTokenizer
+ */
+public class ReaderWordTokenizer implements WordTokenizer, Closeable {
+
+    /**
+     * The default size of the sliding buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * The number of characters needed to tell whether a word is an Internet
+     * address.
+     *
+     * @see SpellChecker#beginsAsINETWord(String)
+     */
+    private static final int INET_PREFIX_LENGTH = 8;
+
+    private final Reader in;
+    private final SentenceTracker sentenceTracker;
+    private char[] buf;
+    private long bufStart;
+    private int count;
+    private long mark;
+    private boolean eof;
+
+    private boolean started;
+    private int wordCount;
+
+    private String currentWord;
+    private long currentWordPos;
+    private boolean currentNewSentence;
+    private long currentLine;
+    private long currentColumn;
+
+    private String nextWord;
+    private long nextWordPos;
+    private boolean nextNewSentence;
+    private long nextLine;
+    private long nextColumn;
+
+    private long line;
+    private long lineStart;
+
+    /**
+     * Constructor.
+     *
+     * @param in The input to tokenize.
+     * @see #ReaderWordTokenizer(Reader, int)
+     * @see #ReaderWordTokenizer(ReadableByteChannel, Charset)
+     */
+    public ReaderWordTokenizer(Reader in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param in The input to tokenize.
+     * @param bufferSize The initial size of the sliding buffer.  The buffer
+     *        only grows if a word does not fit in it.
+     * @see #ReaderWordTokenizer(Reader)
+     */
+    public ReaderWordTokenizer(Reader in, int bufferSize) {
+        if (in == null) {
+            throw new IllegalArgumentException("in cannot be null");
+        }
+        if (bufferSize < INET_PREFIX_LENGTH + 1) {
+            throw new IllegalArgumentException("bufferSize too small: " + bufferSize);
+        }
+        this.in = in;
+        buf = new char[bufferSize];
+        sentenceTracker = new SentenceTracker();
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param channel The input to tokenize.
+     * @param charset The encoding of the input.  Malformed input causes an
+     *        {@link UncheckedIOException}.
+     * @see #ReaderWordTokenizer(Reader)
+     */
+    public ReaderWordTokenizer(ReadableByteChannel channel, Charset charset) {
+        this(Channels.newReader(channel, charset.newDecoder(), -1));
+    }
+
+    private void advance() {
+
+        currentWord = nextWord;
+        currentWordPos = nextWordPos;
+        currentNewSentence = nextNewSentence;
+        currentLine = nextLine;
+        currentColumn = nextColumn;
+
+        nextWord = null;
+        long pos = currentWord == null ? 0 : currentWordPos + currentWord.length();
+
+        // Skip to the next word, noting any sentence terminators and line
+        // breaks along the way
+        while (true) {
+            mark = pos - 1;
+            if (!ensure(pos)) {
+                return;
+            }
+            if (isWordChar(pos)) {
+                break;
+            }
+            char ch = charAt(pos);
+            sentenceTracker.accept(ch);
+            if (ch == '\n' || (ch == '\r' && (!ensure(pos + 1) || charAt(pos + 1) != '\n'))) {
+                line++;
+                lineStart = pos + 1;
+            }
+            pos++;
+        }
+
+        mark = pos;
+        long end = getWordEnd(pos);
+        nextWord = substring(pos, end);
+        nextWordPos = pos;
+        nextLine = line;
+        nextColumn = pos - lineStart;
+        nextNewSentence = sentenceTracker.startsSentence(nextWord.charAt(0));
+    }
+
+    private void checkCurrentWord() {
+        if (currentWord == null) {
+            throw new WordNotFoundException("No Words in current String");
+        }
+    }
+
+    private char charAt(long pos) {
+        return buf[(int)(pos - bufStart)];
+    }
+
+    /**
+     * Closes the input.
+     *
+     * @throws IOException If an IO error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Returns whether a position is in the input, reading more of the input
+     * if necessary.
+     */
+    private boolean ensure(long pos) {
+
+        while (pos >= bufStart + count) {
+
+            if (eof) {
+                return false;
+            }
+
+            if (count == buf.length) {
+                int discard = (int)Math.max(0, Math.min(mark, pos) - bufStart);
+                if (discard > 0) {
+                    System.arraycopy(buf, discard, buf, 0, count - discard);
+                    bufStart += discard;
+                    count -= discard;
+                }
+                else {
+                    buf = Arrays.copyOf(buf, buf.length * 2);
+                }
+            }
+
+            try {
+                int read = in.read(buf, count, buf.length - count);
+                if (read == -1) {
+                    eof = true;
+                }
+                else {
+                    count += read;
+                }
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+
+        return pos >= bufStart;
+    }
+
+    /**
+     * Returns the text currently in the sliding buffer, which includes at
+     * least the current word.  Since the input is not kept, this is not the
+     * entire text.
+     *
+     * @return The buffered text.
+     */
+    @Override
+    public String getContext() {
+        return new String(buf, 0, count);
+    }
+
+    @Override
+    public int getCurrentWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * Returns the 0-based column of the start of the current word, in
+     * characters.
+     *
+     * @return The column.
+     * @throws WordNotFoundException If the current word has not yet been
+     *         set.
+     * @see #getCurrentWordLine()
+     */
+    public long getCurrentWordColumn() {
+        checkCurrentWord();
+        return currentColumn;
+    }
+
+    /**
+     * Returns the end of the current word.  This is an <code>int</code> as
+     * required by {@link WordTokenizer}; use
+     * {@link #getCurrentWordEndOffset()} for input longer than
+     * <code>Integer.MAX_VALUE</code> characters.
+     *
+     * @return The end of the current word.
+     * @throws WordNotFoundException If the current word has not yet been
+     *         set.
+     */
+    @Override
+    public int getCurrentWordEnd() {
+        return toInt(getCurrentWordEndOffset());
+    }
+
+    /**
+     * Returns the end of the current word.
+     *
+     * @return The end of the current word.
+     * @throws WordNotFoundException If the current word has not yet been
+     *         set.
+     * @see #getCurrentWordOffset()
+     */
+    public long getCurrentWordEndOffset() {
+        checkCurrentWord();
+        return currentWordPos + currentWord.length();
+    }
+
+    /**
+     * Returns the 0-based line of the current word.  Lines end with
+     * <code>\n</code>, <code>\r\n</code> or <code>\r</code>.
+     *
+     * @return The line.
+     * @throws WordNotFoundException If the current word has not yet been
+     *         set.
+     * @see #getCurrentWordColumn()
+     */
+    public long getCurrentWordLine() {
+        checkCurrentWord();
+        return currentLine;
+    }
+
+    /**
+     * Returns the start of the current word.
+     *
+     * @return The start of the current word.
+     * @throws WordNotFoundException If the current word has not yet been
+     *         set.
+     * @see #getCurrentWordEndOffset()
+     */
+    @Override
+    public long getCurrentWordOffset() {
+        checkCurrentWord();
+        return currentWordPos;
+    }
+
+    /**
+     * Returns the start of the current word.  This is an <code>int</code>
+     * as required by {@link WordTokenizer}; use
+     * {@link #getCurrentWordOffset()} for input longer than
+     * <code>Integer.MAX_VALUE</code> characters.
+     *
+     * @return The start of the current word.
+     * @throws WordNotFoundException If the current word has not yet been
+     *         set.
+     */
+    @Override
+    public int getCurrentWordPosition() {
+        return toInt(getCurrentWordOffset());
+    }
+
+    /**
+     * Returns the end of the word starting at a position, as
+     * {@link DefaultWordFinder} does.
+     */
+    private long getWordEnd(long start) {
+
+        ensure(start + INET_PREFIX_LENGTH - 1);
+        int prefixLength = (int)Math.min(INET_PREFIX_LENGTH, bufStart + count - start);
+        String prefix = substring(start, start + prefixLength);
+
+        long pos = start;
+        if (SpellChecker.beginsAsINETWord(prefix)) {
+            for (; ensure(pos); pos++) {
+                char ch = charAt(pos);
+                if (WordChars.isLetterOrDigit(ch)) {
+                    continue;
+                }
+                if (ch == '\r' || ch == '\n') {
+                    return pos;
+                }
+                // Chop off any characters that might be enclosing the 'internet word'. eg ',",),]
+                if (Character.isSpaceChar(ch)) {
+                    return WordChars.isLetterOrDigit(charAt(pos - 1)) ? pos : pos - 1;
+                }
+            }
+            return pos;
+        }
+
+        while (ensure(pos) && isWordChar(pos)) {
+            pos++;
+        }
+        return pos;
+    }
+
+    @Override
+    public boolean hasMoreWords() {
+        if (!started) {
+            started = true;
+            advance();
+        }
+        return nextWord != null;
+    }
+
+    @Override
+    public boolean isNewSentence() {
+        checkCurrentWord();
+        return currentNewSentence;
+    }
+
+    /**
+     * Returns whether the character at a position can be part of a word, as
+     * {@link AbstractWordFinder} does.  The position must be buffered.
+     */
+    private boolean isWordChar(long pos) {
+        char ch = charAt(pos);
+        if (ch == '\'' && pos > 0 && pos > bufStart && ensure(pos + 1)) {
+            return WordChars.isLetterOrDigit(charAt(pos - 1)) && WordChars.isLetterOrDigit(charAt(pos + 1));
+        }
+        return WordChars.isLetterOrDigit(ch);
+    }
+
+    @Override
+    public String nextWord() {
+        if (!hasMoreWords()) {
+            throw new WordNotFoundException("No more words found.");
+        }
+        wordCount++;
+        advance();
+        return currentWord;
+    }
+
+    /**
+     * Not supported, since the input is not kept.
+     *
+     * @param newWord Ignored.
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public void replaceWord(String newWord) {
+        throw new UnsupportedOperationException("Words cannot be replaced");
+    }
+
+    private String substring(long start, long end) {
+        return new String(buf, (int)(start - bufStart), (int)(end - start));
+    }
+
+    private static int toInt(long offset) {
+        if (offset > Integer.MAX_VALUE) {
+            throw new ArithmeticException("Offset too large for an int: " + offset);
+        }
+        return (int)offset;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.event;
+
+
+/**
+ * Tracks sentence boundaries in a single pass over a text, as an
+ * inexpensive replacement for a sentence <code>BreakIterator</code>.  The
+ * characters between words are fed to {@link #accept(char)}, and
+ * {@link #startsSentence(char)} is called as each word is reached.<p>
+ *
+ * A word starts a sentence if it is the first word, or if it follows a
+ * <code>!</code> or <code>?</code>, or a <code>.</code> and does not start
+ * with a lower case letter.  In each case, the terminator must be followed
+ * by whitespace, optionally with quotes or brackets in between.  These are
+ * the common cases of the JDK's sentence break rules.
+ */
+final class SentenceTracker {
+
+    private static final int NO_TERMINATOR = 0;
+    private static final int PERIOD = 1;
+    private static final int STRONG_TERMINATOR = 2;
+
+    private boolean firstWord;
+    private int terminator;
+    private boolean terminated;
+
+    /**
+     * Constructor.
+     */
+    SentenceTracker() {
+        reset();
+    }
+
+    /**
+     * Notes a character between two words.
+     *
+     * @param ch The character.
+     */
+    void accept(char ch) {
+        if (ch == '.') {
+            if (terminator != STRONG_TERMINATOR) {
+                terminator = PERIOD;
+            }
+        }
+        else if (ch == '!' || ch == '?') {
+            terminator = STRONG_TERMINATOR;
+        }
+        else if (Character.isWhitespace(ch)) {
+            if (terminator != NO_TERMINATOR) {
+                terminated = true;
+            }
+        }
+        else if (!isQuoteOrBracket(ch)) {
+            terminator = NO_TERMINATOR;
+            terminated = false;
+        }
+    }
+
+    /**
+     * Notes a range of characters between two words.
+     *
+     * @param text The text containing the characters.
+     * @param start The offset of the first character.
+     * @param end The offset after the last character.
+     */
+    void accept(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            accept(text.charAt(i));
+        }
+    }
+
+    /**
+     * Returns whether a character is a quote or bracket.  These may appear
+     * between a sentence terminator and the next sentence.
+     */
+    private static boolean isQuoteOrBracket(char ch) {
+        switch (ch) {
+            case '"':
+            case '\'':
+            case '(':
+            case ')':
+            case '[':
+            case ']':
+            case '{':
+            case '}':
+            case '\u00ab': // Left-pointing double angle quotation mark
+            case '\u00bb': // Right-pointing double angle quotation mark
+            case '\u2018': // Left single quotation mark
+            case '\u2019': // Right single quotation mark
+            case '\u201c': // Left double quotation mark
+            case '\u201d': // Right double quotation mark
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Forgets all characters seen, so that the next word is treated as the
+     * first word.
+     */
+    void reset() {
+        firstWord = true;
+        terminator = NO_TERMINATOR;
+        terminated = false;
+    }
+
+    /**
+     * Returns whether the word reached starts a sentence, and starts
+     * tracking the characters after it.
+     *
+     * @param firstChar The first character of the word.
+     * @return Whether the word starts a sentence.
+     */
+    boolean startsSentence(char firstChar) {
+        boolean result = firstWord || (terminated &&
+            (terminator == STRONG_TERMINATOR || !Character.isLowerCase(firstChar)));
+        firstWord = false;
+        terminator = NO_TERMINATOR;
+        terminated = false;
+        return result;
+    }
+}
@@ -51,4 +51,15 @@ public interface SpellCheckEvent {
    * @return The position of the word
    */
   int getWordContextPosition();
+
+  /**
+   * Returns the start position of the misspelled word in the context, for
+   * text that may be longer than <code>Integer.MAX_VALUE</code> characters.
+   * This default implementation returns {@link #getWordContextPosition()}.
+   *
+   * @return The position of the word
+   */
+  default long getWordContextOffset() {
+    return getWordContextPosition();
+  }
 }
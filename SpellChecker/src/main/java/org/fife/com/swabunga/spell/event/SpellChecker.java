@@ -26,12 +26,21 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 import org.fife.com.swabunga.spell.engine.Configuration;
+import org.fife.com.swabunga.spell.engine.ConfigurationSnapshot;
+import org.fife.com.swabunga.spell.engine.SpellCheckMetrics;
 import org.fife.com.swabunga.spell.engine.SpellDictionary;
 import org.fife.com.swabunga.spell.engine.SpellDictionaryHashMap;
 import org.fife.com.swabunga.spell.engine.Word;
-import org.fife.com.swabunga.util.ListUtil;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
 
 
 /**
@@ -58,9 +67,17 @@ public class SpellChecker {
    */
   public static final int SPELLCHECK_CANCEL = -2;
 
+  /**
+   * The approximate number of characters checked by each task when a text
+   * is checked in parallel.
+   */
+  private static final int PARALLEL_CHUNK_SIZE = 64 * 1024;
+
   private List<SpellCheckListener> eventListeners = new ArrayList<>();
-  private List<SpellDictionary> dictionaries = new ArrayList<>();
-  private SpellDictionary userDictionary;
+  // Dictionaries can be replaced while words are checked on other threads;
+  // see replaceDictionary()
+  private List<SpellDictionary> dictionaries = new CopyOnWriteArrayList<>();
+  private volatile SpellDictionary userDictionary;
 
   private Configuration config = Configuration.getConfiguration();
 
@@ -71,10 +88,16 @@ public class SpellChecker {
 
   // added caching - bd
   // For cached operation a separate user dictionary is required
-  private Map<String, List<Word>> cache;
+  private volatile Map<String, List<Word>> cache;
   private int threshold;
   private int cacheSize;
 
+  /**
+   * If non-<code>null</code>, dictionaries are asked for suggestions
+   * concurrently on this executor.
+   */
+  private Executor suggestionExecutor;
+
   /**
    * Constructs the SpellChecker. The default threshold is used
    *
@@ -116,6 +139,42 @@ public class SpellChecker {
     userDictionary = dictionary;
   }
 
+  /**
+   * Replaces a dictionary with another, e.g. one reloaded from a file that
+   * changed. The swap is atomic and does not block: each word checked on
+   * another thread is looked up in either the old or the new dictionary,
+   * never a mix of the two. The suggestion cache is cleared.
+   *
+   * @param oldDictionary The dictionary to replace. This may be the user
+   *        dictionary or any other dictionary used by this spell checker.
+   * @param newDictionary The replacement dictionary. This cannot be
+   *        {@code null}.
+   * @return Whether <code>oldDictionary</code> was used by this spell
+   *         checker and was replaced.
+   * @see #addDictionary(SpellDictionary)
+   * @see #setUserDictionary(SpellDictionary)
+   */
+  public synchronized boolean replaceDictionary(SpellDictionary oldDictionary, SpellDictionary newDictionary) {
+    if (newDictionary == null) {
+      throw new IllegalArgumentException("newDictionary must be non-null");
+    }
+    boolean replaced = false;
+    if (userDictionary == oldDictionary) {
+      userDictionary = newDictionary;
+      replaced = true;
+    }
+    for (int i = 0; i < dictionaries.size(); i++) {
+      if (dictionaries.get(i) == oldDictionary) {
+        dictionaries.set(i, newDictionary);
+        replaced = true;
+      }
+    }
+    if (replaced && cache != null) {
+      setCacheSize(cacheSize);
+    }
+    return replaced;
+  }
+
   /**
    * Supply the instance of the configuration holding the spell checking engine
    * parameters.
@@ -357,6 +416,21 @@ public class SpellChecker {
     return userDictionary.isCorrect(word);
   }
 
+  /**
+   * Verifies if the lower case form of a word is contained in dictionaries,
+   * in the same order as {@link #isCorrect(String)}, without creating the
+   * lower case form.
+   *
+   * @param word The word whose lower case form's spelling is verified.
+   * @return true if the lower case form of the word is in a dictionary.
+   */
+  private boolean isCorrectLowerCase(CharSequence word) {
+    for (SpellDictionary dictionary : dictionaries) {
+      if (dictionary.isCorrectLowerCase(word)) return true;
+    }
+    return userDictionary.isCorrectLowerCase(word);
+  }
+
   /**
    * Produces a list of suggested word after looking for suggestions in various
    * dictionaries. The dictionary specified in the constructor is checked first,
@@ -366,9 +440,13 @@ public class SpellChecker {
    * @param threshold the cost value above which any suggestions are
    *          thrown away
    * @return the list of words suggested
+   * @see #getSuggestions(String, int, int, long)
+   * @see #setSuggestionExecutor(Executor)
    */
   public List<Word> getSuggestions(String word, int threshold) {
-    //long start = System.currentTimeMillis();
+    SpellCheckMetrics metrics = SpellCheckMetrics.get();
+    long start = metrics.startTimer();
+    Map<String, List<Word>> cache = this.cache;
     if (this.threshold != threshold && cache != null) {
       this.threshold = threshold;
       cache.clear();
@@ -378,31 +456,182 @@ public class SpellChecker {
 
     if (cache != null) {
         suggestions = cache.get(word);
+        metrics.increment(suggestions != null ? SpellCheckMetrics.Counter.SUGGESTION_CACHE_HITS :
+          SpellCheckMetrics.Counter.SUGGESTION_CACHE_MISSES, 1);
     }
 
+    Set<Word> seen;
     if (suggestions == null) {
       suggestions = new ArrayList<>();
+      seen = new HashSet<>();
 
-      for (SpellDictionary dictionary : dictionaries) {
-        if (dictionary != userDictionary)
-          ListUtil.addAllNoDuplicates(suggestions, dictionary.getSuggestions(word, threshold));
+      List<SpellDictionary> sources = new ArrayList<>(dictionaries);
+      sources.removeIf(dictionary -> dictionary == userDictionary);
+      for (List<Word> dictionarySuggestions : SuggestionFetcher.fetch(sources, word, threshold,
+          Integer.MAX_VALUE, Long.MAX_VALUE, suggestionExecutor)) {
+        addAllNoDuplicates(suggestions, seen, dictionarySuggestions);
       }
 
       if (cache != null && cache.size() < cacheSize)
         cache.put(word, suggestions);
     }
+    else {
+      seen = new HashSet<>(suggestions);
+    }
 
-    ListUtil.addAllNoDuplicates(suggestions, userDictionary.getSuggestions(word, threshold));
+    addAllNoDuplicates(suggestions, seen, userDictionary.getSuggestions(word, threshold));
     if (suggestions instanceof ArrayList) {
       ((ArrayList<Word>)suggestions).trimToSize();
     }
 
-    //long time = System.currentTimeMillis() - start;
-    //float secs = time/1000f;
-    //System.out.println("[DEBUG]: Suggestions for '" + word + "' took " + secs + " seconds");
+    metrics.stopTimer(SpellCheckMetrics.Timer.SUGGESTIONS, start);
     return suggestions;
   }
 
+  /**
+   * Produces the first <code>maxResults</code> suggestions that
+   * {@link #getSuggestions(String, int)} would return. Each dictionary is
+   * only asked for its best <code>maxResults</code> suggestions, which is
+   * much cheaper than collecting all of them when only a handful will be
+   * shown. This method does not use the suggestion cache.
+   *
+   * @param word The word for which we want to gather suggestions.
+   * @param threshold The cost value above which any suggestions are
+   *        thrown away.
+   * @param maxResults The maximum number of suggestions to return.
+   * @return The list of words suggested.
+   * @see #getSuggestions(String, int)
+   * @see #getSuggestions(String, int, int, long)
+   */
+  public List<Word> getSuggestions(String word, int threshold, int maxResults) {
+
+    List<Word> suggestions = new ArrayList<>();
+    if (maxResults <= 0) {
+      return suggestions;
+    }
+
+    SpellCheckMetrics metrics = SpellCheckMetrics.get();
+    long start = metrics.startTimer();
+    Set<Word> seen = new HashSet<>();
+    List<SpellDictionary> sources = new ArrayList<>(dictionaries);
+    sources.removeIf(dictionary -> dictionary == userDictionary);
+    sources.add(userDictionary);
+    for (List<Word> dictionarySuggestions : SuggestionFetcher.fetch(sources, word, threshold, maxResults,
+        Long.MAX_VALUE, suggestionExecutor)) {
+      addAllNoDuplicates(suggestions, seen, dictionarySuggestions);
+    }
+
+    if (suggestions.size() > maxResults) {
+      suggestions.subList(maxResults, suggestions.size()).clear();
+    }
+    metrics.stopTimer(SpellCheckMetrics.Timer.SUGGESTIONS, start);
+    return suggestions;
+  }
+
+  /**
+   * Produces a list of at most <code>maxResults</code> suggestions for a
+   * word, ordered by cost across all dictionaries, including the user
+   * dictionary. If a word is suggested by several dictionaries, its lowest
+   * cost is used.<p>
+   *
+   * If a suggestion executor has been set, the dictionaries are queried
+   * concurrently, and any dictionary that has not answered when the timeout
+   * expires is left out of the result. Otherwise, they are queried one after
+   * another on the calling thread until the timeout expires; a dictionary
+   * that is already being queried cannot be interrupted.<p>
+   *
+   * Unlike {@link #getSuggestions(String, int)}, this method does not use the
+   * suggestion cache.
+   *
+   * @param word The word for which we want to gather suggestions.
+   * @param threshold The cost value above which any suggestions are
+   *        thrown away.
+   * @param maxResults The maximum number of suggestions to return.
+   * @param timeoutMillis The maximum time to wait for the dictionaries, in
+   *        milliseconds.
+   * @return The best suggestions found within the timeout, cheapest first.
+   * @see #getSuggestions(String, int)
+   * @see #setSuggestionExecutor(Executor)
+   */
+  public List<Word> getSuggestions(String word, int threshold, int maxResults, long timeoutMillis) {
+
+    if (maxResults <= 0) {
+      return new ArrayList<>();
+    }
+
+    SpellCheckMetrics metrics = SpellCheckMetrics.get();
+    long start = metrics.startTimer();
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMillis));
+    List<SpellDictionary> sources = new ArrayList<>(dictionaries);
+    sources.removeIf(dictionary -> dictionary == userDictionary);
+    sources.add(userDictionary);
+
+    // Each suggested word's position in ordered
+    Map<String, Integer> positions = new HashMap<>();
+    List<Word> ordered = new ArrayList<>();
+    for (List<Word> dictionarySuggestions : SuggestionFetcher.fetch(sources, word, threshold, maxResults,
+        deadline, suggestionExecutor)) {
+      for (Word suggestion : dictionarySuggestions) {
+        Integer index = positions.putIfAbsent(suggestion.getWord(), ordered.size());
+        if (index == null) {
+          ordered.add(suggestion);
+        }
+        else if (suggestion.getCost() < ordered.get(index).getCost()) {
+          ordered.set(index, suggestion);
+        }
+      }
+    }
+
+    // A stable sort, so equal-cost words stay in dictionary order
+    ordered.sort(new Word());
+    metrics.stopTimer(SpellCheckMetrics.Timer.SUGGESTIONS, start);
+    return ordered.size() > maxResults ? new ArrayList<>(ordered.subList(0, maxResults)) : ordered;
+  }
+
+  /**
+   * Adds all suggestions from one list to another, skipping those already
+   * present.
+   *
+   * @param dest The destination list.
+   * @param seen The words already in <code>dest</code>.
+   * @param src The suggestions to add.
+   */
+  private static void addAllNoDuplicates(List<Word> dest, Set<Word> seen, List<Word> src) {
+    for (Word word : src) {
+      if (seen.add(word)) {
+        dest.add(word);
+      }
+    }
+  }
+
+  /**
+   * Returns the executor used to query dictionaries for suggestions
+   * concurrently.
+   *
+   * @return The executor, or <code>null</code> if dictionaries are queried
+   *         one after another on the calling thread.
+   * @see #setSuggestionExecutor(Executor)
+   */
+  public Executor getSuggestionExecutor() {
+    return suggestionExecutor;
+  }
+
+  /**
+   * Sets the executor used to query dictionaries for suggestions
+   * concurrently. This only pays off when several dictionaries have been
+   * added, in particular disk-based ones. Dictionaries must tolerate being
+   * queried from threads other than the one calling
+   * {@link #getSuggestions(String, int)}.
+   *
+   * @param executor The executor, or <code>null</code> to query
+   *        dictionaries one after another on the calling thread (the
+   *        default).
+   * @see #getSuggestionExecutor()
+   */
+  public void setSuggestionExecutor(Executor executor) {
+    suggestionExecutor = executor;
+  }
+
   /**
    * Activates a cache with specified size.
    *
@@ -417,44 +646,19 @@ public class SpellChecker {
   }
 
   /**
-   * Does something.
+   * Splits a mixed case word into its parts, e.g. <code>getTextArea</code>
+   * into <code>get</code>, <code>Text</code> and <code>Area</code>.
    *
    * @param mixedCaseWord The word to split.
    * @return The split result.
    */
   public static List<String> splitMixedCaseWord(String mixedCaseWord) {
-
     List<String> parts = new ArrayList<>();
-
-    int offs = 0;
-    int adjacentCaps = 0;
-
-    for (int i = 0; i < mixedCaseWord.length(); i++) {
-
-      char ch = mixedCaseWord.charAt(i);
-
-      if (i == 0) {
-        adjacentCaps = Character.isUpperCase(ch) ? 1 : 0;
-      }
-      else {
-        if (Character.isUpperCase(ch)) {
-
-          if (adjacentCaps == 0) {
-            parts.add(mixedCaseWord.substring(offs, i));
-            offs = i;
-          }
-
-          adjacentCaps++;
-        }
-        else if (adjacentCaps > 1) {
-          parts.add(mixedCaseWord.substring(offs, i - 1));
-          offs = i - 1;
-          adjacentCaps = 0;
-        }
-      }
+    MixedCaseParts part = new MixedCaseParts();
+    part.reset(mixedCaseWord);
+    while (part.next()) {
+      parts.add(part.toString());
     }
-
-    parts.add(mixedCaseWord.substring(offs));
     return parts;
   }
 
@@ -470,48 +674,135 @@ public class SpellChecker {
    *         are found BEFORE any corrections are made.
    */
   public final int checkSpelling(WordTokenizer tokenizer) {
+    return checkSpelling(tokenizer, config.getSnapshot(), this::fireAndHandleEvent);
+  }
+
+  /**
+   * Checks the spelling of a text in parallel.  The text is split into
+   * chunks at whitespace between words, and the chunks are checked concurrently
+   * on a fork/join pool.  The results are the same as those of
+   * <code>checkSpelling(new DocumentWordTokenizer(doc))</code> for a
+   * document containing the same text; in particular, event positions and
+   * sentence capitalization checks are identical.<p>
+   *
+   * The listeners are notified on the calling thread, in offset order,
+   * after the entire text has been checked.  The dictionaries must support
+   * concurrent lookups; {@link SpellDictionaryHashMap} does as long as no
+   * words are added while checking.
+   *
+   * @param text The text to check.
+   * @param pool The pool to check the text on.
+   * @return Either SPELLCHECK_OK, SPELLCHECK_CANCEL or the number of errors found.
+   * @see #checkSpelling(Document, ForkJoinPool)
+   */
+  public int checkSpelling(CharSequence text, ForkJoinPool pool) {
+    return checkSpelling(text, pool, PARALLEL_CHUNK_SIZE);
+  }
+
+  /**
+   * Checks the spelling of a document's text in parallel.
+   *
+   * @param doc The document to check.
+   * @param pool The pool to check the text on.
+   * @return Either SPELLCHECK_OK, SPELLCHECK_CANCEL or the number of errors found.
+   * @see #checkSpelling(CharSequence, ForkJoinPool)
+   */
+  public int checkSpelling(Document doc, ForkJoinPool pool) {
+    String text;
+    try {
+      text = doc.getText(0, doc.getLength());
+    } catch (BadLocationException ble) { // Never happens
+      throw new IllegalStateException(ble);
+    }
+    return checkSpelling(text, pool);
+  }
+
+  /**
+   * Checks the spelling of a text in parallel, using a specific chunk size.
+   *
+   * @param text The text to check.
+   * @param pool The pool to check the text on.
+   * @param chunkSize The approximate number of characters in each chunk.
+   * @return Either SPELLCHECK_OK, SPELLCHECK_CANCEL or the number of errors found.
+   */
+  int checkSpelling(CharSequence text, ForkJoinPool pool, int chunkSize) {
+
+    String str = text.toString();
+    int[] chunkStarts = ChunkCheckTask.getChunkStarts(str, chunkSize);
+    ConfigurationSnapshot settings = config.getSnapshot();
+    List<SpellCheckEvent> events = pool.invoke(new ChunkCheckTask(this, str, settings, chunkStarts, 0,
+      chunkStarts.length));
+
+    for (SpellCheckEvent event : events) {
+      if (fireAndHandleEvent(event)) {
+        return SPELLCHECK_CANCEL;
+      }
+    }
+    return events.isEmpty() ? SPELLCHECK_OK : events.size();
+  }
+
+  /**
+   * Checks the spelling of the words returned by a tokenizer.
+   *
+   * @param tokenizer The media containing the text to analyze.
+   * @param settings The configuration to check with.
+   * @param sink Receives each error.  Returns whether to stop checking.
+   * @return Either SPELLCHECK_OK, SPELLCHECK_CANCEL or the number of errors found.
+   */
+  int checkSpelling(WordTokenizer tokenizer, ConfigurationSnapshot settings,
+                            Predicate<SpellCheckEvent> sink) {
     int errors = 0;
+    int words = 0;
     boolean terminated = false;
+    MixedCaseParts part = null;
+    SpellCheckMetrics metrics = SpellCheckMetrics.get();
     //Keep track of the previous word
     //  String previousWord = null;
     while (tokenizer.hasMoreWords() && !terminated) {
       String word = tokenizer.nextWord();
+      words++;
       //Check the spelling of the word
-      if (!isCorrect(word)) {
+      long start = metrics.startTimer();
+      boolean correct = isCorrect(word);
+      metrics.stopTimer(SpellCheckMetrics.Timer.IS_CORRECT, start);
+      if (!correct) {
 
         boolean isNewSentence = tokenizer.isNewSentence();
         boolean isMixedCaseWord = isMixedCaseWord(word, isNewSentence);
 
         // robert: If this is a mixed-case word, check spelling of each part
-        if (config.getBoolean(Configuration.SPELL_ANALYZECAMELCASEWORDS) && isMixedCaseWord) {
+        if (settings.isAnalyzeCamelCaseWords() && isMixedCaseWord) {
 
-          List<String> parts = splitMixedCaseWord(word);
+          // Parts are checked in place; only misspelled ones are copied
+          if (part == null) {
+            part = new MixedCaseParts();
+          }
+          part.reset(word);
 
-          int offs = 0;
-          for (String part : parts) {
+          while (part.next()) {
 
             // Ignore mixed-case word parts, if necessary
-            if (!config.getBoolean(Configuration.SPELL_IGNOREUPPERCASE) || !isUpperCaseWord(part)) {
-              String partLower = part.toLowerCase();
-              if (!isCorrect(partLower) && !isIgnored(partLower)) {
-                errors++;
-                int wordOffs = tokenizer.getCurrentWordPosition() + offs;
-                SpellCheckEvent event = new BasicSpellCheckEvent(part, wordOffs);
-                terminated = fireAndHandleEvent(event);
-                if (terminated) {
-                  break;
+            if (!settings.isIgnoreUpperCase() || !isUpperCaseWord(part)) {
+              if (!isCorrectLowerCase(part)) {
+                String partStr = part.toString();
+                if (!isIgnored(partStr.toLowerCase())) {
+                  errors++;
+                  long wordOffs = tokenizer.getCurrentWordOffset() + part.getStart();
+                  SpellCheckEvent event = new BasicSpellCheckEvent(partStr, wordOffs);
+                  terminated = sink.test(event);
+                  if (terminated) {
+                    break;
+                  }
                 }
               }
             }
-
-            offs += part.length();
           }
         }
-        else if ((config.getBoolean(Configuration.SPELL_IGNOREMIXEDCASE) && isMixedCaseWord) ||
-            (config.getBoolean(Configuration.SPELL_IGNOREUPPERCASE) && isUpperCaseWord(word)) ||
-            (config.getBoolean(Configuration.SPELL_IGNORESINGLELETTERS) && word.length() == 1) ||
-            (config.getBoolean(Configuration.SPELL_IGNOREDIGITWORDS) && isDigitWord(word)) ||
-            (config.getBoolean(Configuration.SPELL_IGNOREINTERNETADDRESSES) && isINETWord(word))) {
+        else if ((settings.isIgnoreMixedCase() && isMixedCaseWord) ||
+            (settings.isIgnoreUpperCase() && isUpperCaseWord(word)) ||
+            (settings.isIgnoreSingleLetters() && word.length() == 1) ||
+            (settings.isIgnoreDigitWords() && isDigitWord(word)) ||
+            (settings.isIgnoreInternetAddresses() && isINETWord(word))) {
           //Null event. Since we are ignoring this word due
           //to one of the above cases.
         }
@@ -521,7 +812,7 @@ public class SpellChecker {
           if (!isIgnored(word)) {
             errors++;
             SpellCheckEvent event = new BasicSpellCheckEvent(word, tokenizer);
-            terminated = fireAndHandleEvent(event);
+            terminated = sink.test(event);
           }
         }
       }
@@ -533,14 +824,16 @@ public class SpellChecker {
          *  }
          */
         //Check for capitalization
-        if (isSupposedToBeCapitalized(word, tokenizer)) {
+        if (!settings.isIgnoreSentenceCapitalization() && isSupposedToBeCapitalized(word, tokenizer)) {
           errors++;
           SpellCheckEvent event = new BasicSpellCheckEvent(word, tokenizer);
-          terminated = fireAndHandleEvent(event);
+          terminated = sink.test(event);
         }
       }
     }
 
+    metrics.increment(SpellCheckMetrics.Counter.WORDS_CHECKED, words);
+    metrics.increment(SpellCheckMetrics.Counter.MISSPELLINGS, errors);
     if (terminated)
       return SPELLCHECK_CANCEL;
     else if (errors == 0)
@@ -549,9 +842,8 @@ public class SpellChecker {
       return errors;
   }
 
-  private boolean isSupposedToBeCapitalized(String word, WordTokenizer wordTokenizer) {
-    boolean configCapitalize = !config.getBoolean(Configuration.SPELL_IGNORESENTENCECAPITALIZATION);
-    return configCapitalize && wordTokenizer.isNewSentence() && Character.isLowerCase(word.charAt(0));
+  private static boolean isSupposedToBeCapitalized(String word, WordTokenizer wordTokenizer) {
+    return wordTokenizer.isNewSentence() && Character.isLowerCase(word.charAt(0));
   }
 
 }
@@ -0,0 +1,128 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.fife.com.swabunga.spell.engine.SpellCheckMetrics;
+import org.fife.com.swabunga.spell.engine.SpellDictionary;
+import org.fife.com.swabunga.spell.engine.Word;
+
+
+/**
+ * Asks several dictionaries for suggestions for {@link SpellChecker},
+ * either one after another or concurrently on an executor, optionally
+ * giving up on dictionaries that do not answer before a deadline.
+ */
+final class SuggestionFetcher {
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private SuggestionFetcher() {
+    }
+
+    /**
+     * Returns the suggestions from each dictionary, in the order of the
+     * dictionaries. Dictionaries that do not answer before the deadline
+     * contribute an empty list.
+     *
+     * @param sources The dictionaries to query.
+     * @param word The misspelled word.
+     * @param threshold The cost value above which any suggestions are
+     *        thrown away.
+     * @param maxResults The maximum number of suggestions wanted from each
+     *        dictionary, or {@link Integer#MAX_VALUE} for all of them.
+     * @param deadline The {@link System#nanoTime()} by which results are
+     *        needed, or {@link Long#MAX_VALUE} for no deadline.
+     * @param executor The executor to query the dictionaries concurrently
+     *        on, or <code>null</code> to query them one after another on
+     *        the calling thread.
+     * @return The suggestions from each dictionary.
+     */
+    static List<List<Word>> fetch(List<SpellDictionary> sources, String word, int threshold, int maxResults,
+                                  long deadline, Executor executor) {
+
+        List<List<Word>> results = new ArrayList<>(sources.size());
+        SpellCheckMetrics.SuggestionTrace trace = SpellCheckMetrics.get().startSuggestionTrace();
+
+        if (executor == null || sources.size() < 2) {
+            for (SpellDictionary dictionary : sources) {
+                if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+                results.add(getSuggestions(dictionary, word, threshold, maxResults));
+            }
+            if (trace != null) {
+                trace.finish(word, results);
+            }
+            return results;
+        }
+
+        List<CompletableFuture<List<Word>>> futures = new ArrayList<>(sources.size());
+        for (SpellDictionary dictionary : sources) {
+            futures.add(CompletableFuture.supplyAsync(() -> getSuggestions(dictionary, word, threshold, maxResults),
+                executor));
+        }
+
+        for (CompletableFuture<List<Word>> future : futures) {
+            try {
+                if (deadline == Long.MAX_VALUE) {
+                    results.add(future.get());
+                }
+                else {
+                    results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                }
+            } catch (TimeoutException | CancellationException e) {
+                future.cancel(false);
+                results.add(Collections.emptyList());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(false);
+                results.add(Collections.emptyList());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException)cause;
+                }
+                throw new RuntimeException(cause);
+            }
+        }
+
+        if (trace != null) {
+            trace.finish(word, results);
+        }
+        return results;
+    }
+
+    private static List<Word> getSuggestions(SpellDictionary dictionary, String word, int threshold,
+                                             int maxResults) {
+        return maxResults == Integer.MAX_VALUE ? dictionary.getSuggestions(word, threshold) :
+            dictionary.getSuggestions(word, threshold, maxResults);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+Jazzy - a Java library for Spell Checking
+Copyright (C) 2001 Mindaugas Idzelis
+Full text of license can be found in LICENSE.txt
+
+This library is free software; you can redistribute it and/or
+modify it under the terms of the GNU Lesser General Public
+License as published by the Free Software Foundation; either
+version 2.1 of the License, or (at your option) any later version.
+
+This library is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+Lesser General Public License for more details.
+
+You should have received a copy of the GNU Lesser General Public
+License along with this library; if not, write to the Free Software
+Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package org.fife.com.swabunga.spell.event;
+
+
+/**
+ * Fast character classification and word scanning for the tokenizers.
+ * Almost all text checked is ASCII, so ASCII characters are classified with
+ * a lookup table, and only other characters fall back to the full Unicode
+ * rules of {@link Character}.
+ */
+final class WordChars {
+
+    private static final int ASCII_COUNT = 128;
+
+    private static final boolean[] ASCII_LETTER_OR_DIGIT = new boolean[ASCII_COUNT];
+
+    static {
+        for (char ch = 0; ch < ASCII_COUNT; ch++) {
+            ASCII_LETTER_OR_DIGIT[ch] = Character.isLetterOrDigit(ch);
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private WordChars() {
+    }
+
+    /**
+     * Returns whether the text at an offset looks like the start of an
+     * Internet address, as {@link SpellChecker#beginsAsINETWord(String)}
+     * does for the text's suffix, without copying the text.
+     *
+     * @param text The text.
+     * @param start The offset to check.
+     * @return Whether an Internet address starts at <code>start</code>.
+     */
+    static boolean beginsAsINETWord(String text, int start) {
+        return text.startsWith("http://", start) ||
+            text.startsWith("www.", start) ||
+            text.startsWith("ftp://", start) ||
+            text.startsWith("https://", start) ||
+            text.startsWith("ftps://", start);
+    }
+
+    /**
+     * Returns the end of the word starting at an offset, as
+     * {@link DocumentWordTokenizer} defines words: letters and digits, with
+     * single hyphens or apostrophes between them.
+     *
+     * @param array The text.
+     * @param start The start of the word.
+     * @param end The end of the text.
+     * @return The end of the word.
+     */
+    static int getNextWordEnd(char[] array, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char ch = array[i];
+            if (!isLetterOrDigit(ch)) {
+                if ((ch == '-' || ch == '\'') && i + 1 < end && isLetterOrDigit(array[i + 1])) {
+                    continue;
+                }
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Returns the start of the first word at or after an offset.
+     *
+     * @param array The text.
+     * @param start The offset to start searching at.
+     * @param end The end of the text.
+     * @return The start of the word, or <code>-1</code> if there are no
+     *         more words.
+     */
+    static int getNextWordStart(char[] array, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (isLetterOrDigit(array[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Equivalent to {@link Character#isLetterOrDigit(char)}.
+     *
+     * @param ch The character.
+     * @return Whether the character is a letter or digit.
+     */
+    static boolean isLetterOrDigit(char ch) {
+        return ch < ASCII_COUNT ? ASCII_LETTER_OR_DIGIT[ch] : Character.isLetterOrDigit(ch);
+    }
+}
@@ -69,6 +69,18 @@ public interface WordTokenizer {
    */
   int getCurrentWordPosition();
 
+  /**
+   * Returns the start location of the current word in the text, for text
+   * that may be longer than <code>Integer.MAX_VALUE</code> characters.
+   * This default implementation returns {@link #getCurrentWordPosition()}.
+   *
+   * @return index of the start of the current word in the text.
+   * @throws WordNotFoundException current word has not yet been set.
+   */
+  default long getCurrentWordOffset() {
+    return getCurrentWordPosition();
+  }
+
   /**
    * Returns true if the current word is at the start of a sentence.
    *
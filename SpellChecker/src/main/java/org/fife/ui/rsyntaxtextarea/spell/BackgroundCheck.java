@@ -0,0 +1,186 @@
+/*
+ * 10/19/2026
+ *
+ * BackgroundCheck.java - Spell checks off-screen lines a chunk at a time.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.Collection;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.Element;
+
+import org.fife.ui.rsyntaxtextarea.RSyntaxDocument;
+import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
+import org.fife.ui.rsyntaxtextarea.parser.DefaultParseResult;
+
+
+/**
+ * Spell checks the lines of a document that are not visible, a chunk at
+ * a time, after the visible lines have been checked.  Lines below the
+ * visible region are checked first.  The check is abandoned if the
+ * document is modified, since it will be parsed again anyway.
+ *
+ * @version 1.0
+ * @see SpellingParser#setPrioritizeVisibleLines(boolean)
+ */
+final class BackgroundCheck implements ActionListener, DocumentListener {
+
+    private final SpellingParser parser;
+    private final RSyntaxDocument doc;
+    private final String style;
+    private final DefaultParseResult result;
+    private final int firstVisibleLine;
+    private final Timer timer;
+    private int nextLine;
+    private boolean wrapped;
+    private int errorCount;
+
+    /**
+     * The number of off-screen lines checked at a time.
+     */
+    private static final int CHUNK_LINE_COUNT = 2000;
+
+    /**
+     * The delay between checking chunks of off-screen lines, so the EDT can
+     * respond to the user in between.
+     */
+    private static final int CHUNK_DELAY_MS = 10;
+
+
+    BackgroundCheck(SpellingParser parser, RSyntaxDocument doc, String style, DefaultParseResult result,
+                    int firstVisibleLine, int lastVisibleLine) {
+        this.parser = parser;
+        this.doc = doc;
+        this.style = style;
+        this.result = result;
+        this.firstVisibleLine = firstVisibleLine;
+        nextLine = lastVisibleLine + 1;
+        timer = new Timer(CHUNK_DELAY_MS, this);
+    }
+
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+
+        int lineCount = doc.getDefaultRootElement().getElementCount();
+        if (!wrapped && nextLine >= lineCount) {
+            wrapped = true;
+            nextLine = 0;
+        }
+        int end = wrapped ? Math.min(firstVisibleLine, lineCount) : lineCount;
+        if (nextLine >= end) {
+            finish();
+            return;
+        }
+        int lastLine = Math.min(nextLine + CHUNK_LINE_COUNT, end) - 1;
+
+        int noticeCount = result.getNotices().size();
+        int count;
+        doc.readLock();
+        try {
+            count = parser.checkLines(doc, style, result, errorCount, nextLine, lastLine);
+        } finally {
+            doc.readUnlock();
+        }
+        nextLine = lastLine + 1;
+
+        if (count == -1) {
+            finish();
+        }
+        else {
+            errorCount = count;
+        }
+        if (result.getNotices().size() > noticeCount) {
+            parser.publishResult(doc);
+        }
+
+    }
+
+
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+        // Attribute changes don't affect spelling
+    }
+
+
+    private void finish() {
+        stop();
+        parser.backgroundCheckFinished(this);
+    }
+
+
+    RSyntaxDocument getDocument() {
+        return doc;
+    }
+
+
+    /**
+     * Returns the range of lines of a document visible in any of a set of
+     * text areas.
+     *
+     * @param doc The document.
+     * @param textAreas The text areas, which may show other documents.
+     * @return The first and last visible lines, or <code>null</code> if
+     *         the document is not visible or all of it is visible.
+     */
+    static int[] getVisibleLines(RSyntaxDocument doc, Collection<RSyntaxTextArea> textAreas) {
+
+        Element root = doc.getDefaultRootElement();
+        int first = Integer.MAX_VALUE;
+        int last = -1;
+
+        for (RSyntaxTextArea textArea : textAreas) {
+            if (textArea.getDocument() == doc) {
+                Rectangle visible = textArea.getVisibleRect();
+                if (!visible.isEmpty()) {
+                    int top = textArea.viewToModel(visible.getLocation());
+                    int bottom = textArea.viewToModel(new Point(visible.x + visible.width,
+                            visible.y + visible.height));
+                    first = Math.min(first, root.getElementIndex(top));
+                    last = Math.max(last, root.getElementIndex(bottom));
+                }
+            }
+        }
+
+        if (last == -1 || (first == 0 && last == root.getElementCount() - 1)) {
+            return null;
+        }
+        return new int[] { first, last };
+
+    }
+
+
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        finish();
+    }
+
+
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        finish();
+    }
+
+
+    void start() {
+        doc.addDocumentListener(this);
+        timer.start();
+    }
+
+
+    void stop() {
+        timer.stop();
+        doc.removeDocumentListener(this);
+    }
+
+
+}
@@ -0,0 +1,383 @@
+/*
+ * 10/19/2026
+ *
+ * DictionaryRegistry.java - Shares dictionaries among spelling parsers.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.ZipFile;
+
+import org.fife.com.swabunga.spell.engine.CachingTransformator;
+import org.fife.com.swabunga.spell.engine.DictionaryLoadListener;
+import org.fife.com.swabunga.spell.engine.ParallelDictionaryLoader;
+import org.fife.com.swabunga.spell.engine.SpellDictionary;
+import org.fife.com.swabunga.spell.engine.SpellDictionaryHashMap;
+import org.fife.com.swabunga.spell.engine.Transformator;
+import org.fife.com.swabunga.spell.engine.UnmodifiableSpellDictionary;
+
+
+/**
+ * Shares English dictionaries among spelling parsers, so that an
+ * application creating many parsers only keeps one copy of each dictionary
+ * in memory.  A dictionary is loaded the first time it is acquired, and
+ * freed when every user that acquired it has released it.<p>
+ *
+ * Shared dictionaries cannot be modified; words the user adds go to the
+ * parser's user dictionary instead.  This class is thread safe.<p>
+ *
+ * A parser created by
+ * {@link SpellingParser#createEnglishSpellingParser(File, boolean, boolean)}
+ * releases its dictionary when it is disposed.  As a safety net for
+ * applications that never dispose of their parsers, the dictionary is also
+ * released once the parser is garbage collected, although that may be much
+ * later.
+ *
+ * @version 1.0
+ * @see SpellingParser#createEnglishSpellingParser(File, boolean, boolean)
+ * @see SpellingParser#dispose()
+ */
+public final class DictionaryRegistry {
+
+    private static final DictionaryRegistry INSTANCE = new DictionaryRegistry();
+
+    private final Map<Key, Entry> entries;
+    private final ReferenceQueue<Object> collectedOwners;
+    private Thread ownerReaper; // Guarded by entries
+
+
+    /**
+     * Constructor.  Applications should use {@link #getInstance()}.
+     */
+    DictionaryRegistry() {
+        entries = new HashMap<>();
+        collectedOwners = new ReferenceQueue<>();
+    }
+
+
+    /**
+     * Returns a shared American or British English dictionary, loading it
+     * if no one else is using it.  Callers must call
+     * {@link #release(SpellDictionary)} when they no longer need it.
+     *
+     * @param zip The location of the <code>english_dic.zip</code> file
+     *        distributed with the spell checker add-on.
+     * @param american Whether to load American (as opposed to British)
+     *        English.
+     * @param programming Whether to include programming-related words and
+     *        acronyms.
+     * @param phonetic The aspell phonetic file to compute phonetic codes
+     *        with, or <code>null</code> to use double metaphone.
+     * @return The dictionary.
+     * @throws IOException If an error occurs reading the zip file.
+     * @see #release(SpellDictionary)
+     */
+    public SpellDictionary acquireEnglishDictionary(File zip, boolean american, boolean programming,
+                                                    File phonetic) throws IOException {
+
+        Key key = new Key(zip, american, programming, phonetic);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.computeIfAbsent(key, Entry::new);
+            entry.refCount++;
+        }
+
+        try {
+            return entry.getDictionary();
+        } catch (IOException | RuntimeException e) {
+            release(entry);
+            throw e;
+        }
+    }
+
+
+    private void expunge(Owner owner) {
+        synchronized (entries) {
+            if (owner.entry.owners.remove(owner)) {
+                release(owner.entry);
+            }
+        }
+    }
+
+
+    /**
+     * Returns the number of users of a shared dictionary.
+     *
+     * @param dictionary The dictionary.
+     * @return The number of times the dictionary has been acquired but not
+     *         released, or <code>0</code> if it is not shared by this
+     *         registry.
+     */
+    public int getReferenceCount(SpellDictionary dictionary) {
+        synchronized (entries) {
+            Entry entry = getEntry(dictionary);
+            return entry == null ? 0 : entry.refCount;
+        }
+    }
+
+
+    /**
+     * Returns the number of dictionaries currently shared.
+     *
+     * @return The number of dictionaries.
+     */
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+
+    private Entry getEntry(SpellDictionary dictionary) {
+        for (Entry entry : entries.values()) {
+            if (entry.dictionary == dictionary) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * Returns the registry used by {@link SpellingParser}.
+     *
+     * @return The registry.
+     */
+    public static DictionaryRegistry getInstance() {
+        return INSTANCE;
+    }
+
+
+    /**
+     * Loads the American or British English dictionary.  Unlike
+     * {@link #acquireEnglishDictionary(File, boolean, boolean, File)}, each
+     * call returns a new dictionary, which may be modified.  The word lists
+     * in the zip file are loaded in parallel.
+     *
+     * @param zip The location of the <code>english_dic.zip</code> file
+     *        distributed with the spell checker add-on.
+     * @param american Whether to load American (as opposed to British)
+     *        English.
+     * @param programming Whether to include programming-related words and
+     *        acronyms.
+     * @param listener If non-<code>null</code>, notified of the load time
+     *        and word count.
+     * @return The dictionary.
+     * @throws IOException If an error occurs reading the zip file.
+     * @see SpellingParser#createEnglishDictionary(File, boolean, boolean)
+     * @see ParallelDictionaryLoader
+     */
+    public static SpellDictionaryHashMap loadEnglishDictionary(File zip, boolean american,
+                    boolean programming, DictionaryLoadListener listener) throws IOException {
+        return loadEnglishDictionary(zip, american, programming, CachingTransformator.getShared(), listener);
+    }
+
+
+    private static SpellDictionaryHashMap loadEnglishDictionary(File zip, boolean american, boolean programming,
+                    Transformator transformator, DictionaryLoadListener listener) throws IOException {
+
+        // Words common to American and British English, then words specific
+        // to the English dialect.
+        List<String> entries = american ?
+            new ArrayList<>(Arrays.asList("eng_com", "color", "labeled", "center", "ize", "yze")) :
+            new ArrayList<>(Arrays.asList("eng_com", "colour", "labelled", "centre", "ise", "yse"));
+        if (programming) {
+            entries.add("programming");
+        }
+        entries.replaceAll(entry -> entry + ".dic");
+
+        ParallelDictionaryLoader loader = new ParallelDictionaryLoader(transformator);
+        if (listener != null) {
+            loader.addDictionaryLoadListener(listener);
+        }
+        try (ZipFile zf = new ZipFile(zip)) {
+            return loader.load(zf, entries, Charset.defaultCharset());
+        }
+    }
+
+
+    /**
+     * Releases the dictionaries of owners that were garbage collected
+     * without releasing them.  This runs on a daemon thread.
+     */
+    private void reapOwners() {
+        while (true) {
+            try {
+                expunge((Owner)collectedOwners.remove());
+            } catch (InterruptedException ie) {
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Releases a dictionary returned by
+     * {@link #acquireEnglishDictionary(File, boolean, boolean, File)}.
+     * When it has been released as many times as it was acquired, it is
+     * removed from this registry, and can be garbage collected.
+     *
+     * @param dictionary The dictionary to release.
+     * @throws IllegalArgumentException If the dictionary is not shared by
+     *         this registry, e.g. if it was already released.
+     */
+    public void release(SpellDictionary dictionary) {
+        synchronized (entries) {
+            Entry entry = dictionary == null ? null : getEntry(dictionary);
+            if (entry == null) {
+                throw new IllegalArgumentException("Not a shared dictionary: " + dictionary);
+            }
+            release(entry);
+        }
+    }
+
+
+    /**
+     * Releases a dictionary acquired for an owner registered with
+     * {@link #releaseWhenCollected(SpellDictionary, Object)}.
+     *
+     * @param dictionary The dictionary to release.
+     * @param owner The owner.
+     * @throws IllegalArgumentException If the dictionary is not shared by
+     *         this registry.
+     */
+    void release(SpellDictionary dictionary, Object owner) {
+        synchronized (entries) {
+            Entry entry = dictionary == null ? null : getEntry(dictionary);
+            if (entry == null) {
+                throw new IllegalArgumentException("Not a shared dictionary: " + dictionary);
+            }
+            entry.owners.removeIf(ref -> ref.get() == owner);
+            release(entry);
+        }
+    }
+
+
+    /**
+     * Releases one reference to a dictionary when an object is garbage
+     * collected, unless it is released with
+     * {@link #release(SpellDictionary, Object)} first.
+     *
+     * @param dictionary A dictionary acquired for the owner.
+     * @param owner The owner of the reference.
+     */
+    void releaseWhenCollected(SpellDictionary dictionary, Object owner) {
+        synchronized (entries) {
+            Entry entry = getEntry(dictionary);
+            if (entry == null) {
+                throw new IllegalArgumentException("Not a shared dictionary: " + dictionary);
+            }
+            entry.owners.add(new Owner(owner, entry, collectedOwners));
+            if (ownerReaper == null) {
+                ownerReaper = new Thread(this::reapOwners, "DictionaryRegistry-Reaper");
+                ownerReaper.setDaemon(true);
+                ownerReaper.start();
+            }
+        }
+    }
+
+
+    private void release(Entry entry) {
+        synchronized (entries) {
+            if (--entry.refCount == 0) {
+                entries.remove(entry.key, entry);
+            }
+        }
+    }
+
+
+    /**
+     * A shared dictionary and the number of its users.
+     */
+    private static final class Entry {
+
+        private final Key key;
+        private int refCount; // Guarded by entries
+        private final List<Owner> owners; // Guarded by entries
+        private volatile SpellDictionary dictionary;
+
+        Entry(Key key) {
+            this.key = key;
+            owners = new ArrayList<>(1);
+        }
+
+        /**
+         * Returns the dictionary, loading it if this is its first user.
+         */
+        synchronized SpellDictionary getDictionary() throws IOException {
+            if (dictionary == null) {
+                Transformator tf = CachingTransformator.getShared(key.phonetic, null);
+                dictionary = new UnmodifiableSpellDictionary(loadEnglishDictionary(key.zip,
+                        key.american, key.programming, tf, null));
+            }
+            return dictionary;
+        }
+
+    }
+
+
+    /**
+     * An object holding a reference to a shared dictionary, which is
+     * released if the object is garbage collected first.
+     */
+    private static final class Owner extends WeakReference<Object> {
+
+        private final Entry entry;
+
+        Owner(Object owner, Entry entry, ReferenceQueue<Object> queue) {
+            super(owner, queue);
+            this.entry = entry;
+        }
+
+    }
+
+
+    /**
+     * Identifies a shared dictionary.
+     */
+    private static final class Key {
+
+        private final File zip;
+        private final boolean american;
+        private final boolean programming;
+        private final File phonetic;
+
+        Key(File zip, boolean american, boolean programming, File phonetic) throws IOException {
+            this.zip = zip.getCanonicalFile();
+            this.american = american;
+            this.programming = programming;
+            this.phonetic = phonetic == null ? null : phonetic.getCanonicalFile();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key)o;
+            return zip.equals(other.zip) && american == other.american &&
+                    programming == other.programming && Objects.equals(phonetic, other.phonetic);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(zip, american, programming, phonetic);
+        }
+
+    }
+
+
+}
@@ -4,7 +4,6 @@
  */
 package org.fife.ui.rsyntaxtextarea.spell;
 
-import org.fife.com.swabunga.spell.engine.Configuration;
 import org.fife.com.swabunga.spell.engine.Word;
 import org.fife.com.swabunga.spell.event.SpellChecker;
 
@@ -30,7 +29,7 @@ class SpellingErrorTooltipHtmlGenerator {
     public String get(SpellChecker sc, SpellingParserNotice notice) {
         StringBuilder sb = new StringBuilder();
         String spacing = "&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;";
-        int threshold = sc.getConfiguration().getInteger(Configuration.SPELL_THRESHOLD);
+        int threshold = sc.getConfiguration().getSnapshot().getThreshold();
         String word = notice.getWord();
 
         List<Word> suggestions = sc.getSuggestions(word, threshold);
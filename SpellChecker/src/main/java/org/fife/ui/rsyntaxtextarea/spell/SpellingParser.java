@@ -9,22 +9,24 @@
 package org.fife.ui.rsyntaxtextarea.spell;
 
 import java.awt.Color;
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.net.URL;
 import java.util.*;
-import java.util.zip.ZipFile;
+import java.util.function.Predicate;
 
 import javax.swing.UIManager;
 import javax.swing.event.EventListenerList;
 import javax.swing.event.HyperlinkEvent;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
 import javax.swing.text.Element;
 
+import org.fife.com.swabunga.spell.engine.DictionaryLoadListener;
+import org.fife.com.swabunga.spell.engine.SpellCheckMetrics;
 import org.fife.com.swabunga.spell.engine.SpellDictionary;
 import org.fife.com.swabunga.spell.engine.SpellDictionaryHashMap;
+import org.fife.com.swabunga.spell.event.DictionaryFileWatcher;
 import org.fife.com.swabunga.spell.event.DocumentWordTokenizer;
 import org.fife.com.swabunga.spell.event.SpellCheckEvent;
 import org.fife.com.swabunga.spell.event.SpellCheckListener;
@@ -39,6 +41,7 @@ import org.fife.ui.rsyntaxtextarea.parser.AbstractParser;
 import org.fife.ui.rsyntaxtextarea.parser.DefaultParseResult;
 import org.fife.ui.rsyntaxtextarea.parser.ExtendedHyperlinkListener;
 import org.fife.ui.rsyntaxtextarea.parser.ParseResult;
+import org.fife.ui.rsyntaxtextarea.parser.ParserNotice;
 import org.fife.ui.rsyntaxtextarea.spell.event.SpellingParserEvent;
 import org.fife.ui.rsyntaxtextarea.spell.event.SpellingParserListener;
 
@@ -70,11 +73,18 @@ public class SpellingParser extends AbstractParser
         implements SpellCheckListener, ExtendedHyperlinkListener {
 
     private DefaultParseResult result;
+    private Map<Document, DefaultParseResult> results;
+    private Set<Document> reuseResultDocs;
+    private Set<RSyntaxTextArea> textAreas;
     private SpellChecker sc;
     private RSyntaxDocument doc;
     private int startOffs;
     private int errorCount;
+    private int tokensChecked;
+    private boolean countErrors;
     private int maxErrorCount;
+    private boolean prioritizeVisibleLines;
+    private Map<Document, BackgroundCheck> backgroundChecks;
     private boolean allowAdd;
     private boolean allowIgnore;
     private Color squiggleUnderlineColor;
@@ -82,6 +92,8 @@ public class SpellingParser extends AbstractParser
     private String noticeSuffix;
     private EventListenerList listenerList;
     private SpellCheckableTokenIdentifier spellCheckableTokenIdentifier;
+    private SpellDictionary sharedDictionary; // From DictionaryRegistry, if any
+    private WatchedDictionaryFiles dictionaryFiles;
 
 
     /**
@@ -92,6 +104,11 @@ public class SpellingParser extends AbstractParser
      */
     private File dictionaryFile;
 
+    /**
+     * The dictionary loaded from {@link #dictionaryFile}, if any.
+     */
+    private SpellDictionaryHashMap userDictionary;
+
     private static final ResourceBundle MSG = ResourceBundle.getBundle(
             "org.fife.ui.rsyntaxtextarea.spell.SpellingParser");
 
@@ -109,8 +126,13 @@ public class SpellingParser extends AbstractParser
     public SpellingParser(SpellDictionary dict) {
 
         result = new DefaultParseResult(this);
+        results = new WeakHashMap<>();
+        reuseResultDocs = new HashSet<>();
+        backgroundChecks = new HashMap<>();
+        textAreas = Collections.newSetFromMap(new WeakHashMap<>());
         sc = new SpellChecker(dict);
         sc.addSpellCheckListener(this);
+        dictionaryFiles = new WatchedDictionaryFiles(this, sc);
         setSquiggleUnderlineColor(Color.BLUE);
         setHyperlinkListener(this);
         setMaxErrorCount(DEFAULT_MAX_ERROR_COUNT);
@@ -132,6 +154,22 @@ public class SpellingParser extends AbstractParser
     }
 
 
+    /**
+     * Adds a dictionary loaded from a word list file with one word per line,
+     * e.g. a list of terms shared by a team.  Words are looked up in it after
+     * the dictionary this parser was created with.
+     *
+     * @param wordList The word list file.
+     * @throws IOException If an IO error occurs.
+     * @see #setWatchDictionaryFiles(boolean)
+     */
+    public void addDictionary(File wordList) throws IOException {
+        SpellDictionaryHashMap dict = WatchedDictionaryFiles.loadWordList(wordList);
+        sc.addDictionary(dict);
+        dictionaryFiles.add(wordList, dict, WatchedDictionaryFiles::loadWordList);
+    }
+
+
     /**
      * Adds a listener to this spelling parser.
      *
@@ -143,6 +181,94 @@ public class SpellingParser extends AbstractParser
     }
 
 
+    /**
+     * Called by a background check when it is finished or abandoned.
+     *
+     * @param check The check.
+     */
+    void backgroundCheckFinished(BackgroundCheck check) {
+        if (backgroundChecks.get(check.getDocument()) == check) {
+            backgroundChecks.remove(check.getDocument());
+        }
+    }
+
+
+    /**
+     * Spell checks a chunk of lines for a background check.  The caller
+     * should hold the document's read lock.
+     *
+     * @param doc The document to spell check.
+     * @param style The syntax style of the document.
+     * @param result The result to add notices to.
+     * @param errorCount The number of errors counted so far.
+     * @param firstLine The first line to check.
+     * @param lastLine The last line to check, inclusive.
+     * @return The number of errors counted, or <code>-1</code> if checking
+     *         stopped because the maximum error count was reached.
+     */
+    int checkLines(RSyntaxDocument doc, String style, DefaultParseResult result, int errorCount,
+                   int firstLine, int lastLine) {
+        this.doc = doc;
+        this.result = result;
+        this.errorCount = errorCount;
+        return checkLines(doc, style, firstLine, lastLine) ? -1 : this.errorCount;
+    }
+
+
+    /**
+     * Spell checks a range of lines in a document.
+     *
+     * @param doc The document to spell check.
+     * @param style The syntax style of the document.
+     * @param firstLine The first line to check.
+     * @param lastLine The last line to check, inclusive.
+     * @return Whether checking stopped because the maximum error count was
+     *         reached.
+     */
+    private boolean checkLines(RSyntaxDocument doc, String style, int firstLine, int lastLine) {
+
+        Element root = doc.getDefaultRootElement();
+
+        if (isPlainText(style)) {
+            int start = root.getElement(firstLine).getStartOffset();
+            int end = Math.min(root.getElement(lastLine).getEndOffset(), doc.getLength());
+            String text;
+            try {
+                text = doc.getText(start, end - start);
+            } catch (BadLocationException ble) { // Never happens
+                ble.printStackTrace();
+                return false;
+            }
+            startOffs = start;
+            tokensChecked++;
+            StringWordTokenizer swt = new StringWordTokenizer(text);
+            return sc.checkSpelling(swt) == SpellChecker.SPELLCHECK_CANCEL;
+        }
+
+        SpellCheckableTokenIdentifier scti = getSpellCheckableTokenIdentifier();
+        scti.begin();
+        try {
+            for (int line = firstLine; line <= lastLine; line++) {
+                Token t = doc.getTokenListForLine(line);
+                for (; t != null && t.isPaintable(); t = t.getNextToken()) {
+                    if (scti.isSpellCheckable(t)) {
+                        startOffs = t.getOffset();
+                        tokensChecked++;
+                        StringWordTokenizer swt = new StringWordTokenizer(t.getLexeme());
+                        if (sc.checkSpelling(swt) == SpellChecker.SPELLCHECK_CANCEL) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        } finally {
+            scti.end();
+        }
+        return false;
+
+    }
+
+
     /**
      * A utility method to easily create a parser for American or British
      * English.
@@ -165,7 +291,14 @@ public class SpellingParser extends AbstractParser
 
     /**
      * A utility method to easily create a parser for American or British
-     * English.
+     * English.<p>
+     *
+     * <b>Call {@link #dispose()} when the parser is no longer needed.</b>
+     * The dictionary is shared with other parsers created by this method
+     * (see {@link DictionaryRegistry}), and is only freed once every parser
+     * using it is disposed.  A parser that is never disposed releases the
+     * dictionary when it is garbage collected, but that may be much later
+     * than it could have been freed.
      *
      * @param zip The location of the <code>english_dic.zip</code> file
      *        distributed with the spell checker add-on.
@@ -175,52 +308,90 @@ public class SpellingParser extends AbstractParser
      * @return The parser.
      * @throws IOException If an error occurs reading the zip file.
      * @see #createEnglishSpellingParser(File, boolean)
+     * @see #createEnglishDictionary(File, boolean, boolean)
      */
     public static SpellingParser createEnglishSpellingParser(File zip,
                                                              boolean american, boolean programming) throws IOException {
+        SpellDictionary dict = DictionaryRegistry.getInstance().acquireEnglishDictionary(zip, american,
+                programming, null);
+        SpellingParser parser = new SpellingParser(dict);
+        parser.sharedDictionary = dict;
+        DictionaryRegistry.getInstance().releaseWhenCollected(dict, parser);
+        return parser;
+    }
 
-        // long start = System.currentTimeMillis();
-
-        SpellDictionaryHashMap dict;
-
-        try (ZipFile zf = new ZipFile(zip)) {
-
-            // Words common to American and British English
-            InputStream in = zf.getInputStream(zf.getEntry("eng_com.dic"));
-            try (BufferedReader r = new BufferedReader(new InputStreamReader(in))) {
-                dict = new SpellDictionaryHashMap(r);
-            }
 
-            // Load words specific to the English dialect.
-            List<String> others;
-            if (american) {
-                others = new ArrayList<>(Arrays.asList("color", "labeled", "center", "ize",
-                        "yze"));
-            }
-            else { // British
-                others = new ArrayList<>(Arrays.asList("colour", "labelled", "centre",
-                        "ise", "yse"));
-            }
+    /**
+     * Loads the American or British English dictionary, without creating a
+     * parser.  This is useful for spell checking outside of a text area.
+     *
+     * @param zip The location of the <code>english_dic.zip</code> file
+     *        distributed with the spell checker add-on.
+     * @param american Whether to load American (as opposed to British)
+     *        English.
+     * @param programming Whether to include programming-related words and acronyms.
+     * @return The dictionary.
+     * @throws IOException If an error occurs reading the zip file.
+     * @see #createEnglishSpellingParser(File, boolean, boolean)
+     * @see DictionaryRegistry#loadEnglishDictionary(File, boolean, boolean, DictionaryLoadListener)
+     */
+    public static SpellDictionaryHashMap createEnglishDictionary(File zip,
+                                                                 boolean american, boolean programming)
+            throws IOException {
+        return DictionaryRegistry.loadEnglishDictionary(zip, american, programming, null);
+    }
 
-            // Miscellaneous
-            if (programming) {
-                others.add("programming");
-            }
 
-            for (String other : others) {
-                in = zf.getInputStream(zf.getEntry(other + ".dic"));
-                try (BufferedReader r = new BufferedReader(new InputStreamReader(in))) {
-                    dict.addDictionary(r);
-                }
+    /**
+     * Called on the EDT after a watched dictionary file was reloaded and
+     * swapped into the spell checker.
+     *
+     * @param oldDict The replaced dictionary.
+     * @param newDict The new dictionary.
+     * @param wordsRemoved Whether any words of the old dictionary are
+     *        missing from the new one.
+     */
+    void dictionaryReloaded(SpellDictionary oldDict, SpellDictionaryHashMap newDict, boolean wordsRemoved) {
+        if (oldDict == userDictionary) {
+            userDictionary = newDict;
+        }
+        if (wordsRemoved) {
+            for (RSyntaxTextArea textArea : new ArrayList<>(textAreas)) {
+                textArea.forceReparsing(this);
             }
-
         }
+        else {
+            removeNotices(newDict::isCorrect);
+        }
+    }
 
-        //float secs = (System.currentTimeMillis() - start)/1000f;
-        //System.out.println("Loading dictionary took " + secs + " seconds");
-
-        return new SpellingParser(dict);
 
+    /**
+     * Releases the resources used by this parser.  It is uninstalled from
+     * the text areas it was installed in, and background spell checks and
+     * dictionary file watching are stopped.  If this parser was created by
+     * {@link #createEnglishSpellingParser(File, boolean, boolean)}, its
+     * dictionary is released, and freed once no other parser uses it.<p>
+     *
+     * A parser cannot be used after it is disposed.
+     */
+    public void dispose() {
+        for (RSyntaxTextArea textArea : new ArrayList<>(textAreas)) {
+            uninstall(textArea);
+        }
+        for (BackgroundCheck check : backgroundChecks.values()) {
+            check.stop();
+        }
+        backgroundChecks.clear();
+        try {
+            dictionaryFiles.setWatching(false);
+        } catch (IOException ioe) {
+            ioe.printStackTrace();
+        }
+        if (sharedDictionary != null) {
+            DictionaryRegistry.getInstance().release(sharedDictionary, this);
+            sharedDictionary = null;
+        }
     }
 
 
@@ -268,6 +439,26 @@ public class SpellingParser extends AbstractParser
     }
 
 
+    /**
+     * Returns the forms of a word ignored when the user clicks "Ignore":
+     * the word as is, in lower case, capitalized and in upper case.
+     *
+     * @param word The word.
+     * @return The forms of the word.
+     */
+    private static Set<String> getCaseVariants(String word) {
+        String lower = word.toLowerCase();
+        Set<String> variants = new HashSet<>();
+        variants.add(word);
+        variants.add(lower);
+        if (!lower.isEmpty()) {
+            variants.add(Character.toUpperCase(lower.charAt(0)) + lower.substring(1));
+        }
+        variants.add(word.toUpperCase());
+        return variants;
+    }
+
+
     /**
      * Overridden to return the image base for {@link FocusableTip}s made
      * from this parser's notices.
@@ -297,6 +488,18 @@ public class SpellingParser extends AbstractParser
     }
 
 
+    /**
+     * Returns whether the lines visible in text areas are spell checked
+     * before the rest of the document.
+     *
+     * @return Whether visible lines are checked first.
+     * @see #setPrioritizeVisibleLines(boolean)
+     */
+    public boolean getPrioritizeVisibleLines() {
+        return prioritizeVisibleLines;
+    }
+
+
     /**
      * Returns the strategy to use to identify tokens to spell check.
      *
@@ -330,11 +533,45 @@ public class SpellingParser extends AbstractParser
     }
 
 
+    /**
+     * Returns whether the user dictionary and added word lists are reloaded
+     * when their files change.
+     *
+     * @return Whether dictionary files are watched.
+     * @see #setWatchDictionaryFiles(boolean)
+     */
+    public boolean getWatchDictionaryFiles() {
+        return dictionaryFiles.isWatching();
+    }
+
+
+    /**
+     * Adds this parser to a text area.  This is equivalent to calling
+     * <code>textArea.addParser(parser)</code>, but also lets this parser
+     * update the text area directly when a word is added to the user
+     * dictionary or ignored from any text area sharing this parser.
+     *
+     * @param textArea The text area to spell check.
+     * @see #uninstall(RSyntaxTextArea)
+     */
+    public void install(RSyntaxTextArea textArea) {
+        textAreas.add(textArea);
+        textArea.addParser(this);
+    }
+
+
+    private static boolean isPlainText(String style) {
+        return style == null || SyntaxConstants.SYNTAX_STYLE_NONE.equals(style);
+    }
+
+
     @Override
     public void linkClicked(RSyntaxTextArea textArea, HyperlinkEvent e) {
 
         if (e.getEventType() == HyperlinkEvent.EventType.ACTIVATED) {
 
+            textAreas.add(textArea);
+
             String desc = e.getDescription();
             int temp = desc.indexOf("://");
             SpellingErrorAction action = SpellingErrorAction.valueOf(desc.substring(0, temp));
@@ -359,7 +596,8 @@ public class SpellingParser extends AbstractParser
                     }
                     String word = tokens[0];
                     if (sc.addToDictionary(word)) {
-                        textArea.forceReparsing(this);
+                        // Also clears capitalized forms and camel case parts
+                        removeNotices(userDictionary::isCorrect);
                         SpellingParserEvent se = new SpellingParserEvent(this,
                                 textArea, SpellingParserEvent.WORD_ADDED, word);
                         fireSpellingParserEvent(se);
@@ -371,8 +609,14 @@ public class SpellingParser extends AbstractParser
 
                 case IGNORE:
                     word = tokens[0];
-                    sc.ignoreAll(word);
-                    textArea.forceReparsing(this);
+                    // Ignore the word regardless of case, e.g. also at the
+                    // start of a sentence.  Camel case parts are matched in
+                    // lower case by the spell checker itself.
+                    Set<String> variants = getCaseVariants(word);
+                    for (String variant : variants) {
+                        sc.ignoreAll(variant);
+                    }
+                    removeNotices(variants::contains);
                     SpellingParserEvent se = new SpellingParserEvent(this,
                             textArea, SpellingParserEvent.WORD_IGNORED, word);
                     fireSpellingParserEvent(se);
@@ -387,51 +631,62 @@ public class SpellingParser extends AbstractParser
     @Override
     public ParseResult parse(RSyntaxDocument doc, String style) {
 
-        //long startTime = System.currentTimeMillis();
+        // A word was just added or ignored; the notices for it have already
+        // been removed, so there is nothing to re-check.
+        DefaultParseResult cached = results.get(doc);
+        if (cached != null && reuseResultDocs.contains(doc)) {
+            return cached;
+        }
+
+        SpellCheckMetrics metrics = SpellCheckMetrics.get();
+        long startTime = metrics.startTimer();
+        SpellCheckMetrics.ParseTrace trace = metrics.startParseTrace();
 
         Element root = doc.getDefaultRootElement();
         int lineCount = root.getElementCount();
+        result = cached != null ? cached : new DefaultParseResult(this);
+        results.put(doc, result);
         result.clearNotices();
         // Always spell check all lines, for now.
         result.setParsedLines(0, lineCount - 1);
         this.doc = doc;
         errorCount = 0;
+        tokensChecked = 0;
+        countErrors = true;
+
+        BackgroundCheck previous = backgroundChecks.remove(doc);
+        if (previous != null) {
+            previous.stop();
+        }
+
+        int[] visibleLines = prioritizeVisibleLines ?
+                BackgroundCheck.getVisibleLines(doc, textAreas) : null;
+        if (visibleLines != null) {
+            // Errors the user can see are always reported
+            countErrors = false;
+            checkLines(doc, style, visibleLines[0], visibleLines[1]);
+            countErrors = true;
+            BackgroundCheck check = new BackgroundCheck(this, doc, style, result,
+                    visibleLines[0], visibleLines[1]);
+            backgroundChecks.put(doc, check);
+            check.start();
+        }
 
         // Use a faster method for spell-checking plain text.
-        if (style == null || SyntaxConstants.SYNTAX_STYLE_NONE.equals(style)) {
+        else if (isPlainText(style)) {
             startOffs = 0;
+            tokensChecked++;
             parseEntireDocument(doc);
         }
 
         else {
-
-            SpellCheckableTokenIdentifier scti =
-                    getSpellCheckableTokenIdentifier();
-
-            scti.begin();
-            try {
-                for (Token t : doc) {
-                    if (scti.isSpellCheckable(t)) {
-                        startOffs = t.getOffset();
-                        // TODO: Create a wordTokenizer that uses char[] array
-                        // to prevent String allocation.
-                        StringWordTokenizer swt =
-                                new StringWordTokenizer(t.getLexeme());
-                        int rc = sc.checkSpelling(swt);
-                        if (rc == SpellChecker.SPELLCHECK_CANCEL) {
-                            break; // Stop spell checking comments
-                        }
-                    }
-                }
-            } finally {
-                scti.end();
-            }
-
+            checkLines(doc, style, 0, lineCount - 1);
         }
 
-        //float secs = (System.currentTimeMillis() - startTime)/1000f;
-        //System.out.println("Spell check completed in: " + secs + " seconds");
-        //System.out.println("Error count==" + errorCount);
+        metrics.stopTimer(SpellCheckMetrics.Timer.PARSE, startTime);
+        if (trace != null) {
+            trace.finish(doc.getLength(), style, tokensChecked, result.getNotices().size());
+        }
         return result;
 
     }
@@ -448,6 +703,69 @@ public class SpellingParser extends AbstractParser
     }
 
 
+    /**
+     * Displays the current notices of a document in all text areas showing
+     * it, without spell checking it again.
+     *
+     * @param doc The document.
+     */
+    void publishResult(Document doc) {
+        reuseResultDocs.add(doc);
+        try {
+            for (RSyntaxTextArea textArea : new ArrayList<>(textAreas)) {
+                if (textArea.getDocument() == doc) {
+                    textArea.forceReparsing(this);
+                }
+            }
+        } finally {
+            reuseResultDocs.remove(doc);
+        }
+    }
+
+
+    /**
+     * Removes the notices for words that are no longer considered misspelled
+     * from every document spell checked by this parser, and updates the
+     * text areas displaying them.  This is much cheaper than re-checking
+     * each document.
+     *
+     * @param correct Returns whether a word is now considered correct, e.g.
+     *        because it was added to the user dictionary or ignored.
+     */
+    private void removeNotices(Predicate<String> correct) {
+
+        for (Map.Entry<Document, DefaultParseResult> entry : results.entrySet()) {
+            DefaultParseResult docResult = entry.getValue();
+            List<ParserNotice> kept = new ArrayList<>();
+            for (ParserNotice notice : docResult.getNotices()) {
+                if (!correct.test(((SpellingParserNotice)notice).getWord())) {
+                    kept.add(notice);
+                }
+            }
+            if (kept.size() < docResult.getNotices().size()) {
+                docResult.clearNotices();
+                for (ParserNotice notice : kept) {
+                    docResult.addNotice(notice);
+                }
+                reuseResultDocs.add(entry.getKey());
+            }
+        }
+
+        try {
+            // Text areas showing a filtered document get the cached result
+            // back from parse() instead of a fresh spell check.
+            for (RSyntaxTextArea textArea : new ArrayList<>(textAreas)) {
+                if (reuseResultDocs.contains(textArea.getDocument())) {
+                    textArea.forceReparsing(this);
+                }
+            }
+        } finally {
+            reuseResultDocs.clear();
+        }
+
+    }
+
+
     /**
      * Removes a listener from this spelling parser.
      *
@@ -498,6 +816,26 @@ public class SpellingParser extends AbstractParser
     }
 
 
+    /**
+     * Sets whether the lines visible in text areas are spell checked before
+     * the rest of the document.  This is useful for very large documents.<p>
+     *
+     * When enabled, visible lines are checked first and their errors are
+     * displayed immediately, regardless of the maximum error count.  The
+     * remaining lines are then checked a chunk at a time on the EDT, and the
+     * maximum error count only applies to them.  This only affects text
+     * areas added via {@link #install(RSyntaxTextArea)} or that have had a
+     * spelling error link clicked.
+     *
+     * @param prioritize Whether to check visible lines first.
+     * @see #getPrioritizeVisibleLines()
+     * @see #setMaxErrorCount(int)
+     */
+    public void setPrioritizeVisibleLines(boolean prioritize) {
+        prioritizeVisibleLines = prioritize;
+    }
+
+
     /**
      * Sets the strategy to use to identify tokens to spell check.
      *
@@ -537,9 +875,32 @@ public class SpellingParser extends AbstractParser
      * @param dictionaryFile The dictionary file.  If this is <code>null</code>
      *        then the user will not be able to add words.
      * @throws IOException If an IO error occurs.
+     * @see #setUserDictionary(File, boolean)
      * @see #getUserDictionary()
      */
     public void setUserDictionary(File dictionaryFile) throws IOException {
+        setUserDictionary(dictionaryFile, false);
+    }
+
+
+    /**
+     * Sets the "user dictionary," that is, the dictionary that words can be
+     * added to at runtime.<p>
+     *
+     * If <code>asynchronousWrites</code> is <code>true</code>, words the
+     * user adds are written to the file on a background thread instead of
+     * on the event dispatch thread.  Any words not yet written are flushed
+     * when the user dictionary is changed again.
+     *
+     * @param dictionaryFile The dictionary file.  If this is <code>null</code>
+     *        then the user will not be able to add words.
+     * @param asynchronousWrites Whether to write added words on a background
+     *        thread.
+     * @throws IOException If an IO error occurs.
+     * @see #setUserDictionary(File)
+     * @see #getUserDictionary()
+     */
+    public void setUserDictionary(File dictionaryFile, boolean asynchronousWrites) throws IOException {
         SpellDictionaryHashMap userDict;
         if (dictionaryFile != null) {
             if (!dictionaryFile.exists()) {
@@ -547,14 +908,60 @@ public class SpellingParser extends AbstractParser
                     throw new IOException("Could not create user dictionary file: " + dictionaryFile);
                 }
             }
-            userDict = new SpellDictionaryHashMap(dictionaryFile);
+            userDict = WatchedDictionaryFiles.loadUserDictionary(dictionaryFile);
+            userDict.setAsynchronousWrites(asynchronousWrites);
         }
         else {
             // Unfortunately cannot use null, Jazzy won't allow it
             userDict = new SpellDictionaryHashMap();
         }
+        SpellDictionaryHashMap old = userDictionary;
         sc.setUserDictionary(userDict);
+        userDictionary = userDict;
+        if (this.dictionaryFile != null) {
+            dictionaryFiles.remove(this.dictionaryFile);
+        }
+        if (dictionaryFile != null) {
+            dictionaryFiles.add(dictionaryFile, userDict, WatchedDictionaryFiles::loadUserDictionary);
+        }
         this.dictionaryFile = dictionaryFile;
+        if (old != null) {
+            old.setAsynchronousWrites(false);
+        }
+    }
+
+
+    /**
+     * Sets whether the user dictionary and word lists added via
+     * {@link #addDictionary(File)} are reloaded when their files change,
+     * e.g. when a team word list is updated or the user dictionary is edited
+     * in another program.<p>
+     *
+     * Changed files are reloaded on a background thread and swapped in
+     * atomically, so spell checking never waits for them.  If words were
+     * only added, just the notices for those words are removed; otherwise
+     * the documents in text areas using this parser are checked again.
+     *
+     * @param watch Whether to watch dictionary files.
+     * @throws IOException If the files cannot be watched.
+     * @see #getWatchDictionaryFiles()
+     * @see DictionaryFileWatcher
+     */
+    public void setWatchDictionaryFiles(boolean watch) throws IOException {
+        dictionaryFiles.setWatching(watch);
+    }
+
+
+    /**
+     * Removes this parser from a text area it was added to via
+     * {@link #install(RSyntaxTextArea)}.
+     *
+     * @param textArea The text area to stop spell checking.
+     * @see #install(RSyntaxTextArea)
+     */
+    public void uninstall(RSyntaxTextArea textArea) {
+        textAreas.remove(textArea);
+        textArea.removeParser(this);
     }
 
 
@@ -567,7 +974,7 @@ public class SpellingParser extends AbstractParser
         SpellingParserNotice notice =
                 new SpellingParserNotice(this, text, line, offs, word, sc);
         result.addNotice(notice);
-        return ++errorCount >= maxErrorCount;
+        return countErrors && ++errorCount >= maxErrorCount;
     }
 
 
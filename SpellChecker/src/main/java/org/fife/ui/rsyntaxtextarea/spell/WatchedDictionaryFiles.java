@@ -0,0 +1,169 @@
+/*
+ * 10/19/2026
+ *
+ * WatchedDictionaryFiles.java - The dictionary files a parser reloads.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.swing.SwingUtilities;
+
+import org.fife.com.swabunga.spell.engine.CachingTransformator;
+import org.fife.com.swabunga.spell.engine.SpellDictionary;
+import org.fife.com.swabunga.spell.engine.SpellDictionaryHashMap;
+import org.fife.com.swabunga.spell.event.DictionaryFileWatcher;
+import org.fife.com.swabunga.spell.event.DictionaryReloadEvent;
+import org.fife.com.swabunga.spell.event.DictionaryReloadListener;
+import org.fife.com.swabunga.spell.event.SpellChecker;
+
+
+/**
+ * The dictionary files of a {@link SpellingParser}, i.e. its user
+ * dictionary and any word lists added to it, and the watcher reloading
+ * them when they change, if watching is enabled.  Dictionaries are
+ * reloaded and swapped into the spell checker on a background thread; the
+ * parser is then told on the EDT, so it can update the affected
+ * documents.<p>
+ *
+ * Reloading never writes to a file.  Word lists are loaded read-only, and
+ * only the user dictionary is loaded with its file, so that words the user
+ * adds after a reload are still saved.
+ *
+ * @version 1.0
+ * @see SpellingParser#setWatchDictionaryFiles(boolean)
+ */
+final class WatchedDictionaryFiles implements DictionaryReloadListener {
+
+    private final SpellingParser parser;
+    private final SpellChecker checker;
+    private final Map<File, SpellDictionary> dictionaries;
+    private final Map<File, DictionaryFileWatcher.Loader> loaders;
+    private DictionaryFileWatcher watcher;
+
+
+    WatchedDictionaryFiles(SpellingParser parser, SpellChecker checker) {
+        this.parser = parser;
+        this.checker = checker;
+        dictionaries = new LinkedHashMap<>();
+        loaders = new LinkedHashMap<>();
+    }
+
+
+    /**
+     * Adds a dictionary file, and watches it if watching is enabled.
+     *
+     * @param file The file.
+     * @param dictionary The dictionary loaded from the file.
+     * @param loader Reloads the file, either {@link #loadUserDictionary(File)}
+     *        or {@link #loadWordList(File)}.
+     * @throws IOException If the file cannot be watched.
+     */
+    void add(File file, SpellDictionary dictionary, DictionaryFileWatcher.Loader loader) throws IOException {
+        dictionaries.put(file, dictionary);
+        loaders.put(file, loader);
+        if (watcher != null) {
+            watcher.watch(dictionary, file, loader);
+        }
+    }
+
+
+    @Override
+    public void dictionaryReloaded(DictionaryReloadEvent e) {
+        // If the file could not be loaded, the old dictionary is still used
+        if (e.getNewDictionary() != null) {
+            SwingUtilities.invokeLater(() -> dictionaryReplaced(e));
+        }
+    }
+
+
+    private void dictionaryReplaced(DictionaryReloadEvent e) {
+
+        SpellDictionaryHashMap oldDict = (SpellDictionaryHashMap)e.getOldDictionary();
+        SpellDictionaryHashMap newDict = (SpellDictionaryHashMap)e.getNewDictionary();
+        dictionaries.replaceAll((file, dict) -> dict == oldDict ? newDict : dict);
+
+        try {
+            // Writes any words the user just added to the old dictionary
+            boolean async = oldDict.getAsynchronousWrites();
+            oldDict.setAsynchronousWrites(false);
+            newDict.setAsynchronousWrites(async);
+        } catch (IOException ioe) {
+            ioe.printStackTrace();
+        }
+
+        parser.dictionaryReloaded(oldDict, newDict, !newDict.containsAllWords(oldDict));
+
+    }
+
+
+    boolean isWatching() {
+        return watcher != null;
+    }
+
+
+    /**
+     * Loads a user dictionary file.  Words added to the dictionary are
+     * appended to the file.
+     *
+     * @param file The file.
+     * @return The dictionary.
+     * @throws IOException If an IO error occurs.
+     */
+    static SpellDictionaryHashMap loadUserDictionary(File file) throws IOException {
+        return new SpellDictionaryHashMap(CachingTransformator.getShared(), file);
+    }
+
+
+    /**
+     * Loads a word list file.  The dictionary never writes to the file.
+     *
+     * @param file The file.
+     * @return The dictionary.
+     * @throws IOException If an IO error occurs.
+     */
+    static SpellDictionaryHashMap loadWordList(File file) throws IOException {
+        try (Reader r = new FileReader(file)) {
+            return new SpellDictionaryHashMap(CachingTransformator.getShared(), r);
+        }
+    }
+
+
+    /**
+     * Removes a dictionary file, and stops watching it.
+     *
+     * @param file The file.
+     */
+    void remove(File file) {
+        dictionaries.remove(file);
+        loaders.remove(file);
+        if (watcher != null) {
+            watcher.unwatch(file);
+        }
+    }
+
+
+    void setWatching(boolean watching) throws IOException {
+        if (watching && watcher == null) {
+            watcher = new DictionaryFileWatcher(checker);
+            watcher.addDictionaryReloadListener(this);
+            for (Map.Entry<File, SpellDictionary> entry : dictionaries.entrySet()) {
+                watcher.watch(entry.getValue(), entry.getKey(), loaders.get(entry.getKey()));
+            }
+        }
+        else if (!watching && watcher != null) {
+            DictionaryFileWatcher old = watcher;
+            watcher = null;
+            old.close();
+        }
+    }
+
+
+}
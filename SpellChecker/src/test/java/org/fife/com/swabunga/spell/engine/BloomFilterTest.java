@@ -0,0 +1,62 @@
+package org.fife.com.swabunga.spell.engine;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Unit tests for {@link BloomFilter}.
+ */
+class BloomFilterTest {
+
+    @Test
+    void testMightContain_noFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10000);
+        for (int i = 0; i < 10000; i++) {
+            filter.add("code" + i);
+        }
+        for (int i = 0; i < 10000; i++) {
+            Assertions.assertTrue(filter.mightContain("code" + i));
+        }
+    }
+
+    @Test
+    void testMightContain_fewFalsePositives() {
+        BloomFilter filter = new BloomFilter(10000);
+        for (int i = 0; i < 10000; i++) {
+            filter.add("code" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+        Assertions.assertTrue(falsePositives < 300, "Too many false positives: " + falsePositives);
+    }
+
+    @Test
+    void testMightContain_empty() {
+        BloomFilter filter = new BloomFilter(0);
+        Assertions.assertFalse(filter.mightContain("APL"));
+        Assertions.assertFalse(filter.mightContain(""));
+    }
+
+    @Test
+    void testReadCodes() throws IOException {
+        BufferedReader in = new BufferedReader(new StringReader("APL*apple\n\nPT*bat\nPT*pat\n"));
+        BloomFilter filter = BloomFilter.readCodes(in, '*', 3);
+        Assertions.assertNotNull(filter);
+        Assertions.assertTrue(filter.mightContain("APL"));
+        Assertions.assertTrue(filter.mightContain("PT"));
+    }
+
+    @Test
+    void testReadCodes_badFormat() throws IOException {
+        BufferedReader in = new BufferedReader(new StringReader("APL*apple\nbat\n"));
+        Assertions.assertNull(BloomFilter.readCodes(in, '*', 2));
+    }
+}
@@ -0,0 +1,118 @@
+package org.fife.com.swabunga.spell.engine;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Unit tests for {@link CachingTransformator}.
+ */
+class CachingTransformatorTest {
+
+    private CachingTransformator tf;
+
+    @BeforeEach
+    void setUp() {
+        tf = new CachingTransformator(new DoubleMeta(), 3);
+    }
+
+    @Test
+    void testConstructor_nullDelegate() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CachingTransformator(null));
+    }
+
+    @Test
+    void testConstructor_invalidMaxSize() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new CachingTransformator(new DoubleMeta(), 0));
+    }
+
+    @Test
+    void testConstructor_defaultMaxSize() {
+        Assertions.assertEquals(CachingTransformator.DEFAULT_MAX_SIZE,
+            new CachingTransformator(new DoubleMeta()).getMaxSize());
+    }
+
+    @Test
+    void testClear() {
+        tf.transform("test");
+        tf.transform("test");
+        tf.clear();
+        Assertions.assertEquals(0, tf.getSize());
+        Assertions.assertEquals(0, tf.getHitCount());
+        Assertions.assertEquals(0, tf.getMissCount());
+    }
+
+    @Test
+    void testGetDelegate() {
+        Assertions.assertInstanceOf(DoubleMeta.class, tf.getDelegate());
+    }
+
+    @Test
+    void testGetHitRate() {
+        Assertions.assertEquals(0, tf.getHitRate());
+        tf.transform("test");
+        tf.transform("test");
+        tf.transform("test");
+        tf.transform("other");
+        Assertions.assertEquals(2, tf.getHitCount());
+        Assertions.assertEquals(2, tf.getMissCount());
+        Assertions.assertEquals(0.5, tf.getHitRate());
+    }
+
+    @Test
+    void testGetReplaceList() {
+        Assertions.assertArrayEquals(new DoubleMeta().getReplaceList(), tf.getReplaceList());
+    }
+
+    @Test
+    void testGetShared() {
+        Assertions.assertSame(CachingTransformator.getShared(), CachingTransformator.getShared());
+        Assertions.assertInstanceOf(DoubleMeta.class, CachingTransformator.getShared().getDelegate());
+    }
+
+    @Test
+    void testGetShared_nullFile() throws IOException {
+        Assertions.assertSame(CachingTransformator.getShared(), CachingTransformator.getShared(null, null));
+    }
+
+    @Test
+    void testGetShared_phoneticFile() throws IOException {
+        File phonetic = File.createTempFile("scUnitTest", ".dat");
+        phonetic.deleteOnExit();
+        Files.writeString(phonetic.toPath(), "version 1\nSCH(EOU)-   SK\n");
+
+        CachingTransformator shared = CachingTransformator.getShared(phonetic, null);
+        Assertions.assertInstanceOf(GenericTransformator.class, shared.getDelegate());
+        Assertions.assertSame(shared, CachingTransformator.getShared(phonetic, null));
+        Assertions.assertNotSame(shared, CachingTransformator.getShared(phonetic, "UTF-8"));
+    }
+
+    @Test
+    void testTransform() {
+        DoubleMeta doubleMeta = new DoubleMeta();
+        for (String word : new String[] { "test", "example", "chance", "test" }) {
+            Assertions.assertEquals(doubleMeta.transform(word), tf.transform(word));
+        }
+        Assertions.assertEquals(1, tf.getHitCount());
+        Assertions.assertEquals(3, tf.getMissCount());
+    }
+
+    @Test
+    void testTransform_null() {
+        Assertions.assertEquals("", tf.transform(null));
+        Assertions.assertEquals(0, tf.getSize());
+    }
+
+    @Test
+    void testTransform_sizeIsBounded() {
+        for (String word : new String[] { "one", "two", "three", "four", "five" }) {
+            tf.transform(word);
+        }
+        Assertions.assertEquals(3, tf.getSize());
+    }
+}
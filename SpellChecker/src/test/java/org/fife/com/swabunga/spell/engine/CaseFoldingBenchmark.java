@@ -0,0 +1,119 @@
+package org.fife.com.swabunga.spell.engine;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmarks case-insensitive dictionary lookups on title case heavy text.
+ * These are not run by the <code>test</code> task; run them with
+ * <code>gradlew :SpellChecker:benchmark</code>, which prints the timings.
+ */
+@Tag("benchmark")
+class CaseFoldingBenchmark {
+
+    private static final int LOOKUP_COUNT = 500_000;
+    private static final int ITERATIONS = 7;
+
+    private static SpellDictionaryHashMap dictionary;
+    private static String[] words;
+    private static List<List<String>> buckets;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+
+        List<String> dictionaryWords = new ArrayList<>();
+        try (FileReader r = new FileReader("src/main/dist/english_dic/eng_com.dic")) {
+            dictionary = new SpellDictionaryHashMap(r);
+        }
+        try (BufferedReader r = new BufferedReader(new FileReader("src/main/dist/english_dic/eng_com.dic"))) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                dictionaryWords.add(line);
+            }
+        }
+
+        // Mostly title case, as at the start of sentences and in headings,
+        // with some upper and lower case words
+        Random random = new Random(0);
+        words = new String[LOOKUP_COUNT];
+        buckets = new ArrayList<>(LOOKUP_COUNT);
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            String word = dictionaryWords.get(random.nextInt(dictionaryWords.size()));
+            int style = random.nextInt(10);
+            if (style < 7) {
+                word = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+            }
+            else if (style < 8) {
+                word = word.toUpperCase(Locale.ROOT);
+            }
+            words[i] = word;
+            buckets.add(dictionary.getWords(dictionary.getCode(word)));
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean())
+            .getCurrentThreadAllocatedBytes();
+    }
+
+    private static int run(String name, Lookup lookup) {
+        long bestNanos = Long.MAX_VALUE;
+        long bytes = 0;
+        int found = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long startBytes = allocatedBytes();
+            long start = System.nanoTime();
+            found = 0;
+            for (int j = 0; j < LOOKUP_COUNT; j++) {
+                if (lookup.contains(buckets.get(j), words[j])) {
+                    found++;
+                }
+            }
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+            bytes = allocatedBytes() - startBytes;
+        }
+        System.out.printf(Locale.ROOT, "%-24s %8.1f ns/word %8.1f bytes/word%n", name,
+            bestNanos / (double)LOOKUP_COUNT, bytes / (double)LOOKUP_COUNT);
+        return found;
+    }
+
+    @Test
+    void testBucketLookup() {
+        int expected = run("Lookup, toLowerCase()",
+            (bucket, word) -> bucket.contains(word) || bucket.contains(word.toLowerCase()));
+        assertEquals(expected, run("Lookup, CaseFolding", CaseFolding::containsWordOrLowerCase));
+    }
+
+    @Test
+    void testIsCorrect() {
+        long start = System.nanoTime();
+        int found = 0;
+        for (String word : words) {
+            if (dictionary.isCorrect(word)) {
+                found++;
+            }
+        }
+        assertTrue(found > 0);
+        System.out.printf(Locale.ROOT, "%-24s %8.1f ns/word%n", "isCorrect()",
+            (System.nanoTime() - start) / (double)LOOKUP_COUNT);
+    }
+
+    /**
+     * A case-insensitive bucket lookup.
+     */
+    private interface Lookup {
+        boolean contains(List<String> bucket, String word);
+    }
+}
@@ -0,0 +1,67 @@
+package org.fife.com.swabunga.spell.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CaseFolding}.
+ */
+class CaseFoldingTest {
+
+    private static final List<String> WORDS = Arrays.asList("paris", "Paris", "nasa", "iPhone", "caf\u00e9", "I");
+
+    private static final String[] LOOKUPS = {
+        "paris", "Paris", "PARIS", "pArIs", "NASA", "Nasa", "nasa", "iphone", "IPHONE", "iPhone", "Caf\u00e9",
+        "CAF\u00c9", "caf\u00e9", "I", "i", "", "parisx", "Pari", "xyz",
+    };
+
+    @Test
+    void testContainsWordOrLowerCase_sameAsToLowerCase() {
+        for (String word : LOOKUPS) {
+            boolean expected = WORDS.contains(word) || WORDS.contains(word.toLowerCase());
+            assertEquals(expected, CaseFolding.containsWordOrLowerCase(WORDS, word), word);
+        }
+    }
+
+    @Test
+    void testContainsLowerCase_sameAsToLowerCase() {
+        for (String word : LOOKUPS) {
+            assertEquals(WORDS.contains(word.toLowerCase()), CaseFolding.containsLowerCase(WORDS, word), word);
+        }
+    }
+
+    @Test
+    void testContains_emptyList() {
+        assertFalse(CaseFolding.containsWordOrLowerCase(Collections.emptyList(), "Paris"));
+        assertFalse(CaseFolding.containsLowerCase(Collections.emptyList(), "Paris"));
+    }
+
+    @Test
+    void testContains_turkishLocale() {
+        Locale orig = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            List<String> words = Arrays.asList("istanbul", "\u0131rmak");
+            // In Turkish, "I".toLowerCase() is a dotless i
+            assertFalse(CaseFolding.containsLowerCase(words, "ISTANBUL"));
+            assertTrue(CaseFolding.containsLowerCase(words, "IRMAK"));
+            assertTrue(CaseFolding.containsLowerCase(words, "istanbul"));
+        } finally {
+            Locale.setDefault(orig);
+        }
+    }
+
+    @Test
+    void testHasSpecialCasing() {
+        assertTrue(CaseFolding.hasSpecialCasing(new Locale("tr")));
+        assertTrue(CaseFolding.hasSpecialCasing(new Locale("az")));
+        assertFalse(CaseFolding.hasSpecialCasing(Locale.ENGLISH));
+        assertFalse(CaseFolding.hasSpecialCasing(Locale.ROOT));
+    }
+}
@@ -65,4 +65,11 @@ class ConfigurationTest {
         Configuration config = Configuration.getConfiguration("not/there");
         Assertions.assertNotNull(config);
     }
+
+    @Test
+    void testGetDefaultSnapshot() {
+        ConfigurationSnapshot snapshot = Configuration.getDefaultSnapshot();
+        Assertions.assertEquals(140, snapshot.getThreshold());
+        Assertions.assertSame(snapshot, Configuration.getDefaultSnapshot());
+    }
 }
@@ -1,5 +1,18 @@
 package org.fife.com.swabunga.spell.engine;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -42,6 +55,14 @@ class DoubleMetaTest {
         Assertions.assertEquals("TST", doubleMeta.transform("Test"));
     }
 
+    @Test
+    void testTransform_charSequence() {
+        Assertions.assertEquals("TST", doubleMeta.transform(new StringBuilder("Test")));
+        Assertions.assertEquals(doubleMeta.transform("Area"),
+            doubleMeta.transform(new StringBuilder("getTextArea").subSequence(7, 11)));
+        Assertions.assertEquals("", doubleMeta.transform(new StringBuilder()));
+    }
+
     @Test
     void testTransform_endsWith_alle() {
         Assertions.assertEquals("FRFL", doubleMeta.transform("farfalle"));
@@ -596,4 +617,106 @@ class DoubleMetaTest {
     void testTransform_contains_zz() {
         Assertions.assertEquals("JS", doubleMeta.transform("jazz"));
     }
+
+    @Test
+    void testTransform_nonAsciiCharacters() {
+        assertSameAsLegacy("fa\u00e7ade", "Fa\u00c7ADE", "se\u00f1or", "stra\u00dfe", "na\u00efve", "\u00e9t\u00e9");
+    }
+
+    @Test
+    void testTransform_nonLetters() {
+        assertSameAsLegacy("don't", "o'clock", "e-mail", "abc123", "123", "'", "a b", "x", "X", "cz");
+    }
+
+    @Test
+    void testTransform_longWord() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            sb.append("pneumonoultramicroscopicsilicovolcanoconiosis");
+        }
+        assertSameAsLegacy(sb.toString());
+    }
+
+    @Test
+    void testTransform_turkishDefaultLocale() {
+        Locale orig = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            assertSameAsLegacy("illinois", "ipsilateral", "quick", "Istanbul");
+        } finally {
+            Locale.setDefault(orig);
+        }
+    }
+
+    @Test
+    void testTransform_sameAsLegacyForAllDictionaryWords() throws IOException {
+
+        LegacyDoubleMeta legacy = new LegacyDoubleMeta();
+        for (String word : loadDictionaryWords()) {
+            assertSameAsLegacy(legacy, word);
+            assertSameAsLegacy(legacy, word.toUpperCase(Locale.ROOT));
+            assertSameAsLegacy(legacy, word + "s");
+            if (word.length() > 1) {
+                // A typo-like variant: the first two characters swapped
+                assertSameAsLegacy(legacy, word.charAt(1) + "" + word.charAt(0) + word.substring(2));
+            }
+        }
+    }
+
+    @Test
+    void testTransform_multipleThreads() throws Exception {
+
+        List<String> words = loadDictionaryWords().subList(0, 5000);
+        LegacyDoubleMeta legacy = new LegacyDoubleMeta();
+        List<String> expected = new ArrayList<>();
+        for (String word : words) {
+            expected.add(legacy.transform(word));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> {
+                    List<String> actual = new ArrayList<>();
+                    for (String word : words) {
+                        actual.add(doubleMeta.transform(word));
+                    }
+                    return actual;
+                }));
+            }
+            for (Future<List<String>> future : futures) {
+                Assertions.assertEquals(expected, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertSameAsLegacy(String... words) {
+        LegacyDoubleMeta legacy = new LegacyDoubleMeta();
+        for (String word : words) {
+            assertSameAsLegacy(legacy, word);
+        }
+    }
+
+    private void assertSameAsLegacy(LegacyDoubleMeta legacy, String word) {
+        Assertions.assertEquals(legacy.transform(word), doubleMeta.transform(word), "Mismatch for: " + word);
+    }
+
+    private static List<String> loadDictionaryWords() throws IOException {
+        List<String> words = new ArrayList<>();
+        try (Stream<Path> files = Files.list(Paths.get("src/main/dist/english_dic"))) {
+            for (Path file : (Iterable<Path>)files.sorted()::iterator) {
+                if (file.toString().endsWith(".dic")) {
+                    for (String line : Files.readAllLines(file, StandardCharsets.US_ASCII)) {
+                        if (!line.isEmpty()) {
+                            words.add(line);
+                        }
+                    }
+                }
+            }
+        }
+        return words;
+    }
 }
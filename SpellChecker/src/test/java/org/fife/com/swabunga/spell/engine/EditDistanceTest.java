@@ -48,4 +48,32 @@ class EditDistanceTest {
         int expectedDistance = EditDistance.CONFIG.getInteger(Configuration.COST_REMOVE_CHAR);
         Assertions.assertEquals(expectedDistance, EditDistance.getDistance("tests", "test"));
     }
+
+    @Test
+    void testGetDistance_withLimit_sameAsUnboundedWithinLimit() {
+        String[][] pairs = {
+            { "test", "test" }, { "test", "Test" }, { "test", "tent" }, { "abcd", "abdc" },
+            { "test", "tests" }, { "tests", "test" }, { "recieve", "receive" }, { "a", "abcdef" },
+            { "spelling", "spilling" }, { "", "abc" }, { "abc", "" }, { "kitten", "sitting" },
+        };
+        for (String[] pair : pairs) {
+            int expected = EditDistance.getDistance(pair[0], pair[1]);
+            for (int limit = 0; limit < 400; limit += 5) {
+                int actual = EditDistance.getDistance(pair[0], pair[1], null, limit);
+                if (expected <= limit) {
+                    Assertions.assertEquals(expected, actual, pair[0] + " -> " + pair[1] + ", limit " + limit);
+                }
+                else {
+                    Assertions.assertTrue(actual > limit, pair[0] + " -> " + pair[1] + ", limit " + limit);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testGetDistance_withLimit_reusesLargeEnoughMatrix() {
+        int[][] matrix = new int[10][10];
+        Assertions.assertEquals(EditDistance.getDistance("abcd", "abdc"),
+                EditDistance.getDistance("abcd", "abdc", matrix, 1000));
+    }
 }
@@ -0,0 +1,82 @@
+package org.fife.com.swabunga.spell.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link InMemorySpellCheckMetrics}.
+ */
+class InMemorySpellCheckMetricsTest {
+
+    private InMemorySpellCheckMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new InMemorySpellCheckMetrics();
+    }
+
+    @Test
+    void testIncrement() {
+        metrics.increment(SpellCheckMetrics.Counter.WORDS_CHECKED, 3);
+        metrics.increment(SpellCheckMetrics.Counter.WORDS_CHECKED, 4);
+        assertEquals(7, metrics.getCount(SpellCheckMetrics.Counter.WORDS_CHECKED));
+        assertEquals(0, metrics.getCount(SpellCheckMetrics.Counter.MISSPELLINGS));
+    }
+
+    @Test
+    void testIsEnabled() {
+        assertTrue(metrics.isEnabled());
+    }
+
+    @Test
+    void testRecord() {
+        metrics.record(SpellCheckMetrics.Timer.IS_CORRECT, 100);
+        metrics.record(SpellCheckMetrics.Timer.IS_CORRECT, 300);
+        assertEquals(2, metrics.getTimerCount(SpellCheckMetrics.Timer.IS_CORRECT));
+        assertEquals(400, metrics.getTotalNanos(SpellCheckMetrics.Timer.IS_CORRECT));
+        assertEquals(300, metrics.getMaxNanos(SpellCheckMetrics.Timer.IS_CORRECT));
+        assertEquals(200, metrics.getMeanNanos(SpellCheckMetrics.Timer.IS_CORRECT));
+        assertEquals(0, metrics.getMeanNanos(SpellCheckMetrics.Timer.PARSE));
+    }
+
+    @Test
+    void testGetHitRatio() {
+        assertEquals(0, metrics.getHitRatio(SpellCheckMetrics.Counter.CODE_CACHE_HITS,
+            SpellCheckMetrics.Counter.CODE_CACHE_MISSES));
+        metrics.increment(SpellCheckMetrics.Counter.CODE_CACHE_HITS, 3);
+        metrics.increment(SpellCheckMetrics.Counter.CODE_CACHE_MISSES, 1);
+        assertEquals(0.75, metrics.getHitRatio(SpellCheckMetrics.Counter.CODE_CACHE_HITS,
+            SpellCheckMetrics.Counter.CODE_CACHE_MISSES));
+    }
+
+    @Test
+    void testGetWordsPerSecond() {
+        assertEquals(0, metrics.getWordsPerSecond());
+        metrics.increment(SpellCheckMetrics.Counter.WORDS_CHECKED, 500);
+        metrics.record(SpellCheckMetrics.Timer.PARSE, 250_000_000);
+        assertEquals(2000, metrics.getWordsPerSecond(), 0.001);
+    }
+
+    @Test
+    void testReset() {
+        metrics.increment(SpellCheckMetrics.Counter.MISSPELLINGS, 2);
+        metrics.record(SpellCheckMetrics.Timer.SUGGESTIONS, 50);
+        metrics.reset();
+        assertEquals(0, metrics.getCount(SpellCheckMetrics.Counter.MISSPELLINGS));
+        assertEquals(0, metrics.getTimerCount(SpellCheckMetrics.Timer.SUGGESTIONS));
+        assertEquals(0, metrics.getTotalNanos(SpellCheckMetrics.Timer.SUGGESTIONS));
+        assertEquals(0, metrics.getMaxNanos(SpellCheckMetrics.Timer.SUGGESTIONS));
+    }
+
+    @Test
+    void testToString() {
+        metrics.record(SpellCheckMetrics.Timer.PARSE, 2_500_000);
+        metrics.increment(SpellCheckMetrics.Counter.WORDS_CHECKED, 10);
+        String summary = metrics.toString();
+        assertTrue(summary.contains("PARSE: count=1, mean=2.500 ms, max=2.500 ms"), summary);
+        assertTrue(summary.contains("WORDS_CHECKED: 10"), summary);
+        assertTrue(summary.contains("Words/s: 4000"), summary);
+    }
+}
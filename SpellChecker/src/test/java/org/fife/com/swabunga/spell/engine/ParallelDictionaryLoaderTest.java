@@ -0,0 +1,154 @@
+package org.fife.com.swabunga.spell.engine;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ParallelDictionaryLoader}.
+ */
+class ParallelDictionaryLoaderTest {
+
+    private static final String DIC_DIR = "src/main/dist/english_dic/";
+
+    private static final List<String> ENTRIES = Collections.unmodifiableList(Arrays.asList(
+        "eng_com.dic", "color.dic", "labeled.dic", "center.dic", "ize.dic", "yze.dic", "programming.dic"));
+
+    private static File zipFile;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        zipFile = File.createTempFile("scUnitTests_parallelDictionaryLoader", ".zip");
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zipFile))) {
+            for (String entry : ENTRIES) {
+                zos.putNextEntry(new ZipEntry(entry));
+                zos.write(Files.readAllBytes(Paths.get(DIC_DIR + entry)));
+                zos.closeEntry();
+            }
+            // Duplicates words in eng_com.dic, differing only in case
+            zos.putNextEntry(new ZipEntry("dups.dic"));
+            zos.write("APPLE\nbanana\n\nZyzzyva\n".getBytes(StandardCharsets.UTF_8));
+            zos.closeEntry();
+        }
+    }
+
+    @AfterAll
+    static void tearDown() {
+        assertTrue(zipFile.delete());
+    }
+
+    /**
+     * Loads the dictionary the way <code>SpellingParser</code> did before
+     * this class existed.
+     */
+    private static SpellDictionaryHashMap loadSequentially(List<String> entries) throws IOException {
+        SpellDictionaryHashMap dict;
+        try (FileReader r = new FileReader(DIC_DIR + entries.get(0))) {
+            dict = new SpellDictionaryHashMap(r);
+        }
+        for (String entry : entries.subList(1, entries.size())) {
+            try (FileReader r = new FileReader(DIC_DIR + entry)) {
+                dict.addDictionary(r);
+            }
+        }
+        return dict;
+    }
+
+    private static List<String> allWords(List<String> entries) throws IOException {
+        List<String> words = new ArrayList<>();
+        for (String entry : entries) {
+            words.addAll(Files.readAllLines(Paths.get(DIC_DIR + entry)));
+        }
+        return words;
+    }
+
+    @Test
+    void testLoad_sameAsSequentialLoad() throws IOException {
+
+        SpellDictionaryHashMap expected = loadSequentially(ENTRIES);
+        SpellDictionaryHashMap actual;
+        ParallelDictionaryLoader loader = new ParallelDictionaryLoader(null);
+        try (ZipFile zf = new ZipFile(zipFile)) {
+            actual = loader.load(zf, ENTRIES, StandardCharsets.UTF_8);
+        }
+
+        for (String word : allWords(ENTRIES)) {
+            String code = expected.getCode(word);
+            assertEquals(expected.getWords(code), actual.getWords(code), word);
+        }
+    }
+
+    @Test
+    void testLoad_listenerAndDuplicates() throws IOException {
+
+        List<DictionaryLoadEvent> events = new ArrayList<>();
+        ParallelDictionaryLoader loader = new ParallelDictionaryLoader(new CachingTransformator(new DoubleMeta()));
+        loader.addDictionaryLoadListener(events::add);
+
+        SpellDictionaryHashMap dict;
+        try (ZipFile zf = new ZipFile(zipFile)) {
+            dict = loader.load(zf, Arrays.asList("eng_com.dic", "dups.dic"), StandardCharsets.UTF_8);
+        }
+
+        assertEquals(1, events.size());
+        DictionaryLoadEvent e = events.get(0);
+        assertSame(loader, e.getLoader());
+        assertSame(dict, e.getDictionary());
+        assertEquals(2, e.getWordListCount());
+        int engComCount = allWords(Collections.singletonList("eng_com.dic")).size();
+        assertEquals(engComCount + 1, e.getWordCount()); // Only "Zyzzyva" is new
+        assertTrue(e.getElapsedMillis() >= 0);
+        assertTrue(dict.isCorrect("Zyzzyva"));
+        assertSame(loader.getTransformator(), dict.getTransformator());
+    }
+
+    @Test
+    void testLoad_customExecutor() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ParallelDictionaryLoader loader = new ParallelDictionaryLoader(null);
+            loader.setExecutor(executor);
+            assertSame(executor, loader.getExecutor());
+            try (ZipFile zf = new ZipFile(zipFile)) {
+                SpellDictionaryHashMap dict = loader.load(zf, ENTRIES, StandardCharsets.UTF_8);
+                assertTrue(dict.isCorrect("color"));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testLoad_missingEntry() throws IOException {
+        ParallelDictionaryLoader loader = new ParallelDictionaryLoader(null);
+        try (ZipFile zf = new ZipFile(zipFile)) {
+            assertThrows(FileNotFoundException.class,
+                () -> loader.load(zf, Arrays.asList("eng_com.dic", "missing.dic"), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testSetExecutor_null() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelDictionaryLoader(null).setExecutor(null));
+    }
+}
@@ -46,4 +46,35 @@ class PropertyConfigurationTest {
         config.setInteger(Configuration.COST_INSERT_CHAR, 10);
         assertEquals(10, config.getInteger(Configuration.COST_INSERT_CHAR));
     }
+
+    @Test
+    void testGetSnapshot() {
+        ConfigurationSnapshot snapshot = config.getSnapshot();
+        assertTrue(snapshot.isIgnoreUpperCase());
+        assertFalse(snapshot.isIgnoreMixedCase());
+        assertTrue(snapshot.isIgnoreInternetAddresses());
+        assertTrue(snapshot.isIgnoreDigitWords());
+        assertTrue(snapshot.isIgnoreSentenceCapitalization());
+        assertTrue(snapshot.isIgnoreSingleLetters());
+        assertTrue(snapshot.isAnalyzeCamelCaseWords());
+        assertEquals(140, snapshot.getThreshold());
+        assertSame(snapshot, config.getSnapshot());
+    }
+
+    @Test
+    void testGetSnapshot_invalidatedBySetBoolean() {
+        ConfigurationSnapshot snapshot = config.getSnapshot();
+        config.setBoolean(Configuration.SPELL_IGNOREMIXEDCASE, true);
+        assertNotSame(snapshot, config.getSnapshot());
+        assertTrue(config.getSnapshot().isIgnoreMixedCase());
+        assertFalse(snapshot.isIgnoreMixedCase());
+    }
+
+    @Test
+    void testGetSnapshot_invalidatedBySetInteger() {
+        ConfigurationSnapshot snapshot = config.getSnapshot();
+        config.setInteger(Configuration.SPELL_THRESHOLD, 50);
+        assertEquals(50, config.getSnapshot().getThreshold());
+        assertEquals(140, snapshot.getThreshold());
+    }
 }
@@ -0,0 +1,133 @@
+package org.fife.com.swabunga.spell.engine;
+
+import org.fife.com.swabunga.spell.event.SpellChecker;
+import org.fife.com.swabunga.spell.event.StringWordTokenizer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SpellCheckMetrics}, and for the metrics recorded by
+ * the instrumented code.
+ */
+class SpellCheckMetricsTest {
+
+    private InMemorySpellCheckMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new InMemorySpellCheckMetrics();
+        SpellCheckMetrics.set(metrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SpellCheckMetrics.set(null);
+    }
+
+    @Test
+    void testGetSet() {
+        assertSame(metrics, SpellCheckMetrics.get());
+        SpellCheckMetrics.set(null);
+        assertSame(SpellCheckMetrics.NONE, SpellCheckMetrics.get());
+        assertFalse(SpellCheckMetrics.NONE.isEnabled());
+        assertNull(SpellCheckMetrics.NONE.startParseTrace());
+        assertNull(SpellCheckMetrics.NONE.startSuggestionTrace());
+        assertNull(SpellCheckMetrics.NONE.startDictionaryReadTrace());
+    }
+
+    @Test
+    void testSpellChecker_checkSpelling() throws IOException {
+        SpellChecker checker = new SpellChecker(new SpellDictionaryHashMap(new StringReader("this\nis\na\ntest\n")));
+        checker.checkSpelling(new StringWordTokenizer("this is a tesst"));
+        assertEquals(4, metrics.getCount(SpellCheckMetrics.Counter.WORDS_CHECKED));
+        assertEquals(1, metrics.getCount(SpellCheckMetrics.Counter.MISSPELLINGS));
+        assertEquals(4, metrics.getTimerCount(SpellCheckMetrics.Timer.IS_CORRECT));
+    }
+
+    @Test
+    void testSpellChecker_getSuggestions() throws IOException {
+        SpellChecker checker = new SpellChecker(new SpellDictionaryHashMap(new StringReader("this\nis\na\ntest\n")));
+        checker.setCacheSize(10);
+        assertEquals("test", checker.getSuggestions("tesst", 100).get(0).getWord());
+        checker.getSuggestions("tesst", 100);
+        checker.getSuggestions("tesst", 100, 1);
+        assertEquals(3, metrics.getTimerCount(SpellCheckMetrics.Timer.SUGGESTIONS));
+        assertEquals(1, metrics.getCount(SpellCheckMetrics.Counter.SUGGESTION_CACHE_HITS));
+        assertEquals(1, metrics.getCount(SpellCheckMetrics.Counter.SUGGESTION_CACHE_MISSES));
+        assertTrue(metrics.getCount(SpellCheckMetrics.Counter.NEAR_MISS_CODES) > 0);
+    }
+
+    @Test
+    void testCachingTransformator() {
+        CachingTransformator tf = new CachingTransformator(new DoubleMeta());
+        tf.transform("test");
+        tf.transform("test");
+        assertEquals(1, metrics.getCount(SpellCheckMetrics.Counter.CODE_CACHE_HITS));
+        assertEquals(1, metrics.getCount(SpellCheckMetrics.Counter.CODE_CACHE_MISSES));
+    }
+
+    @Test
+    void testSpellDictionaryDichoDisk() throws IOException {
+        File wordsFile = File.createTempFile("scUnitTests_spellCheckMetrics", ".txt");
+        wordsFile.deleteOnExit();
+        Files.write(wordsFile.toPath(), "APL*apple\nKT*cat\nPT*bat\nTK*dog\n".getBytes("US-ASCII"));
+        SpellDictionaryDichoDisk dictionary = new SpellDictionaryDichoDisk(wordsFile);
+        assertEquals("[cat]", dictionary.getWords("KT").toString());
+        assertEquals(1, metrics.getTimerCount(SpellCheckMetrics.Timer.DICTIONARY_IO));
+        assertTrue(metrics.getCount(SpellCheckMetrics.Counter.DICTIONARY_BYTES_READ) > 0);
+    }
+
+    @Test
+    void testSuggestionTrace() throws IOException {
+        List<String> traces = new ArrayList<>();
+        SpellCheckMetrics.set(new InMemorySpellCheckMetrics() {
+            @Override
+            public SuggestionTrace startSuggestionTrace() {
+                return (word, suggestions) -> traces.add(word + ":" + suggestions.size() + ":" +
+                    suggestions.get(0).size());
+            }
+        });
+        SpellChecker checker = new SpellChecker(new SpellDictionaryHashMap(new StringReader("this\nis\na\ntest\n")));
+        checker.getSuggestions("tesst", 100);
+        assertEquals("[tesst:1:1]", traces.toString());
+    }
+
+    @Test
+    void testDictionaryReadTrace() throws IOException {
+        File wordsFile = File.createTempFile("scUnitTests_spellCheckMetrics", ".txt");
+        wordsFile.deleteOnExit();
+        Files.write(wordsFile.toPath(), "APL*apple\nKT*cat\nPT*bat\nTK*dog\n".getBytes("US-ASCII"));
+        List<String> traces = new ArrayList<>();
+        SpellCheckMetrics.set(new InMemorySpellCheckMetrics() {
+            @Override
+            public DictionaryReadTrace startDictionaryReadTrace() {
+                return (code, bytesRead, seekCount) -> {
+                    assertTrue(bytesRead > 0);
+                    assertTrue(seekCount > 0);
+                    traces.add(code);
+                };
+            }
+        });
+        new SpellDictionaryDichoDisk(wordsFile).getWords("KT");
+        assertEquals("[KT]", traces.toString());
+    }
+
+    @Test
+    void testNone_recordsNothing() throws IOException {
+        SpellCheckMetrics.set(null);
+        SpellChecker checker = new SpellChecker(new SpellDictionaryHashMap(new StringReader("test\n")));
+        checker.checkSpelling(new StringWordTokenizer("tesst"));
+        assertEquals(0, metrics.getCount(SpellCheckMetrics.Counter.WORDS_CHECKED));
+        assertEquals(0, metrics.getTimerCount(SpellCheckMetrics.Timer.IS_CORRECT));
+    }
+}
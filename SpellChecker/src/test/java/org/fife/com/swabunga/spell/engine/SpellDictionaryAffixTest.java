@@ -0,0 +1,304 @@
+package org.fife.com.swabunga.spell.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SpellDictionaryAffix}.
+ */
+class SpellDictionaryAffixTest {
+
+    private static final String AFFIX_FILE =
+        "# A few English rules\n" +
+        "SET ISO8859-1\n" +
+        "TRY esianrtolcdugmphbyfvkwz\n" +
+        "NEEDAFFIX X\n" +
+        "\n" +
+        "PFX U Y 1\n" +
+        "PFX U   0     un         .\n" +
+        "\n" +
+        "PFX R N 1\n" +
+        "PFX R   0     re         .\n" +
+        "\n" +
+        "SFX D Y 4\n" +
+        "SFX D   0     d          e\n" +
+        "SFX D   y     ied        [^aeiou]y\n" +
+        "SFX D   0     ed         [^ey]\n" +
+        "SFX D   0     ed         [aeiou]y\n" +
+        "\n" +
+        "SFX G Y 2\n" +
+        "SFX G   e     ing        e\n" +
+        "SFX G   0     ing        [^e]\n" +
+        "\n" +
+        "SFX S Y 4\n" +
+        "SFX S   y     ies        [^aeiou]y\n" +
+        "SFX S   0     s          [aeiou]y\n" +
+        "SFX S   0     es         [sxzh]\n" +
+        "SFX S   0     s          [^sxzhy]\n";
+
+    private static final String WORD_LIST =
+        "9\n" +
+        "walk/DGS\n" +
+        "try/DGS\n" +
+        "bake/DGS\n" +
+        "box/S\n" +
+        "lock/URDGS\tpo:verb\n" +
+        "play/DS\n" +
+        "Paris\n" +
+        "and\\/or\n" +
+        "dummy/XS\n";
+
+    private SpellDictionaryAffix dictionary;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dictionary = new SpellDictionaryAffix(new StringReader(AFFIX_FILE), new StringReader(WORD_LIST));
+    }
+
+    /**
+     * Returns every word the test dictionary accepts.
+     */
+    private static Set<String> expandWordList() throws IOException {
+        AffixRules rules = new AffixRules(new StringReader(AFFIX_FILE));
+        Set<String> words = new TreeSet<>();
+        for (String line : WORD_LIST.split("\n")) {
+            String[] parts = line.split("\t")[0].split("(?<!\\\\)/");
+            if (!parts[0].matches("\\d+")) {
+                char[] flags = parts.length > 1 ? rules.parseFlags(parts[1]) : new char[0];
+                words.addAll(rules.expand(parts[0].replace("\\/", "/"), flags));
+            }
+        }
+        return words;
+    }
+
+    private static Set<String> toStrings(List<Word> words) {
+        Set<String> result = new TreeSet<>();
+        for (Word word : words) {
+            result.add(word.getWord() + "=" + word.getCost());
+        }
+        return result;
+    }
+
+    @Test
+    void testConstructor_files() throws IOException {
+
+        File affixFile = File.createTempFile("scUnitTest", ".aff");
+        affixFile.deleteOnExit();
+        File wordList = File.createTempFile("scUnitTest", ".dic");
+        wordList.deleteOnExit();
+        Files.write(affixFile.toPath(), "SET UTF-8\nSFX S Y 1\nSFX S 0 s .\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(wordList.toPath(), "1\ncaf\u00e9/S\n".getBytes(StandardCharsets.UTF_8));
+
+        dictionary = new SpellDictionaryAffix(affixFile, wordList);
+        assertEquals(1, dictionary.getStemCount());
+        assertEquals(1, dictionary.getRuleCount());
+        assertTrue(dictionary.isCorrect("caf\u00e9"));
+        assertTrue(dictionary.isCorrect("caf\u00e9s"));
+        assertTrue(dictionary.isCorrect("Caf\u00e9s"));
+    }
+
+    @Test
+    void testConstructor_files_unknownCharset() throws IOException {
+        File affixFile = File.createTempFile("scUnitTest", ".aff");
+        affixFile.deleteOnExit();
+        Files.write(affixFile.toPath(), "SET x-unknown\n".getBytes(StandardCharsets.US_ASCII));
+        assertThrows(IOException.class, () -> new SpellDictionaryAffix(affixFile, affixFile));
+    }
+
+    @Test
+    void testConstructor_malformedAffixFile() {
+        assertThrows(IOException.class, () ->
+            new SpellDictionaryAffix(new StringReader("SFX S Y\n"), new StringReader("")));
+        assertThrows(IOException.class, () ->
+            new SpellDictionaryAffix(new StringReader("SFX S Y many\n"), new StringReader("")));
+        assertThrows(IOException.class, () ->
+            new SpellDictionaryAffix(new StringReader("SFX S Y 1\nSFX S 0 s [ab\n"), new StringReader("")));
+    }
+
+    @Test
+    void testCounts() {
+        assertEquals(9, dictionary.getStemCount());
+        assertEquals(12, dictionary.getRuleCount());
+    }
+
+    @Test
+    void testFlagFormat_long() throws IOException {
+        dictionary = new SpellDictionaryAffix(
+            new StringReader("FLAG long\nSFX Aa Y 1\nSFX Aa 0 s .\nSFX Bb Y 1\nSFX Bb 0 ed .\n"),
+            new StringReader("walk/AaBb\njump/Bb\n"));
+        assertTrue(dictionary.isCorrect("walks"));
+        assertTrue(dictionary.isCorrect("walked"));
+        assertTrue(dictionary.isCorrect("jumped"));
+        assertFalse(dictionary.isCorrect("jumps"));
+    }
+
+    @Test
+    void testFlagFormat_num() throws IOException {
+        dictionary = new SpellDictionaryAffix(
+            new StringReader("FLAG num\nSFX 101 Y 1\nSFX 101 0 s .\nSFX 7 Y 1\nSFX 7 0 ed .\n"),
+            new StringReader("walk/101,7\njump/7\n"));
+        assertTrue(dictionary.isCorrect("walks"));
+        assertTrue(dictionary.isCorrect("walked"));
+        assertTrue(dictionary.isCorrect("jumped"));
+        assertFalse(dictionary.isCorrect("jumps"));
+    }
+
+    @Test
+    void testIsCorrect_stems() {
+        assertTrue(dictionary.isCorrect("walk"));
+        assertTrue(dictionary.isCorrect("Walk"));
+        assertTrue(dictionary.isCorrect("Paris"));
+        assertFalse(dictionary.isCorrect("paris"));
+        assertTrue(dictionary.isCorrect("and/or"));
+        assertFalse(dictionary.isCorrect("and\\"));
+        assertFalse(dictionary.isCorrect("po:verb"));
+        assertFalse(dictionary.isCorrect(""));
+    }
+
+    @Test
+    void testIsCorrect_suffixes() {
+        assertTrue(dictionary.isCorrect("walked"));
+        assertTrue(dictionary.isCorrect("walking"));
+        assertTrue(dictionary.isCorrect("Walks"));
+        assertTrue(dictionary.isCorrect("tried"));
+        assertTrue(dictionary.isCorrect("tries"));
+        assertTrue(dictionary.isCorrect("trying"));
+        assertTrue(dictionary.isCorrect("baked"));
+        assertTrue(dictionary.isCorrect("baking"));
+        assertTrue(dictionary.isCorrect("boxes"));
+        assertTrue(dictionary.isCorrect("played"));
+        assertTrue(dictionary.isCorrect("plays"));
+
+        assertFalse(dictionary.isCorrect("walkd"));
+        assertFalse(dictionary.isCorrect("tryed"));
+        assertFalse(dictionary.isCorrect("trys"));
+        assertFalse(dictionary.isCorrect("bakeing"));
+        assertFalse(dictionary.isCorrect("bakeed"));
+        assertFalse(dictionary.isCorrect("boxs"));
+        assertFalse(dictionary.isCorrect("boxed")); // No D flag
+        assertFalse(dictionary.isCorrect("plaies"));
+        assertFalse(dictionary.isCorrect("Pariss"));
+    }
+
+    @Test
+    void testIsCorrect_prefixes() {
+        assertTrue(dictionary.isCorrect("unlock"));
+        assertTrue(dictionary.isCorrect("relock"));
+        assertFalse(dictionary.isCorrect("unwalk"));
+        assertFalse(dictionary.isCorrect("ununlock"));
+    }
+
+    @Test
+    void testIsCorrect_crossProduct() {
+        assertTrue(dictionary.isCorrect("unlocked"));
+        assertTrue(dictionary.isCorrect("unlocking"));
+        assertTrue(dictionary.isCorrect("Unlocks"));
+        assertFalse(dictionary.isCorrect("relocked")); // R does not combine
+        assertFalse(dictionary.isCorrect("unwalked"));
+    }
+
+    @Test
+    void testIsCorrect_needAffix() {
+        assertFalse(dictionary.isCorrect("dummy"));
+        assertTrue(dictionary.isCorrect("dummies"));
+    }
+
+    @Test
+    void testIsCorrect_sameAsExpandedWordList() throws IOException {
+
+        Set<String> words = expandWordList();
+        assertEquals(29, words.size());
+
+        SpellDictionaryHashMap expanded = new SpellDictionaryHashMap(new StringReader(String.join("\n", words)));
+        for (String word : words) {
+            assertTrue(dictionary.isCorrect(word), word);
+            for (String candidate : new String[] { word + "s", word + "ed", "un" + word, word.substring(1),
+                    word.toUpperCase(), word.substring(0, word.length() - 1) }) {
+                assertEquals(expanded.isCorrect(candidate), dictionary.isCorrect(candidate), candidate);
+            }
+        }
+    }
+
+    @Test
+    void testIsCorrectLowerCase() {
+        assertTrue(dictionary.isCorrectLowerCase("UNLOCKED"));
+        assertTrue(dictionary.isCorrectLowerCase(new StringBuilder("Walking")));
+        assertFalse(dictionary.isCorrectLowerCase("Paris"));
+    }
+
+    @Test
+    void testGetWords() {
+        List<String> words = dictionary.getWords(dictionary.getCode("unlocked"));
+        assertTrue(words.contains("unlocked"), words.toString());
+        for (String word : words) {
+            assertEquals(dictionary.getCode("unlocked"), dictionary.getCode(word));
+        }
+        assertTrue(dictionary.mightHaveWords(dictionary.getCode("boxes")));
+        assertFalse(dictionary.mightHaveWords("XXXXX"));
+        assertTrue(dictionary.getWords("XXXXX").isEmpty());
+    }
+
+    @Test
+    void testGetSuggestions() throws IOException {
+
+        Set<String> words = expandWordList();
+        SpellDictionaryHashMap expanded = new SpellDictionaryHashMap(new StringReader(String.join("\n", words)));
+
+        for (String misspelling : new String[] { "walkes", "tryed", "unlokced", "bakking", "boxs", "Pari" }) {
+            List<Word> suggestions = dictionary.getSuggestions(misspelling, 0);
+            assertEquals(toStrings(expanded.getSuggestions(misspelling, 0)), toStrings(suggestions), misspelling);
+        }
+        assertTrue(toStrings(dictionary.getSuggestions("walkes", 0)).contains("walks=95"));
+    }
+
+    @Test
+    void testAddWord() {
+        assertFalse(dictionary.isCorrect("gradle"));
+        dictionary.getSuggestions("gradel", 0); // Creates the suggestion index
+        assertFalse(dictionary.addWord("gradle"));
+        assertTrue(dictionary.isCorrect("gradle"));
+        assertFalse(dictionary.isCorrect("gradles"));
+        assertEquals(10, dictionary.getStemCount());
+        assertTrue(dictionary.getWords(dictionary.getCode("gradle")).contains("gradle"));
+    }
+
+    @Test
+    void testAddWord_needAffix() {
+        dictionary.getSuggestions("dumies", 0); // Creates the suggestion index
+        dictionary.addWord("dummy");
+        assertTrue(dictionary.isCorrect("dummy"));
+        assertTrue(dictionary.isCorrect("dummies"));
+        assertEquals(9, dictionary.getStemCount());
+        assertTrue(dictionary.getWords(dictionary.getCode("dummy")).contains("dummy"));
+        assertTrue(dictionary.getWords(dictionary.getCode("dummies")).contains("dummies"));
+    }
+
+    @Test
+    void testExpand() throws IOException {
+        AffixRules rules = new AffixRules(new StringReader(AFFIX_FILE));
+        List<String> expected = new ArrayList<>();
+        expected.add("lock");
+        expected.add("locked");
+        expected.add("locking");
+        expected.add("locks");
+        expected.add("unlock");
+        expected.add("unlocked");
+        expected.add("unlocking");
+        expected.add("unlocks");
+        expected.add("relock");
+        assertEquals(expected, rules.expand("lock", rules.parseFlags("URDGS")));
+        assertEquals(1, rules.expand("dummy", rules.parseFlags("XS")).size());
+    }
+}
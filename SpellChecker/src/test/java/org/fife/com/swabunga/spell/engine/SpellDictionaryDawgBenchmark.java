@@ -0,0 +1,126 @@
+package org.fife.com.swabunga.spell.engine;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares {@link SpellDictionaryDawg} with {@link SpellDictionaryHashMap}
+ * on the common English word list: memory retained, lookups and
+ * suggestions.  These are not run by the <code>test</code> task; run them
+ * with <code>gradlew :SpellChecker:benchmark</code>, which prints the
+ * results.
+ */
+@Tag("benchmark")
+class SpellDictionaryDawgBenchmark {
+
+    private static final int LOOKUP_COUNT = 500_000;
+    private static final int SUGGESTION_COUNT = 300;
+    private static final int ITERATIONS = 5;
+
+    private static List<String> dictionaryWords;
+    private static String[] lookups;
+    private static String[] misspellings;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+
+        dictionaryWords = Files.readAllLines(Paths.get("src/main/dist/english_dic/eng_com.dic"),
+            StandardCharsets.ISO_8859_1);
+
+        // Half dictionary words, half misspellings of them
+        Random random = new Random(0);
+        lookups = new String[LOOKUP_COUNT];
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            String word = dictionaryWords.get(random.nextInt(dictionaryWords.size()));
+            lookups[i] = i % 2 == 0 ? word : misspell(word, random);
+        }
+        misspellings = new String[SUGGESTION_COUNT];
+        for (int i = 0; i < SUGGESTION_COUNT; i++) {
+            misspellings[i] = misspell(dictionaryWords.get(random.nextInt(dictionaryWords.size())), random);
+        }
+    }
+
+    private static String misspell(String word, Random random) {
+        int pos = random.nextInt(word.length());
+        char ch = (char)('a' + random.nextInt(26));
+        return word.substring(0, pos) + ch + word.substring(pos + 1);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long lookupNanos(SpellDictionary dictionary) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            int found = 0;
+            for (String word : lookups) {
+                if (dictionary.isCorrect(word)) {
+                    found++;
+                }
+            }
+            assertTrue(found >= LOOKUP_COUNT / 2);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static long suggestionNanos(SpellDictionary dictionary) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            int count = 0;
+            for (String word : misspellings) {
+                count += dictionary.getSuggestions(word, 0).size();
+            }
+            assertTrue(count > 0);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    @Test
+    void testMemoryAndSpeed() throws IOException {
+
+        long before = usedMemory();
+        SpellDictionaryHashMap hashMap = new SpellDictionaryHashMap(
+            new java.io.StringReader(String.join("\n", dictionaryWords)));
+        long hashMapBytes = usedMemory() - before;
+
+        before = usedMemory();
+        SpellDictionaryDawg dawg = new SpellDictionaryDawg(dictionaryWords);
+        long dawgBytes = usedMemory() - before;
+
+        System.out.printf(Locale.ROOT, "%d words, DAWG has %d arcs%n", dawg.getWordCount(), dawg.getArcCount());
+        System.out.printf(Locale.ROOT, "%-24s %8d KB retained%n", "HashMap", hashMapBytes / 1024);
+        System.out.printf(Locale.ROOT, "%-24s %8d KB retained (%d KB automaton)%n", "DAWG",
+            dawgBytes / 1024, dawg.getSizeInBytes() / 1024);
+        System.out.printf(Locale.ROOT, "%-24s %8.1f ns/word%n", "isCorrect(), HashMap",
+            lookupNanos(hashMap) / (double)LOOKUP_COUNT);
+        System.out.printf(Locale.ROOT, "%-24s %8.1f ns/word%n", "isCorrect(), DAWG",
+            lookupNanos(dawg) / (double)LOOKUP_COUNT);
+        System.out.printf(Locale.ROOT, "%-24s %8.1f us/word%n", "getSuggestions(), HashMap",
+            suggestionNanos(hashMap) / 1000.0 / SUGGESTION_COUNT);
+        System.out.printf(Locale.ROOT, "%-24s %8.1f us/word%n", "getSuggestions(), DAWG",
+            suggestionNanos(dawg) / 1000.0 / SUGGESTION_COUNT);
+
+        assertTrue(dawg.getSizeInBytes() < hashMapBytes / 4,
+            "DAWG not much smaller: " + dawg.getSizeInBytes() + " vs. " + hashMapBytes);
+    }
+}
@@ -0,0 +1,195 @@
+package org.fife.com.swabunga.spell.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SpellDictionaryDawg}.
+ */
+class SpellDictionaryDawgTest {
+
+    private static final String LETTERS = "abcdeilnorst";
+
+    private static List<String> randomWords(Random random, int count) {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int length = 1 + random.nextInt(8);
+            StringBuilder sb = new StringBuilder();
+            for (int j = 0; j < length; j++) {
+                sb.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+            }
+            if (random.nextInt(10) == 0) {
+                sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+            }
+            words.add(sb.toString());
+        }
+        return words;
+    }
+
+    private static String toString(List<Word> words) {
+        StringBuilder sb = new StringBuilder();
+        for (Word word : words) {
+            sb.append(word.getWord()).append('=').append(word.getCost()).append(' ');
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void testConstructor_reader() throws IOException {
+        SpellDictionaryDawg dictionary = new SpellDictionaryDawg(new StringReader("cat\n\ndog\ncat\n"));
+        assertEquals(2, dictionary.getWordCount());
+        assertTrue(dictionary.isCorrect("cat"));
+        assertTrue(dictionary.isCorrect("dog"));
+        assertFalse(dictionary.isCorrect(""));
+    }
+
+    @Test
+    void testConstructor_file() throws IOException {
+        File wordFile = File.createTempFile("scUnitTest", ".dic");
+        wordFile.deleteOnExit();
+        Files.writeString(wordFile.toPath(), "cafe\nnaive\n", Charset.defaultCharset());
+        SpellDictionaryDawg dictionary = new SpellDictionaryDawg(wordFile);
+        assertTrue(dictionary.isCorrect("cafe"));
+        assertTrue(dictionary.isCorrect("Naive"));
+        assertFalse(dictionary.isCorrect("caff"));
+    }
+
+    @Test
+    void testConstructor_empty() {
+        SpellDictionaryDawg dictionary = new SpellDictionaryDawg(Collections.emptyList());
+        assertEquals(0, dictionary.getWordCount());
+        assertEquals(0, dictionary.getArcCount());
+        assertFalse(dictionary.isCorrect("a"));
+        assertTrue(dictionary.getSuggestions("a", 0).isEmpty());
+    }
+
+    @Test
+    void testConstructor_tooManyCharacters() {
+        List<String> words = new ArrayList<>();
+        for (char ch = 0x4e00; ch < 0x4e00 + 300; ch++) {
+            words.add(String.valueOf(ch));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new SpellDictionaryDawg(words));
+    }
+
+    @Test
+    void testAddWord() {
+        SpellDictionaryDawg dictionary = new SpellDictionaryDawg(List.of("cat"));
+        assertThrows(UnsupportedOperationException.class, () -> dictionary.addWord("dog"));
+    }
+
+    @Test
+    void testGetArcCount_prefixesAndSuffixesShared() {
+        // t -> {a, o} -> p -> s
+        SpellDictionaryDawg dictionary = new SpellDictionaryDawg(Arrays.asList("tops", "tap", "top", "taps"));
+        assertEquals(5, dictionary.getArcCount());
+        assertEquals(4, dictionary.getWordCount());
+        assertTrue(dictionary.getSizeInBytes() > 4 * 5);
+        for (String word : Arrays.asList("tap", "taps", "top", "tops")) {
+            assertTrue(dictionary.isCorrect(word), word);
+        }
+        for (String word : Arrays.asList("t", "ta", "to", "tas", "tapss", "tip", "ap")) {
+            assertFalse(dictionary.isCorrect(word), word);
+        }
+    }
+
+    @Test
+    void testIsCorrect_capitalized() {
+        SpellDictionaryDawg dictionary = new SpellDictionaryDawg(Arrays.asList("paris", "NASA"));
+        assertTrue(dictionary.isCorrect("paris"));
+        assertTrue(dictionary.isCorrect("Paris"));
+        assertTrue(dictionary.isCorrect("PARIS"));
+        assertTrue(dictionary.isCorrect("NASA"));
+        assertFalse(dictionary.isCorrect("nasa"));
+        assertFalse(dictionary.isCorrect("Nasa"));
+    }
+
+    @Test
+    void testIsCorrectLowerCase() {
+        SpellDictionaryDawg dictionary = new SpellDictionaryDawg(Arrays.asList("paris", "NASA", "\u00e9t\u00e9"));
+        assertTrue(dictionary.isCorrectLowerCase("Paris"));
+        assertTrue(dictionary.isCorrectLowerCase(new StringBuilder("PARIS")));
+        assertTrue(dictionary.isCorrectLowerCase("\u00c9T\u00c9"));
+        assertFalse(dictionary.isCorrectLowerCase("NASA"));
+        assertFalse(dictionary.isCorrectLowerCase("London"));
+    }
+
+    @Test
+    void testIsCorrect_sameAsHashMap() throws IOException {
+        Random random = new Random(0);
+        List<String> words = randomWords(random, 5000);
+        SpellDictionaryDawg dawg = new SpellDictionaryDawg(words);
+        SpellDictionaryHashMap hashMap = new SpellDictionaryHashMap(new StringReader(String.join("\n", words)));
+        assertEquals(new TreeSet<>(words).size(), dawg.getWordCount());
+
+        for (String word : randomWords(random, 20000)) {
+            assertEquals(hashMap.isCorrect(word), dawg.isCorrect(word), word);
+            assertEquals(hashMap.isCorrectLowerCase(word), dawg.isCorrectLowerCase(word), word);
+        }
+    }
+
+    @Test
+    void testGetSuggestions() {
+        SpellDictionaryDawg dictionary = new SpellDictionaryDawg(
+            Arrays.asList("error", "errors", "eros", "terror", "mirror", "Errol"));
+        assertEquals("eros=95 errors=95 ", toString(dictionary.getSuggestions("erors", 0)));
+        assertEquals("Errol=10 error=100 ", toString(dictionary.getSuggestions("errol", 0)));
+        assertEquals(dictionary.getSuggestions("erors", 0), dictionary.getSuggestions("erors", 0, new int[0][0]));
+    }
+
+    @Test
+    void testGetSuggestions_sameAsEditDistance() {
+
+        Random random = new Random(1);
+        List<String> words = randomWords(random, 3000);
+        Set<String> unique = new TreeSet<>(words);
+        SpellDictionaryDawg dictionary = new SpellDictionaryDawg(words);
+        int threshold = Configuration.getDefaultSnapshot().getThreshold();
+
+        for (String word : randomWords(random, 200)) {
+            List<Word> expected = new ArrayList<>();
+            for (String candidate : unique) {
+                int distance = EditDistance.getDistance(word, candidate);
+                if (distance < threshold) {
+                    expected.add(new Word(candidate, distance));
+                }
+            }
+            expected.sort(Comparator.comparingInt(Word::getCost));
+            assertEquals(toString(expected), toString(dictionary.getSuggestions(word, 0)), word);
+        }
+    }
+
+    @Test
+    void testGetSuggestions_includesHashMapSuggestions() throws IOException {
+
+        Random random = new Random(2);
+        List<String> words = randomWords(random, 3000);
+        SpellDictionaryDawg dawg = new SpellDictionaryDawg(words);
+        SpellDictionaryHashMap hashMap = new SpellDictionaryHashMap(new StringReader(String.join("\n", words)));
+
+        for (String word : randomWords(random, 200)) {
+            String dawgSuggestions = " " + toString(dawg.getSuggestions(word, 0));
+            for (Word suggestion : hashMap.getSuggestions(word, 0)) {
+                if (suggestion.getCost() < Configuration.getDefaultSnapshot().getThreshold()) {
+                    String expected = toString(Collections.singletonList(suggestion));
+                    assertTrue(dawgSuggestions.contains(" " + expected), word + ": " + expected);
+                }
+            }
+        }
+    }
+}
@@ -118,4 +118,21 @@ class SpellDictionaryDichoDiskTest {
         SpellDictionaryDichoDisk dictionary = createDictionary(CONTENT, encoding);
         Assertions.assertFalse(dictionary.isCorrect("wrongword"));
     }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = "UTF-8")
+    void testMightHaveWords(String encoding) throws IOException {
+        SpellDictionaryDichoDisk dictionary = createDictionary(CONTENT, encoding);
+        for (String line : CONTENT) {
+            Assertions.assertTrue(dictionary.mightHaveWords(line.substring(0, line.indexOf('*'))));
+        }
+        Assertions.assertFalse(dictionary.mightHaveWords(dictionary.getCode("nonexistent")));
+    }
+
+    @Test
+    void testMightHaveWords_badFormatDisablesFilter() throws IOException {
+        SpellDictionaryDichoDisk dictionary = createDictionary(new String[] { "APL*apple", "no star" }, null);
+        Assertions.assertTrue(dictionary.mightHaveWords("XYZ"));
+    }
 }
@@ -260,4 +260,12 @@ class SpellDictionaryDiskTest {
        SpellDictionaryDisk.FileSize fileSize = new SpellDictionaryDisk.FileSize("file.txt", 100);
        assertNotEquals(0, fileSize.hashCode());
    }
+
+    @Test
+    void testMightHaveWords() {
+        for (String word : WORDS) {
+            assertTrue(dictionary.mightHaveWords(dictionary.getCode(word)));
+        }
+        assertFalse(dictionary.mightHaveWords(dictionary.getCode("nonexistent")));
+    }
 }
@@ -8,6 +8,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.StringReader;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 
 /**
@@ -104,6 +105,36 @@ class SpellDictionaryHashMapTest {
         Assertions.assertEquals(0, lines.size());
     }
 
+    @Test
+    void testConstructor_twoArg_transformatorAndReader() throws IOException {
+        CachingTransformator tf = new CachingTransformator(new DoubleMeta());
+        SpellDictionaryHashMap dictionary = new SpellDictionaryHashMap(tf, new StringReader("aardvark\n"));
+        Assertions.assertSame(tf, dictionary.getTransformator());
+        Assertions.assertTrue(dictionary.isCorrect("aardvark"));
+        Assertions.assertTrue(tf.getHitCount() > 0);
+    }
+
+    @Test
+    void testConstructor_twoArg_transformatorAndFile() throws IOException {
+        File wordFile = File.createTempFile("scUnitTest", ".dic");
+        wordFile.deleteOnExit();
+        SpellDictionaryHashMap dictionary = new SpellDictionaryHashMap(CachingTransformator.getShared(), wordFile);
+
+        // Adding a word persists it to the file.
+        dictionary.addWord("foobar");
+        List<String> lines = Files.readAllLines(wordFile.toPath());
+        Assertions.assertEquals(1, lines.size());
+        Assertions.assertEquals("foobar", lines.get(0));
+    }
+
+    @Test
+    void testConstructor_twoArg_nullTransformator() throws IOException {
+        SpellDictionaryHashMap dictionary = new SpellDictionaryHashMap((Transformator)null,
+            new StringReader("aardvark\n"));
+        Assertions.assertInstanceOf(DoubleMeta.class, dictionary.getTransformator());
+        Assertions.assertTrue(dictionary.isCorrect("aardvark"));
+    }
+
     @Test
     void testAddDictionary() throws IOException {
         SpellDictionaryHashMap dic = createDictionary_zeroArg();
@@ -133,6 +164,92 @@ class SpellDictionaryHashMapTest {
         Assertions.assertEquals("added", lines.get(0));
     }
 
+    @Test
+    void testAddWord_asynchronousWrites() throws IOException {
+        File wordFile = File.createTempFile("scUnitTest", ".dic");
+        wordFile.deleteOnExit();
+        SpellDictionaryHashMap dictionary = new SpellDictionaryHashMap(wordFile);
+        Assertions.assertFalse(dictionary.getAsynchronousWrites());
+
+        dictionary.setAsynchronousWrites(true);
+        Assertions.assertTrue(dictionary.getAsynchronousWrites());
+        Assertions.assertTrue(dictionary.addWord("foobar"));
+        Assertions.assertTrue(dictionary.isCorrect("foobar"));
+        dictionary.flush();
+        Assertions.assertEquals("foobar\n", Files.readString(wordFile.toPath()));
+
+        Assertions.assertTrue(dictionary.addWord("bazbar"));
+        dictionary.setAsynchronousWrites(false);
+        Assertions.assertFalse(dictionary.getAsynchronousWrites());
+        Assertions.assertEquals("foobar\nbazbar\n", Files.readString(wordFile.toPath()));
+    }
+
+    @Test
+    void testIsDictionaryFileCurrent() throws IOException {
+        Assertions.assertFalse(createDictionary_zeroArg().isDictionaryFileCurrent());
+
+        File wordFile = File.createTempFile("scUnitTest", ".dic");
+        wordFile.deleteOnExit();
+        Files.writeString(wordFile.toPath(), "foobar\n");
+        SpellDictionaryHashMap dictionary = new SpellDictionaryHashMap(wordFile);
+        Assertions.assertTrue(dictionary.isDictionaryFileCurrent());
+
+        // Words this dictionary appends do not count as changes
+        dictionary.addWord("change");
+        Assertions.assertTrue(dictionary.isDictionaryFileCurrent());
+        dictionary.setAsynchronousWrites(true);
+        dictionary.addWord("chance");
+        dictionary.flush();
+        Assertions.assertTrue(dictionary.isDictionaryFileCurrent());
+
+        // Anything else does, even after more words are appended
+        Files.writeString(wordFile.toPath(), "example\n", StandardOpenOption.APPEND);
+        Assertions.assertFalse(dictionary.isDictionaryFileCurrent());
+        dictionary.addWord("test");
+        dictionary.setAsynchronousWrites(false);
+        Assertions.assertFalse(dictionary.isDictionaryFileCurrent());
+        Assertions.assertEquals("foobar\nchange\nchance\nexample\ntest\n", Files.readString(wordFile.toPath()));
+    }
+
+    @Test
+    void testSetAsynchronousWrites_noFile() throws IOException {
+        SpellDictionaryHashMap dictionary = createDictionary_zeroArg();
+        dictionary.setAsynchronousWrites(true);
+        Assertions.assertFalse(dictionary.getAsynchronousWrites());
+        Assertions.assertFalse(dictionary.addWord("foobar"));
+        Assertions.assertDoesNotThrow(dictionary::flush);
+    }
+
+    @Test
+    void testConstructor_file_doesNotModifyFile() throws IOException {
+        File wordFile = File.createTempFile("scUnitTest", ".dic");
+        wordFile.deleteOnExit();
+        Files.writeString(wordFile.toPath(), "foobar\nchange\nfoobar\nchange\n");
+
+        SpellDictionaryHashMap dictionary = new SpellDictionaryHashMap(wordFile);
+        Assertions.assertEquals("foobar\nchange\nfoobar\nchange\n", Files.readString(wordFile.toPath()));
+        Assertions.assertTrue(dictionary.isCorrect("foobar"));
+    }
+
+    @Test
+    void testCompactDictionaryFile() throws IOException {
+        File wordFile = File.createTempFile("scUnitTest", ".dic");
+        wordFile.deleteOnExit();
+        Files.writeString(wordFile.toPath(), "foobar\nchange\nfoobar\n");
+
+        SpellDictionaryHashMap dictionary = new SpellDictionaryHashMap(wordFile);
+        dictionary.setAsynchronousWrites(true);
+        dictionary.addWord("change");
+        Assertions.assertEquals(2, dictionary.compactDictionaryFile());
+        Assertions.assertEquals("foobar\nchange\n", Files.readString(wordFile.toPath()));
+        dictionary.setAsynchronousWrites(false);
+    }
+
+    @Test
+    void testCompactDictionaryFile_noFile() throws IOException {
+        Assertions.assertEquals(0, createDictionary_zeroArg().compactDictionaryFile());
+    }
+
     @Test
     void testPutWordUnique_nullMainDictionary() throws IOException{
         SpellDictionaryHashMap dic = new SpellDictionaryHashMap();
@@ -210,4 +327,89 @@ class SpellDictionaryHashMapTest {
         SpellDictionaryHashMap dic = createDictionary_zeroArg();
         Assertions.assertTrue(dic.isCorrect("Test"));
     }
+
+    @Test
+    void testGetSuggestions_maxResults_isPrefixOfFullList() throws IOException {
+
+        SpellDictionaryHashMap dic;
+        try (FileReader r = new FileReader("src/main/dist/english_dic/eng_com.dic")) {
+            dic = new SpellDictionaryHashMap(r);
+        }
+
+        String[] misspellings = { "recieve", "teh", "speling", "wierd", "acommodate", "definately", "xqzv",
+            "Amercia", "becuase", "occured", "seperate", "untill", "wich", "thier", "a", "zzzzzzzz" };
+        for (String word : misspellings) {
+            List<Word> all = dic.getSuggestions(word, 0);
+            for (int max : new int[] { 1, 2, 5, 10, 1000 }) {
+                List<Word> top = dic.getSuggestions(word, 0, max);
+                List<Word> expected = all.subList(0, Math.min(max, all.size()));
+                Assertions.assertEquals(expected.size(), top.size(), word + ", max " + max);
+                for (int i = 0; i < expected.size(); i++) {
+                    Assertions.assertEquals(expected.get(i).getWord(), top.get(i).getWord(), word + ", max " + max);
+                    Assertions.assertEquals(expected.get(i).getCost(), top.get(i).getCost(), word + ", max " + max);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testGetSuggestions_maxResults_zero() throws IOException {
+        SpellDictionaryHashMap dic = createDictionary_zeroArg();
+        Assertions.assertTrue(dic.getSuggestions("chanse", 0, 0).isEmpty());
+    }
+
+    @Test
+    void testMightHaveWords() throws IOException {
+        SpellDictionaryHashMap dic = createDictionary_zeroArg();
+        Assertions.assertTrue(dic.mightHaveWords(dic.getCode("chance")));
+        Assertions.assertFalse(dic.mightHaveWords(dic.getCode("xylophone")));
+    }
+
+    @Test
+    void testCodeCounts() throws IOException {
+        SpellDictionaryHashMap dic = createDictionary_zeroArg();
+        Assertions.assertEquals(0, dic.getGeneratedCodeCount());
+
+        dic.getSuggestions("chanse", 0);
+        long generated = dic.getGeneratedCodeCount();
+        Assertions.assertTrue(generated > 1);
+        Assertions.assertTrue(dic.getHitCodeCount() > 0);
+        // The hash map knows exactly which codes have words
+        Assertions.assertEquals(generated, dic.getHitCodeCount() + dic.getSkippedCodeCount());
+
+        dic.resetCodeCounts();
+        Assertions.assertEquals(0, dic.getGeneratedCodeCount());
+        Assertions.assertEquals(0, dic.getHitCodeCount());
+        Assertions.assertEquals(0, dic.getSkippedCodeCount());
+    }
+
+    @Test
+    void testIsCorrect_capitalized() throws IOException {
+        SpellDictionaryHashMap dictionary = new SpellDictionaryHashMap(new StringReader("paris\nNASA\n"));
+        Assertions.assertTrue(dictionary.isCorrect("paris"));
+        Assertions.assertTrue(dictionary.isCorrect("Paris"));
+        Assertions.assertTrue(dictionary.isCorrect("PARIS"));
+        Assertions.assertTrue(dictionary.isCorrect("NASA"));
+        Assertions.assertFalse(dictionary.isCorrect("nasa"));
+        Assertions.assertFalse(dictionary.isCorrect("Nasa"));
+    }
+
+    @Test
+    void testIsCorrectLowerCase() throws IOException {
+        SpellDictionaryHashMap dictionary = new SpellDictionaryHashMap(new StringReader("paris\nNASA\n"));
+        Assertions.assertTrue(dictionary.isCorrectLowerCase("Paris"));
+        Assertions.assertTrue(dictionary.isCorrectLowerCase("PARIS"));
+        Assertions.assertFalse(dictionary.isCorrectLowerCase("NASA"));
+        Assertions.assertFalse(dictionary.isCorrectLowerCase("London"));
+    }
+
+    @Test
+    void testContainsAllWords() throws IOException {
+        SpellDictionaryHashMap dictionary = new SpellDictionaryHashMap(new StringReader("paris\nNASA\nfoo\n"));
+        Assertions.assertTrue(dictionary.containsAllWords(new SpellDictionaryHashMap(new StringReader("NASA\nfoo\n"))));
+        Assertions.assertTrue(dictionary.containsAllWords(new SpellDictionaryHashMap()));
+        Assertions.assertTrue(dictionary.containsAllWords(dictionary));
+        Assertions.assertFalse(dictionary.containsAllWords(new SpellDictionaryHashMap(new StringReader("foo\nbar\n"))));
+        Assertions.assertFalse(dictionary.containsAllWords(new SpellDictionaryHashMap(new StringReader("nasa\n"))));
+    }
 }
@@ -0,0 +1,115 @@
+package org.fife.com.swabunga.spell.engine;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares garbage collection pauses with many copies of the English
+ * dictionary loaded, as a server checking several languages would have,
+ * stored in {@link SpellDictionaryHashMap}s and in
+ * {@link SpellDictionaryOffHeap}s.  These are not run by the
+ * <code>test</code> task; run them with
+ * <code>gradlew :SpellChecker:benchmark</code>, which prints the results.
+ */
+@Tag("benchmark")
+class SpellDictionaryOffHeapBenchmark {
+
+    private static final int DICTIONARY_COUNT = 8;
+    private static final int FULL_GC_COUNT = 5;
+    private static final int LOOKUP_COUNT = 2_000_000;
+
+    private static String[] lookups;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        List<String> dictionaryWords = Files.readAllLines(Paths.get("src/main/dist/english_dic/eng_com.dic"),
+            StandardCharsets.ISO_8859_1);
+        Random random = new Random(0);
+        lookups = new String[10_000];
+        for (int i = 0; i < lookups.length; i++) {
+            String word = dictionaryWords.get(random.nextInt(dictionaryWords.size()));
+            lookups[i] = i % 3 == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word;
+        }
+    }
+
+    private interface Factory {
+        SpellDictionary create(Reader wordList) throws IOException;
+    }
+
+    private static long[] gcTotals() {
+        long[] totals = new long[2];
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            totals[0] += Math.max(0, bean.getCollectionCount());
+            totals[1] += Math.max(0, bean.getCollectionTime());
+        }
+        return totals;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void run(String name, Factory factory) throws IOException {
+
+        long before = usedMemory();
+        List<SpellDictionary> dictionaries = new ArrayList<>();
+        for (int i = 0; i < DICTIONARY_COUNT; i++) {
+            try (FileReader r = new FileReader("src/main/dist/english_dic/eng_com.dic")) {
+                dictionaries.add(factory.create(r));
+            }
+        }
+        long heapBytes = usedMemory() - before;
+
+        // Full collections have to trace every live object
+        long bestFullGc = Long.MAX_VALUE;
+        for (int i = 0; i < FULL_GC_COUNT; i++) {
+            long start = System.nanoTime();
+            System.gc();
+            bestFullGc = Math.min(bestFullGc, System.nanoTime() - start);
+        }
+
+        // Check words, creating garbage as a server handling requests would
+        long[] startGc = gcTotals();
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            String word = new String(lookups[i % lookups.length].toCharArray());
+            if (dictionaries.get(i % DICTIONARY_COUNT).isCorrect(word)) {
+                found++;
+            }
+        }
+        long lookupNanos = System.nanoTime() - start;
+        long[] endGc = gcTotals();
+        assertEquals(LOOKUP_COUNT, found);
+
+        System.out.printf(Locale.ROOT, "%-8s %6d KB heap, full GC %6.1f ms, under load: %4d GCs, %5d ms total," +
+                " %6.1f ns/lookup%n", name, heapBytes / 1024, bestFullGc / 1e6, endGc[0] - startGc[0],
+            endGc[1] - startGc[1], lookupNanos / (double)LOOKUP_COUNT);
+        assertEquals(DICTIONARY_COUNT, dictionaries.size()); // Keep them reachable until now
+    }
+
+    @Test
+    void testGcPauses() throws IOException {
+        System.out.printf(Locale.ROOT, "%d copies of eng_com.dic loaded%n", DICTIONARY_COUNT);
+        run("HashMap", SpellDictionaryHashMap::new);
+        run("OffHeap", SpellDictionaryOffHeap::new);
+    }
+}
@@ -0,0 +1,159 @@
+package org.fife.com.swabunga.spell.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SpellDictionaryOffHeap}.
+ */
+class SpellDictionaryOffHeapTest {
+
+    private static final String LETTERS = "abcdeilnorstIE\u00e9\u00c9";
+
+    private static List<String> randomWords(Random random, int count) {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int length = 1 + random.nextInt(8);
+            StringBuilder sb = new StringBuilder();
+            for (int j = 0; j < length; j++) {
+                sb.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+            }
+            words.add(sb.toString());
+        }
+        return words;
+    }
+
+    private static String toString(List<Word> words) {
+        StringBuilder sb = new StringBuilder();
+        for (Word word : words) {
+            sb.append(word.getWord()).append('=').append(word.getCost()).append(' ');
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void testConstructor_reader() throws IOException {
+        SpellDictionaryOffHeap dictionary = new SpellDictionaryOffHeap(new StringReader("cat\n\ndog\ncat\nkat\n"));
+        assertEquals(3, dictionary.getWordCount());
+        assertEquals(2, dictionary.getCodeCount()); // "cat" and "kat" sound the same
+        assertTrue(dictionary.getOffHeapSize() > 0);
+        assertTrue(dictionary.isCorrect("cat"));
+        assertTrue(dictionary.isCorrect("kat"));
+        assertTrue(dictionary.isCorrect("dog"));
+        assertFalse(dictionary.isCorrect("cats"));
+        assertFalse(dictionary.isCorrect(""));
+    }
+
+    @Test
+    void testConstructor_file() throws IOException {
+        File wordFile = File.createTempFile("scUnitTest", ".dic");
+        wordFile.deleteOnExit();
+        Files.writeString(wordFile.toPath(), "cafe\nnaive\n", Charset.defaultCharset());
+        SpellDictionaryOffHeap dictionary = new SpellDictionaryOffHeap(wordFile);
+        assertTrue(dictionary.isCorrect("cafe"));
+        assertTrue(dictionary.isCorrect("Naive"));
+        assertFalse(dictionary.isCorrect("caff"));
+    }
+
+    @Test
+    void testConstructor_empty() throws IOException {
+        SpellDictionaryOffHeap dictionary = new SpellDictionaryOffHeap(new StringReader(""));
+        assertEquals(0, dictionary.getWordCount());
+        assertFalse(dictionary.isCorrect("a"));
+        assertFalse(dictionary.mightHaveWords("A"));
+        assertTrue(dictionary.getSuggestions("a", 0).isEmpty());
+    }
+
+    @Test
+    void testAddWord() throws IOException {
+        SpellDictionaryOffHeap dictionary = new SpellDictionaryOffHeap(new StringReader("cat\n"));
+        assertThrows(UnsupportedOperationException.class, () -> dictionary.addWord("dog"));
+    }
+
+    @Test
+    void testIsCorrect_nonAscii() throws IOException {
+        SpellDictionaryOffHeap dictionary = new SpellDictionaryOffHeap(
+            new StringReader("caf\u00e9\nna\u00efve\nEl\u00e9onore\n"));
+        assertTrue(dictionary.isCorrect("caf\u00e9"));
+        assertTrue(dictionary.isCorrect("CAF\u00c9"));
+        assertTrue(dictionary.isCorrectLowerCase("Na\u00cfve"));
+        assertTrue(dictionary.isCorrect("El\u00e9onore"));
+        assertFalse(dictionary.isCorrect("el\u00e9onore"));
+        assertFalse(dictionary.isCorrect("cafe"));
+    }
+
+    @Test
+    void testIsCorrect_nonAsciiCodes() throws IOException {
+        // Codes are normally ASCII, but a transformator may return anything
+        Transformator tf = new Transformator() {
+            @Override
+            public String transform(String word) {
+                return word.length() % 2 == 0 ? "\u00c9" + word.length() : "E" + word.length();
+            }
+
+            @Override
+            public char[] getReplaceList() {
+                return new char[0];
+            }
+        };
+        SpellDictionaryOffHeap dictionary = new SpellDictionaryOffHeap(tf, new StringReader("ab\nabc\n"));
+        assertTrue(dictionary.isCorrect("ab"));
+        assertTrue(dictionary.isCorrect("abc"));
+        assertFalse(dictionary.isCorrect("abcd"));
+        assertEquals("[ab]", dictionary.getWords("\u00c92").toString());
+        assertEquals("[]", dictionary.getWords("E2").toString());
+    }
+
+    @Test
+    void testIsCorrect_turkishLocale() throws IOException {
+        Locale old = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            SpellDictionaryOffHeap dictionary = new SpellDictionaryOffHeap(new StringReader("\u0131s\u0131k\nis\n"));
+            assertTrue(dictionary.isCorrect("ISIK"));
+            assertEquals("IS".toLowerCase().equals("is"), dictionary.isCorrect("IS"));
+        } finally {
+            Locale.setDefault(old);
+        }
+    }
+
+    @Test
+    void testSameAsHashMap() throws IOException {
+
+        Random random = new Random(0);
+        // SpellDictionaryHashMap keeps duplicates, this dictionary does not
+        List<String> dictionaryWords = new ArrayList<>(new LinkedHashSet<>(randomWords(random, 3000)));
+        String wordList = String.join("\n", dictionaryWords);
+        SpellDictionaryHashMap hashMap = new SpellDictionaryHashMap(new StringReader(wordList));
+        SpellDictionaryOffHeap offHeap = new SpellDictionaryOffHeap(new StringReader(wordList));
+
+        List<String> words = randomWords(random, 3000);
+        words.addAll(dictionaryWords);
+        for (String word : words) {
+            assertEquals(hashMap.isCorrect(word), offHeap.isCorrect(word), word);
+            String upper = word.toUpperCase(Locale.ROOT);
+            assertEquals(hashMap.isCorrect(upper), offHeap.isCorrect(upper), upper);
+            assertEquals(hashMap.isCorrectLowerCase(upper), offHeap.isCorrectLowerCase(upper), upper);
+            String code = hashMap.getCode(word);
+            assertEquals(hashMap.mightHaveWords(code), offHeap.mightHaveWords(code), code);
+        }
+
+        for (String word : words.subList(0, 200)) {
+            assertEquals(hashMap.getWords(hashMap.getCode(word)), offHeap.getWords(offHeap.getCode(word)), word);
+            assertEquals(toString(hashMap.getSuggestions(word, 0)), toString(offHeap.getSuggestions(word, 0)),
+                word);
+        }
+    }
+}
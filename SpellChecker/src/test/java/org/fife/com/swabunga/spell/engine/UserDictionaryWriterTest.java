@@ -0,0 +1,191 @@
+package org.fife.com.swabunga.spell.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link UserDictionaryWriter}.
+ */
+class UserDictionaryWriterTest {
+
+    private static File createTempFile(String content) throws IOException {
+        File file = File.createTempFile("scUnitTest", ".dic");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), content);
+        return file;
+    }
+
+    @Test
+    void testConstructor_nullFile() {
+        assertThrows(IllegalArgumentException.class, () -> new UserDictionaryWriter(null));
+    }
+
+    @Test
+    void testAddAndFlush_appendsInOrder() throws IOException {
+        File file = createTempFile("aardvark\n");
+        try (UserDictionaryWriter writer = new UserDictionaryWriter(file)) {
+            assertEquals(file, writer.getFile());
+            writer.add("bat");
+            writer.add("cave");
+            writer.flush();
+            assertEquals("aardvark\nbat\ncave\n", Files.readString(file.toPath()));
+            writer.add("dog");
+        }
+        assertEquals("aardvark\nbat\ncave\ndog\n", Files.readString(file.toPath()));
+    }
+
+    @Test
+    void testAdd_concurrentAdders() throws Exception {
+        File file = createTempFile("");
+        int threadCount = 4;
+        int wordsPerThread = 250;
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (UserDictionaryWriter writer = new UserDictionaryWriter(file)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                int id = t;
+                Thread thread = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < wordsPerThread; i++) {
+                        writer.add("word" + id + "x" + i);
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        List<String> lines = Files.readAllLines(file.toPath());
+        assertEquals(threadCount * wordsPerThread, lines.size());
+        assertEquals(lines.size(), new HashSet<>(lines).size());
+    }
+
+    @Test
+    void testClose_twiceIsANoOp() throws IOException {
+        UserDictionaryWriter writer = new UserDictionaryWriter(createTempFile(""));
+        writer.close();
+        assertDoesNotThrow(writer::close);
+        assertDoesNotThrow(writer::flush);
+    }
+
+    @Test
+    void testAdd_afterClose() throws IOException {
+        UserDictionaryWriter writer = new UserDictionaryWriter(createTempFile(""));
+        writer.close();
+        assertThrows(IllegalStateException.class, () -> writer.add("word"));
+    }
+
+    @Test
+    void testAdd_concurrentWithClose_acceptedWordsWritten() throws Exception {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            File file = createTempFile("");
+            UserDictionaryWriter writer = new UserDictionaryWriter(file);
+            List<String> accepted = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch start = new CountDownLatch(1);
+            Thread adder = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < 100; i++) {
+                        String word = "word" + i;
+                        writer.add(word);
+                        accepted.add(word);
+                    }
+                } catch (IllegalStateException | InterruptedException e) {
+                    // Closed
+                }
+            });
+            adder.start();
+            start.countDown();
+            writer.close();
+            adder.join();
+
+            List<String> lines = Files.readAllLines(file.toPath());
+            assertEquals(accepted, lines.subList(0, accepted.size()));
+            assertTrue(lines.size() - accepted.size() <= 1); // A word added as close() ran
+        }
+    }
+
+    @Test
+    void testClose_releasesFileMonitor() throws IOException {
+        int count = UserDictionaryWriter.getMonitoredFileCount();
+        File file = createTempFile("");
+        UserDictionaryWriter writer = new UserDictionaryWriter(file);
+        writer.add("word");
+        UserDictionaryWriter.compact(file);
+        assertEquals(count + 1, UserDictionaryWriter.getMonitoredFileCount());
+        writer.close();
+        assertEquals(count, UserDictionaryWriter.getMonitoredFileCount());
+    }
+
+    @Test
+    void testClose_reportsWriteFailure() throws IOException {
+        File dir = Files.createTempDirectory("scUnitTest").toFile();
+        dir.deleteOnExit();
+        UserDictionaryWriter writer = new UserDictionaryWriter(dir); // Can't be opened for writing
+        writer.add("word");
+        assertThrows(IOException.class, writer::close);
+    }
+
+    @Test
+    void testCompact_removesDuplicatesKeepingOrder() throws IOException {
+        File file = createTempFile("cave\nbat\n\ncave\naardvark\nbat\n");
+        assertEquals(3, UserDictionaryWriter.compact(file));
+        assertEquals("cave\nbat\naardvark\n", Files.readString(file.toPath()));
+    }
+
+    @Test
+    void testCompact_noDuplicates_fileUntouched() throws IOException {
+        File file = createTempFile("cave\nbat");
+        assertEquals(0, UserDictionaryWriter.compact(file));
+        assertEquals("cave\nbat", Files.readString(file.toPath()));
+    }
+
+    @Test
+    void testCompact_concurrentAppends_noWordsLost() throws Exception {
+        File file = createTempFile("dup\ndup\n");
+        int wordCount = 500;
+        try (UserDictionaryWriter writer = new UserDictionaryWriter(file)) {
+            Thread appender = new Thread(() -> {
+                for (int i = 0; i < wordCount; i++) {
+                    writer.add("word" + i);
+                    if (i % 2 == 0) {
+                        writer.add("dup");
+                    }
+                }
+            });
+            appender.start();
+            while (appender.isAlive()) {
+                UserDictionaryWriter.compact(file);
+            }
+            appender.join();
+            writer.flush();
+        }
+        UserDictionaryWriter.compact(file);
+
+        List<String> lines = Files.readAllLines(file.toPath());
+        assertEquals(wordCount + 1, lines.size());
+        assertEquals(wordCount + 1, new HashSet<>(lines).size());
+        for (int i = 0; i < wordCount; i++) {
+            assertTrue(lines.contains("word" + i), "Lost word" + i);
+        }
+    }
+}
@@ -41,5 +41,13 @@ class BasicSpellCheckEventTest {
     @Test
     void testGetWordContextPosition() {
         assertEquals(0, event.getWordContextPosition());
+        assertEquals(0, event.getWordContextOffset());
+    }
+
+    @Test
+    void testGetWordContextOffset_pastIntRange() {
+        event = new BasicSpellCheckEvent(invalidWord, 3_000_000_000L);
+        assertEquals(3_000_000_000L, event.getWordContextOffset());
+        assertEquals(Integer.MAX_VALUE, event.getWordContextPosition());
     }
 }
@@ -0,0 +1,27 @@
+package org.fife.com.swabunga.spell.event;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ChunkCheckTask}.
+ */
+class ChunkCheckTaskTest {
+
+    @Test
+    void testGetChunkStarts_startAfterWhitespace() {
+        String text = "one two three four five";
+        assertArrayEquals(new int[] { 0, 4, 8, 14, 19 }, ChunkCheckTask.getChunkStarts(text, 3));
+    }
+
+    @Test
+    void testGetChunkStarts_noWhitespace() {
+        assertArrayEquals(new int[] { 0 }, ChunkCheckTask.getChunkStarts("onetwothree", 3));
+    }
+
+    @Test
+    void testGetChunkStarts_shortText() {
+        assertArrayEquals(new int[] { 0 }, ChunkCheckTask.getChunkStarts("one two", 100));
+    }
+}
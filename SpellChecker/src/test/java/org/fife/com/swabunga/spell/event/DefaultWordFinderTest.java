@@ -163,4 +163,28 @@ class DefaultWordFinderTest {
         assertEquals(0, word.getStart());
         assertEquals(18, word.getEnd());
     }
+
+    @Test
+    void testStartsSentence() {
+        DefaultWordFinder finder = new DefaultWordFinder("  One two. Three? four. five!) \"Six\"");
+        boolean[] expected = { true, false, true, true, false, true };
+        for (boolean startsSentence : expected) {
+            finder.next();
+            assertEquals(startsSentence, finder.startsSentence(), finder.current().getText());
+        }
+    }
+
+    @Test
+    void testStartsSentence_afterReplace() {
+        DefaultWordFinder finder = new DefaultWordFinder("One. Twoo three. Four");
+        finder.next();
+        finder.next();
+        assertTrue(finder.startsSentence());
+        finder.replace("Two");
+        assertTrue(finder.startsSentence());
+        finder.next();
+        assertFalse(finder.startsSentence());
+        finder.next();
+        assertTrue(finder.startsSentence());
+    }
 }
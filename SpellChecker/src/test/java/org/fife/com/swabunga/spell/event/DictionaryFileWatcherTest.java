@@ -0,0 +1,121 @@
+package org.fife.com.swabunga.spell.event;
+
+import org.fife.com.swabunga.spell.engine.SpellDictionary;
+import org.fife.com.swabunga.spell.engine.SpellDictionaryHashMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DictionaryFileWatcher}.
+ */
+class DictionaryFileWatcherTest {
+
+    private File dir;
+    private File file;
+    private SpellChecker checker;
+    private SpellDictionary dictionary;
+    private DictionaryFileWatcher watcher;
+    private BlockingQueue<DictionaryReloadEvent> events;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("scUnitTests_dictionaryFileWatcher").toFile();
+        file = new File(dir, "words.dic");
+        write("hello\n");
+        dictionary = new SpellDictionaryHashMap(file);
+        checker = new SpellChecker(dictionary);
+        watcher = new DictionaryFileWatcher(checker);
+        events = new LinkedBlockingQueue<>();
+        watcher.addDictionaryReloadListener(events::add);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        watcher.close();
+        file.delete();
+        dir.delete();
+    }
+
+    private boolean isCorrect(String word) {
+        return checker.checkSpelling(new StringWordTokenizer(word)) == SpellChecker.SPELLCHECK_OK;
+    }
+
+    private void write(String words) throws IOException {
+        Files.write(file.toPath(), words.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testFileChanged() throws Exception {
+
+        watcher.watch(dictionary, file, SpellDictionaryHashMap::new);
+        assertFalse(isCorrect("world"));
+        write("hello\nworld\n");
+
+        DictionaryReloadEvent e = events.poll(30, TimeUnit.SECONDS);
+        assertNotNull(e, "Dictionary not reloaded");
+        assertSame(watcher, e.getWatcher());
+        assertEquals(file.getAbsoluteFile(), e.getFile().getAbsoluteFile());
+        assertSame(dictionary, e.getOldDictionary());
+        assertSame(e.getNewDictionary(), watcher.getDictionary(file));
+        assertNull(e.getException());
+        assertTrue(isCorrect("world"));
+    }
+
+    @Test
+    void testReload() throws IOException {
+
+        watcher.watch(dictionary, file, SpellDictionaryHashMap::new);
+        write("world\n");
+        assertTrue(watcher.reload(file));
+
+        SpellDictionary reloaded = watcher.getDictionary(file);
+        assertNotSame(dictionary, reloaded);
+        assertTrue(isCorrect("world"));
+        assertFalse(isCorrect("hello"));
+        assertTrue(events.stream().anyMatch(e -> e.getNewDictionary() == reloaded));
+    }
+
+    @Test
+    void testReload_loadError() throws IOException {
+
+        watcher.watch(dictionary, file, f -> {
+            throw new FileNotFoundException(f.getName());
+        });
+        assertFalse(watcher.reload(file));
+
+        DictionaryReloadEvent e = events.peek();
+        assertNotNull(e);
+        assertNull(e.getNewDictionary());
+        assertInstanceOf(FileNotFoundException.class, e.getException());
+        assertSame(dictionary, watcher.getDictionary(file));
+        assertTrue(isCorrect("hello"));
+    }
+
+    @Test
+    void testUnwatch() throws IOException {
+        watcher.watch(dictionary, file, SpellDictionaryHashMap::new);
+        assertTrue(watcher.unwatch(file));
+        assertFalse(watcher.unwatch(file));
+        assertNull(watcher.getDictionary(file));
+        assertFalse(watcher.reload(file));
+    }
+
+    @Test
+    void testWatch_invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> watcher.watch(null, file, SpellDictionaryHashMap::new));
+        assertThrows(IllegalArgumentException.class, () -> watcher.watch(dictionary, file, null));
+        assertThrows(IllegalArgumentException.class, () -> new DictionaryFileWatcher(null));
+    }
+}
@@ -133,6 +133,17 @@ class DocumentWordTokenizerTest {
         assertFalse(tokenizer.isNewSentence());
     }
 
+    @Test
+    void testIsNewSentence_afterPeriod() throws BadLocationException {
+        doc.replace(0, doc.getLength(), "One. two .three.four", null);
+        tokenizer = new DocumentWordTokenizer(doc);
+        boolean[] expected = { true, true, true, false };
+        for (boolean newSentence : expected) {
+            tokenizer.nextWord();
+            assertEquals(newSentence, tokenizer.isNewSentence());
+        }
+    }
+
     @Test
     void testPosStartFullWordFrom_offset0() {
         tokenizer.posStartFullWordFrom(0);
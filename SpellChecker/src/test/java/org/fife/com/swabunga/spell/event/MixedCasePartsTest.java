@@ -0,0 +1,107 @@
+package org.fife.com.swabunga.spell.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link MixedCaseParts}.
+ */
+class MixedCasePartsTest {
+
+    /**
+     * How <code>SpellChecker.splitMixedCaseWord()</code> split words before
+     * it was based on <code>MixedCaseParts</code>.
+     */
+    private static List<String> legacySplit(String mixedCaseWord) {
+
+        List<String> parts = new ArrayList<>();
+        int offs = 0;
+        int adjacentCaps = 0;
+
+        for (int i = 0; i < mixedCaseWord.length(); i++) {
+            char ch = mixedCaseWord.charAt(i);
+            if (i == 0) {
+                adjacentCaps = Character.isUpperCase(ch) ? 1 : 0;
+            }
+            else if (Character.isUpperCase(ch)) {
+                if (adjacentCaps == 0) {
+                    parts.add(mixedCaseWord.substring(offs, i));
+                    offs = i;
+                }
+                adjacentCaps++;
+            }
+            else if (adjacentCaps > 1) {
+                parts.add(mixedCaseWord.substring(offs, i - 1));
+                offs = i - 1;
+                adjacentCaps = 0;
+            }
+        }
+
+        parts.add(mixedCaseWord.substring(offs));
+        return parts;
+    }
+
+    private static List<String> split(MixedCaseParts parts, CharSequence word) {
+        List<String> result = new ArrayList<>();
+        parts.reset(word);
+        while (parts.next()) {
+            assertEquals(parts.getEnd() - parts.getStart(), parts.length());
+            result.add(parts.toString());
+        }
+        assertFalse(parts.next());
+        return result;
+    }
+
+    @Test
+    void testNext_sameAsLegacySplit() {
+
+        String[] words = { "", "a", "A", "ab", "aB", "Ab", "AB", "ABC", "ABc", "AbCd", "aBCd", "getTextArea",
+            "HTMLParserX", "weDONTWantTODoTHIS", "x1Y2", "\u00e9T\u00c9t\u00e9" };
+        MixedCaseParts parts = new MixedCaseParts();
+        for (String word : words) {
+            assertEquals(legacySplit(word), split(parts, word), word);
+        }
+
+        Random random = new Random(0);
+        String chars = "aAbB1'";
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                sb.append(chars.charAt(random.nextInt(chars.length())));
+            }
+            String word = sb.toString();
+            assertEquals(legacySplit(word), split(parts, word), word);
+        }
+    }
+
+    @Test
+    void testNext_emptyWordHasOneEmptyPart() {
+        MixedCaseParts parts = new MixedCaseParts();
+        parts.reset("");
+        assertTrue(parts.next());
+        assertEquals(0, parts.length());
+        assertFalse(parts.next());
+    }
+
+    @Test
+    void testViewOfCurrentPart() {
+
+        MixedCaseParts parts = new MixedCaseParts();
+        parts.reset(new StringBuilder("getTextArea"));
+        assertTrue(parts.next());
+        assertTrue(parts.next());
+
+        assertEquals(3, parts.getStart());
+        assertEquals(7, parts.getEnd());
+        assertEquals('T', parts.charAt(0));
+        assertEquals('t', parts.charAt(3));
+        assertEquals("ex", parts.subSequence(1, 3).toString());
+        assertEquals("Text", parts.toString());
+    }
+}
@@ -0,0 +1,247 @@
+package org.fife.com.swabunga.spell.event;
+
+import org.fife.com.swabunga.spell.engine.SpellDictionaryHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ReaderWordTokenizer}.
+ */
+class ReaderWordTokenizerTest {
+
+    private static final String[] PIECES = {
+        "word", "It's", "don't", "rock'n'roll", "x", "123", "abc123", " ", " ", " ", "\n", "\r\n", ". ", ", ",
+        "'", "''", "-", "http://example.com/a?b=c", "www.foo.org,", "(see", "this)", "'quoted'", "tab\t",
+    };
+
+    private static String randomText(long seed, int pieceCount) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < pieceCount; i++) {
+            sb.append(PIECES[random.nextInt(PIECES.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static List<String> words(WordTokenizer tokenizer) {
+        List<String> words = new ArrayList<>();
+        while (tokenizer.hasMoreWords()) {
+            String word = tokenizer.nextWord();
+            words.add(word + "@" + tokenizer.getCurrentWordPosition() + "-" + tokenizer.getCurrentWordEnd());
+        }
+        return words;
+    }
+
+    private static List<Boolean> sentenceStarts(String text) {
+        return sentenceStarts(text, ReaderWordTokenizer.DEFAULT_BUFFER_SIZE);
+    }
+
+    private static List<Boolean> sentenceStarts(String text, int bufferSize) {
+        ReaderWordTokenizer tokenizer = new ReaderWordTokenizer(new StringReader(text), bufferSize);
+        List<Boolean> starts = new ArrayList<>();
+        while (tokenizer.hasMoreWords()) {
+            tokenizer.nextWord();
+            starts.add(tokenizer.isNewSentence());
+        }
+        return starts;
+    }
+
+    @Test
+    void testNextWord_sameWordsAsStringWordTokenizer() {
+        for (int seed = 0; seed < 20; seed++) {
+            String text = randomText(seed, 2000);
+            List<String> expected = words(new StringWordTokenizer(text));
+            assertEquals(expected, words(new ReaderWordTokenizer(new StringReader(text))));
+            assertEquals(expected, words(new ReaderWordTokenizer(new StringReader(text), 9)), "seed " + seed);
+        }
+    }
+
+    @Test
+    void testNextWord_wordLongerThanBuffer() {
+        StringBuilder sb = new StringBuilder("short ");
+        for (int i = 0; i < 100; i++) {
+            sb.append("long");
+        }
+        String longWord = sb.substring(6);
+        sb.append(" end");
+
+        ReaderWordTokenizer tokenizer = new ReaderWordTokenizer(new StringReader(sb.toString()), 16);
+        assertEquals("short", tokenizer.nextWord());
+        assertEquals(longWord, tokenizer.nextWord());
+        assertEquals(6, tokenizer.getCurrentWordPosition());
+        assertEquals("end", tokenizer.nextWord());
+        assertEquals(407, tokenizer.getCurrentWordOffset());
+        assertFalse(tokenizer.hasMoreWords());
+        assertEquals(3, tokenizer.getCurrentWordCount());
+    }
+
+    @Test
+    void testNextWord_constantMemory() {
+
+        // 1,000,000 lines of text, generated as it is read
+        Reader in = new Reader() {
+            private final char[] line = "The quick brown fox. Jumps over the lazy dog!\n".toCharArray();
+            private long pos;
+
+            @Override
+            public int read(char[] cbuf, int off, int len) {
+                if (pos == 1_000_000L * line.length) {
+                    return -1;
+                }
+                int count = 0;
+                while (count < len && pos < 1_000_000L * line.length) {
+                    cbuf[off + count++] = line[(int)(pos++ % line.length)];
+                }
+                return count;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        ReaderWordTokenizer tokenizer = new ReaderWordTokenizer(in, 64);
+        int sentenceStarts = 0;
+        while (tokenizer.hasMoreWords()) {
+            tokenizer.nextWord();
+            if (tokenizer.isNewSentence()) {
+                sentenceStarts++;
+            }
+            assertTrue(tokenizer.getContext().length() <= 64);
+        }
+        assertEquals(9_000_000, tokenizer.getCurrentWordCount());
+        assertEquals(2_000_000, sentenceStarts);
+        assertEquals(999_999, tokenizer.getCurrentWordLine());
+        assertEquals(41, tokenizer.getCurrentWordColumn());
+    }
+
+    @Test
+    void testIsNewSentence() {
+        assertEquals(List.of(true, false, true), sentenceStarts("One two. Three"));
+        assertEquals(List.of(true, false), sentenceStarts("One. two"));
+        assertEquals(List.of(true, true), sentenceStarts("One? two"));
+        assertEquals(List.of(true, true), sentenceStarts("One!) two"));
+        assertEquals(List.of(true, true), sentenceStarts("One.\" (Two"));
+        assertEquals(List.of(true, false), sentenceStarts("One.Two"));
+        assertEquals(List.of(true, false), sentenceStarts("One\n\nTwo"));
+        assertEquals(List.of(true, false, false), sentenceStarts("One., Two three"));
+        assertEquals(List.of(true, true), sentenceStarts("   ...One.\nTwo"));
+    }
+
+    @Test
+    void testIsNewSentence_acrossBufferBoundaries() {
+        String text = randomText(42, 5000);
+        assertEquals(sentenceStarts(text), sentenceStarts(text, 9));
+    }
+
+    @Test
+    void testGetCurrentWordLineAndColumn() {
+        ReaderWordTokenizer tokenizer = new ReaderWordTokenizer(new StringReader("one\r\n  two\rthree\n\n four"), 9);
+        long[][] expected = { { 0, 0 }, { 1, 2 }, { 2, 0 }, { 4, 1 } };
+        for (long[] position : expected) {
+            tokenizer.nextWord();
+            assertEquals(position[0], tokenizer.getCurrentWordLine());
+            assertEquals(position[1], tokenizer.getCurrentWordColumn());
+        }
+    }
+
+    @Test
+    void testConstructor_channel() {
+        byte[] bytes = "Caf\u00e9 na\u00efve".getBytes(StandardCharsets.UTF_8);
+        ReaderWordTokenizer tokenizer = new ReaderWordTokenizer(
+            Channels.newChannel(new ByteArrayInputStream(bytes)), StandardCharsets.UTF_8);
+        assertEquals("Caf\u00e9", tokenizer.nextWord());
+        assertEquals("na\u00efve", tokenizer.nextWord());
+        assertEquals(5, tokenizer.getCurrentWordPosition());
+    }
+
+    @Test
+    void testConstructor_bufferTooSmall() {
+        assertThrows(IllegalArgumentException.class, () -> new ReaderWordTokenizer(new StringReader(""), 8));
+    }
+
+    @Test
+    void testCurrentWord_notSet() {
+        ReaderWordTokenizer tokenizer = new ReaderWordTokenizer(new StringReader("hello"));
+        assertThrows(WordNotFoundException.class, tokenizer::getCurrentWordPosition);
+        assertThrows(WordNotFoundException.class, tokenizer::isNewSentence);
+    }
+
+    @Test
+    void testNextWord_noMoreWords() {
+        ReaderWordTokenizer tokenizer = new ReaderWordTokenizer(new StringReader("  ...  "));
+        assertFalse(tokenizer.hasMoreWords());
+        assertThrows(WordNotFoundException.class, tokenizer::nextWord);
+    }
+
+    @Test
+    void testNextWord_readError() {
+        Reader in = new Reader() {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                throw new IOException("Boom");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        ReaderWordTokenizer tokenizer = new ReaderWordTokenizer(in);
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, tokenizer::hasMoreWords);
+        assertEquals("Boom", e.getCause().getMessage());
+    }
+
+    @Test
+    void testReplaceWord_unsupported() {
+        ReaderWordTokenizer tokenizer = new ReaderWordTokenizer(new StringReader("hello"));
+        tokenizer.nextWord();
+        assertThrows(UnsupportedOperationException.class, () -> tokenizer.replaceWord("world"));
+    }
+
+    @Test
+    void testCheckSpelling() throws IOException {
+        SpellChecker checker = new SpellChecker(new SpellDictionaryHashMap(new StringReader("hello\nworld\n")));
+        List<Integer> errors = new ArrayList<>();
+        checker.addSpellCheckListener(e -> {
+            errors.add(e.getWordContextPosition());
+            return false;
+        });
+        int result = checker.checkSpelling(new ReaderWordTokenizer(new StringReader("Hello wurld, hello wrld"), 9));
+        assertEquals(2, result);
+        assertEquals(List.of(6, 19), errors);
+    }
+
+    @Test
+    void testCheckSpelling_positionPastIntRange() throws IOException {
+        long base = 1L << 31;
+        // Fakes input that has already passed Integer.MAX_VALUE characters
+        ReaderWordTokenizer tokenizer = new ReaderWordTokenizer(new StringReader("Hello wurld, hello getWrld")) {
+            @Override
+            public long getCurrentWordOffset() {
+                return base + super.getCurrentWordOffset();
+            }
+        };
+        SpellChecker checker = new SpellChecker(new SpellDictionaryHashMap(new StringReader("hello\nworld\nget\n")));
+        List<Long> errors = new ArrayList<>();
+        checker.addSpellCheckListener(e -> {
+            errors.add(e.getWordContextOffset());
+            assertEquals(Integer.MAX_VALUE, e.getWordContextPosition());
+            return false;
+        });
+        assertEquals(2, checker.checkSpelling(tokenizer));
+        assertEquals(List.of(base + 6, base + 22), errors);
+        assertThrows(ArithmeticException.class, tokenizer::getCurrentWordPosition);
+    }
+}
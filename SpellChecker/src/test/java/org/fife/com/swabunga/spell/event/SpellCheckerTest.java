@@ -8,12 +8,20 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javax.swing.text.BadLocationException;
+import javax.swing.text.PlainDocument;
 import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -166,6 +174,23 @@ class SpellCheckerTest {
         assertEquals(SpellChecker.SPELLCHECK_OK, result);
     }
 
+    @Test
+    void testCheckSpelling_config_analyzeCamelCase_true_reportsMisspelledParts() {
+        String[] words = { "get", "text", "area", "html", "parser" };
+        addWordsToDictionary(words);
+        checker.getConfiguration().setBoolean(Configuration.SPELL_ANALYZECAMELCASEWORDS, true);
+        checker.getConfiguration().setBoolean(Configuration.SPELL_IGNOREUPPERCASE, false);
+
+        StringWordTokenizer tokenizer = new StringWordTokenizer("getTextAria HTMLPraserArea");
+        int result = checker.checkSpelling(tokenizer);
+        assertEquals(2, result);
+        List<SpellCheckEvent> events = listener.getEvents();
+        assertEquals("Aria", events.get(0).getInvalidWord());
+        assertEquals(7, events.get(0).getWordContextPosition());
+        assertEquals("Praser", events.get(1).getInvalidWord());
+        assertEquals(16, events.get(1).getWordContextPosition());
+    }
+
     @Test
     void testCheckSpelling_config_ignoreDigitWords_false() {
         String[] words = { "this", "is", "a", "correctly", "spelled", "sentence" };
@@ -302,6 +327,74 @@ class SpellCheckerTest {
         assertEquals(SpellChecker.SPELLCHECK_OK, result);
     }
 
+    @Test
+    void testCheckSpelling_parallel_sameResultsAsDocumentWordTokenizer() throws BadLocationException {
+        String[] words = { "the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog", "well-known", "don't" };
+        addWordsToDictionary(words);
+        checker.getConfiguration().setBoolean(Configuration.SPELL_IGNORESENTENCECAPITALIZATION, false);
+
+        String[] vocabulary = { "the", "The", "quick", "brown", "Fox", "jumps", "ovr", "lazy", "dogg",
+            "well-known", "don't", "e.g.", "a1", "Thee" };
+        String[] separators = { " ", " ", " ", ". ", ".\n\n", "\n", ", ", " - ", "! ", "?  ", "...", "\t" };
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            sb.append(vocabulary[random.nextInt(vocabulary.length)]);
+            sb.append(separators[random.nextInt(separators.length)]);
+        }
+        String text = sb.toString();
+
+        PlainDocument doc = new PlainDocument();
+        doc.insertString(0, text, null);
+        checker.checkSpelling(new DocumentWordTokenizer(doc));
+        List<String> expected = toStrings(listener.getEvents());
+        assertTrue(expected.size() > 1000);
+
+        for (int chunkSize : new int[] { 1, 50, 1000, 100000 }) {
+            TestSpellCheckListener parallelListener = new TestSpellCheckListener();
+            checker.removeSpellCheckListener(listener);
+            checker.addSpellCheckListener(parallelListener);
+            int result = checker.checkSpelling(text, ForkJoinPool.commonPool(), chunkSize);
+            assertEquals(expected, toStrings(parallelListener.getEvents()), "chunkSize: " + chunkSize);
+            assertEquals(expected.size(), result);
+            checker.removeSpellCheckListener(parallelListener);
+        }
+
+        // The Document overload is equivalent too
+        TestSpellCheckListener docListener = new TestSpellCheckListener();
+        checker.addSpellCheckListener(docListener);
+        checker.checkSpelling(doc, ForkJoinPool.commonPool());
+        assertEquals(expected, toStrings(docListener.getEvents()));
+    }
+
+    @Test
+    void testCheckSpelling_parallel_noErrors() {
+        addWordsToDictionary(new String[] { "test" });
+        assertEquals(SpellChecker.SPELLCHECK_OK, checker.checkSpelling("Test test test.", ForkJoinPool.commonPool()));
+        assertEquals(SpellChecker.SPELLCHECK_OK, checker.checkSpelling("", ForkJoinPool.commonPool()));
+        assertTrue(listener.getEvents().isEmpty());
+    }
+
+    @Test
+    void testCheckSpelling_parallel_cancel() {
+        TestSpellCheckListenerCancels cancelListener = new TestSpellCheckListenerCancels();
+        checker.removeSpellCheckListener(listener);
+        checker.addSpellCheckListener(cancelListener);
+
+        int result = checker.checkSpelling("Foo bar baz.", ForkJoinPool.commonPool());
+        assertEquals(SpellChecker.SPELLCHECK_CANCEL, result);
+        assertEquals(1, cancelListener.getEvents().size());
+        assertEquals("Foo", cancelListener.getEvents().get(0).getInvalidWord());
+    }
+
+    private static List<String> toStrings(List<SpellCheckEvent> events) {
+        List<String> strings = new ArrayList<>();
+        for (SpellCheckEvent event : events) {
+            strings.add(event.getInvalidWord() + "@" + event.getWordContextPosition());
+        }
+        return strings;
+    }
+
     @Test
     void testIsCorrect_nonUserDictionaryReturnsTrue() throws IOException {
         SpellDictionary newDictionary = new SpellDictionaryHashMap();
@@ -452,6 +545,123 @@ class SpellCheckerTest {
         assertEquals("errors", suggestions.get(0).getWord());
     }
 
+    @Test
+    void testGetSuggestions_noDuplicatesAcrossDictionaries() {
+        addWordsToDictionary(new String[] { "errors", "error" });
+        addWordsToDictionary(new String[] { "errors", "mirrors" });
+
+        List<String> actual = new ArrayList<>();
+        for (Word suggestion : checker.getSuggestions("erors", 0)) {
+            actual.add(suggestion.getWord());
+        }
+        assertEquals(new ArrayList<>(new LinkedHashSet<>(actual)), actual);
+        assertTrue(actual.contains("errors"));
+    }
+
+    @Test
+    void testGetSuggestions_withExecutor_sameResultsAsSequential() {
+        addWordsToDictionary(new String[] { "this", "is", "a", "sentence", "with", "errors" });
+        addWordsToDictionary(new String[] { "error", "mirrors", "terrors" });
+        List<Word> expected = checker.getSuggestions("erors", 0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            checker.setSuggestionExecutor(executor);
+            assertSame(executor, checker.getSuggestionExecutor());
+            assertEquals(expected, checker.getSuggestions("erors", 0));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testGetSuggestions_maxResults_isPrefixOfFullList() {
+        addWordsToDictionary(new String[] { "errs", "mirrors" });
+        addWordsToDictionary(new String[] { "errors", "errs" });
+        checker.addToDictionary("eros");
+
+        List<Word> all = checker.getSuggestions("erors", 0);
+        assertEquals(3, all.size());
+        for (int max = 0; max <= 4; max++) {
+            assertEquals(all.subList(0, Math.min(max, all.size())), checker.getSuggestions("erors", 0, max));
+        }
+    }
+
+    @Test
+    void testGetSuggestions_topK_orderedByCost() {
+        addWordsToDictionary(new String[] { "errs", "mirrors" });
+        addWordsToDictionary(new String[] { "errors", "errs" });
+        checker.addToDictionary("eros");
+
+        List<Word> all = checker.getSuggestions("erors", 0, 10, 1000);
+        assertEquals(3, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getCost() <= all.get(i).getCost());
+        }
+
+        List<Word> suggestions = checker.getSuggestions("erors", 0, 2, 1000);
+        assertEquals(all.subList(0, 2), suggestions);
+    }
+
+    @Test
+    void testGetSuggestions_topK_duplicateKeepsLowestCost() throws IOException {
+        checker.addDictionary(suggestingDictionary(new Word("errs", 300), new Word("errors", 200)));
+        checker.addDictionary(suggestingDictionary(new Word("errs", 100)));
+
+        List<Word> suggestions = checker.getSuggestions("erors", 1000, 10, 1000);
+        assertEquals(2, suggestions.size());
+        assertEquals("errs", suggestions.get(0).getWord());
+        assertEquals(100, suggestions.get(0).getCost());
+        assertEquals("errors", suggestions.get(1).getWord());
+    }
+
+    private static SpellDictionary suggestingDictionary(Word... suggestions) throws IOException {
+        return new SpellDictionaryHashMap() {
+            @Override
+            public List<Word> getSuggestions(String sourceWord, int scoreThreshold, int maxResults) {
+                List<Word> result = new ArrayList<>();
+                for (Word suggestion : suggestions) {
+                    result.add(new Word(suggestion.getWord(), suggestion.getCost()));
+                }
+                return result;
+            }
+        };
+    }
+
+    @Test
+    void testGetSuggestions_topK_zeroMaxResults() {
+        addWordsToDictionary(new String[] { "errors" });
+        assertTrue(checker.getSuggestions("erors", 0, 0, 1000).isEmpty());
+    }
+
+    @Test
+    void testGetSuggestions_topK_slowDictionaryIsSkippedAfterTimeout() throws Exception {
+        addWordsToDictionary(new String[] { "errors" });
+        CountDownLatch release = new CountDownLatch(1);
+        checker.addDictionary(new SpellDictionaryHashMap(new StringReader("mirrors")) {
+            @Override
+            public List<Word> getSuggestions(String sourceWord, int scoreThreshold) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getSuggestions(sourceWord, scoreThreshold);
+            }
+        });
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            checker.setSuggestionExecutor(executor);
+            List<Word> suggestions = checker.getSuggestions("erors", 0, 10, 50);
+            assertEquals(1, suggestions.size());
+            assertEquals("errors", suggestions.get(0).getWord());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     void testIgnoreWords() {
         String[] words = { "this", "is", "a", "sentence", "with", "errors" };
@@ -468,6 +678,15 @@ class SpellCheckerTest {
         assertEquals(-1, result);
     }
 
+    @Test
+    void testIgnoreWords_caseSensitive() {
+        addWordsToDictionary(new String[] { "this", "is", "a", "with", "get" });
+        checker.ignoreAll("erors");
+
+        // Whole words must match exactly; camel case parts match in lower case
+        assertEquals(1, checker.checkSpelling(new StringWordTokenizer("Erors is a getErors with erors")));
+    }
+
     @Test
     void testReset_clearsIgnoredWords() {
         checker.ignoreAll("foo");
@@ -548,6 +767,38 @@ class SpellCheckerTest {
         Assertions.assertEquals("THIS", actual.get(5));
     }
 
+    @Test
+    void testReplaceDictionary() throws IOException {
+
+        SpellDictionary oldDict = new SpellDictionaryHashMap(new StringReader("color\n"));
+        SpellDictionary newDict = new SpellDictionaryHashMap(new StringReader("colour\n"));
+        checker.addDictionary(oldDict);
+        checker.setCacheSize(10);
+        assertEquals("color", checker.getSuggestions("colr", 5).get(0).getWord());
+
+        assertTrue(checker.replaceDictionary(oldDict, newDict));
+        assertEquals(SpellChecker.SPELLCHECK_OK, checker.checkSpelling(new StringWordTokenizer("colour")));
+        assertEquals(1, checker.checkSpelling(new StringWordTokenizer("color")));
+        // The suggestion cache must not return words from the old dictionary
+        assertEquals("colour", checker.getSuggestions("colr", 5).get(0).getWord());
+        assertFalse(checker.replaceDictionary(oldDict, newDict));
+    }
+
+    @Test
+    void testReplaceDictionary_userDictionary() throws IOException {
+        SpellDictionary oldDict = new SpellDictionaryHashMap();
+        SpellDictionary newDict = new SpellDictionaryHashMap(new StringReader("foo\n"));
+        checker.setUserDictionary(oldDict);
+        assertTrue(checker.replaceDictionary(oldDict, newDict));
+        assertFalse(checker.addToDictionary("foo"));
+        assertEquals(SpellChecker.SPELLCHECK_OK, checker.checkSpelling(new StringWordTokenizer("foo")));
+    }
+
+    @Test
+    void testReplaceDictionary_null() {
+        assertThrows(IllegalArgumentException.class, () -> checker.replaceDictionary(null, null));
+    }
+
     /**
      * Used to verify callback behavior.
      */
@@ -0,0 +1,40 @@
+package org.fife.com.swabunga.spell.event;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link WordChars}.
+ */
+class WordCharsTest {
+
+    @Test
+    void testIsLetterOrDigit_sameAsCharacter() {
+        for (int i = Character.MIN_VALUE; i <= Character.MAX_VALUE; i++) {
+            char ch = (char)i;
+            assertEquals(Character.isLetterOrDigit(ch), WordChars.isLetterOrDigit(ch), "char " + i);
+        }
+    }
+
+    @Test
+    void testBeginsAsINETWord() {
+        String text = "see http://a.com and www.b.org or ftps://c";
+        assertTrue(WordChars.beginsAsINETWord(text, 4));
+        assertTrue(WordChars.beginsAsINETWord(text, 21));
+        assertTrue(WordChars.beginsAsINETWord(text, 34));
+        assertFalse(WordChars.beginsAsINETWord(text, 0));
+        assertFalse(WordChars.beginsAsINETWord(text, text.length()));
+    }
+
+    @Test
+    void testGetNextWordStartAndEnd() {
+        char[] text = " -mid-level don't' x".toCharArray();
+        assertEquals(2, WordChars.getNextWordStart(text, 0, text.length));
+        assertEquals(11, WordChars.getNextWordEnd(text, 2, text.length));
+        assertEquals(12, WordChars.getNextWordStart(text, 11, text.length));
+        assertEquals(17, WordChars.getNextWordEnd(text, 12, text.length));
+        assertEquals(20, WordChars.getNextWordEnd(text, 19, text.length));
+        assertEquals(-1, WordChars.getNextWordStart(text, 0, 1));
+    }
+}
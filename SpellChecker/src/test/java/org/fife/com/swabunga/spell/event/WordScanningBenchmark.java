@@ -0,0 +1,168 @@
+package org.fife.com.swabunga.spell.event;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.PlainDocument;
+import javax.swing.text.Segment;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmarks for word boundary scanning on multi-megabyte inputs.  These
+ * are not run by the <code>test</code> task; run them with
+ * <code>gradlew :SpellChecker:benchmark</code>, which prints the timings.
+ */
+@Tag("benchmark")
+class WordScanningBenchmark {
+
+    private static final int TEXT_SIZE = 8 * 1024 * 1024;
+    private static final int ITERATIONS = 7;
+
+    private static final String[] PIECES = {
+        "the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog", "Spelling", "checker's", "mid-level",
+        "getText()", "int", "i", "=", "0;", "//", "/*", "*/", "x1", "return", "null;", "{", "}", ".", ",",
+    };
+
+    private static String text;
+    private static PlainDocument doc;
+
+    @BeforeAll
+    static void setUp() throws BadLocationException {
+        Random random = new Random(0);
+        StringBuilder sb = new StringBuilder(TEXT_SIZE + 64);
+        while (sb.length() < TEXT_SIZE) {
+            sb.append(PIECES[random.nextInt(PIECES.length)]);
+            sb.append(random.nextInt(10) == 0 ? '\n' : ' ');
+        }
+        text = sb.toString();
+        doc = new PlainDocument();
+        doc.insertString(0, text, null);
+    }
+
+    /**
+     * Walks the words the way <code>DocumentWordTokenizer</code> did before
+     * the ASCII fast path: <code>Segment</code> iteration and
+     * <code>Character.isLetterOrDigit()</code> for every character, and
+     * optionally fetching each word from the document.
+     */
+    private static long baselineScan(Segment segment, boolean fetchWords) throws BadLocationException {
+        long checksum = 0;
+        int pos = baselineNextWordStart(segment, segment.getBeginIndex());
+        while (pos != -1) {
+            int end = baselineNextWordEnd(segment, pos);
+            int length = fetchWords ? doc.getText(pos - segment.offset, end - pos).length() : end - pos;
+            checksum = checksum * 31 + length;
+            pos = baselineNextWordStart(segment, end + 1);
+        }
+        return checksum;
+    }
+
+    private static int baselineNextWordEnd(Segment text, int startPos) {
+        for (char ch = text.setIndex(startPos); ch != Segment.DONE; ch = text.next()) {
+            if (!Character.isLetterOrDigit(ch)) {
+                if (ch == '-' || ch == '\'') {
+                    char ch2 = text.next();
+                    text.previous();
+                    if (ch2 != Segment.DONE && Character.isLetterOrDigit(ch2)) {
+                        continue;
+                    }
+                }
+                return text.getIndex();
+            }
+        }
+        return text.getEndIndex();
+    }
+
+    private static int baselineNextWordStart(Segment text, int startPos) {
+        if (startPos <= text.getEndIndex()) {
+            for (char ch = text.setIndex(startPos); ch != Segment.DONE; ch = text.next()) {
+                if (Character.isLetterOrDigit(ch)) {
+                    return text.getIndex();
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static long fastPathScan(Segment segment) {
+        long checksum = 0;
+        int end = segment.getEndIndex();
+        int pos = WordChars.getNextWordStart(segment.array, segment.getBeginIndex(), end);
+        while (pos != -1) {
+            int wordEnd = WordChars.getNextWordEnd(segment.array, pos, end);
+            checksum = checksum * 31 + wordEnd - pos;
+            pos = WordChars.getNextWordStart(segment.array, wordEnd + 1, end);
+        }
+        return checksum;
+    }
+
+    private static long scan(WordTokenizer tokenizer) {
+        long checksum = 0;
+        while (tokenizer.hasMoreWords()) {
+            tokenizer.nextWord();
+            checksum = checksum * 31 + tokenizer.getCurrentWordEnd() - tokenizer.getCurrentWordPosition();
+        }
+        return checksum;
+    }
+
+    private static long bestTimeNanos(Task task) throws BadLocationException {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            assertNotEquals(0, task.run());
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static void report(String name, long nanos) {
+        System.out.printf(Locale.ROOT, "%-24s %8.1f MB/s%n", name, TEXT_SIZE / 1024.0 / 1024.0 / (nanos / 1e9));
+    }
+
+    @Test
+    void testScanning() throws BadLocationException {
+
+        Segment segment = new Segment();
+        doc.getText(0, doc.getLength(), segment);
+        assertEquals(baselineScan(segment, false), fastPathScan(segment));
+
+        long baseline = bestTimeNanos(() -> baselineScan(segment, false));
+        long fastPath = bestTimeNanos(() -> fastPathScan(segment));
+        report("Scan, Segment iteration", baseline);
+        report("Scan, ASCII fast path", fastPath);
+        assertTrue(fastPath < baseline, "Fast path not faster: " + fastPath + " >= " + baseline);
+    }
+
+    @Test
+    void testDocumentWordTokenizer() throws BadLocationException {
+
+        Segment segment = new Segment();
+        doc.getText(0, doc.getLength(), segment);
+        assertEquals(baselineScan(segment, true), scan(new DocumentWordTokenizer(doc)));
+
+        long baseline = bestTimeNanos(() -> baselineScan(segment, true));
+        long fastPath = bestTimeNanos(() -> scan(new DocumentWordTokenizer(doc)));
+        report("Tokenize, before", baseline);
+        report("Tokenize, ASCII fast path", fastPath);
+        assertTrue(fastPath < baseline, "Fast path not faster: " + fastPath + " >= " + baseline);
+    }
+
+    @Test
+    void testStringWordTokenizer() throws BadLocationException {
+        long nanos = bestTimeNanos(() -> scan(new StringWordTokenizer(text)));
+        report("StringWordTokenizer", nanos);
+    }
+
+    /**
+     * A benchmarked operation.  Returns a checksum so the work is not
+     * optimized away.
+     */
+    private interface Task {
+        long run() throws BadLocationException;
+    }
+}
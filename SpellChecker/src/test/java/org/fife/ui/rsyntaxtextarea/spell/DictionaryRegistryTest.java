@@ -0,0 +1,165 @@
+package org.fife.ui.rsyntaxtextarea.spell;
+
+import org.fife.com.swabunga.spell.engine.DictionaryLoadEvent;
+import org.fife.com.swabunga.spell.engine.SpellDictionary;
+import org.fife.com.swabunga.spell.engine.SpellDictionaryHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DictionaryRegistry}.
+ */
+class DictionaryRegistryTest {
+
+    private static final String[][] ENTRIES = {
+        { "eng_com.dic", "aardvark\nbat\n" },
+        { "color.dic", "color\n" }, { "labeled.dic", "labeled\n" }, { "center.dic", "center\n" },
+        { "ize.dic", "sanitize\n" }, { "yze.dic", "analyze\n" },
+        { "colour.dic", "colour\n" }, { "labelled.dic", "labelled\n" }, { "centre.dic", "centre\n" },
+        { "ise.dic", "sanitise\n" }, { "yse.dic", "analyse\n" },
+        { "programming.dic", "gradle\nBat\n" },
+    };
+
+    private DictionaryRegistry registry;
+    private File zipFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        registry = new DictionaryRegistry();
+        zipFile = File.createTempFile("scUnitTests_dictionaryRegistry", ".zip");
+        zipFile.deleteOnExit();
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zipFile))) {
+            for (String[] entry : ENTRIES) {
+                zos.putNextEntry(new ZipEntry(entry[0]));
+                zos.write(entry[1].getBytes(StandardCharsets.US_ASCII));
+                zos.closeEntry();
+            }
+        }
+    }
+
+    @Test
+    void testAcquireEnglishDictionary_sharedForSameKey() throws IOException {
+
+        SpellDictionary dict1 = registry.acquireEnglishDictionary(zipFile, true, true, null);
+        File sameZip = new File(zipFile.getParentFile(), "." + File.separator + zipFile.getName());
+        SpellDictionary dict2 = registry.acquireEnglishDictionary(sameZip, true, true, null);
+
+        assertSame(dict1, dict2);
+        assertEquals(2, registry.getReferenceCount(dict1));
+        assertEquals(1, registry.getSize());
+        assertTrue(dict1.isCorrect("color"));
+        assertTrue(dict1.isCorrect("gradle"));
+        assertFalse(dict1.isCorrect("colour"));
+    }
+
+    @Test
+    void testAcquireEnglishDictionary_differentKeys() throws IOException {
+        SpellDictionary american = registry.acquireEnglishDictionary(zipFile, true, true, null);
+        SpellDictionary british = registry.acquireEnglishDictionary(zipFile, false, true, null);
+        SpellDictionary noProgramming = registry.acquireEnglishDictionary(zipFile, true, false, null);
+        assertNotSame(american, british);
+        assertNotSame(american, noProgramming);
+        assertEquals(3, registry.getSize());
+        assertTrue(british.isCorrect("colour"));
+        assertFalse(noProgramming.isCorrect("gradle"));
+    }
+
+    @Test
+    void testAcquireEnglishDictionary_readOnly() throws IOException {
+        SpellDictionary dict = registry.acquireEnglishDictionary(zipFile, true, true, null);
+        assertThrows(UnsupportedOperationException.class, () -> dict.addWord("foo"));
+    }
+
+    @Test
+    void testAcquireEnglishDictionary_loadError() {
+        File missing = new File(zipFile.getParentFile(), "scUnitTests_noSuchFile.zip");
+        assertThrows(IOException.class, () -> registry.acquireEnglishDictionary(missing, true, true, null));
+        assertEquals(0, registry.getSize());
+    }
+
+    @Test
+    void testRelease() throws IOException {
+
+        SpellDictionary dict = registry.acquireEnglishDictionary(zipFile, true, true, null);
+        registry.acquireEnglishDictionary(zipFile, true, true, null);
+
+        registry.release(dict);
+        assertEquals(1, registry.getReferenceCount(dict));
+        assertEquals(1, registry.getSize());
+        registry.release(dict);
+        assertEquals(0, registry.getReferenceCount(dict));
+        assertEquals(0, registry.getSize());
+        assertThrows(IllegalArgumentException.class, () -> registry.release(dict));
+
+        // The next user loads a new copy
+        assertNotSame(dict, registry.acquireEnglishDictionary(zipFile, true, true, null));
+    }
+
+    @Test
+    void testRelease_notShared() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> registry.release(new SpellDictionaryHashMap()));
+        assertThrows(IllegalArgumentException.class, () -> registry.release(null));
+    }
+
+    @Test
+    void testReleaseWhenCollected() throws Exception {
+
+        SpellDictionary dict = registry.acquireEnglishDictionary(zipFile, true, true, null);
+        registry.acquireEnglishDictionary(zipFile, true, true, null);
+        registry.releaseWhenCollected(dict, new Object());
+
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (registry.getReferenceCount(dict) == 2 && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertEquals(1, registry.getReferenceCount(dict));
+        assertEquals(1, registry.getSize());
+    }
+
+    @Test
+    void testReleaseWhenCollected_releasedFirst() throws Exception {
+
+        Object owner = new Object();
+        SpellDictionary dict = registry.acquireEnglishDictionary(zipFile, true, true, null);
+        registry.acquireEnglishDictionary(zipFile, true, true, null);
+        registry.releaseWhenCollected(dict, owner);
+        registry.release(dict, owner);
+        assertEquals(1, registry.getReferenceCount(dict));
+
+        // The owner being collected later does not release it again
+        owner = null;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertNull(owner);
+        assertEquals(1, registry.getReferenceCount(dict));
+    }
+
+    @Test
+    void testLoadEnglishDictionary() throws IOException {
+
+        List<DictionaryLoadEvent> events = new ArrayList<>();
+        SpellDictionaryHashMap dict = DictionaryRegistry.loadEnglishDictionary(zipFile, true, true, events::add);
+
+        assertEquals(1, events.size());
+        assertSame(dict, events.get(0).getDictionary());
+        assertEquals(7, events.get(0).getWordListCount());
+        assertEquals(8, events.get(0).getWordCount()); // "Bat" is a duplicate
+        assertTrue(dict.isCorrect("gradle"));
+        assertFalse(dict.isCorrect("colour"));
+        assertEquals(0, registry.getSize());
+    }
+}
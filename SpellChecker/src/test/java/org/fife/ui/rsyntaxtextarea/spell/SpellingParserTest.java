@@ -1,5 +1,8 @@
 package org.fife.ui.rsyntaxtextarea.spell;
 
+import org.fife.com.swabunga.spell.engine.InMemorySpellCheckMetrics;
+import org.fife.com.swabunga.spell.engine.SpellCheckMetrics;
+import org.fife.com.swabunga.spell.engine.SpellDictionary;
 import org.fife.com.swabunga.spell.engine.SpellDictionaryHashMap;
 import org.fife.ui.rsyntaxtextarea.RSyntaxDocument;
 import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
@@ -16,15 +19,20 @@ import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mockito;
 
+import javax.swing.JScrollPane;
+import javax.swing.SwingUtilities;
 import javax.swing.event.HyperlinkEvent;
 import javax.swing.text.BadLocationException;
 import java.awt.Color;
+import java.awt.Point;
+import java.awt.Rectangle;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -101,6 +109,36 @@ class SpellingParserTest {
         return zipFile;
     }
 
+    @Test
+    void testAddDictionary() throws Exception {
+        File wordList = File.createTempFile("scUnitTests_spellingParser", ".dic");
+        wordList.deleteOnExit();
+        Files.writeString(wordList.toPath(), "tezt\n");
+        parser.addDictionary(wordList);
+
+        SwingUtilities.invokeAndWait(() -> {
+            RSyntaxTextArea textArea = new RSyntaxTextArea("This is a tezt. Thiss is a test.");
+            parser.install(textArea);
+            textArea.forceReparsing(parser);
+            assertEquals(1, textArea.getParserNotices().size());
+        });
+    }
+
+    @Test
+    void testAddDictionary_fileNotModified() throws Exception {
+        File wordList = File.createTempFile("scUnitTests_spellingParser", ".dic");
+        wordList.deleteOnExit();
+        Files.writeString(wordList.toPath(), "tezt\ntezt\n");
+        assertTrue(wordList.setReadOnly());
+        parser.setWatchDictionaryFiles(true);
+        try {
+            parser.addDictionary(wordList);
+        } finally {
+            parser.setWatchDictionaryFiles(false);
+        }
+        assertEquals("tezt\ntezt\n", Files.readString(wordList.toPath()));
+    }
+
     @Test
     void testAddSpellingParserListener() {
         SpellingParserListener listener = e -> {};
@@ -123,6 +161,48 @@ class SpellingParserTest {
         assertNotNull(englishParser);
     }
 
+    @Test
+    void testCreateEnglishSpellingParser_sharesDictionary() throws IOException {
+        File zipFile = createZipFile(true, true);
+        SpellingParser parser1 = SpellingParser.createEnglishSpellingParser(zipFile, true, true);
+        SpellingParser parser2 = SpellingParser.createEnglishSpellingParser(zipFile, true, true);
+
+        DictionaryRegistry registry = DictionaryRegistry.getInstance();
+        SpellDictionary dict = registry.acquireEnglishDictionary(zipFile, true, true, null);
+        assertEquals(3, registry.getReferenceCount(dict));
+        registry.release(dict);
+
+        parser1.dispose();
+        assertEquals(1, registry.getReferenceCount(dict));
+        parser1.dispose(); // Releases only once
+        assertEquals(1, registry.getReferenceCount(dict));
+        parser2.dispose();
+        assertEquals(0, registry.getReferenceCount(dict));
+    }
+
+    @Test
+    void testCreateEnglishSpellingParser_releasedWhenCollected() throws Exception {
+        File zipFile = createZipFile(true, true);
+        SpellingParser.createEnglishSpellingParser(zipFile, true, true); // Never disposed
+
+        DictionaryRegistry registry = DictionaryRegistry.getInstance();
+        SpellDictionary dict = registry.acquireEnglishDictionary(zipFile, true, true, null);
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (registry.getReferenceCount(dict) > 1 && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertEquals(1, registry.getReferenceCount(dict));
+        registry.release(dict);
+    }
+
+    @Test
+    void testDispose() {
+        parser.install(textArea);
+        parser.dispose();
+        assertEquals(0, textArea.getParserCount());
+    }
+
     @Test
     void testGetSetAllowAdd() {
         assertTrue(parser.getAllowAdd());
@@ -137,6 +217,18 @@ class SpellingParserTest {
         assertFalse(parser.getAllowIgnore());
     }
 
+    @Test
+    void testGetSetWatchDictionaryFiles() throws IOException {
+        assertFalse(parser.getWatchDictionaryFiles());
+        parser.setWatchDictionaryFiles(true);
+        assertTrue(parser.getWatchDictionaryFiles());
+        parser.setWatchDictionaryFiles(false);
+        assertFalse(parser.getWatchDictionaryFiles());
+        parser.setWatchDictionaryFiles(true);
+        parser.dispose();
+        assertFalse(parser.getWatchDictionaryFiles());
+    }
+
     @Test
     void testGetSetMaxErrorCount() {
         assertEquals(100, parser.getMaxErrorCount());
@@ -175,6 +267,22 @@ class SpellingParserTest {
         assertEquals(userDictFile, parser.getUserDictionary());
     }
 
+    @Test
+    void testSetUserDictionary_asynchronousWrites() throws IOException {
+        File userDictFile = File.createTempFile("scUnitTests_spellingParser", ".txt");
+        userDictFile.deleteOnExit();
+        parser.setUserDictionary(userDictFile, true);
+        assertEquals(userDictFile, parser.getUserDictionary());
+
+        String desc = "ADD://newword";
+        HyperlinkEvent e = new HyperlinkEvent(textArea, HyperlinkEvent.EventType.ACTIVATED, null, desc);
+        parser.linkClicked(textArea, e);
+
+        // Pending words are written when the user dictionary is changed
+        parser.setUserDictionary(null);
+        assertEquals("newword\n", Files.readString(userDictFile.toPath()));
+    }
+
     @Test
     void testGetSetUserDictionary_fileDoesNotExist() throws IOException {
         assertNull(parser.getUserDictionary());
@@ -207,6 +315,191 @@ class SpellingParserTest {
         assertNotNull(parser.getImageBase());
     }
 
+    @Test
+    void testInstallUninstall() {
+        parser.install(textArea);
+        assertEquals(1, textArea.getParserCount());
+        assertSame(parser, textArea.getParser(0));
+        parser.uninstall(textArea);
+        assertEquals(0, textArea.getParserCount());
+    }
+
+    @Test
+    void testLinkClicked_ignore_removesNoticesFromAllTextAreasWithoutRechecking() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        SpellDictionaryHashMap dictionary = new SpellDictionaryHashMap() {
+            @Override
+            public boolean isCorrect(String word) {
+                lookups.incrementAndGet();
+                return super.isCorrect(word);
+            }
+        };
+        for (String word : WORDS) {
+            dictionary.addWord(word);
+        }
+        SpellingParser parser = new SpellingParser(dictionary);
+
+        SwingUtilities.invokeAndWait(() -> {
+            RSyntaxTextArea textArea1 = new RSyntaxTextArea("Thiss is a tezt.");
+            RSyntaxTextArea textArea2 = new RSyntaxTextArea("This is a tezt. Tezt is a test.");
+            parser.install(textArea1);
+            parser.install(textArea2);
+            textArea1.forceReparsing(parser);
+            textArea2.forceReparsing(parser);
+            assertEquals(2, textArea1.getParserNotices().size());
+            assertEquals(2, textArea2.getParserNotices().size());
+
+            lookups.set(0);
+            HyperlinkEvent e = new HyperlinkEvent(textArea1, HyperlinkEvent.EventType.ACTIVATED, null,
+                "IGNORE://tezt");
+            parser.linkClicked(textArea1, e);
+
+            assertEquals(0, lookups.get());
+            List<ParserNotice> notices = textArea1.getParserNotices();
+            assertEquals(1, notices.size());
+            assertEquals("[SpellingParserNotice: Thiss]", notices.get(0).toString());
+            // The parser ignores the capitalized form too
+            assertEquals(0, textArea2.getParserNotices().size());
+
+            // Edits still get a full spell check
+            textArea2.setText("tezt iz good");
+            textArea2.forceReparsing(parser);
+            assertEquals(2, textArea2.getParserNotices().size());
+            assertTrue(lookups.get() > 0);
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "ADD://tezt", "IGNORE://tezt" })
+    void testLinkClicked_removesCapitalizedAndCamelCaseNotices(String desc) throws Exception {
+        File userDictFile = File.createTempFile("scUnitTests_spellingParser", ".txt");
+        userDictFile.deleteOnExit();
+        parser.setUserDictionary(userDictFile);
+
+        SwingUtilities.invokeAndWait(() -> {
+            RSyntaxTextArea textArea = new RSyntaxTextArea("Tezt is a test. This getTezt is a tezt.");
+            parser.install(textArea);
+            textArea.forceReparsing(parser);
+            assertEquals(4, textArea.getParserNotices().size());
+
+            HyperlinkEvent e = new HyperlinkEvent(textArea, HyperlinkEvent.EventType.ACTIVATED, null, desc);
+            parser.linkClicked(textArea, e);
+
+            List<ParserNotice> notices = textArea.getParserNotices();
+            assertEquals(1, notices.size());
+            assertEquals("[SpellingParserNotice: get]", notices.get(0).toString());
+
+            // A full re-check agrees
+            textArea.forceReparsing(parser);
+            notices = textArea.getParserNotices();
+            assertEquals(1, notices.size());
+            assertEquals("[SpellingParserNotice: get]", notices.get(0).toString());
+        });
+    }
+
+    private static void waitForNoticeCount(RSyntaxTextArea textArea, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 30_000;
+        int[] actual = new int[1];
+        do {
+            Thread.sleep(50);
+            SwingUtilities.invokeAndWait(() -> actual[0] = textArea.getParserNotices().size());
+        } while (actual[0] != count && System.currentTimeMillis() < deadline);
+        assertEquals(count, actual[0]);
+    }
+
+    @Test
+    void testSetWatchDictionaryFiles_asynchronousWrites_addedWordsNotReloaded() throws Exception {
+        AtomicInteger reloads = new AtomicInteger();
+        SpellDictionaryHashMap dictionary = new SpellDictionaryHashMap();
+        for (String word : WORDS) {
+            dictionary.addWord(word);
+        }
+        SpellingParser parser = new SpellingParser(dictionary) {
+            @Override
+            void dictionaryReloaded(SpellDictionary oldDict, SpellDictionaryHashMap newDict, boolean wordsRemoved) {
+                reloads.incrementAndGet();
+                super.dictionaryReloaded(oldDict, newDict, wordsRemoved);
+            }
+        };
+        File userDictFile = File.createTempFile("scUnitTests_spellingParser", ".txt");
+        userDictFile.deleteOnExit();
+        parser.setUserDictionary(userDictFile, true);
+        parser.setWatchDictionaryFiles(true);
+
+        RSyntaxTextArea textArea = new RSyntaxTextArea("Thiss is a tezt.");
+        SwingUtilities.invokeAndWait(() -> {
+            parser.install(textArea);
+            textArea.forceReparsing(parser);
+        });
+
+        try {
+            // The parser's own writes to the user dictionary are not reloaded
+            for (String word : new String[] { "tezt", "thiss" }) {
+                HyperlinkEvent e = new HyperlinkEvent(textArea, HyperlinkEvent.EventType.ACTIVATED, null,
+                        "ADD://" + word);
+                SwingUtilities.invokeAndWait(() -> parser.linkClicked(textArea, e));
+            }
+            waitForNoticeCount(textArea, 0);
+            Thread.sleep(1000); // Longer than the watcher waits for more changes
+            assertEquals(0, reloads.get());
+            assertEquals("tezt\nthiss\n", Files.readString(userDictFile.toPath()));
+            SwingUtilities.invokeAndWait(() -> textArea.forceReparsing(parser));
+            assertEquals(0, textArea.getParserNotices().size());
+
+            // Changes made elsewhere still are
+            Files.writeString(userDictFile.toPath(), "tezt\n");
+            waitForNoticeCount(textArea, 1);
+            assertEquals(1, reloads.get());
+        } finally {
+            parser.dispose();
+        }
+    }
+
+    @Test
+    void testSetWatchDictionaryFiles_userDictionaryChanged() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        SpellDictionaryHashMap dictionary = new SpellDictionaryHashMap() {
+            @Override
+            public boolean isCorrect(String word) {
+                lookups.incrementAndGet();
+                return super.isCorrect(word);
+            }
+        };
+        for (String word : WORDS) {
+            dictionary.addWord(word);
+        }
+        SpellingParser parser = new SpellingParser(dictionary);
+        File userDictFile = File.createTempFile("scUnitTests_spellingParser", ".txt");
+        userDictFile.deleteOnExit();
+        parser.setUserDictionary(userDictFile);
+        parser.setWatchDictionaryFiles(true);
+
+        RSyntaxTextArea textArea1 = new RSyntaxTextArea("Thiss is a tezt.");
+        RSyntaxTextArea textArea2 = new RSyntaxTextArea("This is a test.");
+        SwingUtilities.invokeAndWait(() -> {
+            parser.install(textArea1);
+            parser.install(textArea2);
+            textArea1.forceReparsing(parser);
+            textArea2.forceReparsing(parser);
+            lookups.set(0);
+        });
+
+        try {
+            // Words added elsewhere only remove the notices for them
+            Files.writeString(userDictFile.toPath(), "tezt\n");
+            waitForNoticeCount(textArea1, 1);
+            assertEquals(0, lookups.get());
+
+            // Words removed elsewhere cause the documents to be checked again
+            Files.writeString(userDictFile.toPath(), "");
+            waitForNoticeCount(textArea1, 2);
+            assertTrue(lookups.get() > 0);
+            assertEquals(0, textArea2.getParserNotices().size());
+        } finally {
+            parser.dispose();
+        }
+    }
+
     @Test
     void testLinkClicked_listenersNotified_addWithoutUserDictionary_noNotification() throws IOException {
         List<SpellingParserEvent> events = new ArrayList<>();
@@ -365,6 +658,78 @@ class SpellingParserTest {
         assertEquals(doc.getDefaultRootElement().getElementCount() - 1, result.getLastLineParsed());
     }
 
+    @Test
+    void testParse_recordsMetrics() throws BadLocationException {
+        InMemorySpellCheckMetrics metrics = new InMemorySpellCheckMetrics();
+        SpellCheckMetrics.set(metrics);
+        try {
+            RSyntaxDocument doc = new RSyntaxDocument(SyntaxConstants.SYNTAX_STYLE_JAVA);
+            doc.insertString(0, "// Thiss is a test.\nThiss error will not be flagged", null);
+            parser.parse(doc, SyntaxConstants.SYNTAX_STYLE_JAVA);
+        } finally {
+            SpellCheckMetrics.set(null);
+        }
+        assertEquals(1, metrics.getTimerCount(SpellCheckMetrics.Timer.PARSE));
+        assertEquals(4, metrics.getCount(SpellCheckMetrics.Counter.WORDS_CHECKED));
+        assertEquals(1, metrics.getCount(SpellCheckMetrics.Counter.MISSPELLINGS));
+        assertTrue(metrics.getWordsPerSecond() > 0);
+    }
+
+    @Test
+    void testParse_trace() throws BadLocationException {
+        List<String> traces = new ArrayList<>();
+        SpellCheckMetrics.set(new InMemorySpellCheckMetrics() {
+            @Override
+            public ParseTrace startParseTrace() {
+                return (length, style, tokensChecked, errors) ->
+                    traces.add(length + ":" + style + ":" + tokensChecked + ":" + errors);
+            }
+        });
+        try {
+            RSyntaxDocument doc = new RSyntaxDocument(SyntaxConstants.SYNTAX_STYLE_JAVA);
+            doc.insertString(0, "// Thiss is a test.\nThiss error will not be flagged", null);
+            parser.parse(doc, SyntaxConstants.SYNTAX_STYLE_JAVA);
+        } finally {
+            SpellCheckMetrics.set(null);
+        }
+        assertEquals("[51:" + SyntaxConstants.SYNTAX_STYLE_JAVA + ":1:1]", traces.toString());
+    }
+
+    @Test
+    void testParse_reusedResult_noMetrics() throws Exception {
+        AtomicInteger started = new AtomicInteger();
+        SpellCheckMetrics.set(new InMemorySpellCheckMetrics() {
+            @Override
+            public long startTimer() {
+                started.incrementAndGet();
+                return super.startTimer();
+            }
+
+            @Override
+            public ParseTrace startParseTrace() {
+                started.incrementAndGet();
+                return null;
+            }
+        });
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                RSyntaxTextArea textArea = new RSyntaxTextArea("This is a tezt");
+                parser.install(textArea);
+                textArea.forceReparsing(parser);
+                assertEquals(1, textArea.getParserNotices().size());
+                int startedBefore = started.get();
+
+                HyperlinkEvent e = new HyperlinkEvent(textArea, HyperlinkEvent.EventType.ACTIVATED, null,
+                    "IGNORE://tezt");
+                parser.linkClicked(textArea, e);
+                assertEquals(0, textArea.getParserNotices().size());
+                assertEquals(startedBefore, started.get());
+            });
+        } finally {
+            SpellCheckMetrics.set(null);
+        }
+    }
+
     @Test
     void testParse_nonPlainText_stopsAtMaxSpellingErrors() throws BadLocationException {
         RSyntaxDocument doc = new RSyntaxDocument(SyntaxConstants.SYNTAX_STYLE_JAVA);
@@ -393,6 +758,60 @@ class SpellingParserTest {
         assertEquals(doc.getDefaultRootElement().getElementCount() - 1, result.getLastLineParsed());
     }
 
+    @Test
+    void testGetSetPrioritizeVisibleLines() {
+        assertFalse(parser.getPrioritizeVisibleLines());
+        parser.setPrioritizeVisibleLines(true);
+        assertTrue(parser.getPrioritizeVisibleLines());
+    }
+
+    @Test
+    void testParse_prioritizeVisibleLines() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            sb.append("Thiss is a tezt.\n");
+        }
+        int maxErrorCount = 10;
+        int[] visible = new int[2];
+
+        SwingUtilities.invokeAndWait(() -> {
+            textArea.setText(sb.toString());
+            parser.setPrioritizeVisibleLines(true);
+            parser.setMaxErrorCount(maxErrorCount);
+            parser.install(textArea);
+
+            JScrollPane scrollPane = new JScrollPane(textArea);
+            scrollPane.setSize(400, 200);
+            scrollPane.doLayout();
+            scrollPane.getViewport().doLayout();
+            scrollPane.getViewport().setViewPosition(new Point(0, textArea.getLineHeight() * 1500));
+            Rectangle r = textArea.getVisibleRect();
+            visible[0] = textArea.getDocument().getDefaultRootElement().getElementIndex(
+                textArea.viewToModel2D(r.getLocation()));
+            visible[1] = textArea.getDocument().getDefaultRootElement().getElementIndex(
+                textArea.viewToModel2D(new Point(r.x + r.width, r.y + r.height)));
+
+            // Every error in the visible lines is reported right away, despite the max error count
+            textArea.forceReparsing(parser);
+            List<ParserNotice> notices = textArea.getParserNotices();
+            assertEquals(2 * (visible[1] - visible[0] + 1), notices.size());
+            assertTrue(notices.size() > maxErrorCount);
+            for (ParserNotice notice : notices) {
+                assertTrue(notice.getLine() >= visible[0] && notice.getLine() <= visible[1]);
+            }
+        });
+
+        // Off-screen lines are checked later, up to the max error count
+        int expected = 2 * (visible[1] - visible[0] + 1) + maxErrorCount;
+        long deadline = System.currentTimeMillis() + 10000;
+        int[] count = new int[1];
+        do {
+            Thread.sleep(20);
+            SwingUtilities.invokeAndWait(() -> count[0] = textArea.getParserNotices().size());
+        } while (count[0] < expected && System.currentTimeMillis() < deadline);
+        assertEquals(expected, count[0]);
+    }
+
     @Test
     void testRemoveSpellingParserListener() {
         SpellingParserListener listener = event -> {};
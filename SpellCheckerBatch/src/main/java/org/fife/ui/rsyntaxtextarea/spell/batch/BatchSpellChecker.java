@@ -0,0 +1,296 @@
+/*
+ * 10/19/2026
+ *
+ * BatchSpellChecker.java - Spell checks many files on a pool of threads.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.batch;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.fife.com.swabunga.spell.engine.SpellDictionary;
+import org.fife.com.swabunga.spell.event.SpellChecker;
+
+
+/**
+ * Spell checks files and directory trees on a bounded pool of worker
+ * threads, without a UI.  Each file is streamed through a tokenizer as
+ * described in {@link FileChecker}, so memory use does not depend on the
+ * size of the files.<p>
+ *
+ * All workers share the same dictionaries, which must support concurrent
+ * lookups; <code>SpellDictionaryHashMap</code> does as long as no words are
+ * added while checking.  Each worker has its own {@link SpellChecker}.<p>
+ *
+ * Results are reported one file at a time, in the order the files finish.
+ *
+ * @version 1.0
+ * @see SpellCheckRunner
+ */
+public class BatchSpellChecker {
+
+    /**
+     * The default maximum number of suggestions for each misspelled word.
+     */
+    public static final int DEFAULT_MAX_SUGGESTIONS = 3;
+
+    /**
+     * Files waiting to be checked, per worker thread.  When the queue is
+     * full, the thread finding the files checks the next one itself.
+     */
+    private static final int QUEUED_FILES_PER_THREAD = 4;
+
+    private final SpellDictionary dictionary;
+    private SpellDictionary userDictionary;
+    private int threadCount;
+    private int maxSuggestions;
+    private Charset charset;
+
+
+    /**
+     * Constructor.
+     *
+     * @param dictionary The dictionary to check words against.
+     */
+    public BatchSpellChecker(SpellDictionary dictionary) {
+        if (dictionary == null) {
+            throw new IllegalArgumentException("dictionary cannot be null");
+        }
+        this.dictionary = dictionary;
+        threadCount = Runtime.getRuntime().availableProcessors();
+        maxSuggestions = DEFAULT_MAX_SUGGESTIONS;
+        charset = StandardCharsets.UTF_8;
+    }
+
+
+    /**
+     * Spell checks files.  Directories are searched recursively for files
+     * with known extensions; files given explicitly are always checked.
+     * This method blocks until every file has been checked.
+     *
+     * @param paths The files and directories to check.
+     * @param handler Receives the result for each file.  This is called
+     *        from the worker threads, so it must be thread safe.
+     * @return The totals for the run.
+     * @throws IOException If the calling thread is interrupted.  Errors
+     *         reading files are reported to <code>handler</code> instead.
+     */
+    public BatchSummary check(List<Path> paths, Consumer<FileResult> handler) throws IOException {
+
+        long start = System.nanoTime();
+        AtomicInteger fileCount = new AtomicInteger();
+        AtomicInteger failedFileCount = new AtomicInteger();
+        LongAdder byteCount = new LongAdder();
+        LongAdder wordCount = new LongAdder();
+        LongAdder misspellingCount = new LongAdder();
+        AtomicReference<RuntimeException> handlerFailure = new AtomicReference<>();
+
+        ThreadLocal<FileChecker> checkers = ThreadLocal.withInitial(this::createFileChecker);
+        Consumer<FileResult> reporter = result -> {
+            fileCount.incrementAndGet();
+            if (result.getError() != null) {
+                failedFileCount.incrementAndGet();
+            }
+            byteCount.add(result.getByteCount());
+            wordCount.add(result.getWordCount());
+            misspellingCount.add(result.getMisspellings().size());
+            try {
+                handler.accept(result);
+            } catch (RuntimeException re) {
+                handlerFailure.compareAndSet(null, re);
+            }
+        };
+
+        ThreadPoolExecutor executor = createExecutor();
+        try {
+            for (Path path : paths) {
+                if (Files.isDirectory(path)) {
+                    Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+                        @Override
+                        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                            if (attrs.isRegularFile() && FileChecker.isKnownFileType(file)) {
+                                executor.execute(() -> reporter.accept(checkers.get().check(file)));
+                            }
+                            return FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFileFailed(Path file, IOException ioe) {
+                            reporter.accept(new FileResult(file, ioe));
+                            return FileVisitResult.CONTINUE;
+                        }
+                    });
+                }
+                else {
+                    executor.execute(() -> reporter.accept(checkers.get().check(path)));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // Keep waiting
+            }
+        } catch (InterruptedException ie) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            InterruptedIOException iioe = new InterruptedIOException("Interrupted while spell checking");
+            iioe.initCause(ie);
+            throw iioe;
+        }
+
+        if (handlerFailure.get() != null) {
+            throw handlerFailure.get();
+        }
+        return new BatchSummary(fileCount.get(), failedFileCount.get(), byteCount.sum(),
+            wordCount.sum(), misspellingCount.sum(), System.nanoTime() - start);
+    }
+
+
+    private ThreadPoolExecutor createExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(threadCount, threadCount, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(threadCount * QUEUED_FILES_PER_THREAD),
+            r -> {
+                Thread t = new Thread(r, "BatchSpellChecker-" + threadNumber.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+
+    private FileChecker createFileChecker() {
+        SpellChecker sc = new SpellChecker(dictionary);
+        if (userDictionary != null) {
+            sc.setUserDictionary(userDictionary);
+        }
+        return new FileChecker(sc, charset, maxSuggestions);
+    }
+
+
+    /**
+     * Returns the encoding files are read in.
+     *
+     * @return The encoding.
+     * @see #setCharset(Charset)
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+
+    /**
+     * Returns the maximum number of suggestions reported for each
+     * misspelled word.
+     *
+     * @return The maximum number of suggestions.
+     * @see #setMaxSuggestions(int)
+     */
+    public int getMaxSuggestions() {
+        return maxSuggestions;
+    }
+
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return The number of threads.
+     * @see #setThreadCount(int)
+     */
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+
+    /**
+     * Returns the user dictionary, if any.
+     *
+     * @return The user dictionary, or <code>null</code> if there is none.
+     * @see #setUserDictionary(SpellDictionary)
+     */
+    public SpellDictionary getUserDictionary() {
+        return userDictionary;
+    }
+
+
+    /**
+     * Sets the encoding files are read in.  Malformed input is replaced
+     * rather than treated as an error.  The default is UTF-8.
+     *
+     * @param charset The encoding.
+     * @see #getCharset()
+     */
+    public void setCharset(Charset charset) {
+        if (charset == null) {
+            throw new IllegalArgumentException("charset cannot be null");
+        }
+        this.charset = charset;
+    }
+
+
+    /**
+     * Sets the maximum number of suggestions reported for each misspelled
+     * word.  Computing suggestions is by far the most expensive part of
+     * checking a misspelled word, so <code>0</code> makes checking texts
+     * with many errors much faster.
+     *
+     * @param maxSuggestions The maximum number of suggestions.
+     * @see #getMaxSuggestions()
+     */
+    public void setMaxSuggestions(int maxSuggestions) {
+        if (maxSuggestions < 0) {
+            throw new IllegalArgumentException("maxSuggestions cannot be negative: " + maxSuggestions);
+        }
+        this.maxSuggestions = maxSuggestions;
+    }
+
+
+    /**
+     * Sets the number of worker threads.  The default is the number of
+     * available processors.
+     *
+     * @param threadCount The number of threads.
+     * @see #getThreadCount()
+     */
+    public void setThreadCount(int threadCount) {
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("threadCount must be positive: " + threadCount);
+        }
+        this.threadCount = threadCount;
+    }
+
+
+    /**
+     * Sets a dictionary of additional words considered correct.
+     *
+     * @param userDictionary The user dictionary, or <code>null</code> for
+     *        none.
+     * @see #getUserDictionary()
+     */
+    public void setUserDictionary(SpellDictionary userDictionary) {
+        this.userDictionary = userDictionary;
+    }
+
+
+}
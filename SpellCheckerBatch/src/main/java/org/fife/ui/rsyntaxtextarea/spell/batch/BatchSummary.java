@@ -0,0 +1,129 @@
+/*
+ * 10/19/2026
+ *
+ * BatchSummary.java - Totals and throughput of a batch spell check.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.batch;
+
+
+/**
+ * Totals and throughput of a run of {@link BatchSpellChecker}.
+ *
+ * @version 1.0
+ */
+public final class BatchSummary {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+    private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    private final int fileCount;
+    private final int failedFileCount;
+    private final long byteCount;
+    private final long wordCount;
+    private final long misspellingCount;
+    private final long elapsedNanos;
+
+
+    BatchSummary(int fileCount, int failedFileCount, long byteCount, long wordCount,
+                 long misspellingCount, long elapsedNanos) {
+        this.fileCount = fileCount;
+        this.failedFileCount = failedFileCount;
+        this.byteCount = byteCount;
+        this.wordCount = wordCount;
+        this.misspellingCount = misspellingCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+
+    /**
+     * Returns the total size of the files checked, in bytes.
+     *
+     * @return The byte count.
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+
+
+    /**
+     * Returns the wall clock time the run took, in seconds.
+     *
+     * @return The elapsed time.
+     */
+    public double getElapsedSeconds() {
+        return elapsedNanos / NANOS_PER_SECOND;
+    }
+
+
+    /**
+     * Returns the number of files that could not be read.
+     *
+     * @return The failed file count.
+     */
+    public int getFailedFileCount() {
+        return failedFileCount;
+    }
+
+
+    /**
+     * Returns the number of files visited, including those that could not
+     * be read.
+     *
+     * @return The file count.
+     */
+    public int getFileCount() {
+        return fileCount;
+    }
+
+
+    /**
+     * Returns the throughput of the run, in megabytes of input per second.
+     *
+     * @return The throughput.
+     * @see #getWordsPerSecond()
+     */
+    public double getMegabytesPerSecond() {
+        return perSecond(byteCount / BYTES_PER_MEGABYTE);
+    }
+
+
+    /**
+     * Returns the number of misspelled words found.
+     *
+     * @return The misspelling count.
+     */
+    public long getMisspellingCount() {
+        return misspellingCount;
+    }
+
+
+    /**
+     * Returns the number of words checked.
+     *
+     * @return The word count.
+     */
+    public long getWordCount() {
+        return wordCount;
+    }
+
+
+    /**
+     * Returns the throughput of the run, in words checked per second.
+     *
+     * @return The throughput.
+     * @see #getMegabytesPerSecond()
+     */
+    public double getWordsPerSecond() {
+        return perSecond(wordCount);
+    }
+
+
+    private double perSecond(double amount) {
+        return elapsedNanos == 0 ? 0 : amount * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+
+}
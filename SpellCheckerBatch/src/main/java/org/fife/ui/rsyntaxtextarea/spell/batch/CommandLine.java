@@ -0,0 +1,140 @@
+/*
+ * 10/19/2026
+ *
+ * CommandLine.java - Argument handling shared by the command line tools.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.batch;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+
+import org.fife.com.swabunga.spell.engine.SpellDictionary;
+import org.fife.com.swabunga.spell.engine.SpellDictionaryHashMap;
+import org.fife.ui.rsyntaxtextarea.spell.SpellingParser;
+
+
+/**
+ * Argument handling shared by {@link SpellCheckRunner} and the spell check
+ * server, so that both accept the same dictionary options.
+ *
+ * @version 1.0
+ */
+public final class CommandLine {
+
+    /**
+     * Usage text for the dictionary options, each on its own line.
+     */
+    public static final String DICTIONARY_OPTIONS_USAGE =
+        "  --dictionary <zip>         The english_dic.zip file to load.\n" +
+        "  --british                  Use British rather than American English.\n" +
+        "  --no-programming           Do not accept programming words and acronyms.\n" +
+        "  --word-list <file>         A word list (one word per line) to use instead of --dictionary.\n" +
+        "  --user-dictionary <file>   Additional words to accept, one per line.\n";
+
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private CommandLine() {
+    }
+
+
+    /**
+     * Loads the main dictionary.
+     *
+     * @param zip The <code>english_dic.zip</code> file.  This is ignored if
+     *        <code>wordList</code> is not <code>null</code>.
+     * @param wordList A word list, or <code>null</code> to load
+     *        <code>zip</code>.
+     * @param american Whether to use American rather than British English.
+     * @param programming Whether to accept programming words and acronyms.
+     * @return The dictionary.
+     * @throws IOException If an IO error occurs.
+     * @see #loadWordList(File)
+     */
+    public static SpellDictionary loadDictionary(File zip, File wordList, boolean american,
+                                                 boolean programming) throws IOException {
+        if (wordList != null) {
+            return loadWordList(wordList);
+        }
+        return SpellingParser.createEnglishDictionary(zip, american, programming);
+    }
+
+
+    /**
+     * Loads a word list, one word per line.  The dictionary returned is
+     * not associated with the file, so the file is never written to.
+     *
+     * @param file The word list.
+     * @return The dictionary.
+     * @throws IOException If an IO error occurs.
+     */
+    public static SpellDictionary loadWordList(File file) throws IOException {
+        try (Reader r = new FileReader(file)) {
+            return new SpellDictionaryHashMap(r);
+        }
+    }
+
+
+    /**
+     * Parses the value of an option that takes a count.
+     *
+     * @param value The value.
+     * @param option The option, for the error message.
+     * @param min The smallest valid count.
+     * @return The count.
+     * @throws IllegalArgumentException If the value is not an integer, or
+     *         is less than <code>min</code>.
+     */
+    public static int parseCount(String value, String option, int min) {
+        try {
+            int count = Integer.parseInt(value);
+            if (count >= min) {
+                return count;
+            }
+        } catch (NumberFormatException nfe) {
+            // Fall through
+        }
+        throw new IllegalArgumentException("Invalid value for " + option + ": " + value);
+    }
+
+
+    /**
+     * Prints an error message followed by usage text.
+     *
+     * @param err The writer to print to.  This is flushed.
+     * @param message The error message.
+     * @param usage The usage text.
+     */
+    public static void printUsageError(PrintWriter err, String message, String usage) {
+        err.println(message);
+        err.println();
+        err.write(usage);
+        err.flush();
+    }
+
+
+    /**
+     * Returns the value of an option.
+     *
+     * @param args The command line arguments.
+     * @param index The index of the value.
+     * @param option The option, for the error message.
+     * @return The value.
+     * @throws IllegalArgumentException If there is no value.
+     */
+    public static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+
+
+}
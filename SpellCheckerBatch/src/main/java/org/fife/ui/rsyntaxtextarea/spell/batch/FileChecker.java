@@ -0,0 +1,410 @@
+/*
+ * 10/19/2026
+ *
+ * FileChecker.java - Spell checks one file at a time.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.batch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.swing.text.Segment;
+
+import org.fife.com.swabunga.spell.engine.Word;
+import org.fife.com.swabunga.spell.event.SpellCheckEvent;
+import org.fife.com.swabunga.spell.event.SpellCheckListener;
+import org.fife.com.swabunga.spell.event.ReaderWordTokenizer;
+import org.fife.com.swabunga.spell.event.SpellChecker;
+import org.fife.com.swabunga.spell.event.StringWordTokenizer;
+import org.fife.com.swabunga.spell.event.XMLWordFinder;
+import org.fife.ui.rsyntaxtextarea.SyntaxConstants;
+import org.fife.ui.rsyntaxtextarea.Token;
+import org.fife.ui.rsyntaxtextarea.TokenMaker;
+import org.fife.ui.rsyntaxtextarea.TokenMakerFactory;
+import org.fife.ui.rsyntaxtextarea.spell.DefaultSpellCheckableTokenIdentifier;
+import org.fife.ui.rsyntaxtextarea.spell.SpellCheckableTokenIdentifier;
+
+
+/**
+ * Spell checks one file at a time, streaming it line by line so that
+ * memory use does not depend on the file's size.  How a file is checked
+ * depends on its extension:
+ *
+ * <ul>
+ *     <li>Source files are tokenized line by line as
+ *         <code>RSyntaxTextArea</code> would, and only their comments are
+ *         checked, as with {@link DefaultSpellCheckableTokenIdentifier}.
+ *     <li>HTML and XML files are checked with an {@link XMLWordFinder},
+ *         so text inside tags is skipped.
+ *     <li>All other files are checked in their entirety.
+ * </ul>
+ *
+ * Plain text is streamed through a {@link ReaderWordTokenizer}, and markup
+ * is checked a paragraph at a time, so that sentence capitalization is
+ * detected as it is in an editor.<p>
+ *
+ * Instances are not thread safe; {@link BatchSpellChecker} uses one per
+ * worker thread.
+ *
+ * @version 1.0
+ */
+final class FileChecker implements SpellCheckListener {
+
+    /**
+     * Text blocks are checked once they are at least this long, at the
+     * end of a line that is not inside a tag.
+     */
+    private static final int MAX_BLOCK_LENGTH = 16 * 1024;
+
+    /**
+     * Text blocks are always checked once they are this long, even if the
+     * current line ends inside a tag.
+     */
+    private static final int HARD_MAX_BLOCK_LENGTH = 4 * MAX_BLOCK_LENGTH;
+
+    private static final Map<String, String> EXTENSION_STYLES = createExtensionStyles();
+
+    private final SpellChecker sc;
+    private final Charset charset;
+    private final int maxSuggestions;
+    private final int threshold;
+    private final SpellCheckableTokenIdentifier scti;
+    private final Map<String, TokenMaker> tokenMakers;
+    private final Segment segment;
+    private final StringBuilder block;
+
+    private Path file;
+    private ReaderWordTokenizer textTokenizer;
+    private List<Misspelling> misspellings;
+    private long wordCount;
+    private int[] lineStarts;
+    private int lineStartCount;
+    private int blockLine;
+    private int blockColumn;
+
+
+    /**
+     * Constructor.
+     *
+     * @param sc The spell checker to use.  This checker should not be used
+     *        for anything else.
+     * @param charset The encoding of the files to check.
+     * @param maxSuggestions The maximum number of suggestions to return for
+     *        each misspelled word.
+     */
+    FileChecker(SpellChecker sc, Charset charset, int maxSuggestions) {
+        this.sc = sc;
+        this.charset = charset;
+        this.maxSuggestions = maxSuggestions;
+        threshold = sc.getConfiguration().getSnapshot().getThreshold();
+        scti = new DefaultSpellCheckableTokenIdentifier();
+        tokenMakers = new HashMap<>();
+        segment = new Segment();
+        block = new StringBuilder();
+        lineStarts = new int[64];
+        sc.addSpellCheckListener(this);
+    }
+
+
+    private void addLine(String line) {
+        if (lineStartCount == lineStarts.length) {
+            lineStarts = Arrays.copyOf(lineStarts, lineStartCount * 2);
+        }
+        lineStarts[lineStartCount++] = block.length();
+        block.append(line).append('\n');
+    }
+
+
+    /**
+     * Spell checks a file.
+     *
+     * @param file The file to check.
+     * @return The result.  If the file cannot be read, the result contains
+     *         the error.
+     */
+    FileResult check(Path file) {
+
+        this.file = file;
+        misspellings = new ArrayList<>();
+        wordCount = 0;
+
+        try {
+            long byteCount = Files.size(file);
+            CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            try (BufferedReader r = new BufferedReader(new InputStreamReader(Files.newInputStream(file), decoder))) {
+                String style = getSyntaxStyle(file);
+                if (SyntaxConstants.SYNTAX_STYLE_NONE.equals(style)) {
+                    checkText(r);
+                }
+                else if (isMarkup(style)) {
+                    checkMarkup(r);
+                }
+                else {
+                    checkCode(r, style);
+                }
+            }
+            return new FileResult(file, misspellings, byteCount, wordCount);
+        } catch (IOException ioe) {
+            return new FileResult(file, ioe);
+        } catch (UncheckedIOException uioe) { // Thrown by ReaderWordTokenizer
+            return new FileResult(file, uioe.getCause());
+        } finally {
+            this.file = null;
+            misspellings = null;
+            textTokenizer = null;
+            block.setLength(0);
+            lineStartCount = 0;
+        }
+    }
+
+
+    /**
+     * Checks the markup collected so far, then clears it.
+     */
+    private void checkBlock() {
+        if (block.length() > 0) {
+            String text = block.toString();
+            blockColumn = 0;
+            checkString(text, true);
+            blockLine += lineStartCount;
+            block.setLength(0);
+            lineStartCount = 0;
+        }
+    }
+
+
+    /**
+     * Checks the comments in a source file.
+     */
+    private void checkCode(BufferedReader r, String style) throws IOException {
+
+        TokenMaker tm = tokenMakers.computeIfAbsent(style,
+            s -> TokenMakerFactory.getDefaultInstance().getTokenMaker(s));
+        int lastTokenType = Token.NULL;
+        int line = 0;
+
+        scti.begin();
+        try {
+            String text;
+            while ((text = r.readLine()) != null) {
+                segment.array = text.toCharArray();
+                segment.offset = 0;
+                segment.count = segment.array.length;
+                Token t = tm.getTokenList(segment, lastTokenType, 0);
+                for (; t != null && t.isPaintable(); t = t.getNextToken()) {
+                    if (scti.isSpellCheckable(t)) {
+                        blockLine = line;
+                        blockColumn = t.getOffset();
+                        lineStarts[0] = 0;
+                        lineStartCount = 1;
+                        checkString(t.getLexeme(), false);
+                    }
+                }
+                lastTokenType = tm.getLastTokenTypeOnLine(segment, lastTokenType);
+                line++;
+            }
+        } finally {
+            scti.end();
+        }
+    }
+
+
+    private void checkString(String text, boolean markup) {
+        StringWordTokenizer swt = markup ? new StringWordTokenizer(new XMLWordFinder(text)) :
+            new StringWordTokenizer(text);
+        sc.checkSpelling(swt);
+        wordCount += swt.getCurrentWordCount();
+    }
+
+
+    /**
+     * Checks a markup file a paragraph at a time.
+     */
+    private void checkMarkup(BufferedReader r) throws IOException {
+
+        blockLine = 0;
+        boolean inTag = false;
+
+        String line;
+        while ((line = r.readLine()) != null) {
+            addLine(line);
+            inTag = isInTag(line, inTag);
+            int length = block.length();
+            if ((!inTag && (line.trim().isEmpty() || length >= MAX_BLOCK_LENGTH)) ||
+                    length >= HARD_MAX_BLOCK_LENGTH) {
+                checkBlock();
+            }
+        }
+        checkBlock();
+    }
+
+
+    /**
+     * Checks a plain text file in a single pass.
+     */
+    private void checkText(BufferedReader r) {
+        textTokenizer = new ReaderWordTokenizer(r);
+        try {
+            sc.checkSpelling(textTokenizer);
+            wordCount += textTokenizer.getCurrentWordCount();
+        } finally {
+            textTokenizer = null;
+        }
+    }
+
+
+    private static Map<String, String> createExtensionStyles() {
+
+        Map<String, String> styles = new HashMap<>();
+        put(styles, SyntaxConstants.SYNTAX_STYLE_NONE, "txt", "text", "md", "markdown");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_HTML, "html", "htm", "xhtml");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_XML, "xml", "xsd", "svg");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_C, "c", "h");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_CPLUSPLUS, "cpp", "cc", "cxx", "hpp", "hh");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_CSHARP, "cs");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_CSS, "css");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_DART, "dart");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_GO, "go");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_GROOVY, "groovy", "gradle");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_JAVA, "java");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_JAVASCRIPT, "js", "mjs");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_KOTLIN, "kt", "kts");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_LUA, "lua");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_PERL, "pl", "pm");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_PROPERTIES_FILE, "properties");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_PYTHON, "py");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_RUBY, "rb");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_RUST, "rs");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_SCALA, "scala");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_SQL, "sql");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_TYPESCRIPT, "ts");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_UNIX_SHELL, "sh", "bash");
+        put(styles, SyntaxConstants.SYNTAX_STYLE_YAML, "yml", "yaml");
+        return styles;
+    }
+
+
+    /**
+     * Returns the syntax style used to check a file.
+     *
+     * @param file The file.
+     * @return The syntax style.  Files with unknown extensions are treated
+     *         as plain text.
+     * @see #isKnownFileType(Path)
+     */
+    static String getSyntaxStyle(Path file) {
+        String style = EXTENSION_STYLES.get(getExtension(file));
+        return style != null ? style : SyntaxConstants.SYNTAX_STYLE_NONE;
+    }
+
+
+    private static String getExtension(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot == -1 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+
+    /**
+     * Returns whether the scanner for a line's text is inside a tag at the
+     * end of the line.
+     *
+     * @param line The line.
+     * @param inTag Whether the line starts inside a tag.
+     * @return Whether the line ends inside a tag.
+     */
+    private static boolean isInTag(String line, boolean inTag) {
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (ch == '<') {
+                inTag = true;
+            }
+            else if (ch == '>') {
+                inTag = false;
+            }
+        }
+        return inTag;
+    }
+
+
+    /**
+     * Returns whether a file has an extension this class recognizes.
+     * Directories are only searched for files of these types.
+     *
+     * @param file The file.
+     * @return Whether the file's type is known.
+     * @see #getSyntaxStyle(Path)
+     */
+    static boolean isKnownFileType(Path file) {
+        return EXTENSION_STYLES.containsKey(getExtension(file));
+    }
+
+
+    private static boolean isMarkup(String style) {
+        return SyntaxConstants.SYNTAX_STYLE_HTML.equals(style) ||
+            SyntaxConstants.SYNTAX_STYLE_XML.equals(style);
+    }
+
+
+    private static void put(Map<String, String> styles, String style, String... extensions) {
+        for (String extension : extensions) {
+            styles.put(extension, style);
+        }
+    }
+
+
+    @Override
+    public boolean spellingError(SpellCheckEvent e) {
+
+        long line;
+        long column;
+        if (textTokenizer != null) {
+            line = textTokenizer.getCurrentWordLine();
+            column = textTokenizer.getCurrentWordColumn() + e.getWordContextOffset() -
+                textTokenizer.getCurrentWordOffset();
+        }
+        else {
+            int pos = e.getWordContextPosition();
+            int index = Arrays.binarySearch(lineStarts, 0, lineStartCount, pos);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            line = blockLine + index;
+            column = pos - lineStarts[index] + (index == 0 ? blockColumn : 0);
+        }
+
+        String word = e.getInvalidWord();
+        List<String> suggestions = new ArrayList<>();
+        if (maxSuggestions > 0) {
+            for (Word suggestion : sc.getSuggestions(word, threshold, maxSuggestions)) {
+                suggestions.add(suggestion.getWord());
+            }
+        }
+        misspellings.add(new Misspelling(file, toInt(line + 1), toInt(column + 1), word, suggestions));
+        return false;
+    }
+
+
+    private static int toInt(long value) {
+        return (int)Math.min(value, Integer.MAX_VALUE);
+    }
+
+
+}
@@ -0,0 +1,114 @@
+/*
+ * 10/19/2026
+ *
+ * FileResult.java - The result of spell checking a single file.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.batch;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * The result of spell checking a single file.
+ *
+ * @version 1.0
+ */
+public final class FileResult {
+
+    private final Path file;
+    private final List<Misspelling> misspellings;
+    private final long byteCount;
+    private final long wordCount;
+    private final IOException error;
+
+
+    /**
+     * Constructor for a file that was checked.
+     *
+     * @param file The file.
+     * @param misspellings The misspelled words, in the order they appear.
+     * @param byteCount The size of the file, in bytes.
+     * @param wordCount The number of words checked.
+     */
+    FileResult(Path file, List<Misspelling> misspellings, long byteCount, long wordCount) {
+        this.file = file;
+        this.misspellings = Collections.unmodifiableList(misspellings);
+        this.byteCount = byteCount;
+        this.wordCount = wordCount;
+        this.error = null;
+    }
+
+
+    /**
+     * Constructor for a file that could not be checked.
+     *
+     * @param file The file.
+     * @param error The error that occurred.
+     */
+    FileResult(Path file, IOException error) {
+        this.file = file;
+        this.misspellings = Collections.emptyList();
+        this.byteCount = 0;
+        this.wordCount = 0;
+        this.error = error;
+    }
+
+
+    /**
+     * Returns the number of bytes read from the file.
+     *
+     * @return The byte count.
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+
+
+    /**
+     * Returns the error that kept the file from being checked, if any.
+     *
+     * @return The error, or <code>null</code> if the file was checked.
+     */
+    public IOException getError() {
+        return error;
+    }
+
+
+    /**
+     * Returns the file.
+     *
+     * @return The file.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+
+    /**
+     * Returns the misspelled words in the file, in the order they appear.
+     *
+     * @return The misspelled words.  This is empty if the file could not
+     *         be read.
+     */
+    public List<Misspelling> getMisspellings() {
+        return misspellings;
+    }
+
+
+    /**
+     * Returns the number of words checked in the file.
+     *
+     * @return The word count.
+     */
+    public long getWordCount() {
+        return wordCount;
+    }
+
+
+}
@@ -0,0 +1,156 @@
+/*
+ * 10/19/2026
+ *
+ * JsonLinesWriter.java - Writes batch spell check results as JSON lines.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.batch;
+
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+
+/**
+ * Writes batch spell check results as JSON lines: one JSON object per line,
+ * each with a <code>type</code> property.
+ *
+ * <ul>
+ *     <li><code>misspelling</code> objects have <code>file</code>,
+ *         <code>line</code>, <code>column</code>, <code>word</code> and
+ *         <code>suggestions</code> properties.  Lines and columns are
+ *         1-based.
+ *     <li><code>fileError</code> objects have <code>file</code> and
+ *         <code>message</code> properties.
+ *     <li><code>summary</code> objects have <code>files</code>,
+ *         <code>failedFiles</code>, <code>bytes</code>, <code>words</code>,
+ *         <code>misspellings</code>, <code>seconds</code>,
+ *         <code>mbPerSecond</code> and <code>wordsPerSecond</code>
+ *         properties.
+ * </ul>
+ *
+ * The results for a file are always written together, even when files are
+ * checked concurrently.
+ *
+ * @version 1.0
+ */
+public class JsonLinesWriter implements Consumer<FileResult> {
+
+    private final PrintWriter out;
+    private final StringBuilder sb;
+
+
+    /**
+     * Constructor.
+     *
+     * @param out The writer to write to.  This is flushed after each file,
+     *        but not closed.
+     */
+    public JsonLinesWriter(PrintWriter out) {
+        this.out = out;
+        sb = new StringBuilder();
+    }
+
+
+    /**
+     * Writes the results for a file.
+     *
+     * @param result The result.
+     */
+    @Override
+    public synchronized void accept(FileResult result) {
+
+        sb.setLength(0);
+        String file = result.getFile().toString();
+
+        if (result.getError() != null) {
+            sb.append("{\"type\":\"fileError\",\"file\":");
+            appendString(sb, file);
+            sb.append(",\"message\":");
+            appendString(sb, String.valueOf(result.getError()));
+            sb.append("}\n");
+        }
+
+        for (Misspelling m : result.getMisspellings()) {
+            sb.append("{\"type\":\"misspelling\",\"file\":");
+            appendString(sb, file);
+            sb.append(",\"line\":").append(m.getLine());
+            sb.append(",\"column\":").append(m.getColumn());
+            sb.append(",\"word\":");
+            appendString(sb, m.getWord());
+            sb.append(",\"suggestions\":[");
+            List<String> suggestions = m.getSuggestions();
+            for (int i = 0; i < suggestions.size(); i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                appendString(sb, suggestions.get(i));
+            }
+            sb.append("]}\n");
+        }
+
+        if (sb.length() > 0) {
+            out.write(sb.toString());
+            out.flush();
+        }
+    }
+
+
+    /**
+     * Appends a string as a JSON string literal.
+     *
+     * @param sb The buffer to append to.
+     * @param s The string.
+     */
+    public static void appendString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            switch (ch) {
+                case '"':
+                case '\\':
+                    sb.append('\\').append(ch);
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (ch < 0x20) {
+                        sb.append(String.format("\\u%04x", (int)ch));
+                    }
+                    else {
+                        sb.append(ch);
+                    }
+                    break;
+            }
+        }
+        sb.append('"');
+    }
+
+
+    /**
+     * Writes the summary of a run.
+     *
+     * @param summary The summary.
+     */
+    public synchronized void writeSummary(BatchSummary summary) {
+        out.write(String.format(Locale.ROOT,
+            "{\"type\":\"summary\",\"files\":%d,\"failedFiles\":%d,\"bytes\":%d,\"words\":%d," +
+                "\"misspellings\":%d,\"seconds\":%.3f,\"mbPerSecond\":%.3f,\"wordsPerSecond\":%.1f}\n",
+            summary.getFileCount(), summary.getFailedFileCount(), summary.getByteCount(),
+            summary.getWordCount(), summary.getMisspellingCount(), summary.getElapsedSeconds(),
+            summary.getMegabytesPerSecond(), summary.getWordsPerSecond()));
+        out.flush();
+    }
+
+
+}
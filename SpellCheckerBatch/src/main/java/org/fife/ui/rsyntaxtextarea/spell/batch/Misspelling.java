@@ -0,0 +1,106 @@
+/*
+ * 10/19/2026
+ *
+ * Misspelling.java - A misspelled word found in a file.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.batch;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * A misspelled word found in a file.
+ *
+ * @version 1.0
+ */
+public final class Misspelling {
+
+    private final Path file;
+    private final int line;
+    private final int column;
+    private final String word;
+    private final List<String> suggestions;
+
+
+    /**
+     * Constructor.
+     *
+     * @param file The file containing the word.
+     * @param line The 1-based line of the word.
+     * @param column The 1-based column of the word's first character.
+     * @param word The misspelled word.
+     * @param suggestions Suggested replacements, best first.  This may be
+     *        empty but not <code>null</code>.
+     */
+    public Misspelling(Path file, int line, int column, String word, List<String> suggestions) {
+        this.file = file;
+        this.line = line;
+        this.column = column;
+        this.word = word;
+        this.suggestions = Collections.unmodifiableList(suggestions);
+    }
+
+
+    /**
+     * Returns the 1-based column of the word's first character.
+     *
+     * @return The column.
+     */
+    public int getColumn() {
+        return column;
+    }
+
+
+    /**
+     * Returns the file containing the word.
+     *
+     * @return The file.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+
+    /**
+     * Returns the 1-based line of the word.
+     *
+     * @return The line.
+     */
+    public int getLine() {
+        return line;
+    }
+
+
+    /**
+     * Returns suggested replacements for the word, best first.
+     *
+     * @return The suggestions.  This may be empty, but is never
+     *         <code>null</code>.
+     */
+    public List<String> getSuggestions() {
+        return suggestions;
+    }
+
+
+    /**
+     * Returns the misspelled word.
+     *
+     * @return The word.
+     */
+    public String getWord() {
+        return word;
+    }
+
+
+    @Override
+    public String toString() {
+        return file + ":" + line + ":" + column + ": " + word;
+    }
+
+
+}
@@ -0,0 +1,186 @@
+/*
+ * 10/19/2026
+ *
+ * SpellCheckRunner.java - Command line entry point for batch spell checking.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Command line entry point for spell checking files without a UI.  Results
+ * are written to standard output as described in {@link JsonLinesWriter}.
+ * Run with <code>--help</code> for usage.<p>
+ *
+ * The exit code is {@link #EXIT_OK} if no misspellings are found,
+ * {@link #EXIT_MISSPELLINGS} if any are, and {@link #EXIT_USAGE} if the
+ * arguments are invalid or a dictionary cannot be loaded.
+ *
+ * @version 1.0
+ */
+public final class SpellCheckRunner {
+
+    /**
+     * The exit code when no misspellings are found.
+     */
+    public static final int EXIT_OK = 0;
+
+    /**
+     * The exit code when misspellings are found.
+     */
+    public static final int EXIT_MISSPELLINGS = 1;
+
+    /**
+     * The exit code when the arguments are invalid or a dictionary cannot
+     * be loaded.
+     */
+    public static final int EXIT_USAGE = 2;
+
+    private static final String USAGE =
+        "Usage: java -jar spellcheckerbatch.jar [options] <file-or-directory>...\n" +
+        "\n" +
+        "Options:\n" +
+        CommandLine.DICTIONARY_OPTIONS_USAGE +
+        "  --threads <n>              The number of worker threads.  Default: available processors.\n" +
+        "  --suggestions <n>          Suggestions reported per misspelling.  Default: " +
+            BatchSpellChecker.DEFAULT_MAX_SUGGESTIONS + ".\n" +
+        "  --encoding <charset>       The encoding of the files.  Default: UTF-8.\n" +
+        "  --help                     Show this message.\n";
+
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private SpellCheckRunner() {
+    }
+
+
+    /**
+     * Program entry point.
+     *
+     * @param args Command line arguments.
+     */
+    public static void main(String[] args) {
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        PrintWriter err = new PrintWriter(new OutputStreamWriter(System.err, Charset.defaultCharset()));
+        System.exit(run(args, out, err));
+    }
+
+
+    /**
+     * Runs a batch spell check.
+     *
+     * @param args Command line arguments.
+     * @param out Receives the results.
+     * @param err Receives usage and error messages.
+     * @return The exit code.
+     */
+    static int run(String[] args, PrintWriter out, PrintWriter err) {
+
+        File zip = null;
+        File wordList = null;
+        File userDictionary = null;
+        boolean american = true;
+        boolean programming = true;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int suggestions = BatchSpellChecker.DEFAULT_MAX_SUGGESTIONS;
+        Charset charset = StandardCharsets.UTF_8;
+        List<Path> paths = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "--dictionary":
+                        zip = new File(CommandLine.value(args, ++i, arg));
+                        break;
+                    case "--british":
+                        american = false;
+                        break;
+                    case "--no-programming":
+                        programming = false;
+                        break;
+                    case "--word-list":
+                        wordList = new File(CommandLine.value(args, ++i, arg));
+                        break;
+                    case "--user-dictionary":
+                        userDictionary = new File(CommandLine.value(args, ++i, arg));
+                        break;
+                    case "--threads":
+                        threads = CommandLine.parseCount(CommandLine.value(args, ++i, arg), arg, 1);
+                        break;
+                    case "--suggestions":
+                        suggestions = CommandLine.parseCount(CommandLine.value(args, ++i, arg), arg, 0);
+                        break;
+                    case "--encoding":
+                        charset = Charset.forName(CommandLine.value(args, ++i, arg));
+                        break;
+                    case "--help":
+                        out.write(USAGE);
+                        out.flush();
+                        return EXIT_OK;
+                    default:
+                        if (arg.startsWith("--")) {
+                            throw new IllegalArgumentException("Unknown option: " + arg);
+                        }
+                        paths.add(Paths.get(arg));
+                        break;
+                }
+            }
+            if (zip == null && wordList == null) {
+                throw new IllegalArgumentException("Either --dictionary or --word-list is required");
+            }
+            if (paths.isEmpty()) {
+                throw new IllegalArgumentException("No files to check");
+            }
+        } catch (IllegalArgumentException iae) { // Includes unsupported charsets
+            return usageError(err, iae.getMessage());
+        }
+
+        BatchSpellChecker checker;
+        try {
+            checker = new BatchSpellChecker(CommandLine.loadDictionary(zip, wordList, american, programming));
+            if (userDictionary != null) {
+                checker.setUserDictionary(CommandLine.loadWordList(userDictionary));
+            }
+        } catch (IOException ioe) {
+            return usageError(err, "Cannot load dictionary: " + ioe);
+        }
+        checker.setThreadCount(threads);
+        checker.setMaxSuggestions(suggestions);
+        checker.setCharset(charset);
+
+        JsonLinesWriter writer = new JsonLinesWriter(out);
+        BatchSummary summary;
+        try {
+            summary = checker.check(paths, writer);
+        } catch (IOException ioe) { // Interrupted
+            err.println(ioe);
+            err.flush();
+            return EXIT_USAGE;
+        }
+        writer.writeSummary(summary);
+        return summary.getMisspellingCount() > 0 ? EXIT_MISSPELLINGS : EXIT_OK;
+    }
+
+
+    private static int usageError(PrintWriter err, String message) {
+        CommandLine.printUsageError(err, message, USAGE);
+        return EXIT_USAGE;
+    }
+
+
+}
@@ -0,0 +1,8 @@
+/*
+ * This library is distributed under a modified BSD license.  See the included
+ * LICENSE.md file for details.
+ */
+/**
+ * A headless, command line spell checker for files and directory trees.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.batch;
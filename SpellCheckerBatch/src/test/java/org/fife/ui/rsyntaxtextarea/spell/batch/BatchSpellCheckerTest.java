@@ -0,0 +1,164 @@
+package org.fife.ui.rsyntaxtextarea.spell.batch;
+
+import org.fife.com.swabunga.spell.engine.SpellDictionaryHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link BatchSpellChecker}.
+ */
+class BatchSpellCheckerTest {
+
+    private static final String WORDS = "this\nis\na\ngood\nsentence\nanother\none\nline\nhello\nworld\n" +
+        "text\ncomment\nbody\nclass\nfoo\n";
+
+    @TempDir
+    Path dir;
+
+    private BatchSpellChecker checker;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        checker = new BatchSpellChecker(new SpellDictionaryHashMap(new StringReader(WORDS)));
+        checker.setThreadCount(2);
+    }
+
+    private List<FileResult> check(Path... paths) throws IOException {
+        List<FileResult> results = Collections.synchronizedList(new ArrayList<>());
+        checker.check(Arrays.asList(paths), results::add);
+        List<FileResult> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparing(FileResult::getFile));
+        return sorted;
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path file = dir.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    void testCheck_plainText_lineAndColumn() throws IOException {
+
+        Path file = write("test.txt", "This is a good sentence.\n\nAnother one iz\n  good.  Hello wurld\n");
+
+        List<FileResult> results = check(file);
+        assertEquals(1, results.size());
+        FileResult result = results.get(0);
+        assertNull(result.getError());
+        assertEquals(Files.size(file), result.getByteCount());
+        assertEquals(11, result.getWordCount());
+
+        List<Misspelling> misspellings = result.getMisspellings();
+        assertEquals(2, misspellings.size());
+        assertEquals("iz", misspellings.get(0).getWord());
+        assertEquals(3, misspellings.get(0).getLine());
+        assertEquals(13, misspellings.get(0).getColumn());
+        assertEquals("wurld", misspellings.get(1).getWord());
+        assertEquals(4, misspellings.get(1).getLine());
+        assertEquals(16, misspellings.get(1).getColumn());
+        assertTrue(misspellings.get(1).getSuggestions().contains("world"));
+    }
+
+    @Test
+    void testCheck_markup_tagsSkipped() throws IOException {
+
+        Path file = write("test.html", "<html lang=\"zzqq\">\n<body class=\"xxyy\"\n  id=\"qqww\">Hello wurld\n" +
+            "</body></html>\n");
+
+        List<Misspelling> misspellings = check(file).get(0).getMisspellings();
+        assertEquals(1, misspellings.size());
+        assertEquals("wurld", misspellings.get(0).getWord());
+        assertEquals(3, misspellings.get(0).getLine());
+        assertEquals(19, misspellings.get(0).getColumn());
+    }
+
+    @Test
+    void testCheck_code_onlyCommentsChecked() throws IOException {
+
+        Path file = write("Test.java", "public class Fooo {\n    /*\n     * Hello wurld\n     */\n" +
+            "    int baar; // comment tezt\n}\n");
+
+        List<Misspelling> misspellings = check(file).get(0).getMisspellings();
+        assertEquals(2, misspellings.size());
+        assertEquals("wurld", misspellings.get(0).getWord());
+        assertEquals(3, misspellings.get(0).getLine());
+        assertEquals(14, misspellings.get(0).getColumn());
+        assertEquals("tezt", misspellings.get(1).getWord());
+        assertEquals(5, misspellings.get(1).getLine());
+        assertEquals(26, misspellings.get(1).getColumn());
+    }
+
+    @Test
+    void testCheck_directory_onlyKnownFileTypes() throws IOException {
+
+        write("a/one.txt", "Hello wurld\n");
+        write("a/b/two.md", "Hello world\n");
+        write("a/b/three.bin", "Hello wurld\n");
+        Path unknown = write("four.bin", "Hello wurld\n");
+
+        List<FileResult> results = check(dir.resolve("a"), unknown);
+        assertEquals(3, results.size());
+        assertEquals(dir.resolve("a/b/two.md"), results.get(0).getFile());
+        assertEquals(0, results.get(0).getMisspellings().size());
+        assertEquals(dir.resolve("a/one.txt"), results.get(1).getFile());
+        assertEquals(1, results.get(1).getMisspellings().size());
+        assertEquals(unknown, results.get(2).getFile());
+        assertEquals(1, results.get(2).getMisspellings().size());
+    }
+
+    @Test
+    void testCheck_missingFile() throws IOException {
+        Path missing = dir.resolve("missing.txt");
+        List<FileResult> results = new ArrayList<>();
+        BatchSummary summary = checker.check(Collections.singletonList(missing), results::add);
+        assertEquals(1, results.size());
+        assertNotNull(results.get(0).getError());
+        assertEquals(1, summary.getFileCount());
+        assertEquals(1, summary.getFailedFileCount());
+    }
+
+    @Test
+    void testCheck_manyFiles_summary() throws IOException {
+
+        checker.setThreadCount(3);
+        checker.setMaxSuggestions(0);
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            files.add(write("file" + i + ".txt", "Hello wurld, another line " + i + "\n"));
+        }
+
+        Map<Path, FileResult> results = new ConcurrentHashMap<>();
+        BatchSummary summary = checker.check(files, r -> results.put(r.getFile(), r));
+        assertEquals(50, results.size());
+        assertEquals(50, summary.getFileCount());
+        assertEquals(0, summary.getFailedFileCount());
+        assertEquals(50, summary.getMisspellingCount());
+        assertEquals(250, summary.getWordCount());
+        for (FileResult result : results.values()) {
+            assertTrue(result.getMisspellings().get(0).getSuggestions().isEmpty());
+        }
+    }
+
+    @Test
+    void testSetThreadCount_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> checker.setThreadCount(0));
+    }
+}
@@ -0,0 +1,58 @@
+package org.fife.ui.rsyntaxtextarea.spell.batch;
+
+import org.fife.com.swabunga.spell.engine.SpellDictionary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CommandLine}.
+ */
+class CommandLineTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testLoadWordList_fileNotModified() throws IOException {
+
+        Path file = dir.resolve("words.txt");
+        byte[] content = "hello\nworld\nhello\n".getBytes(StandardCharsets.UTF_8);
+        Files.write(file, content);
+
+        SpellDictionary dict = CommandLine.loadWordList(file.toFile());
+        assertTrue(dict.isCorrect("world"));
+        dict.addWord("foobar");
+
+        assertArrayEquals(content, Files.readAllBytes(file));
+    }
+
+    @Test
+    void testParseCount() {
+        assertEquals(3, CommandLine.parseCount("3", "--threads", 1));
+        assertThrows(IllegalArgumentException.class, () -> CommandLine.parseCount("0", "--threads", 1));
+        assertThrows(IllegalArgumentException.class, () -> CommandLine.parseCount("x", "--threads", 1));
+    }
+
+    @Test
+    void testPrintUsageError() {
+        StringWriter err = new StringWriter();
+        CommandLine.printUsageError(new PrintWriter(err), "Bad", "Usage\n");
+        assertEquals("Bad" + System.lineSeparator() + System.lineSeparator() + "Usage\n", err.toString());
+    }
+
+    @Test
+    void testValue() {
+        String[] args = { "--threads", "2" };
+        assertEquals("2", CommandLine.value(args, 1, "--threads"));
+        assertThrows(IllegalArgumentException.class, () -> CommandLine.value(args, 2, "--threads"));
+    }
+}
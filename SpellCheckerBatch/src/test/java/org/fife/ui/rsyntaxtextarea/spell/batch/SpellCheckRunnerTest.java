@@ -0,0 +1,88 @@
+package org.fife.ui.rsyntaxtextarea.spell.batch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SpellCheckRunner}.
+ */
+class SpellCheckRunnerTest {
+
+    @TempDir
+    Path dir;
+
+    private final StringWriter out = new StringWriter();
+    private final StringWriter err = new StringWriter();
+
+    private int run(String... args) {
+        return SpellCheckRunner.run(args, new PrintWriter(out), new PrintWriter(err));
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path file = dir.resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    void testRun_misspellings() throws IOException {
+
+        Path words = write("words.txt", "hello\nworld\n");
+        Path file = write("te\"st.txt", "Hello wurld\n");
+
+        int exitCode = run("--word-list", words.toString(), "--threads", "1", file.toString());
+        assertEquals(SpellCheckRunner.EXIT_MISSPELLINGS, exitCode);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        String escapedFile = file.toString().replace("\\", "\\\\").replace("\"", "\\\"");
+        assertEquals("{\"type\":\"misspelling\",\"file\":\"" + escapedFile + "\",\"line\":1,\"column\":7," +
+            "\"word\":\"wurld\",\"suggestions\":[\"world\"]}", lines[0]);
+        assertTrue(lines[1].startsWith("{\"type\":\"summary\",\"files\":1,\"failedFiles\":0,\"bytes\":12," +
+            "\"words\":2,\"misspellings\":1,\"seconds\":"), lines[1]);
+        assertTrue(lines[1].contains("\"mbPerSecond\":"));
+        assertTrue(lines[1].contains("\"wordsPerSecond\":"));
+    }
+
+    @Test
+    void testRun_noMisspellings() throws IOException {
+        Path words = write("words.txt", "hello\nworld\n");
+        Path file = write("test.txt", "Hello world\n");
+        assertEquals(SpellCheckRunner.EXIT_OK, run("--word-list", words.toString(), file.toString()));
+    }
+
+    @Test
+    void testRun_missingFile() throws IOException {
+        Path words = write("words.txt", "hello\nworld\n");
+        int exitCode = run("--word-list", words.toString(), dir.resolve("missing.txt").toString());
+        assertEquals(SpellCheckRunner.EXIT_OK, exitCode);
+        assertTrue(out.toString().startsWith("{\"type\":\"fileError\","));
+    }
+
+    @Test
+    void testRun_noDictionary() {
+        assertEquals(SpellCheckRunner.EXIT_USAGE, run("foo.txt"));
+        assertTrue(err.toString().contains("Usage:"));
+    }
+
+    @Test
+    void testRun_invalidOption() {
+        assertEquals(SpellCheckRunner.EXIT_USAGE, run("--word-list", "words.txt", "--threads", "0", "foo.txt"));
+        assertTrue(err.toString().startsWith("Invalid value for --threads: 0"));
+    }
+
+    @Test
+    void testRun_help() {
+        assertEquals(SpellCheckRunner.EXIT_OK, run("--help"));
+        assertTrue(out.toString().startsWith("Usage:"));
+    }
+}
@@ -178,6 +178,19 @@ public class DemoRootPane extends JRootPane implements HyperlinkListener,
 	}
 
 
+	/**
+	 * Disposes of the spell checker, releasing its shared dictionary.
+	 */
+	@Override
+	public void removeNotify() {
+		super.removeNotify();
+		if (parser != null) {
+			parser.dispose();
+			parser = null;
+		}
+	}
+
+
 	private class AboutAction extends AbstractAction {
 
 		AboutAction() {
@@ -0,0 +1,70 @@
+/*
+ * 10/19/2026
+ *
+ * CountersEvent.java - Periodic JFR event with the spell checker's counters.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * The spell checker's counters, emitted once per period.  Each value is
+ * the amount counted since the previous event.
+ *
+ * @version 1.0
+ * @see JfrSpellCheckMetrics
+ */
+@Name(CountersEvent.NAME)
+@Label("Spell Check Counters")
+@Description("Words checked, misspellings, dictionary reads and cache lookups since the previous event")
+@Category(JfrSpellCheckMetrics.CATEGORY)
+@Period("1 s")
+@StackTrace(false)
+class CountersEvent extends jdk.jfr.Event {
+
+    static final String NAME = "org.fife.spell.Counters";
+
+    @Label("Words Checked")
+    long wordsChecked;
+
+    @Label("Misspellings")
+    long misspellings;
+
+    @Label("Near-Miss Codes")
+    @Description("Near-miss phonetic codes generated while looking for suggestions")
+    long nearMissCodes;
+
+    @Label("Dictionary Bytes Read")
+    @DataAmount(DataAmount.BYTES)
+    long dictionaryBytesRead;
+
+    @Label("Suggestion Cache Hits")
+    long suggestionCacheHits;
+
+    @Label("Suggestion Cache Misses")
+    long suggestionCacheMisses;
+
+    @Label("Code Cache Hits")
+    long codeCacheHits;
+
+    @Label("Code Cache Misses")
+    long codeCacheMisses;
+
+    @Label("Word Cache Hits")
+    long wordCacheHits;
+
+    @Label("Word Cache Misses")
+    long wordCacheMisses;
+
+
+}
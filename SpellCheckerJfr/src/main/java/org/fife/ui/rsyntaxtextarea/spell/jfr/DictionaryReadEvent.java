@@ -0,0 +1,59 @@
+/*
+ * 10/19/2026
+ *
+ * DictionaryReadEvent.java - JFR event for a disk dictionary read.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import org.fife.com.swabunga.spell.engine.SpellCheckMetrics;
+
+
+/**
+ * A disk-based dictionary reading the words for a phonetic code.  Disabled
+ * by default, since it is emitted for every code looked up.
+ *
+ * @version 1.0
+ * @see JfrSpellCheckMetrics
+ */
+@Name(DictionaryReadEvent.NAME)
+@Label("Dictionary Read")
+@Description("A disk-based dictionary reading the words for a phonetic code")
+@Category(JfrSpellCheckMetrics.CATEGORY)
+@Enabled(false)
+@StackTrace(false)
+class DictionaryReadEvent extends jdk.jfr.Event implements SpellCheckMetrics.DictionaryReadTrace {
+
+    static final String NAME = "org.fife.spell.DictionaryRead";
+
+    @Label("Phonetic Code")
+    String code;
+
+    @Label("Bytes Read")
+    @DataAmount(DataAmount.BYTES)
+    long bytesRead;
+
+    @Label("Seeks")
+    int seekCount;
+
+
+    @Override
+    public void finish(String code, long bytesRead, int seekCount) {
+        this.code = code;
+        this.bytesRead = bytesRead;
+        this.seekCount = seekCount;
+        commit();
+    }
+
+
+}
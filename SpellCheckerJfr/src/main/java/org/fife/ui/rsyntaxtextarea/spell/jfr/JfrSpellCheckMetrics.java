@@ -0,0 +1,187 @@
+/*
+ * 10/19/2026
+ *
+ * JfrSpellCheckMetrics.java - Records spell checker metrics as JFR events.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.jfr;
+
+import java.io.Closeable;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+
+import org.fife.com.swabunga.spell.engine.SpellCheckMetrics;
+
+
+/**
+ * Records the spell checker's metrics in Java Flight Recorder recordings,
+ * for profiling in production.  Counters and timers are aggregated in
+ * memory, and emitted once a second as <code>org.fife.spell.Counters</code>
+ * and <code>org.fife.spell.Timer</code> events while a recording with those
+ * events enabled is running.<p>
+ *
+ * Individual parse passes, suggestion lookups and disk dictionary reads are
+ * emitted as <code>org.fife.spell.Parse</code>,
+ * <code>org.fife.spell.Suggestions</code> and
+ * <code>org.fife.spell.DictionaryRead</code> events.  These are disabled by
+ * default, and are cheap unless a recording enables them.<p>
+ *
+ * Install an instance with
+ * {@link SpellCheckMetrics#set(SpellCheckMetrics)}, or without changing the
+ * application, with
+ * <code>-Djazzy.metrics=org.fife.ui.rsyntaxtextarea.spell.jfr.JfrSpellCheckMetrics</code>.
+ *
+ * @version 1.0
+ */
+public class JfrSpellCheckMetrics extends SpellCheckMetrics implements Closeable {
+
+    /**
+     * The category of the events in JDK Mission Control.
+     */
+    static final String CATEGORY = "Spell Checker";
+
+    private final LongAdder[] counts;
+    private final LongAdder[] timerCounts;
+    private final LongAdder[] timerTotals;
+    private final LongAccumulator[] timerMaximums;
+    private final Runnable countersHook;
+    private final Runnable timersHook;
+
+
+    /**
+     * Constructor.  Call {@link #close()} when the instance is no longer
+     * needed.
+     */
+    public JfrSpellCheckMetrics() {
+        counts = new LongAdder[Counter.values().length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+        int timerCount = Timer.values().length;
+        timerCounts = new LongAdder[timerCount];
+        timerTotals = new LongAdder[timerCount];
+        timerMaximums = new LongAccumulator[timerCount];
+        for (int i = 0; i < timerCount; i++) {
+            timerCounts[i] = new LongAdder();
+            timerTotals[i] = new LongAdder();
+            timerMaximums[i] = new LongAccumulator(Math::max, 0);
+        }
+        countersHook = this::emitCounters;
+        timersHook = this::emitTimers;
+        FlightRecorder.addPeriodicEvent(CountersEvent.class, countersHook);
+        FlightRecorder.addPeriodicEvent(TimerEvent.class, timersHook);
+    }
+
+
+    /**
+     * Stops emitting events.
+     */
+    @Override
+    public void close() {
+        FlightRecorder.removePeriodicEvent(countersHook);
+        FlightRecorder.removePeriodicEvent(timersHook);
+    }
+
+
+    private long drain(Counter counter) {
+        return counts[counter.ordinal()].sumThenReset();
+    }
+
+
+    /**
+     * Emits the counts since the previous call.
+     */
+    private void emitCounters() {
+        CountersEvent e = new CountersEvent();
+        e.wordsChecked = drain(Counter.WORDS_CHECKED);
+        e.misspellings = drain(Counter.MISSPELLINGS);
+        e.nearMissCodes = drain(Counter.NEAR_MISS_CODES);
+        e.dictionaryBytesRead = drain(Counter.DICTIONARY_BYTES_READ);
+        e.suggestionCacheHits = drain(Counter.SUGGESTION_CACHE_HITS);
+        e.suggestionCacheMisses = drain(Counter.SUGGESTION_CACHE_MISSES);
+        e.codeCacheHits = drain(Counter.CODE_CACHE_HITS);
+        e.codeCacheMisses = drain(Counter.CODE_CACHE_MISSES);
+        e.wordCacheHits = drain(Counter.WORD_CACHE_HITS);
+        e.wordCacheMisses = drain(Counter.WORD_CACHE_MISSES);
+        e.commit();
+    }
+
+
+    /**
+     * Emits the times recorded by each timer since the previous call.
+     */
+    private void emitTimers() {
+        for (Timer timer : Timer.values()) {
+            int index = timer.ordinal();
+            long count = timerCounts[index].sumThenReset();
+            long total = timerTotals[index].sumThenReset();
+            long max = timerMaximums[index].getThenReset();
+            if (count > 0) {
+                TimerEvent e = new TimerEvent();
+                e.timer = timer.name();
+                e.count = count;
+                e.totalTime = total;
+                e.meanTime = total / count;
+                e.maxTime = max;
+                e.commit();
+            }
+        }
+    }
+
+
+    @Override
+    public void increment(Counter counter, long amount) {
+        counts[counter.ordinal()].add(amount);
+    }
+
+
+    @Override
+    public void record(Timer timer, long nanos) {
+        int index = timer.ordinal();
+        timerCounts[index].increment();
+        timerTotals[index].add(nanos);
+        timerMaximums[index].accumulate(nanos);
+    }
+
+
+    /**
+     * Returns an event to trace with, if it is enabled in a running
+     * recording.
+     *
+     * @param e The event.
+     * @return The event, with its timing begun, or <code>null</code> if it
+     *         is not enabled.
+     */
+    private static <T extends Event> T start(T e) {
+        if (!e.isEnabled()) {
+            return null;
+        }
+        e.begin();
+        return e;
+    }
+
+
+    @Override
+    public DictionaryReadTrace startDictionaryReadTrace() {
+        return start(new DictionaryReadEvent());
+    }
+
+
+    @Override
+    public ParseTrace startParseTrace() {
+        return start(new ParseEvent());
+    }
+
+
+    @Override
+    public SuggestionTrace startSuggestionTrace() {
+        return start(new SuggestionsEvent());
+    }
+
+
+}
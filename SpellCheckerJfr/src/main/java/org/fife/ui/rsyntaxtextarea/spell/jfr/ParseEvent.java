@@ -0,0 +1,61 @@
+/*
+ * 10/19/2026
+ *
+ * ParseEvent.java - JFR event for one spell check parse pass.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import org.fife.com.swabunga.spell.engine.SpellCheckMetrics;
+
+
+/**
+ * A <code>SpellingParser</code> spell checking a document.  Disabled by
+ * default, since it is emitted every time a document is edited.
+ *
+ * @version 1.0
+ * @see JfrSpellCheckMetrics
+ */
+@Name(ParseEvent.NAME)
+@Label("Spell Check Parse")
+@Description("A spelling parser spell checking a document")
+@Category(JfrSpellCheckMetrics.CATEGORY)
+@Enabled(false)
+@StackTrace(false)
+class ParseEvent extends jdk.jfr.Event implements SpellCheckMetrics.ParseTrace {
+
+    static final String NAME = "org.fife.spell.Parse";
+
+    @Label("Document Length")
+    int documentLength;
+
+    @Label("Syntax Style")
+    String style;
+
+    @Label("Tokens Checked")
+    int tokensChecked;
+
+    @Label("Errors")
+    int errors;
+
+
+    @Override
+    public void finish(int documentLength, String style, int tokensChecked, int errors) {
+        this.documentLength = documentLength;
+        this.style = style;
+        this.tokensChecked = tokensChecked;
+        this.errors = errors;
+        commit();
+    }
+
+
+}
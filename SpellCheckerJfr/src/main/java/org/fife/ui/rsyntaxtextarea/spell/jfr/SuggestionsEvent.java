@@ -0,0 +1,63 @@
+/*
+ * 10/19/2026
+ *
+ * SuggestionsEvent.java - JFR event for suggestions gathered for a word.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.jfr;
+
+import java.util.List;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import org.fife.com.swabunga.spell.engine.SpellCheckMetrics;
+import org.fife.com.swabunga.spell.engine.Word;
+
+
+/**
+ * A spell checker gathering suggestions for a misspelled word.  Disabled by
+ * default, since the word is recorded.
+ *
+ * @version 1.0
+ * @see JfrSpellCheckMetrics
+ */
+@Name(SuggestionsEvent.NAME)
+@Label("Spelling Suggestions")
+@Description("A spell checker gathering suggestions for a misspelled word")
+@Category(JfrSpellCheckMetrics.CATEGORY)
+@Enabled(false)
+@StackTrace(false)
+class SuggestionsEvent extends jdk.jfr.Event implements SpellCheckMetrics.SuggestionTrace {
+
+    static final String NAME = "org.fife.spell.Suggestions";
+
+    @Label("Word")
+    String word;
+
+    @Label("Dictionaries Consulted")
+    int dictionaries;
+
+    @Label("Candidates")
+    @Description("The suggestions returned by all dictionaries, before duplicates are removed")
+    int candidates;
+
+
+    @Override
+    public void finish(String word, List<? extends List<Word>> dictionarySuggestions) {
+        this.word = word;
+        dictionaries = dictionarySuggestions.size();
+        for (List<Word> suggestions : dictionarySuggestions) {
+            candidates += suggestions.size();
+        }
+        commit();
+    }
+
+
+}
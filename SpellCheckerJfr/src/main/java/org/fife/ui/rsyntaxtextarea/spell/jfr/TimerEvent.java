@@ -0,0 +1,56 @@
+/*
+ * 10/19/2026
+ *
+ * TimerEvent.java - Periodic JFR event with the statistics of one timer.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+
+/**
+ * The times recorded by one of the spell checker's timers, emitted once per
+ * period for each timer that recorded anything since the previous event.
+ *
+ * @version 1.0
+ * @see JfrSpellCheckMetrics
+ */
+@Name(TimerEvent.NAME)
+@Label("Spell Check Timer")
+@Description("The times recorded by a spell checker timer since the previous event")
+@Category(JfrSpellCheckMetrics.CATEGORY)
+@Period("1 s")
+@StackTrace(false)
+class TimerEvent extends jdk.jfr.Event {
+
+    static final String NAME = "org.fife.spell.Timer";
+
+    @Label("Timer")
+    String timer;
+
+    @Label("Count")
+    long count;
+
+    @Label("Total Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long totalTime;
+
+    @Label("Mean Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long meanTime;
+
+    @Label("Max Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long maxTime;
+
+
+}
@@ -0,0 +1,8 @@
+/*
+ * This library is distributed under a modified BSD license.  See the included
+ * LICENSE.md file for details.
+ */
+/**
+ * Records the spell checker's metrics as Java Flight Recorder events.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.jfr;
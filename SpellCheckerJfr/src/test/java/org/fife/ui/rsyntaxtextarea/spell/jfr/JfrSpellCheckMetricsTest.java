@@ -0,0 +1,182 @@
+package org.fife.ui.rsyntaxtextarea.spell.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.fife.com.swabunga.spell.engine.SpellCheckMetrics;
+import org.fife.com.swabunga.spell.engine.SpellDictionaryDichoDisk;
+import org.fife.com.swabunga.spell.engine.SpellDictionaryHashMap;
+import org.fife.com.swabunga.spell.event.SpellChecker;
+import org.fife.com.swabunga.spell.event.StringWordTokenizer;
+import org.fife.ui.rsyntaxtextarea.RSyntaxDocument;
+import org.fife.ui.rsyntaxtextarea.SyntaxConstants;
+import org.fife.ui.rsyntaxtextarea.spell.SpellingParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.swing.text.BadLocationException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link JfrSpellCheckMetrics}.
+ */
+class JfrSpellCheckMetricsTest {
+
+    @TempDir
+    Path dir;
+
+    private JfrSpellCheckMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new JfrSpellCheckMetrics();
+        SpellCheckMetrics.set(metrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SpellCheckMetrics.set(null);
+        metrics.close();
+    }
+
+    private List<RecordedEvent> record(Runnable work, String... eventNames) throws IOException {
+        Path file = dir.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : eventNames) {
+                // Only emit the periodic events when the recording ends
+                recording.enable(name).with("period", "endChunk").withoutThreshold();
+            }
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+
+    @Test
+    void testCountersEvent() throws IOException {
+
+        List<RecordedEvent> events = record(() -> {
+            metrics.increment(SpellCheckMetrics.Counter.WORDS_CHECKED, 10);
+            metrics.increment(SpellCheckMetrics.Counter.WORDS_CHECKED, 5);
+            metrics.increment(SpellCheckMetrics.Counter.WORD_CACHE_MISSES, 2);
+        }, CountersEvent.NAME);
+
+        List<RecordedEvent> counters = named(events, CountersEvent.NAME);
+        assertEquals(15, counters.stream().mapToLong(e -> e.getLong("wordsChecked")).sum());
+        assertEquals(2, counters.stream().mapToLong(e -> e.getLong("wordCacheMisses")).sum());
+        assertEquals(0, counters.stream().mapToLong(e -> e.getLong("misspellings")).sum());
+    }
+
+    @Test
+    void testTimerEvent() throws IOException {
+
+        List<RecordedEvent> events = record(() -> {
+            metrics.record(SpellCheckMetrics.Timer.SUGGESTIONS, 1000);
+            metrics.record(SpellCheckMetrics.Timer.SUGGESTIONS, 3000);
+        }, TimerEvent.NAME);
+
+        List<RecordedEvent> timers = named(events, TimerEvent.NAME);
+        assertEquals(1, timers.size());
+        RecordedEvent e = timers.get(0);
+        assertEquals("SUGGESTIONS", e.getString("timer"));
+        assertEquals(2, e.getLong("count"));
+        assertEquals(4000, e.getDuration("totalTime").toNanos());
+        assertEquals(2000, e.getDuration("meanTime").toNanos());
+        assertEquals(3000, e.getDuration("maxTime").toNanos());
+    }
+
+    @Test
+    void testSpellChecker() throws IOException {
+
+        SpellChecker checker = new SpellChecker(new SpellDictionaryHashMap(new StringReader("this\nis\na\ntest\n")));
+        List<RecordedEvent> events = record(() -> checker.checkSpelling(new StringWordTokenizer("this is a tesst")),
+            CountersEvent.NAME, TimerEvent.NAME);
+
+        assertEquals(4, named(events, CountersEvent.NAME).stream().mapToLong(e -> e.getLong("wordsChecked")).sum());
+        assertTrue(named(events, TimerEvent.NAME).stream()
+            .anyMatch(e -> e.getString("timer").equals("IS_CORRECT") && e.getLong("count") == 4));
+    }
+
+    @Test
+    void testParseEvent() throws IOException, BadLocationException {
+
+        SpellingParser parser = new SpellingParser(new SpellDictionaryHashMap(new StringReader("this\nis\na\ntest\n")));
+        RSyntaxDocument doc = new RSyntaxDocument(SyntaxConstants.SYNTAX_STYLE_JAVA);
+        doc.insertString(0, "// this is a tesst\nint x;", null);
+        List<RecordedEvent> events = record(() -> parser.parse(doc, SyntaxConstants.SYNTAX_STYLE_JAVA),
+            ParseEvent.NAME);
+
+        List<RecordedEvent> parses = named(events, ParseEvent.NAME);
+        assertEquals(1, parses.size());
+        RecordedEvent e = parses.get(0);
+        assertEquals(25, e.getInt("documentLength"));
+        assertEquals(SyntaxConstants.SYNTAX_STYLE_JAVA, e.getString("style"));
+        assertEquals(1, e.getInt("tokensChecked"));
+        assertEquals(1, e.getInt("errors"));
+    }
+
+    @Test
+    void testSuggestionsEvent() throws IOException {
+
+        SpellChecker checker = new SpellChecker(new SpellDictionaryHashMap(new StringReader("this\nis\na\ntest\n")));
+        List<RecordedEvent> events = record(() -> checker.getSuggestions("tesst", 100), SuggestionsEvent.NAME);
+
+        List<RecordedEvent> suggestions = named(events, SuggestionsEvent.NAME);
+        assertEquals(1, suggestions.size());
+        RecordedEvent e = suggestions.get(0);
+        assertEquals("tesst", e.getString("word"));
+        assertEquals(1, e.getInt("dictionaries"));
+        assertEquals(1, e.getInt("candidates"));
+    }
+
+    @Test
+    void testDictionaryReadEvent() throws IOException {
+
+        Path words = dir.resolve("words.txt");
+        Files.write(words, "APL*apple\nKT*cat\nPT*bat\nTK*dog\n".getBytes(StandardCharsets.US_ASCII));
+        SpellDictionaryDichoDisk dictionary = new SpellDictionaryDichoDisk(words.toFile());
+        List<RecordedEvent> events = record(() -> dictionary.getWords("KT"), DictionaryReadEvent.NAME);
+
+        List<RecordedEvent> reads = named(events, DictionaryReadEvent.NAME);
+        assertEquals(1, reads.size());
+        RecordedEvent e = reads.get(0);
+        assertEquals("KT", e.getString("code"));
+        assertTrue(e.getLong("bytesRead") > 0);
+        assertTrue(e.getInt("seekCount") > 0);
+    }
+
+    @Test
+    void testTraceEvents_disabledByDefault() throws IOException {
+        assertNull(metrics.startParseTrace());
+        assertNull(metrics.startSuggestionTrace());
+        assertNull(metrics.startDictionaryReadTrace());
+        List<RecordedEvent> events = record(() -> {
+            assertNull(metrics.startParseTrace());
+            assertNotNull(metrics.startSuggestionTrace());
+        }, SuggestionsEvent.NAME);
+        assertTrue(named(events, ParseEvent.NAME).isEmpty());
+    }
+
+    @Test
+    void testClose() throws IOException {
+        metrics.close();
+        metrics.increment(SpellCheckMetrics.Counter.MISSPELLINGS, 1);
+        assertTrue(named(record(() -> { }, CountersEvent.NAME), CountersEvent.NAME).isEmpty());
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * 10/19/2026
+ *
+ * Json.java - Minimal JSON parsing and writing for the spell check server.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.server;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fife.ui.rsyntaxtextarea.spell.batch.JsonLinesWriter;
+
+
+/**
+ * Just enough JSON for the server's requests and responses, so that it has
+ * no dependencies beyond the spell checker itself.  Objects are parsed
+ * into <code>Map</code>s, arrays into <code>List</code>s, integers into
+ * <code>Long</code>s and other numbers into <code>Double</code>s.
+ *
+ * @version 1.0
+ */
+final class Json {
+
+    private final String text;
+    private int pos;
+
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+
+    /**
+     * Appends a value as JSON.
+     *
+     * @param sb The buffer to append to.
+     * @param value A <code>String</code>, <code>Number</code>,
+     *        <code>Boolean</code>, <code>List</code>, <code>Map</code> with
+     *        string keys, or <code>null</code>.
+     */
+    static void append(StringBuilder sb, Object value) {
+        if (value == null || value instanceof Number || value instanceof Boolean) {
+            sb.append(value);
+        }
+        else if (value instanceof List) {
+            sb.append('[');
+            List<?> list = (List<?>)value;
+            for (int i = 0; i < list.size(); i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                append(sb, list.get(i));
+            }
+            sb.append(']');
+        }
+        else if (value instanceof Map) {
+            sb.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>)value).entrySet()) {
+                if (!first) {
+                    sb.append(',');
+                }
+                first = false;
+                JsonLinesWriter.appendString(sb, String.valueOf(entry.getKey()));
+                sb.append(':');
+                append(sb, entry.getValue());
+            }
+            sb.append('}');
+        }
+        else {
+            JsonLinesWriter.appendString(sb, value.toString());
+        }
+    }
+
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at offset " + pos);
+    }
+
+
+    private void expect(char ch) {
+        skipWhitespace();
+        if (pos == text.length() || text.charAt(pos) != ch) {
+            throw error("Expected '" + ch + "'");
+        }
+        pos++;
+    }
+
+
+    /**
+     * Parses a JSON value.
+     *
+     * @param text The JSON text.
+     * @return The value.
+     * @throws IllegalArgumentException If the text is not valid JSON.
+     */
+    static Object parse(String text) {
+        Json json = new Json(text);
+        Object value = json.parseValue();
+        json.skipWhitespace();
+        if (json.pos < text.length()) {
+            throw json.error("Unexpected text");
+        }
+        return value;
+    }
+
+
+    private List<Object> parseArray() {
+        List<Object> list = new ArrayList<>();
+        expect('[');
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            return list;
+        }
+        do {
+            list.add(parseValue());
+            skipWhitespace();
+        } while (tryConsume(','));
+        expect(']');
+        return list;
+    }
+
+
+    private Object parseLiteral(String literal, Object value) {
+        if (!text.startsWith(literal, pos)) {
+            throw error("Unexpected character");
+        }
+        pos += literal.length();
+        return value;
+    }
+
+
+    private Object parseNumber() {
+        int start = pos;
+        while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) > -1) {
+            pos++;
+        }
+        String number = text.substring(start, pos);
+        try {
+            if (number.indexOf('.') == -1 && number.indexOf('e') == -1 && number.indexOf('E') == -1) {
+                return Long.parseLong(number);
+            }
+            return Double.parseDouble(number);
+        } catch (NumberFormatException nfe) {
+            pos = start;
+            throw error("Invalid number");
+        }
+    }
+
+
+    private Map<String, Object> parseObject() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return map;
+        }
+        do {
+            skipWhitespace();
+            String key = parseString();
+            expect(':');
+            map.put(key, parseValue());
+            skipWhitespace();
+        } while (tryConsume(','));
+        expect('}');
+        return map;
+    }
+
+
+    private String parseString() {
+        if (peek() != '"') {
+            throw error("Expected a string");
+        }
+        pos++;
+        StringBuilder sb = new StringBuilder();
+        while (pos < text.length()) {
+            char ch = text.charAt(pos++);
+            if (ch == '"') {
+                return sb.toString();
+            }
+            if (ch != '\\') {
+                sb.append(ch);
+                continue;
+            }
+            if (pos == text.length()) {
+                break;
+            }
+            ch = text.charAt(pos++);
+            switch (ch) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    if (pos + 4 > text.length()) {
+                        throw error("Invalid escape");
+                    }
+                    try {
+                        sb.append((char)Integer.parseInt(text.substring(pos, pos + 4), 16));
+                    } catch (NumberFormatException nfe) {
+                        throw error("Invalid escape");
+                    }
+                    pos += 4;
+                    break;
+                default: // '"', '\\' and '/'
+                    sb.append(ch);
+                    break;
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+
+    private Object parseValue() {
+        skipWhitespace();
+        char ch = peek();
+        switch (ch) {
+            case '{':
+                return parseObject();
+            case '[':
+                return parseArray();
+            case '"':
+                return parseString();
+            case 't':
+                return parseLiteral("true", Boolean.TRUE);
+            case 'f':
+                return parseLiteral("false", Boolean.FALSE);
+            case 'n':
+                return parseLiteral("null", null);
+            default:
+                if (ch == '-' || (ch >= '0' && ch <= '9')) {
+                    return parseNumber();
+                }
+                throw error(pos == text.length() ? "Unexpected end of input" : "Unexpected character");
+        }
+    }
+
+
+    private char peek() {
+        return pos < text.length() ? text.charAt(pos) : 0;
+    }
+
+
+    private void skipWhitespace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+    }
+
+
+    private boolean tryConsume(char ch) {
+        if (peek() == ch) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+
+}
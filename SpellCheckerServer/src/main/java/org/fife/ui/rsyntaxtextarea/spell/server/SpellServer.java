@@ -0,0 +1,335 @@
+/*
+ * 10/19/2026
+ *
+ * SpellServer.java - Serves spell check requests over a socket or stdio.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.server;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import org.fife.ui.rsyntaxtextarea.spell.batch.CommandLine;
+
+
+/**
+ * Serves the requests described in {@link SpellService} as JSON lines,
+ * either on standard input and output or on a socket bound to the loopback
+ * address, so that several tools can share one copy of the dictionaries.
+ * Run with <code>--help</code> for usage.<p>
+ *
+ * Each connection may send any number of requests without waiting for the
+ * responses; responses are written as soon as they are ready, so they may
+ * come back in a different order than the requests were sent.
+ *
+ * @version 1.0
+ */
+public class SpellServer implements Closeable {
+
+    /**
+     * The exit code when the server stops normally.
+     */
+    public static final int EXIT_OK = 0;
+
+    /**
+     * The exit code when the arguments are invalid, a dictionary cannot be
+     * loaded, or the server cannot listen on its port.
+     */
+    public static final int EXIT_USAGE = 2;
+
+    private static final String USAGE =
+        "Usage: java -jar spellcheckerserver.jar [options]\n" +
+        "\n" +
+        "Options:\n" +
+        CommandLine.DICTIONARY_OPTIONS_USAGE +
+        "  --port <n>                 Listen on this port of the loopback address, rather than\n" +
+        "                             reading standard input.  0 picks a free port.\n" +
+        "  --threads <n>              The number of worker threads.  Default: available processors.\n" +
+        "  --cache-size <n>           Words whose suggestions are cached.  Default: " +
+            SpellService.DEFAULT_CACHE_SIZE + ".\n" +
+        "  --help                     Show this message.\n";
+
+    private final SpellService service;
+    private final Set<Closeable> openConnections;
+    private volatile ServerSocket serverSocket;
+
+
+    /**
+     * Constructor.
+     *
+     * @param service The service answering requests.
+     */
+    public SpellServer(SpellService service) {
+        if (service == null) {
+            throw new IllegalArgumentException("service cannot be null");
+        }
+        this.service = service;
+        openConnections = ConcurrentHashMap.newKeySet();
+    }
+
+
+    private void accept(ServerSocket socket) {
+        while (!socket.isClosed()) {
+            try {
+                Socket client = socket.accept();
+                openConnections.add(client);
+                startThread("SpellServer-connection", () -> {
+                    try (Socket s = client) {
+                        serve(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8),
+                            new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8));
+                    } catch (IOException ioe) {
+                        // The client went away
+                    } finally {
+                        openConnections.remove(client);
+                    }
+                });
+            } catch (IOException ioe) {
+                // The server socket was closed
+            }
+        }
+    }
+
+
+    /**
+     * Stops listening, closes all connections and stops the service.
+     */
+    @Override
+    public void close() {
+        ServerSocket socket = serverSocket;
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException ioe) {
+                // Ignore
+            }
+        }
+        for (Closeable connection : openConnections) {
+            try {
+                connection.close();
+            } catch (IOException ioe) {
+                // Ignore
+            }
+        }
+        service.close();
+    }
+
+
+    /**
+     * Starts listening for connections on the loopback address.
+     * Connections are served on background threads until this server is
+     * closed.
+     *
+     * @param port The port, or <code>0</code> for any free port.
+     * @return The port listened on.
+     * @throws IOException If the port cannot be listened on.
+     * @throws IllegalStateException If this server is already listening.
+     */
+    public synchronized int listen(int port) throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Already listening on port " + serverSocket.getLocalPort());
+        }
+        ServerSocket socket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        serverSocket = socket;
+        startThread("SpellServer-accept", () -> accept(socket));
+        return socket.getLocalPort();
+    }
+
+
+    /**
+     * Program entry point.
+     *
+     * @param args Command line arguments.
+     */
+    public static void main(String[] args) {
+        PrintWriter err = new PrintWriter(new OutputStreamWriter(System.err, Charset.defaultCharset()));
+        int exitCode = run(args, new InputStreamReader(System.in, StandardCharsets.UTF_8),
+            new OutputStreamWriter(System.out, StandardCharsets.UTF_8), err);
+        System.exit(exitCode);
+    }
+
+
+    /**
+     * Runs the server until standard input ends or, when listening on a
+     * port, until the process is killed.
+     *
+     * @param args Command line arguments.
+     * @param in Standard input.
+     * @param out Standard output.
+     * @param err Receives usage and error messages.
+     * @return The exit code.
+     */
+    static int run(String[] args, Reader in, Writer out, PrintWriter err) {
+
+        File zip = null;
+        File wordList = null;
+        File userDictionary = null;
+        boolean american = true;
+        boolean programming = true;
+        int port = -1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int cacheSize = SpellService.DEFAULT_CACHE_SIZE;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "--dictionary":
+                        zip = new File(CommandLine.value(args, ++i, arg));
+                        break;
+                    case "--british":
+                        american = false;
+                        break;
+                    case "--no-programming":
+                        programming = false;
+                        break;
+                    case "--word-list":
+                        wordList = new File(CommandLine.value(args, ++i, arg));
+                        break;
+                    case "--user-dictionary":
+                        userDictionary = new File(CommandLine.value(args, ++i, arg));
+                        break;
+                    case "--port":
+                        port = CommandLine.parseCount(CommandLine.value(args, ++i, arg), arg, 0);
+                        break;
+                    case "--threads":
+                        threads = CommandLine.parseCount(CommandLine.value(args, ++i, arg), arg, 1);
+                        break;
+                    case "--cache-size":
+                        cacheSize = CommandLine.parseCount(CommandLine.value(args, ++i, arg), arg, 0);
+                        break;
+                    case "--help":
+                        PrintWriter pw = new PrintWriter(out);
+                        pw.print(USAGE);
+                        pw.flush();
+                        return EXIT_OK;
+                    default:
+                        throw new IllegalArgumentException("Unknown argument: " + arg);
+                }
+            }
+            if (zip == null && wordList == null) {
+                throw new IllegalArgumentException("Either --dictionary or --word-list is required");
+            }
+        } catch (IllegalArgumentException iae) {
+            return usageError(err, iae.getMessage());
+        }
+
+        SpellService service;
+        try {
+            service = new SpellService(CommandLine.loadDictionary(zip, wordList, american, programming),
+                userDictionary != null ? CommandLine.loadWordList(userDictionary) : null, threads, cacheSize);
+        } catch (IOException ioe) {
+            return usageError(err, "Cannot load dictionary: " + ioe);
+        }
+
+        try (SpellServer server = new SpellServer(service)) {
+            if (port == -1) {
+                server.serve(in, out);
+            }
+            else {
+                err.println("Listening on " + InetAddress.getLoopbackAddress().getHostAddress() + ":" +
+                    server.listen(port));
+                err.flush();
+                synchronized (server) {
+                    while (true) {
+                        server.wait();
+                    }
+                }
+            }
+        } catch (IOException ioe) {
+            err.println(ioe);
+            err.flush();
+            return EXIT_USAGE;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        return EXIT_OK;
+    }
+
+
+    /**
+     * Answers the requests read from a stream, one per line, until the
+     * stream ends.  Blank lines are ignored.  This method returns once
+     * every request read has been answered.
+     *
+     * @param in The requests.
+     * @param out Receives the responses, one per line.  This is flushed
+     *        after each response, but not closed.
+     * @throws IOException If an IO error occurs.
+     */
+    public void serve(Reader in, Writer out) throws IOException {
+
+        BufferedReader r = in instanceof BufferedReader ? (BufferedReader)in : new BufferedReader(in);
+        Set<CompletableFuture<Void>> pending = ConcurrentHashMap.newKeySet();
+        IOException[] writeError = new IOException[1];
+
+        String line;
+        while ((line = r.readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            CompletableFuture<Void> response = service.handle(line).thenAccept(json -> {
+                synchronized (out) {
+                    try {
+                        out.write(json);
+                        out.write('\n');
+                        out.flush();
+                    } catch (IOException ioe) {
+                        writeError[0] = ioe;
+                    }
+                }
+            });
+            pending.add(response);
+            response.whenComplete((v, t) -> pending.remove(response));
+        }
+
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException iioe = new InterruptedIOException("Interrupted while answering requests");
+            iioe.initCause(ie);
+            throw iioe;
+        } catch (ExecutionException ee) {
+            throw new IOException(ee.getCause());
+        }
+        synchronized (out) {
+            if (writeError[0] != null) {
+                throw writeError[0];
+            }
+        }
+    }
+
+
+    private static void startThread(String name, Runnable runnable) {
+        Thread t = new Thread(runnable, name);
+        t.setDaemon(true);
+        t.start();
+    }
+
+
+    private static int usageError(PrintWriter err, String message) {
+        CommandLine.printUsageError(err, message, USAGE);
+        return EXIT_USAGE;
+    }
+
+
+}
@@ -0,0 +1,530 @@
+/*
+ * 10/19/2026
+ *
+ * SpellService.java - Answers batched spell check requests.
+ *
+ * This library is distributed under the LGPL.  See the included
+ * LICENSE.md file for details.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.server;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.fife.com.swabunga.spell.engine.SpellDictionary;
+import org.fife.com.swabunga.spell.engine.Word;
+import org.fife.com.swabunga.spell.event.SpellCheckEvent;
+import org.fife.com.swabunga.spell.event.SpellCheckListener;
+import org.fife.com.swabunga.spell.event.SpellChecker;
+import org.fife.com.swabunga.spell.event.StringWordTokenizer;
+
+
+/**
+ * Answers spell check requests from any number of clients, against
+ * dictionaries loaded once.  Requests and responses are JSON objects, one
+ * per line, as read and written by {@link SpellServer}:
+ *
+ * <ul>
+ *     <li><code>{"id":1,"type":"check","texts":["Hello wurld"],"maxSuggestions":3}</code>
+ *         is answered with <code>{"id":1,"type":"check","results":[[{"offset":6,"word":"wurld",
+ *         "suggestions":["world"]}]]}</code>: the misspellings in each
+ *         text, with their offsets in UTF-16 characters.
+ *     <li><code>{"id":2,"type":"suggest","words":["wurld"],"maxSuggestions":3}</code>
+ *         is answered with <code>{"id":2,"type":"suggest","results":[["world"]]}</code>.
+ *     <li><code>{"id":3,"type":"stats"}</code> is answered with the
+ *         number of requests handled and how suggestions were found.
+ * </ul>
+ *
+ * <code>id</code> may be any JSON value, and is copied into the response
+ * so clients can match responses to requests, which may be answered out of
+ * order.  <code>maxSuggestions</code> is optional.  Invalid requests are
+ * answered with <code>{"id":...,"type":"error","message":"..."}</code>.<p>
+ *
+ * Requests are handled on a pool of worker threads, each with its own
+ * {@link SpellChecker}, and the texts and words of a batch are handled in
+ * parallel.  Suggestions are the expensive part of checking, so they are
+ * shared: those computed recently are cached, and clients asking for
+ * suggestions for the same word at the same time wait for a single
+ * computation.
+ *
+ * @version 1.0
+ * @see SpellServer
+ */
+public class SpellService implements Closeable {
+
+    /**
+     * The default maximum number of suggestions for each misspelled word.
+     */
+    public static final int DEFAULT_MAX_SUGGESTIONS = 3;
+
+    /**
+     * The most suggestions a request can ask for.  Suggestions are always
+     * computed, and cached, up to this number.
+     */
+    public static final int MAX_SUGGESTIONS = 10;
+
+    /**
+     * The default number of words whose suggestions are cached.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 10_000;
+
+    private final SpellDictionary dictionary;
+    private final SpellDictionary userDictionary;
+    private final ExecutorService executor;
+    private final ThreadLocal<TextChecker> checkers;
+    private final Map<String, List<String>> suggestionCache;
+    private final ConcurrentHashMap<String, CompletableFuture<List<String>>> pendingSuggestions;
+
+    private final LongAdder requestCount;
+    private final LongAdder cacheHitCount;
+    private final LongAdder coalescedCount;
+    private final LongAdder computedCount;
+
+
+    /**
+     * Constructor.
+     *
+     * @param dictionary The dictionary to check words against.  It must
+     *        support concurrent lookups.
+     * @param userDictionary A dictionary of additional words considered
+     *        correct, or <code>null</code> for none.
+     * @param threadCount The number of worker threads.
+     * @param cacheSize The number of words whose suggestions are cached.
+     */
+    public SpellService(SpellDictionary dictionary, SpellDictionary userDictionary, int threadCount,
+                        int cacheSize) {
+
+        if (dictionary == null) {
+            throw new IllegalArgumentException("dictionary cannot be null");
+        }
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("threadCount must be positive: " + threadCount);
+        }
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cacheSize cannot be negative: " + cacheSize);
+        }
+        this.dictionary = dictionary;
+        this.userDictionary = userDictionary;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threadCount, r -> {
+            Thread t = new Thread(r, "SpellService-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        checkers = ThreadLocal.withInitial(TextChecker::new);
+        suggestionCache = Collections.synchronizedMap(new LinkedHashMap<String, List<String>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        pendingSuggestions = new ConcurrentHashMap<>();
+
+        requestCount = new LongAdder();
+        cacheHitCount = new LongAdder();
+        coalescedCount = new LongAdder();
+        computedCount = new LongAdder();
+    }
+
+
+    /**
+     * Checks texts for misspellings, in parallel.
+     *
+     * @param texts The texts to check.
+     * @param maxSuggestions The maximum number of suggestions for each
+     *        misspelled word.
+     * @return The misspellings in each text, in the same order as the
+     *         texts.
+     */
+    public CompletableFuture<List<List<Misspelling>>> check(List<String> texts, int maxSuggestions) {
+        int max = validateMaxSuggestions(maxSuggestions);
+        List<CompletableFuture<List<Misspelling>>> futures = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            futures.add(CompletableFuture.supplyAsync(() -> checkText(text, max), executor));
+        }
+        return allOf(futures);
+    }
+
+
+    private List<Misspelling> checkText(String text, int maxSuggestions) {
+        List<Misspelling> misspellings = checkers.get().check(text);
+        if (maxSuggestions > 0) {
+            for (int i = 0; i < misspellings.size(); i++) {
+                Misspelling m = misspellings.get(i);
+                misspellings.set(i, new Misspelling(m.getOffset(), m.getWord(),
+                    truncate(getSuggestions(m.getWord()), maxSuggestions)));
+            }
+        }
+        return misspellings;
+    }
+
+
+    /**
+     * Stops the worker threads.  Requests not yet answered are abandoned.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+
+    /**
+     * Returns the number of suggestion lookups answered from the cache.
+     *
+     * @return The number of cache hits.
+     */
+    public long getCacheHitCount() {
+        return cacheHitCount.sum();
+    }
+
+
+    /**
+     * Returns the number of suggestion lookups that waited for another
+     * request's identical lookup rather than computing the suggestions
+     * again.
+     *
+     * @return The number of coalesced lookups.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+
+    /**
+     * Returns the number of times suggestions were actually computed.
+     *
+     * @return The number of computations.
+     */
+    public long getComputedCount() {
+        return computedCount.sum();
+    }
+
+
+    /**
+     * Returns the number of requests handled by {@link #handle(String)}.
+     *
+     * @return The number of requests.
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+
+    /**
+     * Returns the best {@link #MAX_SUGGESTIONS} suggestions for a word,
+     * from the cache if possible.
+     */
+    private List<String> getSuggestions(String word) {
+
+        List<String> suggestions = suggestionCache.get(word);
+        if (suggestions != null) {
+            cacheHitCount.increment();
+            return suggestions;
+        }
+
+        CompletableFuture<List<String>> future = new CompletableFuture<>();
+        CompletableFuture<List<String>> pending = pendingSuggestions.putIfAbsent(word, future);
+        if (pending != null) {
+            coalescedCount.increment();
+            return pending.join();
+        }
+
+        try {
+            suggestions = new ArrayList<>();
+            SpellChecker sc = checkers.get().sc;
+            int threshold = sc.getConfiguration().getSnapshot().getThreshold();
+            for (Word suggestion : sc.getSuggestions(word, threshold, MAX_SUGGESTIONS)) {
+                suggestions.add(suggestion.getWord());
+            }
+            suggestions = Collections.unmodifiableList(suggestions);
+            computedCount.increment();
+            suggestionCache.put(word, suggestions);
+            future.complete(suggestions);
+            return suggestions;
+        } catch (RuntimeException re) {
+            future.completeExceptionally(re);
+            throw re;
+        } finally {
+            pendingSuggestions.remove(word, future);
+        }
+    }
+
+
+    /**
+     * Answers a request.
+     *
+     * @param request The request, a JSON object.
+     * @return The response, a JSON object on a single line, without a
+     *         trailing newline.
+     */
+    public CompletableFuture<String> handle(String request) {
+
+        requestCount.increment();
+        Object id = null;
+        try {
+            Object parsed = Json.parse(request);
+            if (!(parsed instanceof Map)) {
+                throw new IllegalArgumentException("Request must be a JSON object");
+            }
+            Map<?, ?> map = (Map<?, ?>)parsed;
+            id = map.get("id");
+            Object idForResponse = id;
+            String type = String.valueOf(map.get("type"));
+            switch (type) {
+                case "check":
+                    return check(getStrings(map, "texts"), getMaxSuggestions(map))
+                        .thenApply(results -> response(idForResponse, type, "results", toJson(results)))
+                        .exceptionally(t -> errorResponse(idForResponse, t));
+                case "suggest":
+                    return suggest(getStrings(map, "words"), getMaxSuggestions(map))
+                        .thenApply(results -> response(idForResponse, type, "results", results))
+                        .exceptionally(t -> errorResponse(idForResponse, t));
+                case "stats":
+                    Map<String, Object> stats = new LinkedHashMap<>();
+                    stats.put("id", id);
+                    stats.put("type", type);
+                    stats.put("requests", getRequestCount());
+                    stats.put("cacheHits", getCacheHitCount());
+                    stats.put("coalesced", getCoalescedCount());
+                    stats.put("computed", getComputedCount());
+                    return CompletableFuture.completedFuture(toString(stats));
+                default:
+                    throw new IllegalArgumentException("Unknown request type: " + type);
+            }
+        } catch (RuntimeException re) { // Invalid requests, or the service is closed
+            return CompletableFuture.completedFuture(errorResponse(id, re));
+        }
+    }
+
+
+    /**
+     * Returns the suggestions for words, in parallel.
+     *
+     * @param words The words.
+     * @param maxSuggestions The maximum number of suggestions for each word.
+     * @return The suggestions for each word, in the same order as the
+     *         words.
+     */
+    public CompletableFuture<List<List<String>>> suggest(List<String> words, int maxSuggestions) {
+        int max = validateMaxSuggestions(maxSuggestions);
+        List<CompletableFuture<List<String>>> futures = new ArrayList<>(words.size());
+        for (String word : words) {
+            futures.add(CompletableFuture.supplyAsync(() -> truncate(getSuggestions(word), max), executor));
+        }
+        return allOf(futures);
+    }
+
+
+    private static <T> CompletableFuture<List<T>> allOf(List<CompletableFuture<T>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            List<T> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+            return results;
+        });
+    }
+
+
+    private static String errorResponse(Object id, Throwable t) {
+        if (t instanceof CompletionException && t.getCause() != null) {
+            t = t.getCause();
+        }
+        return response(id, "error", "message", t.getMessage() != null ? t.getMessage() : t.toString());
+    }
+
+
+    private static int getMaxSuggestions(Map<?, ?> request) {
+        Object max = request.get("maxSuggestions");
+        if (max == null) {
+            return DEFAULT_MAX_SUGGESTIONS;
+        }
+        if (!(max instanceof Long)) {
+            throw new IllegalArgumentException("maxSuggestions must be an integer");
+        }
+        return (int)Math.max(Integer.MIN_VALUE, Math.min((Long)max, Integer.MAX_VALUE));
+    }
+
+
+    private static List<String> getStrings(Map<?, ?> request, String name) {
+        Object value = request.get(name);
+        if (value instanceof List) {
+            List<String> strings = new ArrayList<>();
+            for (Object element : (List<?>)value) {
+                if (!(element instanceof String)) {
+                    break;
+                }
+                strings.add((String)element);
+            }
+            if (strings.size() == ((List<?>)value).size()) {
+                return strings;
+            }
+        }
+        throw new IllegalArgumentException(name + " must be an array of strings");
+    }
+
+
+    private static String response(Object id, String type, String name, Object value) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("id", id);
+        response.put("type", type);
+        response.put(name, value);
+        return toString(response);
+    }
+
+
+    private static List<List<Map<String, Object>>> toJson(List<List<Misspelling>> results) {
+        List<List<Map<String, Object>>> json = new ArrayList<>(results.size());
+        for (List<Misspelling> misspellings : results) {
+            List<Map<String, Object>> list = new ArrayList<>(misspellings.size());
+            for (Misspelling m : misspellings) {
+                Map<String, Object> map = new LinkedHashMap<>();
+                map.put("offset", m.getOffset());
+                map.put("word", m.getWord());
+                map.put("suggestions", m.getSuggestions());
+                list.add(map);
+            }
+            json.add(list);
+        }
+        return json;
+    }
+
+
+    private static String toString(Map<String, Object> json) {
+        StringBuilder sb = new StringBuilder();
+        Json.append(sb, json);
+        return sb.toString();
+    }
+
+
+    private static List<String> truncate(List<String> suggestions, int max) {
+        return suggestions.size() <= max ? suggestions : suggestions.subList(0, max);
+    }
+
+
+    private static int validateMaxSuggestions(int maxSuggestions) {
+        if (maxSuggestions < 0 || maxSuggestions > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("maxSuggestions must be between 0 and " + MAX_SUGGESTIONS +
+                ": " + maxSuggestions);
+        }
+        return maxSuggestions;
+    }
+
+
+    /**
+     * A misspelled word in a text.
+     */
+    public static final class Misspelling {
+
+        private final int offset;
+        private final String word;
+        private final List<String> suggestions;
+
+
+        /**
+         * Constructor.
+         *
+         * @param offset The offset of the word in the text.
+         * @param word The word.
+         * @param suggestions The suggestions for the word.
+         */
+        public Misspelling(int offset, String word, List<String> suggestions) {
+            this.offset = offset;
+            this.word = word;
+            this.suggestions = Collections.unmodifiableList(suggestions);
+        }
+
+
+        /**
+         * Returns the offset of the word in the text.
+         *
+         * @return The offset, in UTF-16 characters.
+         */
+        public int getOffset() {
+            return offset;
+        }
+
+
+        /**
+         * Returns the suggestions for the word.
+         *
+         * @return The suggestions, best first.  This may be empty.
+         */
+        public List<String> getSuggestions() {
+            return suggestions;
+        }
+
+
+        /**
+         * Returns the misspelled word.
+         *
+         * @return The word.
+         */
+        public String getWord() {
+            return word;
+        }
+
+
+        @Override
+        public String toString() {
+            return offset + ": " + word + " " + suggestions;
+        }
+
+
+    }
+
+
+    /**
+     * Finds the misspelled words in texts with a worker thread's own
+     * spell checker.
+     */
+    private final class TextChecker implements SpellCheckListener {
+
+        private final SpellChecker sc;
+        private List<Misspelling> misspellings;
+
+
+        TextChecker() {
+            sc = new SpellChecker(dictionary);
+            if (userDictionary != null) {
+                sc.setUserDictionary(userDictionary);
+            }
+            sc.addSpellCheckListener(this);
+        }
+
+
+        List<Misspelling> check(String text) {
+            misspellings = new ArrayList<>();
+            try {
+                sc.checkSpelling(new StringWordTokenizer(text));
+                return misspellings;
+            } finally {
+                misspellings = null;
+            }
+        }
+
+
+        @Override
+        public boolean spellingError(SpellCheckEvent e) {
+            misspellings.add(new Misspelling(e.getWordContextPosition(), e.getInvalidWord(),
+                Collections.emptyList()));
+            return false;
+        }
+
+
+    }
+
+
+}
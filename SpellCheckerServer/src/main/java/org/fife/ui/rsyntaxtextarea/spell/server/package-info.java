@@ -0,0 +1,9 @@
+/*
+ * This library is distributed under a modified BSD license.  See the included
+ * LICENSE.md file for details.
+ */
+/**
+ * A spell check service that several tools can share, so that dictionaries
+ * are only loaded once.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.server;
@@ -0,0 +1,69 @@
+package org.fife.ui.rsyntaxtextarea.spell.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link Json}.
+ */
+class JsonTest {
+
+    private static String toJson(Object value) {
+        StringBuilder sb = new StringBuilder();
+        Json.append(sb, value);
+        return sb.toString();
+    }
+
+    @Test
+    void testParse_values() {
+        assertEquals("hi", Json.parse(" \"hi\" "));
+        assertEquals(42L, Json.parse("42"));
+        assertEquals(-1.5, Json.parse("-1.5"));
+        assertEquals(1e3, Json.parse("1e3"));
+        assertEquals(Boolean.TRUE, Json.parse("true"));
+        assertEquals(Boolean.FALSE, Json.parse("false"));
+        assertNull(Json.parse("null"));
+        assertEquals(Collections.emptyList(), Json.parse("[ ]"));
+        assertEquals(Collections.emptyMap(), Json.parse("{ }"));
+    }
+
+    @Test
+    void testParse_nested() {
+        Map<?, ?> map = (Map<?, ?>)Json.parse("{\"a\": [1, \"b\", {\"c\": null}], \"d\": {}}");
+        assertEquals(Arrays.asList("a", "d"), Arrays.asList(map.keySet().toArray()));
+        List<?> list = (List<?>)map.get("a");
+        assertEquals(1L, list.get(0));
+        assertEquals("b", list.get(1));
+        assertTrue(((Map<?, ?>)list.get(2)).containsKey("c"));
+    }
+
+    @Test
+    void testParse_escapes() {
+        assertEquals("a\"b\\c/d\b\f\n\r\t\u00e9", Json.parse("\"a\\\"b\\\\c\\/d\\b\\f\\n\\r\\t\\u00e9\""));
+    }
+
+    @Test
+    void testParse_invalid() {
+        for (String json : new String[] { "", "{", "[1,]", "{\"a\" 1}", "\"abc", "tru", "1 2", "{a:1}",
+                "\"\\u12\"", "--1" }) {
+            assertThrows(IllegalArgumentException.class, () -> Json.parse(json), json);
+        }
+    }
+
+    @Test
+    void testAppend() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", 7L);
+        map.put("s", "q\"\\\n\r\t\u0001");
+        map.put("list", Arrays.asList(1, null, true));
+        assertEquals("{\"id\":7,\"s\":\"q\\\"\\\\\\n\\r\\t\\u0001\",\"list\":[1,null,true]}", toJson(map));
+        assertEquals(map.get("s"), ((Map<?, ?>)Json.parse(toJson(map))).get("s"));
+    }
+}
@@ -0,0 +1,122 @@
+package org.fife.ui.rsyntaxtextarea.spell.server;
+
+import org.fife.com.swabunga.spell.engine.SpellDictionaryHashMap;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the throughput and latency of a {@link SpellServer} loaded
+ * with the English dictionary, with several clients each sending
+ * <code>check</code> requests over a socket as fast as they are answered.
+ * These are not run by the <code>test</code> task; run them with
+ * <code>gradlew :SpellCheckerServer:benchmark</code>, which prints the
+ * results.
+ */
+@Tag("benchmark")
+class SpellServerBenchmark {
+
+    private static final File DICTIONARY = new File("../SpellChecker/src/main/dist/english_dic/eng_com.dic");
+
+    private static final int CLIENT_COUNT = 8;
+    private static final int REQUEST_COUNT = 2_000;
+    private static final int WARMUP_COUNT = 200;
+
+    private static String[] createRequests(List<String> words, Random random) {
+        String[] requests = new String[REQUEST_COUNT + WARMUP_COUNT];
+        for (int i = 0; i < requests.length; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int j = 0; j < 40; j++) {
+                String word = words.get(random.nextInt(words.size()));
+                if (j % 10 == 0) {
+                    // Introduce a typo
+                    int pos = random.nextInt(word.length());
+                    word = word.substring(0, pos) + 'x' + word.substring(pos);
+                }
+                text.append(word).append(' ');
+            }
+            StringBuilder sb = new StringBuilder();
+            sb.append("{\"id\":").append(i).append(",\"type\":\"check\",\"texts\":[");
+            Json.append(sb, text.toString());
+            sb.append("]}\n");
+            requests[i] = sb.toString();
+        }
+        return requests;
+    }
+
+    private static long[] runClient(int port, String[] requests) throws IOException {
+        long[] latencies = new long[REQUEST_COUNT];
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            Writer w = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            BufferedReader r = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                StandardCharsets.UTF_8));
+            for (int i = 0; i < requests.length; i++) {
+                long start = System.nanoTime();
+                w.write(requests[i]);
+                w.flush();
+                String response = r.readLine();
+                assertNotNull(response);
+                if (i >= WARMUP_COUNT) {
+                    latencies[i - WARMUP_COUNT] = System.nanoTime() - start;
+                }
+            }
+        }
+        return latencies;
+    }
+
+    @Test
+    void testCheckThroughput() throws Exception {
+
+        List<String> words = Files.readAllLines(DICTIONARY.toPath(), StandardCharsets.ISO_8859_1);
+        SpellService service = new SpellService(new SpellDictionaryHashMap(DICTIONARY), null,
+            Runtime.getRuntime().availableProcessors(), SpellService.DEFAULT_CACHE_SIZE);
+
+        try (SpellServer server = new SpellServer(service)) {
+
+            int port = server.listen(0);
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENT_COUNT);
+            List<Future<long[]>> futures = new ArrayList<>();
+            Random random = new Random(0);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < CLIENT_COUNT; i++) {
+                String[] requests = createRequests(words, random);
+                futures.add(clients.submit(() -> runClient(port, requests)));
+            }
+            long[] latencies = new long[CLIENT_COUNT * REQUEST_COUNT];
+            for (int i = 0; i < CLIENT_COUNT; i++) {
+                System.arraycopy(futures.get(i).get(), 0, latencies, i * REQUEST_COUNT, REQUEST_COUNT);
+            }
+            long elapsed = System.nanoTime() - start;
+            clients.shutdown();
+
+            Arrays.sort(latencies);
+            int total = CLIENT_COUNT * (REQUEST_COUNT + WARMUP_COUNT);
+            System.out.printf(Locale.ROOT, "%d clients, %d requests: %.0f requests/s, p50 %.2f ms, p99 %.2f ms%n",
+                CLIENT_COUNT, total, total * 1e9 / elapsed, latencies[latencies.length / 2] / 1e6,
+                latencies[latencies.length * 99 / 100] / 1e6);
+            System.out.printf(Locale.ROOT, "Suggestions computed: %d, cache hits: %d, coalesced: %d%n",
+                service.getComputedCount(), service.getCacheHitCount(), service.getCoalescedCount());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.fife.ui.rsyntaxtextarea.spell.server;
+
+import org.fife.com.swabunga.spell.engine.SpellDictionaryHashMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SpellServer}.
+ */
+class SpellServerTest {
+
+    private static final String WORDS = "hello\nworld\nword\nwould\n";
+
+    @TempDir
+    Path dir;
+
+    private SpellServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new SpellServer(new SpellService(new SpellDictionaryHashMap(new StringReader(WORDS)), null, 2, 100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void testConstructor_nullService() {
+        assertThrows(IllegalArgumentException.class, () -> new SpellServer(null));
+    }
+
+    @Test
+    void testServe() throws IOException {
+        StringWriter out = new StringWriter();
+        server.serve(new StringReader(
+            "{\"id\":1,\"type\":\"check\",\"texts\":[\"Hello wurld\"],\"maxSuggestions\":1}\n" +
+            "\n" +
+            "{\"id\":2,\"type\":\"suggest\",\"words\":[\"wurld\"],\"maxSuggestions\":1}\n"), out);
+
+        // Responses may come back in any order
+        String[] lines = out.toString().split("\n");
+        Arrays.sort(lines);
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"type\":\"check\",\"results\":[[{\"offset\":6,\"word\":\"wurld\"," +
+            "\"suggestions\":[\"world\"]}]]}", lines[0]);
+        assertEquals("{\"id\":2,\"type\":\"suggest\",\"results\":[[\"world\"]]}", lines[1]);
+    }
+
+    @Test
+    void testListen() throws IOException {
+
+        int port = server.listen(0);
+        assertThrows(IllegalStateException.class, () -> server.listen(0));
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            Writer w = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            BufferedReader r = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                StandardCharsets.UTF_8));
+            w.write("{\"id\":9,\"type\":\"suggest\",\"words\":[\"helo\"],\"maxSuggestions\":1}\n");
+            w.flush();
+            assertEquals("{\"id\":9,\"type\":\"suggest\",\"results\":[[\"hello\"]]}", r.readLine());
+        }
+    }
+
+    @Test
+    void testClose_closesConnections() throws IOException {
+        int port = server.listen(0);
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            Writer w = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            w.write("{\"id\":1,\"type\":\"stats\"}\n");
+            w.flush();
+            BufferedReader r = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                StandardCharsets.UTF_8));
+            assertNotNull(r.readLine());
+            server.close();
+            assertNull(r.readLine());
+        }
+    }
+
+    @Test
+    void testRun_stdio() throws IOException {
+        Path words = dir.resolve("words.txt");
+        Files.write(words, WORDS.getBytes(StandardCharsets.UTF_8));
+        StringWriter out = new StringWriter();
+        StringWriter err = new StringWriter();
+        int exitCode = SpellServer.run(new String[] { "--word-list", words.toString(), "--threads", "1" },
+            new StringReader("{\"id\":1,\"type\":\"suggest\",\"words\":[\"wurld\"],\"maxSuggestions\":1}\n"),
+            out, new PrintWriter(err));
+        assertEquals(SpellServer.EXIT_OK, exitCode, err.toString());
+        assertEquals("{\"id\":1,\"type\":\"suggest\",\"results\":[[\"world\"]]}\n", out.toString());
+    }
+
+    @Test
+    void testRun_usageErrors() {
+        StringWriter err = new StringWriter();
+        assertEquals(SpellServer.EXIT_USAGE, SpellServer.run(new String[0], new StringReader(""),
+            new StringWriter(), new PrintWriter(err)));
+        assertTrue(err.toString().startsWith("Either --dictionary or --word-list is required"));
+
+        err = new StringWriter();
+        assertEquals(SpellServer.EXIT_USAGE, SpellServer.run(new String[] { "--word-list", "w", "--port", "x" },
+            new StringReader(""), new StringWriter(), new PrintWriter(err)));
+        assertTrue(err.toString().startsWith("Invalid value for --port: x"));
+
+        err = new StringWriter();
+        assertEquals(SpellServer.EXIT_USAGE, SpellServer.run(new String[] { "--word-list", "missing.txt" },
+            new StringReader(""), new StringWriter(), new PrintWriter(err)));
+        assertTrue(err.toString().startsWith("Cannot load dictionary: "));
+    }
+
+    @Test
+    void testRun_help() {
+        StringWriter out = new StringWriter();
+        assertEquals(SpellServer.EXIT_OK, SpellServer.run(new String[] { "--help" }, new StringReader(""), out,
+            new PrintWriter(new StringWriter())));
+        assertTrue(out.toString().startsWith("Usage:"));
+    }
+}
@@ -0,0 +1,173 @@
+package org.fife.ui.rsyntaxtextarea.spell.server;
+
+import org.fife.com.swabunga.spell.engine.SpellDictionary;
+import org.fife.com.swabunga.spell.engine.SpellDictionaryHashMap;
+import org.fife.com.swabunga.spell.engine.Word;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SpellService}.
+ */
+class SpellServiceTest {
+
+    private static final String WORDS = "hello\nhelp\nheld\nworld\nword\nwould\nthe\nquick\nbrown\nfox\n";
+
+    private SpellDictionaryHashMap dictionary;
+    private SpellService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dictionary = new SpellDictionaryHashMap(new StringReader(WORDS));
+        service = new SpellService(dictionary, null, 2, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    private String handle(String request) throws Exception {
+        return service.handle(request).get(30, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testConstructor_invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new SpellService(null, null, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new SpellService(dictionary, null, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new SpellService(dictionary, null, 1, -1));
+    }
+
+    @Test
+    void testCheck() throws Exception {
+        List<List<SpellService.Misspelling>> results = service.check(
+            Arrays.asList("Hello wurld", "the quick brown fox", "teh quikc"), 1).get(30, TimeUnit.SECONDS);
+        assertEquals(3, results.size());
+        assertEquals("[6: wurld [world]]", results.get(0).toString());
+        assertTrue(results.get(1).isEmpty());
+        assertEquals(2, results.get(2).size());
+        assertEquals(4, results.get(2).get(1).getOffset());
+        assertEquals("quikc", results.get(2).get(1).getWord());
+    }
+
+    @Test
+    void testCheck_userDictionary() throws Exception {
+        service.close();
+        service = new SpellService(dictionary, new SpellDictionaryHashMap(new StringReader("wurld\n")), 1, 100);
+        assertTrue(service.check(Collections.singletonList("Hello wurld"), 3).get().get(0).isEmpty());
+    }
+
+    @Test
+    void testCheck_invalidMaxSuggestions() {
+        List<String> texts = Collections.singletonList("hello");
+        assertThrows(IllegalArgumentException.class, () -> service.check(texts, -1));
+        assertThrows(IllegalArgumentException.class, () -> service.check(texts, SpellService.MAX_SUGGESTIONS + 1));
+    }
+
+    @Test
+    void testHandle_check() throws Exception {
+        assertEquals("{\"id\":1,\"type\":\"check\",\"results\":[[{\"offset\":6,\"word\":\"wurld\"," +
+                "\"suggestions\":[\"world\"]}],[{\"offset\":0," +
+                "\"word\":\"helo\",\"suggestions\":[\"hello\",\"help\"]}]]}",
+            handle("{\"id\":1,\"type\":\"check\",\"texts\":[\"Hello wurld\",\"helo\"],\"maxSuggestions\":2}"));
+        assertEquals("{\"id\":\"a\",\"type\":\"check\",\"results\":[[{\"offset\":0,\"word\":\"wurld\"," +
+                "\"suggestions\":[]}]]}",
+            handle("{\"id\":\"a\",\"type\":\"check\",\"texts\":[\"wurld\"],\"maxSuggestions\":0}"));
+    }
+
+    @Test
+    void testHandle_suggest() throws Exception {
+        assertEquals("{\"id\":2,\"type\":\"suggest\",\"results\":[[\"hello\",\"help\",\"held\"],[]]}",
+            handle("{\"id\":2,\"type\":\"suggest\",\"words\":[\"helo\",\"xyzzyq\"]}"));
+    }
+
+    @Test
+    void testHandle_stats() throws Exception {
+        handle("{\"id\":1,\"type\":\"suggest\",\"words\":[\"wurld\"]}");
+        handle("{\"id\":2,\"type\":\"suggest\",\"words\":[\"wurld\"],\"maxSuggestions\":1}");
+        assertEquals("{\"id\":3,\"type\":\"stats\",\"requests\":3,\"cacheHits\":1,\"coalesced\":0,\"computed\":1}",
+            handle("{\"id\":3,\"type\":\"stats\"}"));
+        assertEquals(1, service.getCacheHitCount());
+        assertEquals(1, service.getComputedCount());
+    }
+
+    @Test
+    void testHandle_errors() throws Exception {
+        assertTrue(handle("not json").startsWith("{\"id\":null,\"type\":\"error\",\"message\":"));
+        assertTrue(handle("[1]").startsWith("{\"id\":null,\"type\":\"error\","));
+        assertEquals("{\"id\":4,\"type\":\"error\",\"message\":\"Unknown request type: foo\"}",
+            handle("{\"id\":4,\"type\":\"foo\"}"));
+        assertEquals("{\"id\":5,\"type\":\"error\",\"message\":\"texts must be an array of strings\"}",
+            handle("{\"id\":5,\"type\":\"check\",\"texts\":[1]}"));
+        assertEquals("{\"id\":6,\"type\":\"error\",\"message\":\"maxSuggestions must be an integer\"}",
+            handle("{\"id\":6,\"type\":\"suggest\",\"words\":[],\"maxSuggestions\":\"2\"}"));
+        assertTrue(handle("{\"id\":7,\"type\":\"suggest\",\"words\":[],\"maxSuggestions\":11}")
+            .startsWith("{\"id\":7,\"type\":\"error\",\"message\":\"maxSuggestions must be between 0 and 10"));
+    }
+
+    @Test
+    void testSuggest_coalescesConcurrentRequests() throws Exception {
+
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SpellDictionary slow = new SpellDictionary() {
+            @Override
+            public boolean addWord(String word) {
+                return false;
+            }
+
+            @Override
+            public boolean isCorrect(String word) {
+                return dictionary.isCorrect(word);
+            }
+
+            @Override
+            public List<Word> getSuggestions(String word, int threshold) {
+                return getSuggestions(word, threshold, Integer.MAX_VALUE);
+            }
+
+            @Override
+            public List<Word> getSuggestions(String word, int threshold, int[][] matrix) {
+                return getSuggestions(word, threshold, Integer.MAX_VALUE);
+            }
+
+            @Override
+            public List<Word> getSuggestions(String word, int threshold, int maxResults) {
+                computing.countDown();
+                try {
+                    assertTrue(release.await(30, TimeUnit.SECONDS));
+                } catch (InterruptedException ie) {
+                    throw new IllegalStateException(ie);
+                }
+                return dictionary.getSuggestions(word, threshold, maxResults);
+            }
+        };
+        service.close();
+        service = new SpellService(slow, null, 2, 100);
+
+        CompletableFuture<List<List<String>>> first = service.suggest(Collections.singletonList("helo"), 1);
+        assertTrue(computing.await(30, TimeUnit.SECONDS));
+        CompletableFuture<List<List<String>>> second = service.suggest(Collections.singletonList("helo"), 3);
+        while (service.getCoalescedCount() == 0) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        assertEquals("[[hello]]", first.get(30, TimeUnit.SECONDS).toString());
+        assertEquals("[[hello, help, held]]", second.get(30, TimeUnit.SECONDS).toString());
+        assertEquals(1, service.getComputedCount());
+        assertEquals(1, service.getCoalescedCount());
+    }
+}
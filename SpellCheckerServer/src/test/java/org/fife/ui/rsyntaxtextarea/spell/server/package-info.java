@@ -0,0 +1,8 @@
+/*
+ * This library is distributed under a modified BSD license.  See the included
+ * LICENSE.md file for details.
+ */
+/**
+ * Tests for this package.
+ */
+package org.fife.ui.rsyntaxtextarea.spell.server;